@@ -20,10 +20,13 @@ package org.kie.kogito.index.api;
 
 import java.net.MalformedURLException;
 import java.net.URL;
-import java.util.HashMap;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
 
 import org.eclipse.microprofile.config.inject.ConfigProperty;
 import org.kie.kogito.index.model.Job;
@@ -31,6 +34,10 @@ import org.kie.kogito.index.service.DataIndexServiceException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.hash.Hashing;
+
 import io.quarkus.security.credential.TokenCredential;
 import io.quarkus.security.identity.SecurityIdentity;
 import io.vertx.core.AsyncResult;
@@ -60,11 +67,33 @@ public class KogitoRuntimeCommonClient {
 
     protected SecurityIdentity identity;
 
-    protected Map<String, WebClient> serviceWebClientMap = new HashMap<>();
+    protected Map<String, WebClient> serviceWebClientMap = new ConcurrentHashMap<>();
+
+    private final Map<String, CompletableFuture<?>> inFlightRequests = new ConcurrentHashMap<>();
+
+    private Cache<String, Object> responseCache;
 
     @ConfigProperty(name = "kogito.dataindex.gateway.url")
     protected Optional<String> gatewayTargetUrl;
 
+    /**
+     * Maximum number of pooled HTTP connections kept per runtime service endpoint.
+     */
+    @ConfigProperty(name = "kogito.data-index.runtime-client.max-pool-size", defaultValue = "5")
+    protected int maxPoolSize = 5;
+
+    /**
+     * Maximum number of immutable runtime responses (process source, node definitions) kept in memory.
+     */
+    @ConfigProperty(name = "kogito.data-index.runtime-client.cache-size", defaultValue = "200")
+    protected long responseCacheSize = 200;
+
+    /**
+     * How long an immutable runtime response is served from memory before it is fetched again.
+     */
+    @ConfigProperty(name = "kogito.data-index.runtime-client.cache-ttl", defaultValue = "PT10M")
+    protected Duration responseCacheTtl = Duration.ofMinutes(10);
+
     public void setGatewayTargetUrl(Optional<String> gatewayTargetUrl) {
         this.gatewayTargetUrl = gatewayTargetUrl;
     }
@@ -87,13 +116,83 @@ public class KogitoRuntimeCommonClient {
             return new WebClientOptions()
                     .setDefaultHost(gatewayTargetUrl.orElse(dataIndexURL.getHost()))
                     .setDefaultPort((dataIndexURL.getPort() != -1 ? dataIndexURL.getPort() : dataIndexURL.getDefaultPort()))
-                    .setSsl(dataIndexURL.getProtocol().compareToIgnoreCase("https") == 0);
+                    .setSsl(dataIndexURL.getProtocol().compareToIgnoreCase("https") == 0)
+                    .setMaxPoolSize(maxPoolSize);
         } catch (MalformedURLException ex) {
             LOGGER.error(String.format("Invalid runtime service URL: %s", targetHttpURL), ex);
             return null;
         }
     }
 
+    /**
+     * Shares a single in flight request among concurrent callers using the same key. The key is released
+     * as soon as the request completes, so later callers always trigger a fresh request.
+     */
+    @SuppressWarnings("unchecked")
+    protected <T> CompletableFuture<T> coalesce(String key, Supplier<CompletableFuture<T>> request) {
+        CompletableFuture<T> shared = new CompletableFuture<>();
+        CompletableFuture<T> existing = (CompletableFuture<T>) inFlightRequests.putIfAbsent(key, shared);
+        if (existing != null) {
+            LOGGER.trace("Joining in flight request");
+            return existing.copy();
+        }
+        try {
+            request.get().whenComplete((result, error) -> {
+                inFlightRequests.remove(key, shared);
+                if (error != null) {
+                    shared.completeExceptionally(error);
+                } else {
+                    shared.complete(result);
+                }
+            });
+        } catch (RuntimeException ex) {
+            inFlightRequests.remove(key, shared);
+            throw ex;
+        }
+        return shared;
+    }
+
+    /**
+     * Serves responses that never change for a given key from a bounded, time limited cache, coalescing
+     * concurrent misses into a single request. Empty responses are not cached.
+     */
+    @SuppressWarnings("unchecked")
+    protected <T> CompletableFuture<T> cached(String key, Supplier<CompletableFuture<T>> request) {
+        Cache<String, Object> cache = getResponseCache();
+        T value = (T) cache.getIfPresent(key);
+        if (value != null) {
+            LOGGER.trace("Serving cached response");
+            return CompletableFuture.completedFuture(value);
+        }
+        return coalesce(key, () -> {
+            CompletableFuture<T> future = request.get();
+            future.thenAccept(result -> {
+                if (result != null) {
+                    cache.put(key, result);
+                }
+            });
+            return future;
+        });
+    }
+
+    protected synchronized Cache<String, Object> getResponseCache() {
+        if (responseCache == null) {
+            responseCache = CacheBuilder.newBuilder()
+                    .maximumSize(responseCacheSize)
+                    .expireAfterWrite(responseCacheTtl)
+                    .build();
+        }
+        return responseCache;
+    }
+
+    /**
+     * Key of a request for {@link #coalesce} and {@link #cached}, scoped to the caller. The credentials are only
+     * represented by their digest so that the key, held in memory for the lifetime of the cache, does not expose them.
+     */
+    protected String requestKey(String method, String serviceURL, String requestURI) {
+        return method + " " + serviceURL + requestURI + " " + Hashing.sha256().hashString(getAuthHeader(), StandardCharsets.UTF_8);
+    }
+
     public CompletableFuture<String> cancelJob(String serviceURL, Job job) {
         String requestURI = format(CANCEL_JOB_PATH, job.getId());
         LOGGER.debug("Sending DELETE to URI {}", requestURI);
@@ -56,6 +56,7 @@ import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Event;
 import jakarta.inject.Inject;
 
 import static org.kie.kogito.index.json.JsonUtils.getObjectMapper;
@@ -74,6 +75,12 @@ public class IndexingService {
     @Inject
     DataIndexStorageService manager;
 
+    @Inject
+    ProcessDefinitionHashCache processDefinitionHashes;
+
+    @Inject
+    Event<ProcessDefinitionHashCache.Indexed> processDefinitionIndexed;
+
     //retry in case of rare but possible race condition during the insert for the first registry
     @Retry(maxRetries = 3, delay = 300, jitter = 100, retryOn = ConcurrentModificationException.class)
     public void indexProcessInstanceEvent(ProcessInstanceDataEvent<?> event) {
@@ -97,7 +104,13 @@ public class IndexingService {
     @Retry(maxRetries = 3, delay = 300, jitter = 100, retryOn = ConcurrentModificationException.class)
     public void indexProcessDefinition(ProcessDefinitionDataEvent definitionDataEvent) {
         ProcessDefinitionKey key = new ProcessDefinitionKey(definitionDataEvent.getKogitoProcessId(), definitionDataEvent.getData().getVersion());
+        String hash = ProcessDefinitionHashCache.contentHash(definitionDataEvent.getData());
+        if (processDefinitionHashes.isIndexed(key, hash)) {
+            LOGGER.debug("Skipping unchanged process definition {}", key);
+            return;
+        }
         manager.getProcessDefinitionStorage().put(key, ProcessDefinitionHelper.merge(manager.getProcessDefinitionStorage().get(key), definitionDataEvent));
+        processDefinitionIndexed.fire(new ProcessDefinitionHashCache.Indexed(key, hash));
     }
 
     //retry in case of rare but possible race condition during the insert for the first registry
@@ -0,0 +1,108 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.kie.kogito.index.service;
+
+import java.time.Duration;
+
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.kie.kogito.event.process.ProcessDefinitionEventBody;
+import org.kie.kogito.index.model.ProcessDefinitionKey;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.google.common.base.Ticker;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.hash.Hashing;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.enterprise.event.TransactionPhase;
+
+import static org.kie.kogito.index.json.JsonUtils.getObjectMapper;
+
+/**
+ * Keeps the content hash of the last process definition event indexed for every (id, version), so that runtimes
+ * re-emitting an unchanged definition on every start do not trigger a new merge and write.
+ * <p>
+ * The cache is local to each data index instance and is not told about changes made to the storage by other
+ * replicas or by removals, so an entry may be stale. Entries expire after a bounded time, after which an unchanged
+ * definition is merged and written again.
+ * <p>
+ * A hash is only recorded once the transaction writing the definition commits, see {@link Indexed}, so a rolled back
+ * write is never taken for an indexed definition.
+ */
+@ApplicationScoped
+public class ProcessDefinitionHashCache {
+
+    private static final ObjectWriter WRITER = getObjectMapper().writer().with(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS);
+
+    @ConfigProperty(name = "kogito.data-index.process-definitions.hash-cache-size", defaultValue = "1000")
+    long maximumSize;
+
+    /**
+     * Longest time a definition re-emitted unchanged may be skipped without comparing it with the storage.
+     */
+    @ConfigProperty(name = "kogito.data-index.process-definitions.hash-cache-expiration", defaultValue = "10m")
+    Duration expireAfterWrite;
+
+    private Ticker ticker = Ticker.systemTicker();
+
+    private Cache<ProcessDefinitionKey, String> hashes;
+
+    public ProcessDefinitionHashCache() {
+    }
+
+    ProcessDefinitionHashCache(long maximumSize, Duration expireAfterWrite, Ticker ticker) {
+        this.maximumSize = maximumSize;
+        this.expireAfterWrite = expireAfterWrite;
+        this.ticker = ticker;
+        init();
+    }
+
+    @PostConstruct
+    void init() {
+        hashes = CacheBuilder.newBuilder().maximumSize(maximumSize).expireAfterWrite(expireAfterWrite).ticker(ticker).build();
+    }
+
+    public static String contentHash(ProcessDefinitionEventBody data) {
+        try {
+            return Hashing.sha256().hashBytes(WRITER.writeValueAsBytes(data)).toString();
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Unable to compute content hash for process definition " + data.getId(), e);
+        }
+    }
+
+    public boolean isIndexed(ProcessDefinitionKey key, String hash) {
+        return hash.equals(hashes.getIfPresent(key));
+    }
+
+    void onIndexed(@Observes(during = TransactionPhase.AFTER_SUCCESS) Indexed indexed) {
+        hashes.put(indexed.key(), indexed.hash());
+    }
+
+    /**
+     * Fired when a process definition is written to the storage. Observed after the transaction commits, or right
+     * away when the storage is not transactional.
+     */
+    public record Indexed(ProcessDefinitionKey key, String hash) {
+    }
+}
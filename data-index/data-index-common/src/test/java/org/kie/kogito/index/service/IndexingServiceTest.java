@@ -0,0 +1,155 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.kie.kogito.index.service;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.kie.kogito.event.process.NodeDefinition;
+import org.kie.kogito.event.process.ProcessDefinitionDataEvent;
+import org.kie.kogito.event.process.ProcessDefinitionEventBody;
+import org.kie.kogito.index.model.ProcessDefinition;
+import org.kie.kogito.index.model.ProcessDefinitionKey;
+import org.kie.kogito.index.storage.DataIndexStorageService;
+import org.kie.kogito.persistence.api.Storage;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.google.common.base.Ticker;
+
+import jakarta.enterprise.event.Event;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class IndexingServiceTest {
+
+    @Mock
+    DataIndexStorageService manager;
+
+    @Mock
+    Storage<ProcessDefinitionKey, ProcessDefinition> processDefinitionStorage;
+
+    @Mock
+    Event<ProcessDefinitionHashCache.Indexed> processDefinitionIndexed;
+
+    IndexingService indexingService;
+
+    ProcessDefinitionHashCache processDefinitionHashes;
+
+    boolean committed = true;
+
+    AtomicLong nanos = new AtomicLong();
+
+    Ticker ticker = new Ticker() {
+        @Override
+        public long read() {
+            return nanos.get();
+        }
+    };
+
+    @BeforeEach
+    void setup() {
+        indexingService = new IndexingService();
+        indexingService.manager = manager;
+        processDefinitionHashes = new ProcessDefinitionHashCache(10, Duration.ofMinutes(10), ticker);
+        indexingService.processDefinitionHashes = processDefinitionHashes;
+        indexingService.processDefinitionIndexed = processDefinitionIndexed;
+        // transactional observers are only notified when the transaction commits
+        lenient().doAnswer(invocation -> {
+            if (committed) {
+                processDefinitionHashes.onIndexed(invocation.getArgument(0));
+            }
+            return null;
+        }).when(processDefinitionIndexed).fire(any());
+        when(manager.getProcessDefinitionStorage()).thenReturn(processDefinitionStorage);
+    }
+
+    @Test
+    void testUnchangedProcessDefinitionIsIndexedOnce() {
+        indexingService.indexProcessDefinition(processDefinitionEvent("travels", "Travels"));
+        indexingService.indexProcessDefinition(processDefinitionEvent("travels", "Travels"));
+
+        ProcessDefinitionKey key = new ProcessDefinitionKey("travels", "1.0");
+        verify(processDefinitionStorage, times(1)).get(key);
+        verify(processDefinitionStorage, times(1)).put(eq(key), any());
+    }
+
+    @Test
+    void testChangedProcessDefinitionIsIndexedAgain() {
+        indexingService.indexProcessDefinition(processDefinitionEvent("travels", "Travels"));
+        indexingService.indexProcessDefinition(processDefinitionEvent("travels", "Travels v2"));
+
+        verify(processDefinitionStorage, times(2)).put(eq(new ProcessDefinitionKey("travels", "1.0")), any());
+    }
+
+    @Test
+    void testUnchangedProcessDefinitionIsIndexedAgainOnceExpired() {
+        indexingService.indexProcessDefinition(processDefinitionEvent("travels", "Travels"));
+        nanos.addAndGet(Duration.ofMinutes(11).toNanos());
+        indexingService.indexProcessDefinition(processDefinitionEvent("travels", "Travels"));
+
+        verify(processDefinitionStorage, times(2)).put(eq(new ProcessDefinitionKey("travels", "1.0")), any());
+    }
+
+    @Test
+    void testUnchangedProcessDefinitionIsIndexedAgainAfterRollback() {
+        committed = false;
+        indexingService.indexProcessDefinition(processDefinitionEvent("travels", "Travels"));
+        committed = true;
+        indexingService.indexProcessDefinition(processDefinitionEvent("travels", "Travels"));
+        indexingService.indexProcessDefinition(processDefinitionEvent("travels", "Travels"));
+
+        verify(processDefinitionStorage, times(2)).put(eq(new ProcessDefinitionKey("travels", "1.0")), any());
+    }
+
+    @Test
+    void testContentHash() {
+        String hash = ProcessDefinitionHashCache.contentHash(processDefinitionEvent("travels", "Travels").getData());
+
+        assertThat(hash).hasSize(64).isEqualTo(ProcessDefinitionHashCache.contentHash(processDefinitionEvent("travels", "Travels").getData()));
+        assertThat(hash).isNotEqualTo(ProcessDefinitionHashCache.contentHash(processDefinitionEvent("travels", "Other").getData()));
+    }
+
+    private static ProcessDefinitionDataEvent processDefinitionEvent(String processId, String name) {
+        ProcessDefinitionEventBody body = ProcessDefinitionEventBody.builder()
+                .setVersion("1.0")
+                .setId(processId)
+                .setName(name)
+                .setRoles(Set.of("admin"))
+                .setMetadata(Map.of("meta1", "value1", "meta2", "value2"))
+                .setNodes(List.of(NodeDefinition.builder().setName("node1").setId("id1").build()))
+                .build();
+        ProcessDefinitionDataEvent event = new ProcessDefinitionDataEvent(body);
+        event.setKogitoProcessId(processId);
+        return event;
+    }
+}
@@ -18,16 +18,24 @@
  */
 package org.kie.kogito.index.graphql;
 
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.ServiceLoader;
 import java.util.ServiceLoader.Provider;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
+import org.dataloader.DataLoader;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
 import org.kie.kogito.index.CommonUtils;
 import org.kie.kogito.index.api.KogitoRuntimeClient;
 import org.kie.kogito.index.graphql.query.GraphQLQueryOrderByParser;
@@ -41,16 +49,29 @@ import org.kie.kogito.index.model.UserTaskInstance;
 import org.kie.kogito.index.service.DataIndexServiceException;
 import org.kie.kogito.index.storage.DataIndexStorageService;
 import org.kie.kogito.persistence.api.StorageFetcher;
+import org.kie.kogito.persistence.api.query.AttributeSort;
 import org.kie.kogito.persistence.api.query.Query;
+import org.kie.kogito.persistence.api.query.SortDirection;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
 import graphql.schema.DataFetcher;
 import graphql.schema.DataFetchingEnvironment;
+import graphql.schema.FieldCoordinates;
+import graphql.schema.GraphQLEnumType;
+import graphql.schema.GraphQLFieldDefinition;
 import graphql.schema.GraphQLInputObjectType;
 import graphql.schema.GraphQLNamedType;
+import graphql.schema.GraphQLObjectType;
 import graphql.schema.GraphQLScalarType;
 import graphql.schema.GraphQLSchema;
+import graphql.schema.GraphQLType;
+import graphql.schema.GraphQLTypeUtil;
+import graphql.schema.PropertyDataFetcher;
+import graphql.schema.SelectedField;
 import graphql.schema.idl.TypeDefinitionRegistry;
 import graphql.schema.idl.TypeRuntimeWiring.Builder;
 import jakarta.annotation.PostConstruct;
@@ -59,6 +80,7 @@ import jakarta.inject.Inject;
 import static java.lang.String.format;
 import static java.util.Collections.singletonList;
 import static org.kie.kogito.persistence.api.query.QueryFilterFactory.equalTo;
+import static org.kie.kogito.persistence.api.query.QueryFilterFactory.orderBy;
 
 public abstract class AbstractGraphQLSchemaManager implements GraphQLSchemaManager {
 
@@ -69,6 +91,23 @@ public abstract class AbstractGraphQLSchemaManager implements GraphQLSchemaManag
     private static final String COMMENT_ID = "commentId";
     private static final String ATTACHMENT_ID = "attachmentId";
 
+    // attributes needed by the fields resolved with a custom data fetcher, the identifier is always loaded
+    private static final Map<String, Map<String, List<String>>> FIELD_DEPENDENCIES = Map.of(
+            "ProcessInstance", Map.of(
+                    "serviceUrl", List.of("endpoint", "processId"),
+                    "parentProcessInstance", List.of("parentProcessInstanceId"),
+                    "childProcessInstances", List.of(),
+                    "definition", List.of("processId", "version")),
+            "ProcessDefinition", Map.of(
+                    "serviceUrl", List.of("endpoint")));
+
+    private static final int COUNT_CACHE_SIZE = 1000;
+
+    private static final String FIRST = "first";
+    private static final String AFTER = "after";
+    private static final String LAST = "last";
+    private static final String BEFORE = "before";
+
     private static final String UNABLE_TO_FIND_ERROR_MSG = "Unable to find the instance with %s %s";
 
     private static final Logger LOGGER = LoggerFactory.getLogger(AbstractGraphQLSchemaManager.class);
@@ -82,6 +121,20 @@ public abstract class AbstractGraphQLSchemaManager implements GraphQLSchemaManag
     @Inject
     KogitoRuntimeClient dataIndexApiExecutor;
 
+    @ConfigProperty(name = "kogito.data-index.graphql.default-page-size", defaultValue = "1000")
+    int defaultPageSize;
+
+    /**
+     * How long the result of a count query is reused for the same filter, zero disables the reuse.
+     */
+    @ConfigProperty(name = "kogito.data-index.graphql.count-cache-ttl", defaultValue = "PT5S")
+    Duration countCacheTtl = Duration.ofSeconds(5);
+
+    private Cache<CountKey, Long> counts;
+
+    private record CountKey(String argumentType, Map<String, Object> where) {
+    }
+
     private GraphQLSchema schema;
 
     private Collection<GraphQLMutationsProvider> mutations;
@@ -147,31 +200,41 @@ public abstract class AbstractGraphQLSchemaManager implements GraphQLSchemaManag
         return getServiceUrl(source.getEndpoint(), source.getProcessId());
     }
 
-    public ProcessDefinition getProcessDefinition(DataFetchingEnvironment env) {
+    public CompletableFuture<ProcessDefinition> getProcessDefinition(DataFetchingEnvironment env) {
         ProcessInstance source = env.getSource();
-        return cacheService.getProcessDefinitionStorage().get(new ProcessDefinitionKey(source.getProcessId(), source.getVersion()));
+        ProcessDefinitionKey key = new ProcessDefinitionKey(source.getProcessId(), source.getVersion());
+        DataLoader<ProcessDefinitionKey, ProcessDefinition> loader = env.getDataLoader(GraphQLDataLoaders.PROCESS_DEFINITION_BY_KEY);
+        return loader == null ? CompletableFuture.completedFuture(cacheService.getProcessDefinitionStorage().get(key)) : loader.load(key);
     }
 
     protected String getServiceUrl(String endpoint, String processId) {
         return CommonUtils.getServiceUrl(endpoint, processId);
     }
 
-    protected Collection<ProcessInstance> getChildProcessInstancesValues(DataFetchingEnvironment env) {
+    protected CompletableFuture<List<ProcessInstance>> getChildProcessInstancesValues(DataFetchingEnvironment env) {
         ProcessInstance source = env.getSource();
+        DataLoader<String, List<ProcessInstance>> loader = env.getDataLoader(GraphQLDataLoaders.PROCESS_INSTANCES_BY_PARENT_ID);
+        if (loader != null) {
+            return loader.load(source.getId()).thenApply(children -> children == null ? List.of() : children);
+        }
         Query<ProcessInstance> query = cacheService.getProcessInstanceStorage().query();
         query.filter(singletonList(equalTo("parentProcessInstanceId", source.getId())));
-        return query.execute();
+        return CompletableFuture.completedFuture(query.execute());
     }
 
-    protected ProcessInstance getParentProcessInstanceValue(DataFetchingEnvironment env) {
+    protected CompletableFuture<ProcessInstance> getParentProcessInstanceValue(DataFetchingEnvironment env) {
         ProcessInstance source = env.getSource();
         if (source.getParentProcessInstanceId() == null) {
-            return null;
+            return CompletableFuture.completedFuture(null);
+        }
+        DataLoader<String, ProcessInstance> loader = env.getDataLoader(GraphQLDataLoaders.PROCESS_INSTANCE_BY_ID);
+        if (loader != null) {
+            return loader.load(source.getParentProcessInstanceId());
         }
         Query<ProcessInstance> query = cacheService.getProcessInstanceStorage().query();
         query.filter(singletonList(equalTo("id", source.getParentProcessInstanceId())));
         List<ProcessInstance> execute = query.execute();
-        return !execute.isEmpty() ? execute.get(0) : null;
+        return CompletableFuture.completedFuture(!execute.isEmpty() ? execute.get(0) : null);
     }
 
     protected Collection<ProcessDefinition> getProcessDefinitionsValues(DataFetchingEnvironment env) {
@@ -194,12 +257,17 @@ public abstract class AbstractGraphQLSchemaManager implements GraphQLSchemaManag
 
         query.sort(new GraphQLQueryOrderByParser().apply(env));
 
+        query.projection(getProjection(env));
+
         Map<String, Integer> pagination = env.getArgument("pagination");
+        Integer limit = pagination == null ? null : pagination.get("limit");
+        if (limit == null && defaultPageSize > 0) {
+            limit = defaultPageSize;
+        }
+        if (limit != null) {
+            query.limit(limit);
+        }
         if (pagination != null) {
-            Integer limit = pagination.get("limit");
-            if (limit != null) {
-                query.limit(limit);
-            }
             Integer offset = pagination.get("offset");
             if (offset != null) {
                 query.offset(offset);
@@ -209,6 +277,230 @@ public abstract class AbstractGraphQLSchemaManager implements GraphQLSchemaManag
         return query.execute();
     }
 
+    /**
+     * Counts the elements matching the `where` argument, ignoring pagination. Consoles poll the same counts
+     * repeatedly, so results are reused for a short time per filter.
+     */
+    protected <K, T> long executeCountQueryForCache(StorageFetcher<K, T> cache, DataFetchingEnvironment env) {
+        Objects.requireNonNull(cache, "Cache not found");
+
+        String inputTypeName = ((GraphQLNamedType) env.getFieldDefinition().getArgument("where").getType()).getName();
+        Map<String, Object> where = env.getArgument("where");
+        CountKey key = new CountKey(inputTypeName, where);
+        Cache<CountKey, Long> countCache = getCountCache();
+        Long count = countCache.getIfPresent(key);
+        if (count == null) {
+            Query<T> query = cache.query();
+            query.filter(GraphQLQueryParserRegistry.get().getParser(inputTypeName).apply(where));
+            count = query.count();
+            countCache.put(key, count);
+        }
+        return count;
+    }
+
+    private synchronized Cache<CountKey, Long> getCountCache() {
+        if (counts == null) {
+            counts = CacheBuilder.newBuilder().maximumSize(COUNT_CACHE_SIZE).expireAfterWrite(countCacheTtl).build();
+        }
+        return counts;
+    }
+
+    protected long getProcessDefinitionsCount(DataFetchingEnvironment env) {
+        return executeCountQueryForCache(cacheService.getProcessDefinitionStorage(), env);
+    }
+
+    protected long getProcessInstancesCount(DataFetchingEnvironment env) {
+        return executeCountQueryForCache(cacheService.getProcessInstanceStorage(), env);
+    }
+
+    protected long getUserTaskInstancesCount(DataFetchingEnvironment env) {
+        return executeCountQueryForCache(cacheService.getUserTaskInstanceStorage(), env);
+    }
+
+    protected long getJobsCount(DataFetchingEnvironment env) {
+        return executeCountQueryForCache(cacheService.getJobsStorage(), env);
+    }
+
+    protected Map<String, Object> getProcessInstancesConnection(DataFetchingEnvironment env) {
+        return executeConnectionQueryForCache(cacheService.getProcessInstanceStorage(), env);
+    }
+
+    protected Map<String, Object> getUserTaskInstancesConnection(DataFetchingEnvironment env) {
+        return executeConnectionQueryForCache(cacheService.getUserTaskInstanceStorage(), env);
+    }
+
+    protected Map<String, Object> getJobsConnection(DataFetchingEnvironment env) {
+        return executeConnectionQueryForCache(cacheService.getJobsStorage(), env);
+    }
+
+    /**
+     * Resolves a connection query with keyset pagination. The cursor of every edge holds the values of the sort
+     * attributes of its node, always ending with the id, and pages are read after or before those values instead of
+     * skipping the previous elements, so deep pages cost the same as the first one.
+     */
+    protected <K, T> Map<String, Object> executeConnectionQueryForCache(StorageFetcher<K, T> cache, DataFetchingEnvironment env) {
+        Objects.requireNonNull(cache, "Cache not found");
+
+        Integer first = env.getArgument(FIRST);
+        String after = env.getArgument(AFTER);
+        Integer last = env.getArgument(LAST);
+        String before = env.getArgument(BEFORE);
+        if ((first != null || after != null) && (last != null || before != null)) {
+            throw new DataIndexServiceException("Arguments first and after cannot be combined with last and before");
+        }
+        boolean backward = last != null || before != null;
+        Integer size = backward ? last : first;
+        if (size != null && size < 0) {
+            throw new DataIndexServiceException(format("Argument %s must not be negative", backward ? LAST : FIRST));
+        }
+        if (size == null && defaultPageSize <= 0) {
+            throw new DataIndexServiceException(format("Argument %s is required when no default page size is configured", backward ? LAST : FIRST));
+        }
+        int pageSize = size == null ? defaultPageSize : size;
+        if (pageSize == 0) {
+            // an empty page is answered without reading the storage
+            return connection(List.of(), backward && before != null, !backward && after != null);
+        }
+
+        String inputTypeName = ((GraphQLNamedType) env.getFieldDefinition().getArgument("where").getType()).getName();
+        Map<String, Object> where = env.getArgument("where");
+        List<AttributeSort> sortBy = getConnectionSort(env);
+        GraphQLObjectType nodeType = getConnectionNodeType(env);
+
+        Query<T> query = cache.query();
+        query.filter(GraphQLQueryParserRegistry.get().getParser(inputTypeName).apply(where));
+        // backward pages are read in the reverse order from the cursor and reversed again afterwards
+        query.sort(backward ? reverse(sortBy) : sortBy);
+        String cursor = backward ? before : after;
+        if (cursor != null) {
+            query.searchAfter(decodeCursor(cursor, sortBy, nodeType).toArray());
+        }
+        // one extra element tells whether there are more pages, unless that would overflow the limit
+        query.limit(pageSize == Integer.MAX_VALUE ? pageSize : pageSize + 1);
+
+        List<T> nodes = new ArrayList<>(query.execute());
+        boolean hasMore = nodes.size() > pageSize;
+        if (hasMore) {
+            nodes = new ArrayList<>(nodes.subList(0, pageSize));
+        }
+        if (backward) {
+            Collections.reverse(nodes);
+        }
+
+        List<Map<String, Object>> edges = new ArrayList<>(nodes.size());
+        for (T node : nodes) {
+            edges.add(Map.of("cursor", encodeCursor(node, sortBy, nodeType), "node", node));
+        }
+        return connection(edges, backward ? before != null : hasMore, backward ? hasMore : after != null);
+    }
+
+    private static Map<String, Object> connection(List<Map<String, Object>> edges, boolean hasNextPage, boolean hasPreviousPage) {
+        Map<String, Object> pageInfo = new HashMap<>();
+        pageInfo.put("hasNextPage", hasNextPage);
+        pageInfo.put("hasPreviousPage", hasPreviousPage);
+        pageInfo.put("startCursor", edges.isEmpty() ? null : edges.get(0).get("cursor"));
+        pageInfo.put("endCursor", edges.isEmpty() ? null : edges.get(edges.size() - 1).get("cursor"));
+        return Map.of("edges", edges, "pageInfo", pageInfo);
+    }
+
+    /**
+     * The requested order completed with the id, so that every element has a distinct position.
+     */
+    private static List<AttributeSort> getConnectionSort(DataFetchingEnvironment env) {
+        List<AttributeSort> sortBy = new ArrayList<>();
+        for (AttributeSort sort : new GraphQLQueryOrderByParser().apply(env)) {
+            sortBy.add(sort);
+            if (ID.equals(sort.getAttribute())) {
+                return sortBy;
+            }
+        }
+        sortBy.add(orderBy(ID, SortDirection.ASC));
+        return sortBy;
+    }
+
+    private static List<AttributeSort> reverse(List<AttributeSort> sortBy) {
+        return sortBy.stream().map(sort -> orderBy(sort.getAttribute(), sort.getSort() == SortDirection.DESC ? SortDirection.ASC : SortDirection.DESC))
+                .collect(Collectors.toList());
+    }
+
+    private static GraphQLObjectType getConnectionNodeType(DataFetchingEnvironment env) {
+        GraphQLObjectType connectionType = (GraphQLObjectType) GraphQLTypeUtil.unwrapAll(env.getFieldType());
+        GraphQLObjectType edgeType = (GraphQLObjectType) GraphQLTypeUtil.unwrapAll(connectionType.getFieldDefinition("edges").getType());
+        return (GraphQLObjectType) GraphQLTypeUtil.unwrapAll(edgeType.getFieldDefinition("node").getType());
+    }
+
+    private String encodeCursor(Object node, List<AttributeSort> sortBy, GraphQLObjectType nodeType) {
+        List<Object> values = new ArrayList<>(sortBy.size());
+        for (AttributeSort sort : sortBy) {
+            Object value = ConnectionCursor.attributeValue(node, sort.getAttribute());
+            values.add(value != null && isDateTime(nodeType, sort.getAttribute()) ? dateTimeScalarType.getCoercing().serialize(value) : value);
+        }
+        return ConnectionCursor.encode(values);
+    }
+
+    private List<Object> decodeCursor(String cursor, List<AttributeSort> sortBy, GraphQLObjectType nodeType) {
+        List<Object> values = ConnectionCursor.decode(cursor);
+        if (values.size() != sortBy.size()) {
+            throw new DataIndexServiceException(format("Cursor %s does not match the requested order", cursor));
+        }
+        for (int i = 0; i < values.size(); i++) {
+            if (values.get(i) != null && isDateTime(nodeType, sortBy.get(i).getAttribute())) {
+                // dates are compared in the representation the storage expects
+                values.set(i, dateTimeScalarType.getCoercing().parseValue(values.get(i)));
+            }
+        }
+        return values;
+    }
+
+    private boolean isDateTime(GraphQLObjectType nodeType, String attribute) {
+        GraphQLType type = nodeType;
+        for (String name : attribute.split("\\.")) {
+            if (!(type instanceof GraphQLObjectType) || ((GraphQLObjectType) type).getFieldDefinition(name) == null) {
+                return false;
+            }
+            type = GraphQLTypeUtil.unwrapAll(((GraphQLObjectType) type).getFieldDefinition(name).getType());
+        }
+        return type instanceof GraphQLScalarType && dateTimeScalarType.getName().equals(((GraphQLScalarType) type).getName());
+    }
+
+    /**
+     * Returns the storage attributes needed to resolve the selected fields, or null when some selected field
+     * requires the complete element, such as object or list fields and fields computed from the whole element.
+     */
+    protected List<String> getProjection(DataFetchingEnvironment env) {
+        if (env.getFieldType() == null || env.getSelectionSet() == null) {
+            return null;
+        }
+        GraphQLType type = GraphQLTypeUtil.unwrapAll(env.getFieldType());
+        if (!(type instanceof GraphQLObjectType)) {
+            return null;
+        }
+        GraphQLObjectType objectType = (GraphQLObjectType) type;
+        Map<String, List<String>> dependencies = FIELD_DEPENDENCIES.getOrDefault(objectType.getName(), Map.of());
+        Set<String> attributes = new LinkedHashSet<>();
+        for (SelectedField field : env.getSelectionSet().getImmediateFields()) {
+            if (field.getName().startsWith("__")) {
+                continue;
+            }
+            if (dependencies.containsKey(field.getName())) {
+                attributes.addAll(dependencies.get(field.getName()));
+                continue;
+            }
+            GraphQLFieldDefinition definition = objectType.getFieldDefinition(field.getName());
+            if (definition == null || !isStoredScalar(env.getGraphQLSchema(), objectType, definition)) {
+                return null;
+            }
+            attributes.add(field.getName());
+        }
+        return List.copyOf(attributes);
+    }
+
+    private static boolean isStoredScalar(GraphQLSchema schema, GraphQLObjectType objectType, GraphQLFieldDefinition definition) {
+        GraphQLType fieldType = GraphQLTypeUtil.unwrapNonNull(definition.getType());
+        return (fieldType instanceof GraphQLScalarType || fieldType instanceof GraphQLEnumType)
+                && schema.getCodeRegistry().getDataFetcher(FieldCoordinates.coordinates(objectType, definition), definition) instanceof PropertyDataFetcher;
+    }
+
     protected Collection<UserTaskInstance> getUserTaskInstancesValues(DataFetchingEnvironment env) {
         return executeAdvancedQueryForCache(cacheService.getUserTaskInstanceStorage(), env);
     }
@@ -0,0 +1,86 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.kie.kogito.index.graphql;
+
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+
+import org.kie.kogito.index.json.JsonUtils;
+import org.kie.kogito.index.service.DataIndexServiceException;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+
+/**
+ * Opaque cursors of the connection queries, holding the values of the sort attributes of an element encoded as a
+ * base64url JSON array.
+ */
+final class ConnectionCursor {
+
+    private ConnectionCursor() {
+    }
+
+    static String encode(List<Object> values) {
+        try {
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(JsonUtils.getObjectMapper().writeValueAsBytes(values));
+        } catch (JsonProcessingException e) {
+            throw new DataIndexServiceException("Unable to encode cursor " + values, e);
+        }
+    }
+
+    static List<Object> decode(String cursor) {
+        try {
+            return Arrays.asList(JsonUtils.getObjectMapper().readValue(Base64.getUrlDecoder().decode(cursor.getBytes(StandardCharsets.US_ASCII)), Object[].class));
+        } catch (Exception e) {
+            throw new DataIndexServiceException("Invalid cursor " + cursor, e);
+        }
+    }
+
+    /**
+     * Reads the value of a dotted attribute path through the getters of the element, null if some step is null.
+     */
+    static Object attributeValue(Object element, String attribute) {
+        Object value = element;
+        for (String name : attribute.split("\\.")) {
+            if (value == null) {
+                return null;
+            }
+            value = value instanceof Map ? ((Map<?, ?>) value).get(name) : getterValue(value, name);
+        }
+        return value;
+    }
+
+    private static Object getterValue(Object element, String name) {
+        String suffix = Character.toUpperCase(name.charAt(0)) + name.substring(1);
+        for (String prefix : List.of("get", "is")) {
+            try {
+                Method getter = element.getClass().getMethod(prefix + suffix);
+                return getter.invoke(element);
+            } catch (NoSuchMethodException e) {
+                // try next prefix
+            } catch (ReflectiveOperationException e) {
+                throw new DataIndexServiceException("Unable to read attribute " + name + " of " + element.getClass().getName(), e);
+            }
+        }
+        throw new DataIndexServiceException("Unable to read attribute " + name + " of " + element.getClass().getName());
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.kie.kogito.index.graphql;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+import org.dataloader.DataLoaderFactory;
+import org.dataloader.DataLoaderRegistry;
+import org.kie.kogito.index.model.ProcessDefinition;
+import org.kie.kogito.index.model.ProcessDefinitionKey;
+import org.kie.kogito.index.model.ProcessInstance;
+import org.kie.kogito.index.storage.DataIndexStorageService;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+import static java.util.stream.Collectors.groupingBy;
+import static java.util.stream.Collectors.toList;
+import static java.util.stream.Collectors.toMap;
+import static org.kie.kogito.persistence.api.query.QueryFilterFactory.in;
+
+/**
+ * Creates the per request {@link DataLoaderRegistry} used to batch the lookups of the nested process instance fields
+ * ({@code parentProcessInstance}, {@code childProcessInstances} and {@code definition}) in a single storage query
+ * per field and level of the result, caching the loaded values for the duration of the request.
+ */
+@ApplicationScoped
+public class GraphQLDataLoaders {
+
+    public static final String PROCESS_INSTANCE_BY_ID = "processInstanceById";
+    public static final String PROCESS_INSTANCES_BY_PARENT_ID = "processInstancesByParentId";
+    public static final String PROCESS_DEFINITION_BY_KEY = "processDefinitionByKey";
+
+    @Inject
+    DataIndexStorageService storageService;
+
+    public GraphQLDataLoaders() {
+    }
+
+    GraphQLDataLoaders(DataIndexStorageService storageService) {
+        this.storageService = storageService;
+    }
+
+    public DataLoaderRegistry newRegistry() {
+        DataLoaderRegistry registry = new DataLoaderRegistry();
+        registry.register(PROCESS_INSTANCE_BY_ID, DataLoaderFactory.<String, ProcessInstance> newMappedDataLoader(
+                ids -> CompletableFuture.completedFuture(loadProcessInstances(ids))));
+        registry.register(PROCESS_INSTANCES_BY_PARENT_ID, DataLoaderFactory.<String, List<ProcessInstance>> newMappedDataLoader(
+                ids -> CompletableFuture.completedFuture(loadChildProcessInstances(ids))));
+        registry.register(PROCESS_DEFINITION_BY_KEY, DataLoaderFactory.<ProcessDefinitionKey, ProcessDefinition> newMappedDataLoader(
+                keys -> CompletableFuture.completedFuture(loadProcessDefinitions(keys))));
+        return registry;
+    }
+
+    Map<String, ProcessInstance> loadProcessInstances(Set<String> ids) {
+        return storageService.getProcessInstanceStorage().query()
+                .filter(List.of(in("id", List.copyOf(ids))))
+                .execute()
+                .stream()
+                .collect(toMap(ProcessInstance::getId, Function.identity(), (pi1, pi2) -> pi1));
+    }
+
+    Map<String, List<ProcessInstance>> loadChildProcessInstances(Set<String> parentIds) {
+        return storageService.getProcessInstanceStorage().query()
+                .filter(List.of(in("parentProcessInstanceId", List.copyOf(parentIds))))
+                .execute()
+                .stream()
+                .collect(groupingBy(ProcessInstance::getParentProcessInstanceId, toList()));
+    }
+
+    Map<ProcessDefinitionKey, ProcessDefinition> loadProcessDefinitions(Set<ProcessDefinitionKey> keys) {
+        // filtering ids and versions separately may return other combinations, those are discarded
+        return storageService.getProcessDefinitionStorage().query()
+                .filter(List.of(in("id", keys.stream().map(ProcessDefinitionKey::getId).distinct().collect(toList())),
+                        in("version", keys.stream().map(ProcessDefinitionKey::getVersion).distinct().collect(toList()))))
+                .execute()
+                .stream()
+                .map(pd -> Map.entry(new ProcessDefinitionKey(pd.getId(), pd.getVersion()), pd))
+                .filter(entry -> keys.contains(entry.getKey()))
+                .collect(toMap(Map.Entry::getKey, Map.Entry::getValue, (pd1, pd2) -> pd1));
+    }
+}
@@ -0,0 +1,143 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.kie.kogito.index.graphql;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+import graphql.ExecutionInput;
+import graphql.execution.preparsed.PreparsedDocumentEntry;
+import graphql.execution.preparsed.PreparsedDocumentProvider;
+import graphql.execution.preparsed.persisted.ApolloPersistedQuerySupport;
+import graphql.execution.preparsed.persisted.PersistedQueryCache;
+import graphql.execution.preparsed.persisted.PersistedQueryCacheMiss;
+import graphql.execution.preparsed.persisted.PersistedQueryNotFound;
+import graphql.schema.GraphQLSchema;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+/**
+ * Caches the parsed and validated GraphQL documents, so repeated queries skip parsing and validation. Documents are
+ * keyed by query text and operation name, or by their sha256 hash when sent as
+ * <a href="https://www.apollographql.com/docs/apollo-server/performance/apq/">automatic persisted queries</a>.
+ * Both caches are cleared whenever the schema changes, since documents are validated against it. Documents with
+ * syntax or validation errors are not cached, so they cannot fill the caches and evict the valid ones.
+ */
+@ApplicationScoped
+public class GraphQLDocumentCache implements PreparsedDocumentProvider {
+
+    static final String PERSISTED_QUERY_EXTENSION = "persistedQuery";
+
+    @ConfigProperty(name = "kogito.data-index.graphql.document-cache-size", defaultValue = "500")
+    long maximumSize;
+
+    @Inject
+    GraphQLSchemaManager manager;
+
+    private Cache<DocumentKey, PreparsedDocumentEntry> documents;
+    private Cache<Object, PreparsedDocumentEntry> persistedDocuments;
+    private PreparsedDocumentProvider persistedQuerySupport;
+    private volatile GraphQLSchema schema;
+
+    public GraphQLDocumentCache() {
+    }
+
+    GraphQLDocumentCache(GraphQLSchemaManager manager, long maximumSize) {
+        this.manager = manager;
+        this.maximumSize = maximumSize;
+        init();
+    }
+
+    @PostConstruct
+    void init() {
+        documents = CacheBuilder.newBuilder().maximumSize(maximumSize).build();
+        persistedDocuments = CacheBuilder.newBuilder().maximumSize(maximumSize).build();
+        persistedQuerySupport = new ApolloPersistedQuerySupport(new PersistedDocuments());
+    }
+
+    @Override
+    public CompletableFuture<PreparsedDocumentEntry> getDocumentAsync(ExecutionInput executionInput, Function<ExecutionInput, PreparsedDocumentEntry> parseAndValidateFunction) {
+        checkSchema();
+        if (isPersistedQuery(executionInput)) {
+            return persistedQuerySupport.getDocumentAsync(executionInput, parseAndValidateFunction);
+        }
+        DocumentKey key = new DocumentKey(executionInput.getQuery(), executionInput.getOperationName());
+        PreparsedDocumentEntry entry = documents.getIfPresent(key);
+        if (entry == null) {
+            entry = parseAndValidateFunction.apply(executionInput);
+            if (!entry.hasErrors()) {
+                documents.put(key, entry);
+            }
+        }
+        return CompletableFuture.completedFuture(entry);
+    }
+
+    public void invalidateAll() {
+        documents.invalidateAll();
+        persistedDocuments.invalidateAll();
+    }
+
+    long size() {
+        return documents.size() + persistedDocuments.size();
+    }
+
+    private void checkSchema() {
+        GraphQLSchema current = manager.getGraphQLSchema();
+        if (current != schema) {
+            synchronized (this) {
+                if (current != schema) {
+                    invalidateAll();
+                    schema = current;
+                }
+            }
+        }
+    }
+
+    private static boolean isPersistedQuery(ExecutionInput executionInput) {
+        Map<String, Object> extensions = executionInput.getExtensions();
+        return extensions != null && extensions.get(PERSISTED_QUERY_EXTENSION) instanceof Map;
+    }
+
+    private record DocumentKey(String query, String operationName) {
+    }
+
+    private class PersistedDocuments implements PersistedQueryCache {
+
+        @Override
+        public CompletableFuture<PreparsedDocumentEntry> getPersistedQueryDocumentAsync(Object persistedQueryId, ExecutionInput executionInput, PersistedQueryCacheMiss onCacheMiss)
+                throws PersistedQueryNotFound {
+            PreparsedDocumentEntry entry = persistedDocuments.getIfPresent(persistedQueryId);
+            if (entry == null) {
+                // throws PersistedQueryNotFound when the client only sent the hash of an unknown query
+                entry = onCacheMiss.apply(executionInput.getQuery());
+                if (!entry.hasErrors()) {
+                    persistedDocuments.put(persistedQueryId, entry);
+                }
+            }
+            return CompletableFuture.completedFuture(entry);
+        }
+    }
+}
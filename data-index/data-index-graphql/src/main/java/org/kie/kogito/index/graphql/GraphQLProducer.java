@@ -19,6 +19,7 @@
 package org.kie.kogito.index.graphql;
 
 import graphql.GraphQL;
+import graphql.execution.instrumentation.ChainedInstrumentation;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.enterprise.inject.Produces;
 import jakarta.inject.Inject;
@@ -29,13 +30,20 @@ public class GraphQLProducer {
     @Inject
     GraphQLInstrumentation instrumentation;
 
+    @Inject
+    QueryCostInstrumentation queryCostInstrumentation;
+
     @Inject
     GraphQLSchemaManager manager;
 
+    @Inject
+    GraphQLDocumentCache documentCache;
+
     @Produces
     public GraphQL createGraphQL() {
         return GraphQL.newGraphQL(manager.getGraphQLSchema())
-                .instrumentation(instrumentation)
+                .instrumentation(new ChainedInstrumentation(instrumentation, queryCostInstrumentation))
+                .preparsedDocumentProvider(documentCache)
                 .build();
     }
 }
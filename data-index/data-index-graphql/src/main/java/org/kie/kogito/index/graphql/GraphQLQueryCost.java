@@ -0,0 +1,30 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.kie.kogito.index.graphql;
+
+/**
+ * Static cost of a GraphQL operation, fired as a CDI event for every executed or rejected operation.
+ *
+ * @param operationName name of the operation, null for anonymous operations.
+ * @param cost estimated number of resolved fields.
+ * @param depth maximum nesting of the selected fields.
+ * @param rejected whether the operation was rejected for exceeding the limits.
+ */
+public record GraphQLQueryCost(String operationName, long cost, int depth, boolean rejected) {
+}
@@ -0,0 +1,154 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.kie.kogito.index.graphql;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import graphql.ExecutionResult;
+import graphql.analysis.QueryTraverser;
+import graphql.analysis.QueryVisitorFieldEnvironment;
+import graphql.analysis.QueryVisitorStub;
+import graphql.execution.AbortExecutionException;
+import graphql.execution.ExecutionContext;
+import graphql.execution.instrumentation.InstrumentationContext;
+import graphql.execution.instrumentation.InstrumentationState;
+import graphql.execution.instrumentation.SimpleInstrumentation;
+import graphql.execution.instrumentation.SimpleInstrumentationContext;
+import graphql.execution.instrumentation.parameters.InstrumentationExecuteOperationParameters;
+import graphql.schema.GraphQLList;
+import graphql.schema.GraphQLTypeUtil;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Event;
+import jakarta.inject.Inject;
+
+import static java.lang.String.format;
+
+/**
+ * Computes the static cost of every operation before executing it and rejects the ones exceeding the configured
+ * cost or depth. Every field costs one, and the cost of the selection of a list field is multiplied by the
+ * {@code pagination.limit} argument, or the {@code first} or {@code last} argument for the edges of a connection,
+ * the default page size for paginated fields without them, or the configured list multiplier for other lists.
+ */
+@ApplicationScoped
+public class QueryCostInstrumentation extends SimpleInstrumentation {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(QueryCostInstrumentation.class);
+
+    static final String PAGINATION = "pagination";
+    static final String LIMIT = "limit";
+    static final String FIRST = "first";
+    static final String LAST = "last";
+
+    /**
+     * Maximum cost of an operation, operations over the budget are rejected.
+     */
+    @ConfigProperty(name = "kogito.data-index.graphql.max-cost", defaultValue = "500000")
+    long maxCost;
+
+    /**
+     * Maximum nesting of the fields selected by an operation.
+     */
+    @ConfigProperty(name = "kogito.data-index.graphql.max-depth", defaultValue = "15")
+    int maxDepth;
+
+    /**
+     * Number of elements returned by paginated queries without limit.
+     */
+    @ConfigProperty(name = "kogito.data-index.graphql.default-page-size", defaultValue = "1000")
+    int defaultPageSize;
+
+    /**
+     * Estimated number of elements of list fields that cannot be paginated, like child process instances.
+     */
+    @ConfigProperty(name = "kogito.data-index.graphql.list-multiplier", defaultValue = "10")
+    int listMultiplier;
+
+    @Inject
+    Event<GraphQLQueryCost> costEvent;
+
+    @Override
+    public InstrumentationContext<ExecutionResult> beginExecuteOperation(InstrumentationExecuteOperationParameters parameters, InstrumentationState state) {
+        ExecutionContext executionContext = parameters.getExecutionContext();
+        GraphQLQueryCost queryCost = computeCost(executionContext);
+        costEvent.fire(queryCost);
+        if (queryCost.rejected()) {
+            LOGGER.warn("Rejecting GraphQL operation {} with cost {} and depth {}", queryCost.operationName(), queryCost.cost(), queryCost.depth());
+            throw new AbortExecutionException(format("Query cost %d or depth %d exceeds the maximum allowed cost %d or depth %d",
+                    queryCost.cost(), queryCost.depth(), maxCost, maxDepth));
+        }
+        return SimpleInstrumentationContext.noOp();
+    }
+
+    GraphQLQueryCost computeCost(ExecutionContext executionContext) {
+        QueryTraverser traverser = QueryTraverser.newQueryTraverser()
+                .schema(executionContext.getGraphQLSchema())
+                .document(executionContext.getDocument())
+                .operationName(executionContext.getExecutionInput().getOperationName())
+                .coercedVariables(executionContext.getCoercedVariables())
+                .build();
+        // cost of the selections, keyed by the environment of the field owning them, null for the operation
+        Map<QueryVisitorFieldEnvironment, Long> selectionCosts = new HashMap<>();
+        AtomicInteger depth = new AtomicInteger();
+        traverser.visitPostOrder(new QueryVisitorStub() {
+            @Override
+            public void visitField(QueryVisitorFieldEnvironment env) {
+                long cost = 1 + selectionCosts.getOrDefault(env, 0L) * multiplier(env);
+                selectionCosts.merge(env.getParentEnvironment(), cost, Long::sum);
+                depth.accumulateAndGet(depth(env), Math::max);
+            }
+        });
+        long cost = selectionCosts.getOrDefault(null, 0L);
+        return new GraphQLQueryCost(executionContext.getOperationDefinition().getName(), cost, depth.get(), cost > maxCost || depth.get() > maxDepth);
+    }
+
+    private long multiplier(QueryVisitorFieldEnvironment env) {
+        if (!(GraphQLTypeUtil.unwrapNonNull(env.getFieldDefinition().getType()) instanceof GraphQLList)) {
+            return 1;
+        }
+        QueryVisitorFieldEnvironment parent = env.getParentEnvironment();
+        if (parent != null && parent.getFieldDefinition().getArgument(FIRST) != null) {
+            // edges of a connection, sized by the arguments of the connection field
+            Object size = parent.getArguments().get(FIRST);
+            if (size == null) {
+                size = parent.getArguments().get(LAST);
+            }
+            return size instanceof Number ? ((Number) size).longValue() : defaultPageSize;
+        }
+        if (env.getFieldDefinition().getArgument(PAGINATION) == null) {
+            return listMultiplier;
+        }
+        Object pagination = env.getArguments().get(PAGINATION);
+        Object limit = pagination instanceof Map ? ((Map<?, ?>) pagination).get(LIMIT) : null;
+        return limit instanceof Number ? ((Number) limit).longValue() : defaultPageSize;
+    }
+
+    private static int depth(QueryVisitorFieldEnvironment env) {
+        int depth = 0;
+        for (QueryVisitorFieldEnvironment current = env; current != null; current = current.getParentEnvironment()) {
+            depth++;
+        }
+        return depth;
+    }
+}
@@ -61,6 +61,13 @@ public class GraphQLQueryOrderByParser implements Function<DataFetchingEnvironme
         return emptyList();
     }
 
+    /**
+     * Parses an already coerced {@code orderBy} argument value, such as the one of the export endpoint.
+     */
+    public List<AttributeSort> parse(Map<String, Object> orderBy) {
+        return orderBy == null ? emptyList() : orderBy.entrySet().stream().flatMap(mapSortBy()).collect(toList());
+    }
+
     private Function<Map.Entry<String, Object>, Stream<AttributeSort>> mapSortBy() {
         return entry -> {
             if (entry.getValue() instanceof Map) {
@@ -18,6 +18,8 @@
  */
 package org.kie.kogito.index.vertx;
 
+import org.kie.kogito.index.graphql.GraphQLDataLoaders;
+
 import io.quarkus.arc.properties.IfBuildProperty;
 import io.quarkus.vertx.web.Route;
 import io.vertx.ext.web.RoutingContext;
@@ -40,14 +42,19 @@ public class BlockingGraphqlRouterProducer {
     @Inject
     GraphQL graphQL;
 
+    @Inject
+    GraphQLDataLoaders dataLoaders;
+
     GraphQLHandler graphQLHandler;
 
     ApolloWSHandler apolloWSHandler;
 
     @PostConstruct
     public void init() {
-        graphQLHandler = GraphQLHandler.create(graphQL, new GraphQLHandlerOptions());
-        apolloWSHandler = ApolloWSHandler.create(graphQL);
+        graphQLHandler = GraphQLHandler.create(graphQL, new GraphQLHandlerOptions())
+                .beforeExecute(e -> e.builder().dataLoaderRegistry(dataLoaders.newRegistry()));
+        apolloWSHandler = ApolloWSHandler.create(graphQL)
+                .beforeExecute(e -> e.builder().dataLoaderRegistry(dataLoaders.newRegistry()));
     }
 
     @Route(path = "/graphql", type = Route.HandlerType.BLOCKING, order = 1, methods = { GET })
@@ -0,0 +1,216 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.kie.kogito.index.vertx;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
+
+import org.kie.kogito.index.graphql.GraphQLSchemaManager;
+import org.kie.kogito.index.graphql.query.GraphQLQueryOrderByParser;
+import org.kie.kogito.index.graphql.query.GraphQLQueryParserRegistry;
+import org.kie.kogito.index.json.JsonUtils;
+import org.kie.kogito.index.storage.DataIndexStorageService;
+import org.kie.kogito.persistence.api.StorageFetcher;
+import org.kie.kogito.persistence.api.query.Query;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.quarkus.vertx.web.Route;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpServerResponse;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.web.RoutingContext;
+
+import graphql.schema.GraphQLEnumType;
+import graphql.schema.GraphQLEnumValueDefinition;
+import graphql.schema.GraphQLFieldDefinition;
+import graphql.schema.GraphQLInputObjectField;
+import graphql.schema.GraphQLInputObjectType;
+import graphql.schema.GraphQLInputType;
+import graphql.schema.GraphQLList;
+import graphql.schema.GraphQLNamedType;
+import graphql.schema.GraphQLScalarType;
+import graphql.schema.GraphQLTypeUtil;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+import static io.quarkus.vertx.web.Route.HttpMethod.POST;
+
+/**
+ * Streams the elements of a list query as newline delimited JSON, one element per line. The request body holds the
+ * {@code where} and {@code orderBy} arguments of the GraphQL query with the same name, so exports share the filter
+ * grammar of the GraphQL API, but elements are read lazily from the storage and written as they are read instead of
+ * building the whole result in memory.
+ */
+@ApplicationScoped
+public class GraphQLExportRouter {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(GraphQLExportRouter.class);
+
+    static final String NDJSON = "application/x-ndjson";
+    static final String WHERE = "where";
+    static final String ORDER_BY = "orderBy";
+
+    @Inject
+    GraphQLSchemaManager schemaManager;
+
+    @Inject
+    DataIndexStorageService storageService;
+
+    @Route(path = "/graphql/export/:query", type = Route.HandlerType.BLOCKING, methods = { POST }, produces = NDJSON)
+    public void export(RoutingContext rc) {
+        String queryName = rc.pathParam("query");
+        StorageFetcher<?, ?> storage = getStorage(queryName);
+        GraphQLFieldDefinition field = schemaManager.getGraphQLSchema().getQueryType().getFieldDefinition(queryName);
+        if (storage == null || field == null) {
+            rc.response().setStatusCode(404).end("Unknown export " + queryName);
+            return;
+        }
+        Query<?> query;
+        try {
+            JsonObject body = rc.body().isEmpty() ? new JsonObject() : rc.body().asJsonObject();
+            query = createQuery(storage, field, body);
+        } catch (RuntimeException e) {
+            LOGGER.debug("Invalid export request for {}", queryName, e);
+            rc.response().setStatusCode(400).end(e.getMessage() == null ? e.getClass().getName() : e.getMessage());
+            return;
+        }
+        HttpServerResponse response = rc.response().setChunked(true).putHeader("Content-Type", NDJSON);
+        CompletableFuture<Void> closed = closeFuture(response);
+        try (Stream<?> elements = query.stream()) {
+            Iterator<?> iterator = elements.iterator();
+            while (iterator.hasNext() && !closed.isDone()) {
+                write(response, Buffer.buffer(JsonUtils.getObjectMapper().writeValueAsBytes(iterator.next())).appendByte((byte) '\n'), closed);
+            }
+            if (closed.isDone()) {
+                LOGGER.debug("Export of {} aborted, the client closed the connection", queryName);
+            } else {
+                response.end();
+            }
+        } catch (Exception e) {
+            // resetting the connection lets clients tell a failed export from a complete one
+            LOGGER.warn("Export of {} failed", queryName, e);
+            response.reset();
+        }
+    }
+
+    private StorageFetcher<?, ?> getStorage(String queryName) {
+        switch (queryName) {
+            case "ProcessDefinitions":
+                return storageService.getProcessDefinitionStorage();
+            case "ProcessInstances":
+                return storageService.getProcessInstanceStorage();
+            case "UserTaskInstances":
+                return storageService.getUserTaskInstanceStorage();
+            case "Jobs":
+                return storageService.getJobsStorage();
+            default:
+                return null;
+        }
+    }
+
+    private static Query<?> createQuery(StorageFetcher<?, ?> storage, GraphQLFieldDefinition field, JsonObject body) {
+        Query<?> query = storage.query();
+        GraphQLInputType whereType = field.getArgument(WHERE).getType();
+        Map<String, Object> where = (Map<String, Object>) coerce(whereType, body.getJsonObject(WHERE) == null ? null : body.getJsonObject(WHERE).getMap());
+        query.filter(GraphQLQueryParserRegistry.get().getParser(((GraphQLNamedType) whereType).getName()).apply(where));
+        JsonObject orderBy = body.getJsonObject(ORDER_BY);
+        query.sort(new GraphQLQueryOrderByParser().parse(orderBy == null ? null : orderBy.getMap()));
+        return query;
+    }
+
+    /**
+     * Converts a JSON argument value to the representation GraphQL passes to the data fetchers, such as the storage
+     * representation of dates or the values bound to enums.
+     */
+    static Object coerce(GraphQLInputType type, Object value) {
+        if (value == null) {
+            return null;
+        }
+        GraphQLInputType unwrapped = (GraphQLInputType) GraphQLTypeUtil.unwrapNonNull(type);
+        if (unwrapped instanceof GraphQLList) {
+            GraphQLInputType elementType = (GraphQLInputType) ((GraphQLList) unwrapped).getWrappedType();
+            List<Object> values = new ArrayList<>();
+            for (Object element : value instanceof Iterable ? (Iterable<?>) value : List.of(value)) {
+                values.add(coerce(elementType, element));
+            }
+            return values;
+        }
+        if (unwrapped instanceof GraphQLInputObjectType) {
+            GraphQLInputObjectType objectType = (GraphQLInputObjectType) unwrapped;
+            Map<String, Object> object = new LinkedHashMap<>();
+            for (Map.Entry<String, Object> entry : toMap(value).entrySet()) {
+                GraphQLInputObjectField objectField = objectType.getFieldDefinition(entry.getKey());
+                if (objectField == null) {
+                    throw new IllegalArgumentException("Unknown field " + entry.getKey() + " of " + objectType.getName());
+                }
+                object.put(entry.getKey(), coerce(objectField.getType(), entry.getValue()));
+            }
+            return object;
+        }
+        if (unwrapped instanceof GraphQLEnumType) {
+            GraphQLEnumValueDefinition enumValue = ((GraphQLEnumType) unwrapped).getValue(value.toString());
+            if (enumValue == null) {
+                throw new IllegalArgumentException("Unknown value " + value + " of " + ((GraphQLEnumType) unwrapped).getName());
+            }
+            return enumValue.getValue();
+        }
+        return ((GraphQLScalarType) unwrapped).getCoercing().parseValue(value);
+    }
+
+    private static Map<String, Object> toMap(Object value) {
+        if (value instanceof JsonObject) {
+            return ((JsonObject) value).getMap();
+        }
+        if (value instanceof Map) {
+            return (Map<String, Object>) value;
+        }
+        throw new IllegalArgumentException("Expected an object but got " + value);
+    }
+
+    /**
+     * Returns a future completed once the connection is closed or fails, which ends the export early.
+     */
+    static CompletableFuture<Void> closeFuture(HttpServerResponse response) {
+        CompletableFuture<Void> closed = new CompletableFuture<>();
+        response.closeHandler(v -> closed.complete(null));
+        response.exceptionHandler(e -> closed.complete(null));
+        if (response.closed()) {
+            closed.complete(null);
+        }
+        return closed;
+    }
+
+    static void write(HttpServerResponse response, Buffer buffer, CompletableFuture<Void> closed) {
+        response.write(buffer);
+        if (response.writeQueueFull()) {
+            // this handler runs on a worker thread, so it can wait for the client to catch up or go away
+            CompletableFuture<Void> drained = new CompletableFuture<>();
+            response.drainHandler(v -> drained.complete(null));
+            if (response.writeQueueFull()) {
+                CompletableFuture.anyOf(drained, closed).join();
+            }
+        }
+    }
+}
@@ -0,0 +1,221 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.kie.kogito.index.graphql;
+
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.kie.kogito.index.api.DefaultDateTimeCoercing;
+import org.kie.kogito.index.graphql.query.GraphQLQueryParserRegistry;
+import org.kie.kogito.index.model.ProcessInstance;
+import org.kie.kogito.index.storage.DataIndexStorageService;
+import org.kie.kogito.index.storage.ProcessInstanceStorage;
+import org.kie.kogito.persistence.api.query.Query;
+import org.kie.kogito.persistence.api.query.SortDirection;
+import org.mockito.Answers;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import graphql.ExecutionResult;
+import graphql.GraphQL;
+import graphql.schema.GraphQLInputObjectType;
+import graphql.schema.GraphQLScalarType;
+import graphql.schema.GraphQLSchema;
+import graphql.schema.idl.RuntimeWiring;
+import graphql.schema.idl.SchemaGenerator;
+import graphql.schema.idl.SchemaParser;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.kie.kogito.persistence.api.query.QueryFilterFactory.orderBy;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class GraphQLConnectionTest {
+
+    private static final String SCHEMA = "scalar DateTime"
+            + " type Query { ProcessInstancesConnection(where: ConnectionTestArgument, orderBy: ConnectionTestOrderBy,"
+            + " first: Int, after: String, last: Int, before: String): ProcessInstanceConnection }"
+            + " type ProcessInstanceConnection { edges: [ProcessInstanceEdge!]! pageInfo: PageInfo! }"
+            + " type ProcessInstanceEdge { cursor: String! node: ProcessInstance! }"
+            + " type PageInfo { hasNextPage: Boolean! hasPreviousPage: Boolean! startCursor: String endCursor: String }"
+            + " type ProcessInstance { id: String processId: String start: DateTime }"
+            + " input ConnectionTestArgument { processId: StringArgument }"
+            + " input StringArgument { equal: String }"
+            + " input ConnectionTestOrderBy { processId: OrderBy start: OrderBy }"
+            + " enum OrderBy { ASC DESC }";
+
+    private static final String SELECTION = " { edges { cursor node { id } } pageInfo { hasNextPage hasPreviousPage startCursor endCursor } } }";
+
+    @Mock
+    DataIndexStorageService storageService;
+
+    @Mock
+    ProcessInstanceStorage processInstanceStorage;
+
+    @Mock(answer = Answers.RETURNS_SELF)
+    Query<ProcessInstance> query;
+
+    AbstractGraphQLSchemaManager manager = new AbstractGraphQLSchemaManager() {
+        @Override
+        public GraphQLSchema createSchema() {
+            return null;
+        }
+    };
+
+    GraphQL graphQL;
+
+    @BeforeEach
+    void setup() {
+        GraphQLScalarType dateTime = GraphQLScalarType.newScalar().name("DateTime").coercing(new DefaultDateTimeCoercing()).build();
+        manager.cacheService = storageService;
+        manager.dateTimeScalarType = dateTime;
+        manager.defaultPageSize = 10;
+        when(storageService.getProcessInstanceStorage()).thenReturn(processInstanceStorage);
+        lenient().when(processInstanceStorage.query()).thenReturn(query);
+        GraphQLSchema schema = new SchemaGenerator().makeExecutableSchema(new SchemaParser().parse(SCHEMA),
+                RuntimeWiring.newRuntimeWiring()
+                        .scalar(dateTime)
+                        .type("Query", builder -> builder.dataFetcher("ProcessInstancesConnection", manager::getProcessInstancesConnection))
+                        .build());
+        GraphQLQueryParserRegistry.get().registerParser((GraphQLInputObjectType) schema.getType("ConnectionTestArgument"));
+        graphQL = GraphQL.newGraphQL(schema).build();
+    }
+
+    @Test
+    void testForwardPagination() {
+        when(query.execute()).thenReturn(List.of(instance("1", "travels"), instance("2", "travels"), instance("3", "travels")));
+
+        Map<String, Object> page = connection("{ ProcessInstancesConnection(orderBy: { processId: ASC }, first: 2)" + SELECTION);
+
+        assertThat(nodeIds(page)).containsExactly("1", "2");
+        assertThat(pageInfo(page)).containsEntry("hasNextPage", true).containsEntry("hasPreviousPage", false);
+        verify(query).sort(List.of(orderBy("processId", SortDirection.ASC), orderBy("id", SortDirection.ASC)));
+        verify(query).limit(3);
+
+        when(query.execute()).thenReturn(List.of(instance("3", "travels")));
+        Map<String, Object> next = connection("{ ProcessInstancesConnection(orderBy: { processId: ASC }, first: 2, after: \""
+                + pageInfo(page).get("endCursor") + "\")" + SELECTION);
+
+        assertThat(nodeIds(next)).containsExactly("3");
+        assertThat(pageInfo(next)).containsEntry("hasNextPage", false).containsEntry("hasPreviousPage", true);
+        verify(query).searchAfter("travels", "2");
+    }
+
+    @Test
+    void testBackwardPagination() {
+        when(query.execute()).thenReturn(List.of(instance("2", "travels"), instance("1", "travels")));
+        String cursor = ConnectionCursor.encode(List.of("travels", "3"));
+
+        Map<String, Object> page = connection("{ ProcessInstancesConnection(orderBy: { processId: ASC }, last: 2, before: \"" + cursor + "\")" + SELECTION);
+
+        assertThat(nodeIds(page)).containsExactly("1", "2");
+        assertThat(pageInfo(page)).containsEntry("hasNextPage", true).containsEntry("hasPreviousPage", false);
+        verify(query).sort(List.of(orderBy("processId", SortDirection.DESC), orderBy("id", SortDirection.DESC)));
+        verify(query).searchAfter("travels", "3");
+    }
+
+    @Test
+    void testDateTimeCursor() {
+        ZonedDateTime start = ZonedDateTime.parse("2024-01-02T10:15:30.123Z");
+        ProcessInstance instance = instance("1", "travels");
+        instance.setStart(start);
+        when(query.execute()).thenReturn(List.of(instance));
+
+        Map<String, Object> page = connection("{ ProcessInstancesConnection(orderBy: { start: DESC })" + SELECTION);
+        connection("{ ProcessInstancesConnection(orderBy: { start: DESC }, after: \"" + pageInfo(page).get("endCursor") + "\")" + SELECTION);
+
+        verify(query, times(2)).limit(11);
+        verify(query).searchAfter(start.toInstant().toEpochMilli(), "1");
+    }
+
+    @Test
+    void testEmptyPage() {
+        Map<String, Object> page = connection("{ ProcessInstancesConnection(first: 0)" + SELECTION);
+
+        assertThat(nodeIds(page)).isEmpty();
+        assertThat(pageInfo(page)).containsEntry("hasNextPage", false).containsEntry("hasPreviousPage", false);
+        verify(query, never()).execute();
+    }
+
+    @Test
+    void testMaximumPageSize() {
+        when(query.execute()).thenReturn(List.of(instance("1", "travels")));
+
+        Map<String, Object> page = connection("{ ProcessInstancesConnection(first: " + Integer.MAX_VALUE + ")" + SELECTION);
+
+        assertThat(nodeIds(page)).containsExactly("1");
+        assertThat(pageInfo(page)).containsEntry("hasNextPage", false);
+        verify(query).limit(Integer.MAX_VALUE);
+    }
+
+    @Test
+    void testPageSizeRequiredWithoutDefault() {
+        manager.defaultPageSize = 0;
+
+        ExecutionResult result = graphQL.execute("{ ProcessInstancesConnection(orderBy: { processId: ASC })" + SELECTION);
+
+        assertThat(result.getErrors()).hasSize(1);
+        verify(query, never()).execute();
+    }
+
+    @Test
+    void testMixedDirectionsRejected() {
+        ExecutionResult result = graphQL.execute("{ ProcessInstancesConnection(first: 2, last: 2)" + SELECTION);
+
+        assertThat(result.getErrors()).hasSize(1);
+        verify(query, never()).execute();
+    }
+
+    @Test
+    void testInvalidCursorRejected() {
+        ExecutionResult result = graphQL.execute("{ ProcessInstancesConnection(after: \"" + ConnectionCursor.encode(List.of("1")) + "\", orderBy: { processId: ASC })" + SELECTION);
+
+        assertThat(result.getErrors()).hasSize(1);
+        verify(query, never()).execute();
+    }
+
+    private static ProcessInstance instance(String id, String processId) {
+        ProcessInstance instance = new ProcessInstance();
+        instance.setId(id);
+        instance.setProcessId(processId);
+        return instance;
+    }
+
+    private Map<String, Object> connection(String query) {
+        ExecutionResult result = graphQL.execute(query);
+        assertThat(result.getErrors()).isEmpty();
+        return result.<Map<String, Map<String, Object>>> getData().get("ProcessInstancesConnection");
+    }
+
+    private static List<Object> nodeIds(Map<String, Object> connection) {
+        return ((List<Map<String, Map<String, Object>>>) connection.get("edges")).stream().map(edge -> edge.get("node").get("id")).toList();
+    }
+
+    private static Map<String, Object> pageInfo(Map<String, Object> connection) {
+        return (Map<String, Object>) connection.get("pageInfo");
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.kie.kogito.index.graphql;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.kie.kogito.index.graphql.query.GraphQLQueryParserRegistry;
+import org.kie.kogito.index.model.ProcessInstance;
+import org.kie.kogito.index.storage.DataIndexStorageService;
+import org.kie.kogito.index.storage.ProcessInstanceStorage;
+import org.kie.kogito.persistence.api.query.Query;
+import org.mockito.Answers;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import graphql.ExecutionResult;
+import graphql.GraphQL;
+import graphql.schema.GraphQLInputObjectType;
+import graphql.schema.GraphQLSchema;
+import graphql.schema.idl.RuntimeWiring;
+import graphql.schema.idl.SchemaGenerator;
+import graphql.schema.idl.SchemaParser;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.kie.kogito.persistence.api.query.QueryFilterFactory.equalTo;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class GraphQLCountTest {
+
+    private static final String SCHEMA = "type Query { ProcessInstancesCount(where: CountTestArgument): Int }"
+            + " input CountTestArgument { processId: StringArgument }"
+            + " input StringArgument { equal: String }";
+
+    @Mock
+    DataIndexStorageService storageService;
+
+    @Mock
+    ProcessInstanceStorage processInstanceStorage;
+
+    @Mock(answer = Answers.RETURNS_SELF)
+    Query<ProcessInstance> query;
+
+    AbstractGraphQLSchemaManager manager = new AbstractGraphQLSchemaManager() {
+        @Override
+        public GraphQLSchema createSchema() {
+            return null;
+        }
+    };
+
+    GraphQL graphQL;
+
+    @BeforeEach
+    void setup() {
+        manager.cacheService = storageService;
+        when(storageService.getProcessInstanceStorage()).thenReturn(processInstanceStorage);
+        GraphQLSchema schema = new SchemaGenerator().makeExecutableSchema(new SchemaParser().parse(SCHEMA),
+                RuntimeWiring.newRuntimeWiring()
+                        .type("Query", builder -> builder.dataFetcher("ProcessInstancesCount", manager::getProcessInstancesCount))
+                        .build());
+        GraphQLQueryParserRegistry.get().registerParser((GraphQLInputObjectType) schema.getType("CountTestArgument"));
+        graphQL = GraphQL.newGraphQL(schema).build();
+    }
+
+    @Test
+    void testCountReusedForSameFilter() {
+        when(processInstanceStorage.query()).thenReturn(query);
+        when(query.count()).thenReturn(3L, 5L);
+
+        assertThat(count("{ ProcessInstancesCount(where: { processId: { equal: \"travels\" } }) }")).isEqualTo(3);
+        assertThat(count("{ ProcessInstancesCount(where: { processId: { equal: \"travels\" } }) }")).isEqualTo(3);
+        assertThat(count("{ ProcessInstancesCount(where: { processId: { equal: \"hotels\" } }) }")).isEqualTo(5);
+
+        verify(query).filter(List.of(equalTo("processId", "travels")));
+        verify(query).filter(List.of(equalTo("processId", "hotels")));
+        verify(query, times(2)).count();
+    }
+
+    @Test
+    void testCountNotReusedWithoutTtl() {
+        manager.countCacheTtl = Duration.ZERO;
+        when(processInstanceStorage.query()).thenReturn(query);
+        when(query.count()).thenReturn(3L, 4L);
+
+        assertThat(count("{ ProcessInstancesCount }")).isEqualTo(3);
+        assertThat(count("{ ProcessInstancesCount }")).isEqualTo(4);
+        verify(query, times(2)).filter(anyList());
+    }
+
+    private Object count(String query) {
+        ExecutionResult result = graphQL.execute(query);
+        assertThat(result.getErrors()).isEmpty();
+        return result.<Map<String, Object>> getData().get("ProcessInstancesCount");
+    }
+}
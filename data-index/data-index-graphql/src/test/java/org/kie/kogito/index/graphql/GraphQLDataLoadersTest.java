@@ -0,0 +1,144 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.kie.kogito.index.graphql;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import org.dataloader.DataLoader;
+import org.dataloader.DataLoaderRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.kie.kogito.index.model.ProcessDefinition;
+import org.kie.kogito.index.model.ProcessDefinitionKey;
+import org.kie.kogito.index.model.ProcessInstance;
+import org.kie.kogito.index.storage.DataIndexStorageService;
+import org.kie.kogito.index.storage.ProcessInstanceStorage;
+import org.kie.kogito.persistence.api.Storage;
+import org.kie.kogito.persistence.api.query.Query;
+import org.mockito.Answers;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.kie.kogito.persistence.api.query.QueryFilterFactory.in;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class GraphQLDataLoadersTest {
+
+    @Mock
+    DataIndexStorageService storageService;
+
+    @Mock
+    ProcessInstanceStorage processInstanceStorage;
+
+    @Mock
+    Storage<ProcessDefinitionKey, ProcessDefinition> processDefinitionStorage;
+
+    @Mock(answer = Answers.RETURNS_SELF)
+    Query<ProcessInstance> processInstanceQuery;
+
+    @Mock(answer = Answers.RETURNS_SELF)
+    Query<ProcessDefinition> processDefinitionQuery;
+
+    DataLoaderRegistry registry;
+
+    @BeforeEach
+    void setup() {
+        registry = new GraphQLDataLoaders(storageService).newRegistry();
+    }
+
+    @Test
+    void testParentProcessInstancesLoadedInOneQuery() {
+        when(storageService.getProcessInstanceStorage()).thenReturn(processInstanceStorage);
+        when(processInstanceStorage.query()).thenReturn(processInstanceQuery);
+        when(processInstanceQuery.execute()).thenReturn(List.of(processInstance("p1", null), processInstance("p2", null)));
+
+        DataLoader<String, ProcessInstance> loader = registry.getDataLoader(GraphQLDataLoaders.PROCESS_INSTANCE_BY_ID);
+        CompletableFuture<ProcessInstance> p1 = loader.load("p1");
+        CompletableFuture<ProcessInstance> p2 = loader.load("p2");
+        CompletableFuture<ProcessInstance> p1Again = loader.load("p1");
+        CompletableFuture<ProcessInstance> p3 = loader.load("p3");
+        registry.dispatchAll();
+
+        assertThat(p1.join().getId()).isEqualTo("p1");
+        assertThat(p2.join().getId()).isEqualTo("p2");
+        assertThat(p1Again.join()).isSameAs(p1.join());
+        assertThat(p3.join()).isNull();
+        verify(processInstanceStorage, times(1)).query();
+
+        // values are cached for the whole request
+        assertThat(loader.load("p2").join().getId()).isEqualTo("p2");
+        verify(processInstanceStorage, times(1)).query();
+    }
+
+    @Test
+    void testChildProcessInstancesLoadedInOneQuery() {
+        when(storageService.getProcessInstanceStorage()).thenReturn(processInstanceStorage);
+        when(processInstanceStorage.query()).thenReturn(processInstanceQuery);
+        when(processInstanceQuery.execute()).thenReturn(List.of(processInstance("c1", "p1"), processInstance("c2", "p1"), processInstance("c3", "p2")));
+
+        DataLoader<String, List<ProcessInstance>> loader = registry.getDataLoader(GraphQLDataLoaders.PROCESS_INSTANCES_BY_PARENT_ID);
+        CompletableFuture<List<ProcessInstance>> p1 = loader.load("p1");
+        CompletableFuture<List<ProcessInstance>> p2 = loader.load("p2");
+        CompletableFuture<List<ProcessInstance>> p3 = loader.load("p3");
+        registry.dispatchAll();
+
+        assertThat(p1.join()).extracting(ProcessInstance::getId).containsExactly("c1", "c2");
+        assertThat(p2.join()).extracting(ProcessInstance::getId).containsExactly("c3");
+        assertThat(p3.join()).isNull();
+        verify(processInstanceStorage, times(1)).query();
+        verify(processInstanceQuery).filter(List.of(in("parentProcessInstanceId", List.of("p1", "p2", "p3"))));
+    }
+
+    @Test
+    void testProcessDefinitionsLoadedInOneQuery() {
+        when(storageService.getProcessDefinitionStorage()).thenReturn(processDefinitionStorage);
+        when(processDefinitionStorage.query()).thenReturn(processDefinitionQuery);
+        when(processDefinitionQuery.execute()).thenReturn(List.of(processDefinition("travels", "1.0"), processDefinition("travels", "2.0"),
+                processDefinition("hotels", "1.0")));
+
+        DataLoader<ProcessDefinitionKey, ProcessDefinition> loader = registry.getDataLoader(GraphQLDataLoaders.PROCESS_DEFINITION_BY_KEY);
+        CompletableFuture<ProcessDefinition> travels = loader.load(new ProcessDefinitionKey("travels", "1.0"));
+        CompletableFuture<ProcessDefinition> hotels = loader.load(new ProcessDefinitionKey("hotels", "2.0"));
+        registry.dispatchAll();
+
+        assertThat(travels.join().getVersion()).isEqualTo("1.0");
+        assertThat(hotels.join()).isNull();
+        verify(processDefinitionStorage, times(1)).query();
+    }
+
+    private static ProcessInstance processInstance(String id, String parentId) {
+        ProcessInstance pi = new ProcessInstance();
+        pi.setId(id);
+        pi.setParentProcessInstanceId(parentId);
+        return pi;
+    }
+
+    private static ProcessDefinition processDefinition(String id, String version) {
+        ProcessDefinition pd = new ProcessDefinition();
+        pd.setId(id);
+        pd.setVersion(version);
+        return pd;
+    }
+}
@@ -0,0 +1,125 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.kie.kogito.index.graphql;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.google.common.hash.Hashing;
+
+import graphql.ExecutionInput;
+import graphql.ExecutionResult;
+import graphql.GraphQL;
+import graphql.ParseAndValidate;
+import graphql.ParseAndValidateResult;
+import graphql.execution.preparsed.PreparsedDocumentEntry;
+import graphql.schema.GraphQLSchema;
+import graphql.schema.idl.RuntimeWiring;
+import graphql.schema.idl.SchemaGenerator;
+import graphql.schema.idl.SchemaParser;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class GraphQLDocumentCacheTest {
+
+    private static final String QUERY = "{ hello }";
+
+    GraphQLSchemaManager manager = mock(GraphQLSchemaManager.class);
+    GraphQLSchema schema = createSchema("type Query { hello: String }");
+    GraphQLDocumentCache documentCache;
+    AtomicInteger parsed = new AtomicInteger();
+
+    @BeforeEach
+    void setup() {
+        when(manager.getGraphQLSchema()).thenReturn(schema);
+        documentCache = new GraphQLDocumentCache(manager, 10);
+    }
+
+    @Test
+    void testDocumentParsedOnce() {
+        PreparsedDocumentEntry first = documentCache.getDocumentAsync(input(QUERY, null), parseAndValidate()).join();
+        PreparsedDocumentEntry second = documentCache.getDocumentAsync(input(QUERY, null), parseAndValidate()).join();
+
+        assertThat(second).isSameAs(first);
+        assertThat(parsed).hasValue(1);
+
+        documentCache.getDocumentAsync(input(QUERY, "other"), parseAndValidate()).join();
+        assertThat(parsed).hasValue(2);
+    }
+
+    @Test
+    void testInvalidDocumentNotCached() {
+        documentCache.getDocumentAsync(input("{ bye }", null), parseAndValidate()).join();
+        documentCache.getDocumentAsync(input("{ bye }", null), parseAndValidate()).join();
+
+        assertThat(parsed).hasValue(2);
+        assertThat(documentCache.size()).isZero();
+    }
+
+    @Test
+    void testDocumentsInvalidatedOnSchemaChange() {
+        documentCache.getDocumentAsync(input(QUERY, null), parseAndValidate()).join();
+        when(manager.getGraphQLSchema()).thenReturn(createSchema("type Query { hello: String, bye: String }"));
+        documentCache.getDocumentAsync(input(QUERY, null), parseAndValidate()).join();
+
+        assertThat(parsed).hasValue(2);
+    }
+
+    @Test
+    void testAutomaticPersistedQueries() {
+        GraphQL graphQL = GraphQL.newGraphQL(schema).preparsedDocumentProvider(documentCache).build();
+        String hash = Hashing.sha256().hashString(QUERY, StandardCharsets.UTF_8).toString();
+        Map<String, Object> extensions = Map.of(GraphQLDocumentCache.PERSISTED_QUERY_EXTENSION, Map.of("version", 1, "sha256Hash", hash));
+
+        ExecutionResult unknown = graphQL.execute(ExecutionInput.newExecutionInput().query("").extensions(extensions).build());
+        assertThat(unknown.getErrors()).extracting(e -> e.getMessage()).containsExactly("PersistedQueryNotFound");
+
+        ExecutionResult registered = graphQL.execute(ExecutionInput.newExecutionInput().query(QUERY).extensions(extensions).build());
+        assertThat(registered.getErrors()).isEmpty();
+        assertThat(registered.<Map<String, Object>> getData()).containsEntry("hello", "world");
+
+        ExecutionResult hashOnly = graphQL.execute(ExecutionInput.newExecutionInput().query("").extensions(extensions).build());
+        assertThat(hashOnly.getErrors()).isEmpty();
+        assertThat(hashOnly.<Map<String, Object>> getData()).containsEntry("hello", "world");
+    }
+
+    private Function<ExecutionInput, PreparsedDocumentEntry> parseAndValidate() {
+        return input -> {
+            parsed.incrementAndGet();
+            ParseAndValidateResult result = ParseAndValidate.parseAndValidate(schema, input);
+            return result.isFailure() ? new PreparsedDocumentEntry(result.getErrors()) : new PreparsedDocumentEntry(result.getDocument());
+        };
+    }
+
+    private static ExecutionInput input(String query, String operationName) {
+        return ExecutionInput.newExecutionInput().query(query).operationName(operationName).build();
+    }
+
+    private static GraphQLSchema createSchema(String sdl) {
+        return new SchemaGenerator().makeExecutableSchema(new SchemaParser().parse(sdl),
+                RuntimeWiring.newRuntimeWiring().type("Query", builder -> builder.dataFetcher("hello", env -> "world")).build());
+    }
+}
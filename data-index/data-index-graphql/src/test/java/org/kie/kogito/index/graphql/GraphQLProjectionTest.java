@@ -0,0 +1,86 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.kie.kogito.index.graphql;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.Test;
+
+import graphql.GraphQL;
+import graphql.schema.GraphQLSchema;
+import graphql.schema.idl.RuntimeWiring;
+import graphql.schema.idl.SchemaGenerator;
+import graphql.schema.idl.SchemaParser;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GraphQLProjectionTest {
+
+    private static final String SCHEMA = "type Query { ProcessInstances: [ProcessInstance] }"
+            + " type ProcessInstance { id: String, processId: String, state: Int, endpoint: String, serviceUrl: String,"
+            + " diagram: String, roles: [String], nodes: [Node], definition: ProcessDefinition }"
+            + " type Node { id: String }"
+            + " type ProcessDefinition { id: String }";
+
+    AbstractGraphQLSchemaManager manager = new AbstractGraphQLSchemaManager() {
+        @Override
+        public GraphQLSchema createSchema() {
+            return null;
+        }
+    };
+
+    AtomicReference<List<String>> projection = new AtomicReference<>();
+
+    GraphQL graphQL = GraphQL.newGraphQL(new SchemaGenerator().makeExecutableSchema(new SchemaParser().parse(SCHEMA),
+            RuntimeWiring.newRuntimeWiring()
+                    .type("Query", builder -> builder.dataFetcher("ProcessInstances", env -> {
+                        projection.set(manager.getProjection(env));
+                        return List.of();
+                    }))
+                    .type("ProcessInstance", builder -> builder
+                            .dataFetcher("serviceUrl", env -> null)
+                            .dataFetcher("diagram", env -> null)
+                            .dataFetcher("definition", env -> null))
+                    .build()))
+            .build();
+
+    @Test
+    void testScalarFieldsProjected() {
+        assertThat(projectionOf("{ ProcessInstances { id state __typename } }")).containsExactly("id", "state");
+    }
+
+    @Test
+    void testComputedFieldDependenciesProjected() {
+        assertThat(projectionOf("{ ProcessInstances { state serviceUrl definition { id } } }")).containsExactly("state", "endpoint", "processId", "version");
+    }
+
+    @Test
+    void testCompleteElementRequired() {
+        assertThat(projectionOf("{ ProcessInstances { id nodes { id } } }")).isNull();
+        assertThat(projectionOf("{ ProcessInstances { id roles } }")).isNull();
+        assertThat(projectionOf("{ ProcessInstances { id diagram } }")).isNull();
+    }
+
+    private List<String> projectionOf(String query) {
+        projection.set(null);
+        assertThat(graphQL.execute(query).getErrors()).isEmpty();
+        return projection.get();
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.kie.kogito.index.graphql;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import graphql.ExecutionResult;
+import graphql.GraphQL;
+import graphql.schema.idl.RuntimeWiring;
+import graphql.schema.idl.SchemaGenerator;
+import graphql.schema.idl.SchemaParser;
+import jakarta.enterprise.event.Event;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+class QueryCostInstrumentationTest {
+
+    private static final String SCHEMA = "type Query { ProcessInstances(pagination: Pagination): [ProcessInstance] }"
+            + " input Pagination { limit: Int, offset: Int }"
+            + " type ProcessInstance { id: String, roles: [String], childProcessInstances: [ProcessInstance] }";
+
+    Event<GraphQLQueryCost> costEvent = mock(Event.class);
+    QueryCostInstrumentation instrumentation = new QueryCostInstrumentation();
+    GraphQL graphQL;
+
+    @BeforeEach
+    void setup() {
+        instrumentation.costEvent = costEvent;
+        instrumentation.maxCost = 1000;
+        instrumentation.maxDepth = 3;
+        instrumentation.defaultPageSize = 100;
+        instrumentation.listMultiplier = 10;
+        graphQL = GraphQL.newGraphQL(new SchemaGenerator().makeExecutableSchema(new SchemaParser().parse(SCHEMA),
+                RuntimeWiring.newRuntimeWiring().type("Query", builder -> builder.dataFetcher("ProcessInstances", env -> List.of())).build()))
+                .instrumentation(instrumentation)
+                .build();
+    }
+
+    @Test
+    void testCostUsesPaginationLimit() {
+        ExecutionResult result = graphQL.execute("{ ProcessInstances(pagination: {limit: 10}) { id roles childProcessInstances { id } } }");
+
+        assertThat(result.getErrors()).isEmpty();
+        // childProcessInstances: 1 + 1 * 10, ProcessInstances: 1 + (1 + 1 + 11) * 10
+        assertThat(firedCost()).isEqualTo(new GraphQLQueryCost(null, 131, 3, false));
+    }
+
+    @Test
+    void testCostUsesDefaultPageSize() {
+        ExecutionResult result = graphQL.execute("{ ProcessInstances { id } }");
+
+        assertThat(result.getErrors()).isEmpty();
+        assertThat(firedCost()).isEqualTo(new GraphQLQueryCost(null, 101, 2, false));
+    }
+
+    @Test
+    void testQueryOverBudgetRejected() {
+        ExecutionResult result = graphQL.execute("query Children { ProcessInstances { id childProcessInstances { id } } }");
+
+        assertThat(result.getErrors()).hasSize(1);
+        assertThat(result.getErrors().get(0).getMessage()).contains("exceeds the maximum allowed cost");
+        assertThat(firedCost()).isEqualTo(new GraphQLQueryCost("Children", 1201, 3, true));
+    }
+
+    @Test
+    void testQueryTooDeepRejected() {
+        ExecutionResult result = graphQL.execute("{ ProcessInstances(pagination: {limit: 1}) { childProcessInstances { childProcessInstances { childProcessInstances { id } } } } }");
+
+        assertThat(result.getErrors()).hasSize(1);
+        assertThat(firedCost().rejected()).isTrue();
+    }
+
+    private GraphQLQueryCost firedCost() {
+        ArgumentCaptor<GraphQLQueryCost> captor = ArgumentCaptor.forClass(GraphQLQueryCost.class);
+        verify(costEvent).fire(captor.capture());
+        return captor.getValue();
+    }
+}
@@ -0,0 +1,120 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.kie.kogito.index.vertx;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.kie.kogito.index.api.DefaultDateTimeCoercing;
+import org.mockito.ArgumentCaptor;
+
+import io.vertx.core.Handler;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpServerResponse;
+import io.vertx.core.json.JsonObject;
+
+import graphql.schema.GraphQLInputType;
+import graphql.schema.GraphQLScalarType;
+import graphql.schema.GraphQLSchema;
+import graphql.schema.idl.RuntimeWiring;
+import graphql.schema.idl.SchemaGenerator;
+import graphql.schema.idl.SchemaParser;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class GraphQLExportRouterTest {
+
+    private static final String SCHEMA = "scalar DateTime"
+            + " type Query { ProcessInstances(where: ExportTestArgument): [String] }"
+            + " input ExportTestArgument { state: StateArgument start: DateArgument and: [ExportTestArgument!] }"
+            + " input StateArgument { equal: State in: [State] }"
+            + " input DateArgument { greaterThan: DateTime }"
+            + " enum State { ACTIVE COMPLETED }";
+
+    GraphQLInputType whereType;
+
+    @BeforeEach
+    void setup() {
+        GraphQLSchema schema = new SchemaGenerator().makeExecutableSchema(new SchemaParser().parse(SCHEMA),
+                RuntimeWiring.newRuntimeWiring()
+                        .scalar(GraphQLScalarType.newScalar().name("DateTime").coercing(new DefaultDateTimeCoercing()).build())
+                        .type("State", builder -> builder.enumValues(name -> "ACTIVE".equals(name) ? 1 : 2))
+                        .build());
+        whereType = schema.getQueryType().getFieldDefinition("ProcessInstances").getArgument(GraphQLExportRouter.WHERE).getType();
+    }
+
+    @Test
+    void testCoerceAsGraphQLVariables() {
+        JsonObject where = new JsonObject("{ \"state\": { \"in\": [\"ACTIVE\", \"COMPLETED\"] },"
+                + " \"and\": [{ \"start\": { \"greaterThan\": \"2024-01-02T10:15:30.123Z\" } }] }");
+
+        assertThat(GraphQLExportRouter.coerce(whereType, where.getMap())).isEqualTo(Map.of(
+                "state", Map.of("in", List.of(1, 2)),
+                "and", List.of(Map.of("start", Map.of("greaterThan", 1704190530123L)))));
+    }
+
+    @Test
+    void testCoerceSingleValueAsList() {
+        assertThat(GraphQLExportRouter.coerce(whereType, Map.of("state", Map.of("in", "ACTIVE"))))
+                .isEqualTo(Map.of("state", Map.of("in", List.of(1))));
+    }
+
+    @Test
+    void testCoerceRejectsUnknownValues() {
+        assertThatThrownBy(() -> GraphQLExportRouter.coerce(whereType, Map.of("status", Map.of())))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> GraphQLExportRouter.coerce(whereType, Map.of("state", Map.of("equal", "RUNNING"))))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void testWriteStopsWaitingWhenClientDisconnects() throws Exception {
+        HttpServerResponse response = mock(HttpServerResponse.class);
+        when(response.writeQueueFull()).thenReturn(true);
+        ArgumentCaptor<Handler<Void>> closeHandler = ArgumentCaptor.forClass(Handler.class);
+        CompletableFuture<Void> closed = GraphQLExportRouter.closeFuture(response);
+        verify(response).closeHandler(closeHandler.capture());
+
+        CompletableFuture<Void> written = CompletableFuture.runAsync(() -> GraphQLExportRouter.write(response, Buffer.buffer("{}\n"), closed));
+        assertThat(written).isNotDone();
+
+        closeHandler.getValue().handle(null);
+
+        written.get(5, TimeUnit.SECONDS);
+        assertThat(closed).isDone();
+        verify(response).drainHandler(any());
+    }
+
+    @Test
+    void testCloseFutureOfClosedResponse() {
+        HttpServerResponse response = mock(HttpServerResponse.class);
+        when(response.closed()).thenReturn(true);
+
+        assertThat(GraphQLExportRouter.closeFuture(response)).isDone();
+    }
+}
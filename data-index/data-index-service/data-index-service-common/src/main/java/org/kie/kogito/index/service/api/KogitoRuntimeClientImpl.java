@@ -113,20 +113,25 @@ class KogitoRuntimeClientImpl extends KogitoRuntimeCommonClient implements Kogit
     @Override
     public CompletableFuture<String> getProcessInstanceDiagram(String serviceURL, ProcessInstance processInstance) {
         String requestURI = format(GET_PROCESS_INSTANCE_DIAGRAM_PATH, processInstance.getProcessId(), processInstance.getId());
-        return sendGetClientRequest(getWebClient(serviceURL), requestURI, "Get Process Instance diagram with id: " + processInstance.getId(), null);
+        // the diagram reflects the instance progress, so it can be shared between concurrent callers but not cached
+        return coalesce(requestKey("GET", serviceURL, requestURI),
+                () -> sendGetClientRequest(getWebClient(serviceURL), requestURI, "Get Process Instance diagram with id: " + processInstance.getId(), null));
     }
 
     @Override
     public CompletableFuture<String> getProcessDefinitionSourceFileContent(String serviceURL, String processId) {
         String requestURI = format(GET_PROCESS_INSTANCE_SOURCE_PATH, processId);
-        return sendGetClientRequest(getWebClient(serviceURL), requestURI, "Get Process Instance source file with processId: " +
-                processId, null);
+        return cached(requestKey("GET", serviceURL, requestURI), () -> sendGetClientRequest(getWebClient(serviceURL), requestURI,
+                "Get Process Instance source file with processId: " + processId, null));
     }
 
     @Override
     public CompletableFuture<List<Node>> getProcessDefinitionNodes(String serviceURL, String processId) {
         String requestURI = format(GET_PROCESS_INSTANCE_NODE_DEFINITIONS_PATH, processId);
-        return sendGetClientRequest(getWebClient(serviceURL), requestURI, "Get Process available nodes with id: " + processId, List.class);
+        // the cached list is shared by every caller, so it must not be mutable
+        return cached(requestKey("GET", serviceURL, requestURI),
+                () -> sendGetClientRequest(getWebClient(serviceURL), requestURI, "Get Process available nodes with id: " + processId, List.class)
+                        .thenApply(nodes -> nodes == null ? null : List.copyOf((List<Node>) nodes)));
     }
 
     @Override
@@ -0,0 +1,48 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.kie.kogito.index.service.graphql;
+
+import org.eclipse.microprofile.metrics.MetricRegistry;
+import org.kie.kogito.index.graphql.GraphQLQueryCost;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+
+/**
+ * Publishes the cost and depth of the GraphQL operations, and the number of rejected ones.
+ */
+@ApplicationScoped
+public class GraphQLQueryCostMetrics {
+
+    static final String COST_METRIC = "data_index_graphql_query_cost";
+    static final String DEPTH_METRIC = "data_index_graphql_query_depth";
+    static final String REJECTED_METRIC = "data_index_graphql_query_rejected";
+
+    @Inject
+    MetricRegistry metricRegistry;
+
+    void onQueryCost(@Observes GraphQLQueryCost queryCost) {
+        metricRegistry.histogram(COST_METRIC).update(queryCost.cost());
+        metricRegistry.histogram(DEPTH_METRIC).update(queryCost.depth());
+        if (queryCost.rejected()) {
+            metricRegistry.counter(REJECTED_METRIC).inc();
+        }
+    }
+}
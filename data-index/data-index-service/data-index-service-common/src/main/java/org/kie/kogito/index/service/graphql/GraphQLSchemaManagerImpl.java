@@ -21,6 +21,7 @@ package org.kie.kogito.index.service.graphql;
 import java.io.IOException;
 import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.function.Supplier;
 
@@ -30,6 +31,7 @@ import org.kie.kogito.index.json.DataIndexParsingException;
 import org.kie.kogito.index.model.ProcessInstanceState;
 import org.kie.kogito.index.service.DataIndexServiceException;
 import org.kie.kogito.persistence.api.StorageFetcher;
+import org.kie.kogito.persistence.api.query.AttributeFilter;
 import org.reactivestreams.Publisher;
 
 import com.fasterxml.jackson.databind.JsonNode;
@@ -38,7 +40,9 @@ import com.fasterxml.jackson.databind.node.ObjectNode;
 import graphql.scalars.ExtendedScalars;
 import graphql.schema.DataFetcher;
 import graphql.schema.DataFetchingEnvironment;
+import graphql.schema.GraphQLArgument;
 import graphql.schema.GraphQLInputObjectType;
+import graphql.schema.GraphQLNamedType;
 import graphql.schema.GraphQLSchema;
 import graphql.schema.idl.RuntimeWiring;
 import graphql.schema.idl.SchemaGenerator;
@@ -83,6 +87,13 @@ public class GraphQLSchemaManagerImpl extends AbstractGraphQLSchemaManager {
                     builder.dataFetcher("ProcessInstances", this::getProcessInstancesValues);
                     builder.dataFetcher("UserTaskInstances", this::getUserTaskInstancesValues);
                     builder.dataFetcher("Jobs", this::getJobsValues);
+                    builder.dataFetcher("ProcessDefinitionsCount", this::getProcessDefinitionsCount);
+                    builder.dataFetcher("ProcessInstancesCount", this::getProcessInstancesCount);
+                    builder.dataFetcher("UserTaskInstancesCount", this::getUserTaskInstancesCount);
+                    builder.dataFetcher("JobsCount", this::getJobsCount);
+                    builder.dataFetcher("ProcessInstancesConnection", this::getProcessInstancesConnection);
+                    builder.dataFetcher("UserTaskInstancesConnection", this::getUserTaskInstancesConnection);
+                    builder.dataFetcher("JobsConnection", this::getJobsConnection);
                     return builder;
                 })
                 .type("Mutation", builder -> {
@@ -187,11 +198,20 @@ public class GraphQLSchemaManagerImpl extends AbstractGraphQLSchemaManager {
     }
 
     private DataFetcher<Publisher<ObjectNode>> objectCreatedPublisher(Supplier<StorageFetcher> cache) {
-        return env -> publisher(cache.get().objectCreatedListener());
+        return env -> publisher(cache.get().objectCreatedListener(getSubscriptionFilters(env)));
     }
 
     private DataFetcher<Publisher<ObjectNode>> objectUpdatedPublisher(Supplier<StorageFetcher> cache) {
-        return env -> publisher(cache.get().objectUpdatedListener());
+        return env -> publisher(cache.get().objectUpdatedListener(getSubscriptionFilters(env)));
+    }
+
+    protected List<AttributeFilter<?>> getSubscriptionFilters(DataFetchingEnvironment env) {
+        GraphQLArgument argument = env.getFieldDefinition().getArgument("where");
+        Map<String, Object> where = env.getArgument("where");
+        if (argument == null || where == null) {
+            return List.of();
+        }
+        return GraphQLQueryParserRegistry.get().getParser(((GraphQLNamedType) argument.getType()).getName()).apply(where);
     }
 
     private Supplier<DataIndexServiceException> cacheNotFoundException(String processId) {
@@ -210,6 +230,10 @@ public class GraphQLSchemaManagerImpl extends AbstractGraphQLSchemaManager {
         return env -> {
             List result = executeAdvancedQueryForCache(Optional.ofNullable(getCacheService().getDomainModelCache(processId)).orElseThrow(cacheNotFoundException(processId)), env);
             return (Collection<ObjectNode>) result.stream().map(json -> {
+                if (json instanceof ObjectNode) {
+                    // storages already return the parsed document, no need to serialize and parse it again
+                    return json;
+                }
                 try {
                     return getObjectMapper().readTree(json.toString());
                 } catch (IOException e) {
@@ -19,7 +19,6 @@
 package org.kie.kogito.index.service.messaging;
 
 import org.eclipse.microprofile.reactive.messaging.Incoming;
-import org.kie.kogito.event.DataEvent;
 import org.kie.kogito.event.process.ProcessDefinitionDataEvent;
 import org.kie.kogito.event.process.ProcessInstanceDataEvent;
 import org.kie.kogito.event.usertask.UserTaskInstanceDataEvent;
@@ -32,7 +31,6 @@ import io.quarkus.arc.properties.IfBuildProperty;
 import io.smallrye.reactive.messaging.annotations.Blocking;
 
 import jakarta.enterprise.context.ApplicationScoped;
-import jakarta.enterprise.event.Event;
 import jakarta.inject.Inject;
 import jakarta.transaction.Transactional;
 
@@ -49,7 +47,7 @@ public class BlockingMessagingEventConsumer {
     private static final Logger LOGGER = LoggerFactory.getLogger(BlockingMessagingEventConsumer.class);
 
     @Inject
-    Event<DataEvent<?>> eventPublisher;
+    DataEventNotifier eventPublisher;
 
     @Inject
     IndexingService indexingService;
@@ -0,0 +1,61 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.kie.kogito.index.service.messaging;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.kie.kogito.event.DataEvent;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Event;
+import jakarta.enterprise.inject.spi.BeanManager;
+import jakarta.inject.Inject;
+
+/**
+ * Notifies indexed events to CDI observers. Resolving and invoking observers is only done when someone will actually
+ * consume the event: {@link DomainEventConsumer} is ignored when domain indexing is disabled, and the observer
+ * resolution is cached per event class.
+ */
+@ApplicationScoped
+public class DataEventNotifier {
+
+    @ConfigProperty(name = "kogito.data-index.domain-indexing", defaultValue = "true")
+    Boolean indexDomain;
+
+    @Inject
+    Event<DataEvent<?>> eventPublisher;
+
+    @Inject
+    BeanManager beanManager;
+
+    private final Map<Class<?>, Boolean> observed = new ConcurrentHashMap<>();
+
+    public void fire(DataEvent<?> event) {
+        if (event != null && observed.computeIfAbsent(event.getClass(), type -> hasObservers(event))) {
+            eventPublisher.fire(event);
+        }
+    }
+
+    private boolean hasObservers(DataEvent<?> event) {
+        return beanManager.resolveObserverMethods(event).stream()
+                .anyMatch(observer -> Boolean.TRUE.equals(indexDomain) || !DomainEventConsumer.class.equals(observer.getBeanClass()));
+    }
+}
@@ -44,6 +44,9 @@ public class DomainEventConsumer {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(DomainEventConsumer.class);
 
+    private static final ProcessInstanceMetaMapper PROCESS_INSTANCE_META_MAPPER = new ProcessInstanceMetaMapper();
+    private static final UserTaskInstanceMetaMapper USER_TASK_INSTANCE_META_MAPPER = new UserTaskInstanceMetaMapper();
+
     @ConfigProperty(name = "kogito.data-index.domain-indexing", defaultValue = "true")
     Boolean indexDomain;
 
@@ -61,10 +64,10 @@ public class DomainEventConsumer {
 
     private ObjectNode getDomainData(DataEvent<?> event) {
         if (event instanceof ProcessInstanceDataEvent) {
-            return new ProcessInstanceMetaMapper().apply((ProcessInstanceDataEvent<?>) event);
+            return PROCESS_INSTANCE_META_MAPPER.apply((ProcessInstanceDataEvent<?>) event);
         }
         if (event instanceof UserTaskInstanceDataEvent) {
-            return new UserTaskInstanceMetaMapper().apply((UserTaskInstanceDataEvent<?>) event);
+            return USER_TASK_INSTANCE_META_MAPPER.apply((UserTaskInstanceDataEvent<?>) event);
         }
         throw new IllegalArgumentException(
                 format("Unknown message type: '%s' for event class: '%s'", event.getType(), event.getClass().getName()));
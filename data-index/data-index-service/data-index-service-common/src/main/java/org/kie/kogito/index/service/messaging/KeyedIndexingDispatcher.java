@@ -0,0 +1,194 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.kie.kogito.index.service.messaging;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.quarkus.arc.properties.UnlessBuildProperty;
+import io.smallrye.mutiny.Uni;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+
+/**
+ * Dispatches indexing tasks onto a fixed number of serial lanes. The lane is selected by hashing the task key
+ * (usually the process instance id), so tasks sharing a key run in submission order while tasks for different keys
+ * run concurrently. The number of dispatched but not yet completed tasks is bounded, once the bound is reached
+ * {@link #dispatch(String, Runnable)} does not complete until a running task finishes. On shutdown the tasks already
+ * dispatched are given {@code kogito.data-index.indexing.shutdown-timeout} to complete.
+ */
+@ApplicationScoped
+@UnlessBuildProperty(name = "kogito.data-index.blocking", stringValue = "true", enableIfMissing = true)
+public class KeyedIndexingDispatcher {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(KeyedIndexingDispatcher.class);
+
+    @ConfigProperty(name = "kogito.data-index.indexing.lanes", defaultValue = "8")
+    int lanes;
+
+    @ConfigProperty(name = "kogito.data-index.indexing.max-pending", defaultValue = "512")
+    int maxPending;
+
+    @ConfigProperty(name = "kogito.data-index.indexing.shutdown-timeout", defaultValue = "30s")
+    Duration shutdownTimeout;
+
+    private final AtomicInteger pending = new AtomicInteger();
+    private final Queue<CompletableFuture<Void>> waiting = new ConcurrentLinkedQueue<>();
+    private ExecutorService[] executors;
+
+    public KeyedIndexingDispatcher() {
+    }
+
+    KeyedIndexingDispatcher(int lanes, int maxPending, Duration shutdownTimeout) {
+        this.lanes = lanes;
+        this.maxPending = maxPending;
+        this.shutdownTimeout = shutdownTimeout;
+        init();
+    }
+
+    @PostConstruct
+    void init() {
+        if (lanes < 1 || maxPending < 1) {
+            throw new IllegalArgumentException("Indexing lanes and max pending tasks must be greater than zero, lanes: " + lanes + ", max pending: " + maxPending);
+        }
+        executors = new ExecutorService[lanes];
+        for (int i = 0; i < lanes; i++) {
+            executors[i] = Executors.newSingleThreadExecutor(laneThreadFactory(i));
+        }
+        LOGGER.info("Data index indexing dispatcher started with {} lanes and {} max pending tasks", lanes, maxPending);
+    }
+
+    @PreDestroy
+    void close() {
+        if (executors == null) {
+            return;
+        }
+        for (ExecutorService executor : executors) {
+            executor.shutdown();
+        }
+        // the lanes drain concurrently, so they share the timeout
+        long deadline = System.nanoTime() + shutdownTimeout.toNanos();
+        try {
+            for (ExecutorService executor : executors) {
+                if (!executor.awaitTermination(deadline - System.nanoTime(), TimeUnit.NANOSECONDS)) {
+                    LOGGER.warn("Indexing tasks still running after {}, interrupting them", shutdownTimeout);
+                    break;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        for (ExecutorService executor : executors) {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Queues the task on the lane assigned to the given key.
+     *
+     * @param key the ordering key, tasks with equal keys are executed sequentially in dispatch order
+     * @param task the task to execute, it is responsible for handling its own failures
+     * @return a uni that completes once the task has been queued
+     */
+    public Uni<Void> dispatch(String key, Runnable task) {
+        return Uni.createFrom().completionStage(this::acquire)
+                .invoke(() -> execute(key, task));
+    }
+
+    int pending() {
+        return pending.get();
+    }
+
+    private void execute(String key, Runnable task) {
+        try {
+            executors[Math.floorMod(Objects.hashCode(key), executors.length)].execute(() -> {
+                try {
+                    task.run();
+                } finally {
+                    release();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            release();
+            throw e;
+        }
+    }
+
+    private CompletionStage<Void> acquire() {
+        if (waiting.isEmpty() && tryAcquire()) {
+            return CompletableFuture.completedFuture(null);
+        }
+        CompletableFuture<Void> permit = new CompletableFuture<>();
+        waiting.add(permit);
+        // a task might have completed between the failed attempt and the enqueue
+        drain();
+        return permit;
+    }
+
+    private void release() {
+        pending.decrementAndGet();
+        drain();
+    }
+
+    private void drain() {
+        while (!waiting.isEmpty() && tryAcquire()) {
+            CompletableFuture<Void> next = waiting.poll();
+            if (next == null) {
+                pending.decrementAndGet();
+            } else {
+                next.complete(null);
+            }
+        }
+    }
+
+    private boolean tryAcquire() {
+        int current;
+        do {
+            current = pending.get();
+            if (current >= maxPending) {
+                return false;
+            }
+        } while (!pending.compareAndSet(current, current + 1));
+        return true;
+    }
+
+    private static ThreadFactory laneThreadFactory(int lane) {
+        return r -> {
+            Thread thread = new Thread(r, "data-index-indexing-lane-" + lane);
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -18,12 +18,15 @@
  */
 package org.kie.kogito.index.service.messaging;
 
+import java.util.Optional;
+
 import org.eclipse.microprofile.reactive.messaging.Incoming;
-import org.kie.kogito.event.DataEvent;
+import org.eclipse.microprofile.reactive.messaging.Message;
 import org.kie.kogito.event.process.ProcessDefinitionDataEvent;
 import org.kie.kogito.event.process.ProcessInstanceDataEvent;
 import org.kie.kogito.event.usertask.UserTaskInstanceDataEvent;
 import org.kie.kogito.index.event.KogitoJobCloudEvent;
+import org.kie.kogito.index.model.Job;
 import org.kie.kogito.index.service.IndexingService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -32,7 +35,6 @@ import io.quarkus.arc.properties.UnlessBuildProperty;
 import io.smallrye.mutiny.Uni;
 
 import jakarta.enterprise.context.ApplicationScoped;
-import jakarta.enterprise.event.Event;
 import jakarta.inject.Inject;
 
 @ApplicationScoped
@@ -50,45 +52,63 @@ public class ReactiveMessagingEventConsumer {
     IndexingService indexingService;
 
     @Inject
-    Event<DataEvent<?>> eventPublisher;
+    DataEventNotifier eventPublisher;
+
+    @Inject
+    KeyedIndexingDispatcher dispatcher;
 
     @Incoming(KOGITO_PROCESSINSTANCES_EVENTS)
-    public Uni<Void> onProcessInstanceEvent(ProcessInstanceDataEvent<?> event) {
+    public Uni<Void> onProcessInstanceEvent(Message<ProcessInstanceDataEvent<?>> message) {
+        ProcessInstanceDataEvent<?> event = message.getPayload();
         LOGGER.debug("Process instance consumer received ProcessInstanceDataEvent: \n{}", event);
-        return Uni.createFrom().item(event)
-                .invoke(indexingService::indexProcessInstanceEvent)
-                .invoke(eventPublisher::fire)
-                .onFailure()
-                .invoke(t -> LOGGER.error("Error processing process instance ProcessInstanceDataEvent: {}", t.getMessage(), t))
-                .onItem().ignore().andContinueWithNull();
+        return dispatch(event.getKogitoProcessInstanceId(), message, () -> {
+            indexingService.indexProcessInstanceEvent(event);
+            eventPublisher.fire(event);
+        }, "Error processing process instance ProcessInstanceDataEvent: {}");
     }
 
     @Incoming(KOGITO_USERTASKINSTANCES_EVENTS)
-    public Uni<Void> onUserTaskInstanceEvent(UserTaskInstanceDataEvent<?> event) {
+    public Uni<Void> onUserTaskInstanceEvent(Message<UserTaskInstanceDataEvent<?>> message) {
+        UserTaskInstanceDataEvent<?> event = message.getPayload();
         LOGGER.debug("Task instance received UserTaskInstanceDataEvent \n{}", event);
-        return Uni.createFrom().item(event)
-                .invoke(indexingService::indexUserTaskInstanceEvent)
-                .invoke(eventPublisher::fire)
-                .onFailure()
-                .invoke(t -> LOGGER.error("Error processing task instance UserTaskInstanceDataEvent: {}", t.getMessage(), t))
-                .onItem().ignore().andContinueWithNull();
+        return dispatch(event.getKogitoProcessInstanceId(), message, () -> {
+            indexingService.indexUserTaskInstanceEvent(event);
+            eventPublisher.fire(event);
+        }, "Error processing task instance UserTaskInstanceDataEvent: {}");
     }
 
     @Incoming(KOGITO_JOBS_EVENTS)
-    public Uni<Void> onJobEvent(KogitoJobCloudEvent event) {
+    public Uni<Void> onJobEvent(Message<KogitoJobCloudEvent> message) {
+        KogitoJobCloudEvent event = message.getPayload();
         LOGGER.debug("Job received KogitoJobCloudEvent \n{}", event);
-        return Uni.createFrom().item(event)
-                .onItem().invoke(e -> indexingService.indexJob(e.getData()))
-                .onFailure().invoke(t -> LOGGER.error("Error processing job KogitoJobCloudEvent: {}", t.getMessage(), t))
-                .onItem().ignore().andContinueWithNull();
+        Job job = event.getData();
+        String key = job == null ? null : Optional.ofNullable(job.getProcessInstanceId()).orElse(job.getId());
+        return dispatch(key, message, () -> indexingService.indexJob(job), "Error processing job KogitoJobCloudEvent: {}");
     }
 
     @Incoming(KOGITO_PROCESS_DEFINITIONS_EVENTS)
-    public Uni<Void> onProcessDefinitionDataEvent(ProcessDefinitionDataEvent event) {
+    public Uni<Void> onProcessDefinitionDataEvent(Message<ProcessDefinitionDataEvent> message) {
+        ProcessDefinitionDataEvent event = message.getPayload();
         LOGGER.debug("Process Definition received ProcessDefinitionDataEvent \n{}", event);
-        return Uni.createFrom().item(event)
-                .onItem().invoke(indexingService::indexProcessDefinition)
-                .onFailure().invoke(t -> LOGGER.error("Error processing ProcessDefinitionDataEvent: {}", t.getMessage(), t))
-                .onItem().ignore().andContinueWithNull();
+        return dispatch(event.getKogitoProcessId(), message, () -> indexingService.indexProcessDefinition(event),
+                "Error processing ProcessDefinitionDataEvent: {}");
+    }
+
+    /**
+     * Events sharing the same key are indexed in order on the same lane, while events with different keys are indexed
+     * concurrently. Messages are acknowledged once indexed, so lanes may ack out of order; the Kafka connector throttled
+     * commit strategy only commits offsets once every previous record of the partition has been acknowledged.
+     */
+    private Uni<Void> dispatch(String key, Message<?> message, Runnable indexing, String errorMessage) {
+        return dispatcher.dispatch(key, () -> {
+            try {
+                indexing.run();
+            } catch (RuntimeException e) {
+                LOGGER.error(errorMessage, e.getMessage(), e);
+                message.nack(e);
+                return;
+            }
+            message.ack();
+        });
     }
 }
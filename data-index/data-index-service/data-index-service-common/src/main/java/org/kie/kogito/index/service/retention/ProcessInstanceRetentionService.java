@@ -0,0 +1,253 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.kie.kogito.index.service.retention;
+
+import java.time.Duration;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.eclipse.microprofile.metrics.MetricRegistry;
+import org.eclipse.microprofile.metrics.Tag;
+import org.kie.kogito.index.DateTimeUtils;
+import org.kie.kogito.index.api.DateTimeCoercing;
+import org.kie.kogito.index.model.ProcessInstance;
+import org.kie.kogito.index.storage.DataIndexStorageService;
+import org.kie.kogito.index.storage.ProcessInstancePartitionManager;
+import org.kie.kogito.persistence.api.Storage;
+import org.kie.kogito.persistence.api.StorageFetcher;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import io.quarkus.runtime.ShutdownEvent;
+import io.quarkus.runtime.StartupEvent;
+import io.vertx.core.Vertx;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.context.control.ActivateRequestContext;
+import jakarta.enterprise.event.Observes;
+import jakarta.enterprise.inject.Instance;
+import jakarta.inject.Inject;
+
+import static java.util.stream.Collectors.groupingBy;
+import static java.util.stream.Collectors.mapping;
+import static java.util.stream.Collectors.toList;
+import static org.kie.kogito.index.model.ProcessInstanceState.ABORTED;
+import static org.kie.kogito.index.model.ProcessInstanceState.COMPLETED;
+import static org.kie.kogito.persistence.api.query.QueryFilterFactory.in;
+import static org.kie.kogito.persistence.api.query.QueryFilterFactory.lessThan;
+
+/**
+ * Periodically removes the process instances that reached a final state (completed or aborted) more than
+ * {@link #maxAge} ago, together with their user task instances, jobs and domain documents. Nodes, variables and
+ * milestones are removed along with the process instance.
+ * <p>
+ * When the storage partitions process instances, the partitions only holding expired instances are dropped first.
+ * The remaining instances are removed in bounded batches using the bulk delete of every storage, and the number of batches per
+ * run is limited to keep the load on the database under control. Deletes are idempotent, so several data index
+ * replicas can run the purge concurrently without coordination.
+ */
+@ApplicationScoped
+public class ProcessInstanceRetentionService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ProcessInstanceRetentionService.class);
+
+    static final String PURGED_METRIC = "data_index_retention_purged";
+    static final String ID = "id";
+    static final String STATE = "state";
+    static final String END = "end";
+    static final String PROCESS_INSTANCE_ID = "processInstanceId";
+    static final String ROOT_PROCESS_INSTANCE_ID = "rootProcessInstanceId";
+    static final String PROCESS_ID = "processId";
+
+    /**
+     * Enables the periodic purge of finished process instances.
+     */
+    @ConfigProperty(name = "kogito.data-index.retention.enabled", defaultValue = "false")
+    boolean enabled;
+
+    /**
+     * Minimum time elapsed since a process instance ended before it is purged.
+     */
+    @ConfigProperty(name = "kogito.data-index.retention.max-age", defaultValue = "P30D")
+    Duration maxAge;
+
+    /**
+     * Interval between purge runs.
+     */
+    @ConfigProperty(name = "kogito.data-index.retention.interval", defaultValue = "PT1H")
+    Duration interval;
+
+    /**
+     * Maximum number of process instances removed per batch.
+     */
+    @ConfigProperty(name = "kogito.data-index.retention.batch-size", defaultValue = "100")
+    int batchSize;
+
+    /**
+     * Maximum number of batches executed per run, the remaining instances are removed by the next runs.
+     */
+    @ConfigProperty(name = "kogito.data-index.retention.max-batches-per-run", defaultValue = "50")
+    int maxBatchesPerRun;
+
+    /**
+     * Pause between two consecutive batches of the same run.
+     */
+    @ConfigProperty(name = "kogito.data-index.retention.batch-delay", defaultValue = "PT0.5S")
+    Duration batchDelay;
+
+    @Inject
+    DataIndexStorageService storageService;
+
+    @Inject
+    Instance<ProcessInstancePartitionManager> partitionManager;
+
+    @Inject
+    DateTimeCoercing dateTimeCoercing;
+
+    @Inject
+    MetricRegistry metricRegistry;
+
+    @Inject
+    Vertx vertx;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+    private long timerId = -1;
+
+    void onStart(@Observes StartupEvent event) {
+        if (!enabled) {
+            return;
+        }
+        LOGGER.info("Starting process instance retention with configuration: maxAge={}, interval={}, batchSize={}, maxBatchesPerRun={}, batchDelay={}",
+                maxAge, interval, batchSize, maxBatchesPerRun, batchDelay);
+        timerId = vertx.setPeriodic(interval.toMillis(), id -> vertx.executeBlocking(this::purge));
+    }
+
+    void onStop(@Observes ShutdownEvent event) {
+        if (timerId >= 0) {
+            vertx.cancelTimer(timerId);
+            timerId = -1;
+        }
+    }
+
+    /**
+     * Runs a purge, it is a no-op if another purge is already running on this instance.
+     *
+     * @return the number of removed process instances.
+     */
+    @ActivateRequestContext
+    public long purge() {
+        if (!running.compareAndSet(false, true)) {
+            LOGGER.debug("Process instance retention is already running, skipping");
+            return 0;
+        }
+        try {
+            ZonedDateTime endedBefore = ZonedDateTime.now(ZoneOffset.UTC).minus(maxAge);
+            Object endedBeforeValue = dateTimeCoercing.parseValue(DateTimeUtils.formatZonedDateTime(endedBefore));
+            long total = dropPartitions(endedBefore);
+            for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+                int purged = purgeBatch(endedBeforeValue);
+                total += purged;
+                if (purged < batchSize) {
+                    break;
+                }
+                pause();
+            }
+            LOGGER.info("Process instance retention removed {} process instances ended before {}", total, endedBefore);
+            return total;
+        } catch (RuntimeException e) {
+            LOGGER.error("Error purging process instances: {}", e.getMessage(), e);
+            return 0;
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private long dropPartitions(ZonedDateTime endedBefore) {
+        if (!partitionManager.isResolvable()) {
+            return 0;
+        }
+        long dropped = partitionManager.get().dropFinishedPartitions(endedBefore);
+        count("process_instances", dropped);
+        return dropped;
+    }
+
+    int purgeBatch(Object endedBefore) {
+        List<ProcessInstance> instances = storageService.getProcessInstanceStorage().query()
+                .filter(List.of(in(STATE, List.of(COMPLETED.ordinal(), ABORTED.ordinal())), lessThan(END, endedBefore)))
+                // only the attributes needed to delete the instance and its related documents
+                .projection(List.of(ID, ROOT_PROCESS_INSTANCE_ID, PROCESS_ID))
+                .limit(batchSize)
+                .execute();
+        if (instances.isEmpty()) {
+            return 0;
+        }
+        List<String> ids = instances.stream().map(ProcessInstance::getId).collect(toList());
+
+        count("user_task_instances", delete(storageService.getUserTaskInstanceStorage(), PROCESS_INSTANCE_ID, ids));
+        count("jobs", delete(storageService.getJobsStorage(), PROCESS_INSTANCE_ID, ids));
+        count("domain", deleteDomainDocuments(instances));
+        count("process_instances", delete(storageService.getProcessInstanceStorage(), ID, ids));
+        return ids.size();
+    }
+
+    private long deleteDomainDocuments(List<ProcessInstance> instances) {
+        // domain documents are keyed by the root process instance id
+        Map<String, List<String>> rootIdsByProcess = instances.stream()
+                .filter(pi -> pi.getRootProcessInstanceId() == null)
+                .collect(groupingBy(ProcessInstance::getProcessId, mapping(ProcessInstance::getId, toList())));
+        long deleted = 0;
+        try {
+            for (Map.Entry<String, List<String>> entry : rootIdsByProcess.entrySet()) {
+                Storage<String, ObjectNode> domainStorage = storageService.getDomainModelCache(entry.getKey());
+                if (Objects.nonNull(domainStorage)) {
+                    deleted += delete(domainStorage, ID, entry.getValue());
+                }
+            }
+        } catch (UnsupportedOperationException e) {
+            LOGGER.debug("Domain storage not available, skipping domain documents purge: {}", e.getMessage());
+        }
+        return deleted;
+    }
+
+    private static long delete(StorageFetcher<?, ?> storage, String attribute, List<String> ids) {
+        return storage.query().filter(List.of(in(attribute, ids))).delete();
+    }
+
+    private void count(String type, long deleted) {
+        if (deleted > 0) {
+            metricRegistry.counter(PURGED_METRIC, new Tag("type", type)).inc(deleted);
+        }
+    }
+
+    private void pause() {
+        try {
+            TimeUnit.MILLISECONDS.sleep(batchDelay.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,73 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.kie.kogito.index.service.vertx;
+
+import org.kie.kogito.index.storage.JsonPathIndexManager;
+
+import io.quarkus.vertx.web.Route;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.web.RoutingContext;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.inject.Instance;
+import jakarta.inject.Inject;
+
+import static io.quarkus.vertx.web.Route.HttpMethod.GET;
+import static io.quarkus.vertx.web.Route.HttpMethod.POST;
+
+/**
+ * Admin endpoint declaring the hot JSON paths to index, available when the storage supports it.
+ * {@code POST {"path": "variables.traveller.lastName"}} declares the path, answering 202 while its index is built in
+ * the background without locking the table and 200 when it already exists, and {@code GET} lists the declared paths.
+ */
+@ApplicationScoped
+public class JsonPathIndexRouter {
+
+    static final String PATH = "/admin/json-path-indexes";
+
+    @Inject
+    Instance<JsonPathIndexManager> indexManager;
+
+    @Route(path = PATH, type = Route.HandlerType.BLOCKING, methods = { GET }, produces = "application/json")
+    public void getHotPaths(RoutingContext rc) {
+        if (indexManager.isUnsatisfied()) {
+            rc.response().setStatusCode(404).end();
+            return;
+        }
+        rc.response().putHeader("Content-Type", "application/json").end(new JsonArray(indexManager.get().getHotPaths().stream().toList()).encode());
+    }
+
+    @Route(path = PATH, type = Route.HandlerType.BLOCKING, methods = { POST }, produces = "application/json")
+    public void declareHotPath(RoutingContext rc) {
+        if (indexManager.isUnsatisfied()) {
+            rc.response().setStatusCode(404).end();
+            return;
+        }
+        JsonObject body = rc.body().isEmpty() ? new JsonObject() : rc.body().asJsonObject();
+        String path = body.getString("path");
+        try {
+            boolean building = indexManager.get().declareHotPath(path);
+            rc.response().setStatusCode(building ? 202 : 200).putHeader("Content-Type", "application/json")
+                    .end(new JsonObject().put("path", path).put("building", building).encode());
+        } catch (IllegalArgumentException e) {
+            rc.response().setStatusCode(400).end(e.getMessage());
+        }
+    }
+}
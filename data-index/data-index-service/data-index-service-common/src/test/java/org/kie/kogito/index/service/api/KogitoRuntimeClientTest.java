@@ -19,6 +19,7 @@
 package org.kie.kogito.index.service.api;
 
 import java.nio.Buffer;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
@@ -32,6 +33,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.kie.kogito.index.api.ExecuteArgs;
 import org.kie.kogito.index.api.KogitoRuntimeCommonClient;
 import org.kie.kogito.index.model.Job;
+import org.kie.kogito.index.model.Node;
 import org.kie.kogito.index.model.ProcessDefinition;
 import org.kie.kogito.index.model.ProcessInstance;
 import org.kie.kogito.index.model.UserTaskInstance;
@@ -59,6 +61,7 @@ import io.vertx.ext.web.client.WebClientOptions;
 
 import static java.lang.String.format;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNull;
@@ -363,6 +366,88 @@ public class KogitoRuntimeClientTest {
         checkResponseHandling(handlerCaptor.getValue());
     }
 
+    @Test
+    public void testGetProcessDefinitionSourceCoalescedAndCached() throws Exception {
+        setupIdentityMock();
+        when(webClientMock.get(anyString())).thenReturn(httpRequestMock);
+
+        ProcessInstance pI = createProcessInstance(PROCESS_INSTANCE_ID, ERROR);
+
+        CompletableFuture<String> first = client.getProcessDefinitionSourceFileContent(SERVICE_URL, pI.getProcessId());
+        CompletableFuture<String> second = client.getProcessDefinitionSourceFileContent(SERVICE_URL, pI.getProcessId());
+        ArgumentCaptor<Handler> handlerCaptor = ArgumentCaptor.forClass(Handler.class);
+        verify(httpRequestMock).send(handlerCaptor.capture());
+        assertFalse(first.isDone());
+        assertFalse(second.isDone());
+
+        HttpResponse response = mock(HttpResponse.class);
+        when(response.bodyAsString()).thenReturn("<process/>");
+        handlerCaptor.getValue().handle(createResponseMocks(response, true, 200));
+        assertEquals("<process/>", first.get());
+        assertEquals("<process/>", second.get());
+
+        assertEquals("<process/>", client.getProcessDefinitionSourceFileContent(SERVICE_URL, pI.getProcessId()).get());
+        verify(webClientMock, times(1)).get(anyString());
+    }
+
+    @Test
+    public void testGetProcessDefinitionSourceCachedPerCaller() throws Exception {
+        setupIdentityMock();
+        when(webClientMock.get(anyString())).thenReturn(httpRequestMock);
+
+        ProcessInstance pI = createProcessInstance(PROCESS_INSTANCE_ID, ERROR);
+
+        client.getProcessDefinitionSourceFileContent(SERVICE_URL, pI.getProcessId());
+        ArgumentCaptor<Handler> handlerCaptor = ArgumentCaptor.forClass(Handler.class);
+        verify(httpRequestMock).send(handlerCaptor.capture());
+        HttpResponse response = mock(HttpResponse.class);
+        when(response.bodyAsString()).thenReturn("<process/>");
+        handlerCaptor.getValue().handle(createResponseMocks(response, true, 200));
+
+        when(tokenCredential.getToken()).thenReturn("other-token");
+        when(httpRequestMock.putHeader(eq("Authorization"), eq("Bearer other-token"))).thenReturn(httpRequestMock);
+        client.getProcessDefinitionSourceFileContent(SERVICE_URL, pI.getProcessId());
+        verify(webClientMock, times(2)).get(anyString());
+    }
+
+    @Test
+    public void testGetProcessDefinitionNodesCachedUnmodifiable() throws Exception {
+        setupIdentityMock();
+        when(webClientMock.get(anyString())).thenReturn(httpRequestMock);
+
+        ProcessInstance pI = createProcessInstance(PROCESS_INSTANCE_ID, ERROR);
+
+        CompletableFuture<List<Node>> first = client.getProcessDefinitionNodes(SERVICE_URL, pI.getProcessId());
+        ArgumentCaptor<Handler> handlerCaptor = ArgumentCaptor.forClass(Handler.class);
+        verify(httpRequestMock).send(handlerCaptor.capture());
+        HttpResponse response = mock(HttpResponse.class);
+        when(response.bodyAsJson(List.class)).thenReturn(new ArrayList<>(List.of(Map.of("id", "1"))));
+        handlerCaptor.getValue().handle(createResponseMocks(response, true, 200));
+
+        List<Node> nodes = first.get();
+        assertThatThrownBy(() -> nodes.clear()).isInstanceOf(UnsupportedOperationException.class);
+        assertThat(client.getProcessDefinitionNodes(SERVICE_URL, pI.getProcessId()).get()).hasSize(1);
+        verify(webClientMock).get(anyString());
+    }
+
+    @Test
+    public void testGetProcessInstanceDiagramNotCached() {
+        setupIdentityMock();
+        when(webClientMock.get(anyString())).thenReturn(httpRequestMock);
+
+        ProcessInstance pI = createProcessInstance(PROCESS_INSTANCE_ID, ERROR);
+
+        client.getProcessInstanceDiagram(SERVICE_URL, pI);
+        ArgumentCaptor<Handler> handlerCaptor = ArgumentCaptor.forClass(Handler.class);
+        verify(httpRequestMock).send(handlerCaptor.capture());
+        HttpResponse response = mock(HttpResponse.class);
+        when(response.bodyAsString()).thenReturn("<svg/>");
+        handlerCaptor.getValue().handle(createResponseMocks(response, true, 200));
+
+        client.getProcessInstanceDiagram(SERVICE_URL, pI);
+        verify(webClientMock, times(2)).get(anyString());
+    }
+
     @Test
     public void testSendOk() throws Exception {
         AsyncResult result = mock(AsyncResult.class);
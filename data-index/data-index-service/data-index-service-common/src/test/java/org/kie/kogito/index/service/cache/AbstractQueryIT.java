@@ -38,6 +38,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.kie.kogito.index.model.ProcessInstanceState.ACTIVE;
 import static org.kie.kogito.index.model.ProcessInstanceState.COMPLETED;
 import static org.kie.kogito.index.storage.Constants.PROCESS_INSTANCES_STORAGE;
+import static org.kie.kogito.index.test.QueryTestUtils.assertKeysetPaging;
 import static org.kie.kogito.index.test.TestUtils.getProcessInstance;
 import static org.kie.kogito.persistence.api.query.QueryFilterFactory.between;
 import static org.kie.kogito.persistence.api.query.QueryFilterFactory.contains;
@@ -51,6 +52,9 @@ import static org.kie.kogito.persistence.api.query.QueryFilterFactory.isNull;
 import static org.kie.kogito.persistence.api.query.QueryFilterFactory.lessThan;
 import static org.kie.kogito.persistence.api.query.QueryFilterFactory.lessThanEqual;
 import static org.kie.kogito.persistence.api.query.QueryFilterFactory.notNull;
+import static org.kie.kogito.persistence.api.query.QueryFilterFactory.orderBy;
+import static org.kie.kogito.persistence.api.query.SortDirection.ASC;
+import static org.kie.kogito.persistence.api.query.SortDirection.DESC;
 
 public abstract class AbstractQueryIT {
 
@@ -108,6 +112,25 @@ public abstract class AbstractQueryIT {
         queryAndAssert(equalTo("start", processInstance.getStart().toInstant().toEpochMilli()), processInstanceId);
     }
 
+    @Test
+    void testProcessInstanceKeysetPaging() {
+        // ties and null values on the first sort attribute, the id breaks the ties
+        String[] businessKeys = { "a", null, "b", "a", null, "b", "a" };
+        for (int i = 0; i < businessKeys.length; i++) {
+            String processInstanceId = "keyset_" + i;
+            ProcessInstance processInstance = getProcessInstance("travels", processInstanceId, ACTIVE.ordinal(), null, null);
+            processInstance.setBusinessKey(businessKeys[i]);
+            storageService.getCache(PROCESS_INSTANCES_STORAGE, ProcessInstance.class).put(processInstanceId, processInstance);
+        }
+
+        for (int pageSize = 1; pageSize <= 3; pageSize++) {
+            assertKeysetPaging(cacheService.getProcessInstanceStorage(), null, List.of(orderBy("businessKey", ASC), orderBy("id", DESC)), pageSize,
+                    pi -> new Object[] { pi.getBusinessKey(), pi.getId() });
+            assertKeysetPaging(cacheService.getProcessInstanceStorage(), null, List.of(orderBy("businessKey", DESC), orderBy("id", ASC)), pageSize,
+                    pi -> new Object[] { pi.getBusinessKey(), pi.getId() });
+        }
+    }
+
     private void queryAndAssert(AttributeFilter filter, String... ids) {
         List<ProcessInstance> instances = cacheService.getProcessInstanceStorage().query().filter(singletonList(filter)).execute();
         assertThat(instances).hasSize(ids == null ? 0 : ids.length).extracting("id").containsExactlyInAnyOrder(ids);
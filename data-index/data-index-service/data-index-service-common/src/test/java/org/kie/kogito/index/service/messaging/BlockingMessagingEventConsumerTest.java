@@ -27,7 +27,6 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Disabled;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.kie.kogito.event.DataEvent;
 import org.kie.kogito.event.process.KogitoMarshallEventSupport;
 import org.kie.kogito.event.process.MultipleProcessInstanceDataEvent;
 import org.kie.kogito.event.process.ProcessDefinitionDataEvent;
@@ -43,8 +42,6 @@ import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.mockito.junit.jupiter.MockitoExtension;
 
-import jakarta.enterprise.event.Event;
-
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -58,7 +55,7 @@ class BlockingMessagingEventConsumerTest {
     IndexingService indexingService;
 
     @Mock
-    Event<DataEvent<?>> eventPublisher;
+    DataEventNotifier eventPublisher;
 
     @InjectMocks
     BlockingMessagingEventConsumer consumer;
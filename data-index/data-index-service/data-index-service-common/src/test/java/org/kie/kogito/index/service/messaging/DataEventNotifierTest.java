@@ -0,0 +1,111 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.kie.kogito.index.service.messaging;
+
+import java.util.Set;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.kie.kogito.event.DataEvent;
+import org.kie.kogito.event.process.ProcessInstanceDataEvent;
+import org.kie.kogito.index.model.ProcessInstanceState;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import jakarta.enterprise.event.Event;
+import jakarta.enterprise.inject.spi.BeanManager;
+import jakarta.enterprise.inject.spi.ObserverMethod;
+
+import static org.kie.kogito.index.test.TestUtils.getProcessCloudEvent;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class DataEventNotifierTest {
+
+    @Mock
+    Event<DataEvent<?>> eventPublisher;
+
+    @Mock
+    BeanManager beanManager;
+
+    @InjectMocks
+    DataEventNotifier notifier;
+
+    @Test
+    void testFireWhenDomainIndexingEnabled() {
+        notifier.indexDomain = true;
+        doReturn(Set.of(mock(ObserverMethod.class))).when(beanManager).resolveObserverMethods(any());
+        ProcessInstanceDataEvent<?> event = processInstanceEvent();
+
+        notifier.fire(event);
+        notifier.fire(event);
+
+        verify(eventPublisher, times(2)).fire(event);
+        verify(beanManager).resolveObserverMethods(any());
+    }
+
+    @Test
+    void testSkipWhenOnlyDomainConsumerObservesAndDomainIndexingDisabled() {
+        notifier.indexDomain = false;
+        mockObserver(DomainEventConsumer.class);
+        ProcessInstanceDataEvent<?> event = processInstanceEvent();
+
+        notifier.fire(event);
+
+        verify(eventPublisher, never()).fire(any());
+    }
+
+    @Test
+    void testFireWhenOtherObserversExist() {
+        notifier.indexDomain = false;
+        mockObserver(DataEventNotifierTest.class);
+        ProcessInstanceDataEvent<?> event = processInstanceEvent();
+
+        notifier.fire(event);
+
+        verify(eventPublisher).fire(event);
+    }
+
+    @Test
+    void testSkipWithoutObservers() {
+        notifier.indexDomain = true;
+        doReturn(Set.of()).when(beanManager).resolveObserverMethods(any());
+
+        notifier.fire(processInstanceEvent());
+
+        verify(eventPublisher, never()).fire(any());
+    }
+
+    private void mockObserver(Class<?> beanClass) {
+        ObserverMethod<?> observer = mock(ObserverMethod.class);
+        doReturn(beanClass).when(observer).getBeanClass();
+        doReturn(Set.of(observer)).when(beanManager).resolveObserverMethods(any());
+    }
+
+    private static ProcessInstanceDataEvent<?> processInstanceEvent() {
+        return getProcessCloudEvent("travels", UUID.randomUUID().toString(), ProcessInstanceState.ACTIVE, null, null, null, "currentUser");
+    }
+}
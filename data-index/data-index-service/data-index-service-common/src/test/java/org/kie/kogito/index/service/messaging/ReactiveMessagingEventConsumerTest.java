@@ -18,11 +18,21 @@
  */
 package org.kie.kogito.index.service.messaging;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
 
+import org.eclipse.microprofile.reactive.messaging.Message;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.kie.kogito.event.DataEvent;
 import org.kie.kogito.event.process.ProcessInstanceDataEvent;
 import org.kie.kogito.event.usertask.UserTaskInstanceDataEvent;
 import org.kie.kogito.index.event.KogitoJobCloudEvent;
@@ -35,11 +45,12 @@ import org.mockito.junit.jupiter.MockitoExtension;
 
 import io.smallrye.mutiny.helpers.test.UniAssertSubscriber;
 
-import jakarta.enterprise.event.Event;
-
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
 import static org.kie.kogito.index.test.TestUtils.getProcessCloudEvent;
 import static org.kie.kogito.index.test.TestUtils.getUserTaskCloudEvent;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
@@ -52,12 +63,20 @@ public class ReactiveMessagingEventConsumerTest {
     IndexingService service;
 
     @Mock
-    Event<DataEvent<?>> eventPublisher;
+    DataEventNotifier eventPublisher;
+
+    @Spy
+    KeyedIndexingDispatcher dispatcher = new KeyedIndexingDispatcher(4, 16, Duration.ofSeconds(10));
 
     @InjectMocks
     @Spy
     ReactiveMessagingEventConsumer consumer;
 
+    @AfterEach
+    public void tearDown() {
+        dispatcher.close();
+    }
+
     @Test
     public void testOnProcessInstanceEvent() {
         String processId = "travels";
@@ -65,11 +84,13 @@ public class ReactiveMessagingEventConsumerTest {
 
         ProcessInstanceDataEvent event = getProcessCloudEvent(processId, processInstanceId, ProcessInstanceState.ACTIVE, null,
                 null, null, "currentUser");
+        TestMessage<ProcessInstanceDataEvent<?>> message = new TestMessage<>(event);
 
-        UniAssertSubscriber<Void> future = consumer.onProcessInstanceEvent(event).subscribe()
+        UniAssertSubscriber<Void> future = consumer.onProcessInstanceEvent(message).subscribe()
                 .withSubscriber(UniAssertSubscriber.create());
 
         future.awaitItem().assertCompleted();
+        message.assertAcked();
         verify(service).indexProcessInstanceEvent(any());
         verify(eventPublisher).fire(event);
     }
@@ -82,11 +103,13 @@ public class ReactiveMessagingEventConsumerTest {
         String processInstanceId = UUID.randomUUID().toString();
 
         UserTaskInstanceDataEvent event = getUserTaskCloudEvent(taskId, processId, processInstanceId, null, null, "InProgress");
+        TestMessage<UserTaskInstanceDataEvent<?>> message = new TestMessage<>(event);
 
-        UniAssertSubscriber<Void> future = consumer.onUserTaskInstanceEvent(event).subscribe()
+        UniAssertSubscriber<Void> future = consumer.onUserTaskInstanceEvent(message).subscribe()
                 .withSubscriber(UniAssertSubscriber.create());
 
         future.awaitItem().assertCompleted();
+        message.assertAcked();
         verify(service).indexUserTaskInstanceEvent(any());
         verify(eventPublisher).fire(event);
     }
@@ -95,11 +118,13 @@ public class ReactiveMessagingEventConsumerTest {
     public void testOnProcessInstanceEventException() {
         ProcessInstanceDataEvent event = mock(ProcessInstanceDataEvent.class);
         doThrow(new RuntimeException("")).when(service).indexProcessInstanceEvent(any());
+        TestMessage<ProcessInstanceDataEvent<?>> message = new TestMessage<>(event);
 
-        UniAssertSubscriber<Void> future = consumer.onProcessInstanceEvent(event).subscribe()
+        UniAssertSubscriber<Void> future = consumer.onProcessInstanceEvent(message).subscribe()
                 .withSubscriber(UniAssertSubscriber.create());
 
-        future.awaitFailure().assertFailedWith(RuntimeException.class, "");
+        future.awaitItem().assertCompleted();
+        message.assertNacked(RuntimeException.class);
         verify(service).indexProcessInstanceEvent(any());
         verify(eventPublisher, never()).fire(event);
     }
@@ -108,11 +133,13 @@ public class ReactiveMessagingEventConsumerTest {
     public void testOnUserTaskInstanceEventException() {
         UserTaskInstanceDataEvent event = mock(UserTaskInstanceDataEvent.class);
         doThrow(new RuntimeException("")).when(service).indexUserTaskInstanceEvent(any());
+        TestMessage<UserTaskInstanceDataEvent<?>> message = new TestMessage<>(event);
 
-        UniAssertSubscriber<Void> future = consumer.onUserTaskInstanceEvent(event).subscribe()
+        UniAssertSubscriber<Void> future = consumer.onUserTaskInstanceEvent(message).subscribe()
                 .withSubscriber(UniAssertSubscriber.create());
 
-        future.awaitFailure().assertFailedWith(RuntimeException.class, "");
+        future.awaitItem().assertCompleted();
+        message.assertNacked(RuntimeException.class);
         verify(service).indexUserTaskInstanceEvent(any());
         verify(eventPublisher, never()).fire(event);
     }
@@ -120,10 +147,12 @@ public class ReactiveMessagingEventConsumerTest {
     @Test
     public void testOnJobEvent() {
         KogitoJobCloudEvent event = mock(KogitoJobCloudEvent.class);
+        TestMessage<KogitoJobCloudEvent> message = new TestMessage<>(event);
 
-        UniAssertSubscriber<Void> future = consumer.onJobEvent(event).subscribe().withSubscriber(UniAssertSubscriber.create());
+        UniAssertSubscriber<Void> future = consumer.onJobEvent(message).subscribe().withSubscriber(UniAssertSubscriber.create());
 
         future.awaitItem().assertCompleted();
+        message.assertAcked();
         verify(service).indexJob(event.getData());
     }
 
@@ -131,10 +160,150 @@ public class ReactiveMessagingEventConsumerTest {
     public void testOnJobEventException() {
         KogitoJobCloudEvent event = mock(KogitoJobCloudEvent.class);
         doThrow(new RuntimeException("")).when(service).indexJob(any());
+        TestMessage<KogitoJobCloudEvent> message = new TestMessage<>(event);
 
-        UniAssertSubscriber<Void> future = consumer.onJobEvent(event).subscribe().withSubscriber(UniAssertSubscriber.create());
+        UniAssertSubscriber<Void> future = consumer.onJobEvent(message).subscribe().withSubscriber(UniAssertSubscriber.create());
 
-        future.awaitFailure().assertFailedWith(RuntimeException.class, "");
+        future.awaitItem().assertCompleted();
+        message.assertNacked(RuntimeException.class);
         verify(service).indexJob(event.getData());
     }
+
+    @Test
+    public void testSameProcessInstanceEventsAreIndexedInOrder() {
+        String processInstanceId = UUID.randomUUID().toString();
+        List<ProcessInstanceDataEvent<?>> indexed = Collections.synchronizedList(new ArrayList<>());
+        doAnswer(invocation -> indexed.add(invocation.getArgument(0))).when(service).indexProcessInstanceEvent(any());
+
+        List<ProcessInstanceDataEvent<?>> events = new ArrayList<>();
+        List<TestMessage<ProcessInstanceDataEvent<?>>> messages = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            ProcessInstanceDataEvent<?> event = getProcessCloudEvent("travels", processInstanceId, ProcessInstanceState.ACTIVE, null,
+                    null, null, "currentUser");
+            TestMessage<ProcessInstanceDataEvent<?>> message = new TestMessage<>(event);
+            events.add(event);
+            messages.add(message);
+            consumer.onProcessInstanceEvent(message).await().indefinitely();
+        }
+
+        messages.forEach(TestMessage::assertAcked);
+        assertThat(indexed).containsExactlyElementsOf(events);
+    }
+
+    @Test
+    public void testDifferentProcessInstanceEventsAreIndexedConcurrently() throws InterruptedException {
+        CountDownLatch blocked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ProcessInstanceDataEvent<?> slow = getProcessCloudEvent("travels", "pi-1", ProcessInstanceState.ACTIVE, null, null, null, "currentUser");
+        ProcessInstanceDataEvent<?> fast = getProcessCloudEvent("travels", "pi-2", ProcessInstanceState.ACTIVE, null, null, null, "currentUser");
+        doAnswer(invocation -> {
+            if (invocation.getArgument(0) == slow) {
+                blocked.countDown();
+                release.await(10, TimeUnit.SECONDS);
+            }
+            return null;
+        }).when(service).indexProcessInstanceEvent(any());
+
+        TestMessage<ProcessInstanceDataEvent<?>> slowMessage = new TestMessage<>(slow);
+        TestMessage<ProcessInstanceDataEvent<?>> fastMessage = new TestMessage<>(fast);
+        consumer.onProcessInstanceEvent(slowMessage).await().indefinitely();
+        assertThat(blocked.await(10, TimeUnit.SECONDS)).isTrue();
+        consumer.onProcessInstanceEvent(fastMessage).await().indefinitely();
+
+        fastMessage.assertAcked();
+        assertThat(slowMessage.acked).isFalse();
+        release.countDown();
+        slowMessage.assertAcked();
+    }
+
+    @Test
+    public void testDispatchIsBoundedByMaxPending() throws InterruptedException {
+        KeyedIndexingDispatcher bounded = new KeyedIndexingDispatcher(1, 1, Duration.ofSeconds(10));
+        try {
+            CountDownLatch release = new CountDownLatch(1);
+            bounded.dispatch("a", () -> {
+                try {
+                    release.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }).await().indefinitely();
+
+            UniAssertSubscriber<Void> second = bounded.dispatch("b", () -> {
+            }).subscribe().withSubscriber(UniAssertSubscriber.create());
+            second.assertNotTerminated();
+            assertThat(bounded.pending()).isEqualTo(1);
+
+            release.countDown();
+            second.awaitItem().assertCompleted();
+            await().atMost(10, TimeUnit.SECONDS).until(() -> bounded.pending() == 0);
+        } finally {
+            bounded.close();
+        }
+    }
+
+    @Test
+    public void testCloseWaitsForDispatchedTasks() throws InterruptedException {
+        KeyedIndexingDispatcher closing = new KeyedIndexingDispatcher(2, 4, Duration.ofSeconds(10));
+        CountDownLatch started = new CountDownLatch(1);
+        AtomicBoolean completed = new AtomicBoolean();
+        closing.dispatch("a", () -> {
+            started.countDown();
+            try {
+                Thread.sleep(200);
+                completed.set(true);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }).await().indefinitely();
+        assertThat(started.await(10, TimeUnit.SECONDS)).isTrue();
+
+        closing.close();
+
+        assertThat(completed).isTrue();
+        assertThat(closing.pending()).isZero();
+    }
+
+    private static class TestMessage<T> implements Message<T> {
+
+        private final T payload;
+        private volatile boolean acked;
+        private final AtomicReference<Throwable> nacked = new AtomicReference<>();
+        private final AtomicBoolean done = new AtomicBoolean();
+
+        TestMessage(T payload) {
+            this.payload = payload;
+        }
+
+        @Override
+        public T getPayload() {
+            return payload;
+        }
+
+        @Override
+        public CompletableFuture<Void> ack() {
+            acked = true;
+            done.set(true);
+            return CompletableFuture.completedFuture(null);
+        }
+
+        @Override
+        public CompletableFuture<Void> nack(Throwable reason) {
+            nacked.set(reason);
+            done.set(true);
+            return CompletableFuture.completedFuture(null);
+        }
+
+        void assertAcked() {
+            await().atMost(10, TimeUnit.SECONDS).untilTrue(done);
+            assertThat(acked).isTrue();
+            assertThat(nacked.get()).isNull();
+        }
+
+        void assertNacked(Class<? extends Throwable> type) {
+            await().atMost(10, TimeUnit.SECONDS).untilTrue(done);
+            assertThat(acked).isFalse();
+            assertThat(nacked.get()).isInstanceOf(type);
+        }
+    }
 }
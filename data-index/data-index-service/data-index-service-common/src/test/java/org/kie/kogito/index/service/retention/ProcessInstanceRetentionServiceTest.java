@@ -0,0 +1,202 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.kie.kogito.index.service.retention;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.eclipse.microprofile.metrics.Counter;
+import org.eclipse.microprofile.metrics.MetricRegistry;
+import org.eclipse.microprofile.metrics.Tag;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.kie.kogito.index.api.DateTimeCoercing;
+import org.kie.kogito.index.model.Job;
+import org.kie.kogito.index.model.ProcessInstance;
+import org.kie.kogito.index.model.UserTaskInstance;
+import org.kie.kogito.index.storage.DataIndexStorageService;
+import org.kie.kogito.index.storage.ProcessInstancePartitionManager;
+import org.kie.kogito.index.storage.ProcessInstanceStorage;
+import org.kie.kogito.index.storage.UserTaskInstanceStorage;
+import org.kie.kogito.persistence.api.Storage;
+import org.kie.kogito.persistence.api.query.Query;
+import org.mockito.Answers;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import jakarta.enterprise.inject.Instance;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class ProcessInstanceRetentionServiceTest {
+
+    @Mock
+    DataIndexStorageService storageService;
+
+    @Mock
+    Instance<ProcessInstancePartitionManager> partitionManagerInstance;
+
+    @Mock
+    ProcessInstancePartitionManager partitionManager;
+
+    @Mock
+    DateTimeCoercing dateTimeCoercing;
+
+    @Mock
+    MetricRegistry metricRegistry;
+
+    @Mock
+    Counter counter;
+
+    @Mock
+    ProcessInstanceStorage processInstanceStorage;
+
+    @Mock
+    UserTaskInstanceStorage userTaskInstanceStorage;
+
+    @Mock
+    Storage<String, Job> jobsStorage;
+
+    @Mock
+    Storage<String, ObjectNode> domainStorage;
+
+    @Mock(answer = Answers.RETURNS_SELF)
+    Query<ProcessInstance> processInstanceQuery;
+
+    @Mock(answer = Answers.RETURNS_SELF)
+    Query<UserTaskInstance> userTaskInstanceQuery;
+
+    @Mock(answer = Answers.RETURNS_SELF)
+    Query<Job> jobsQuery;
+
+    @Mock(answer = Answers.RETURNS_SELF)
+    Query<ObjectNode> domainQuery;
+
+    ProcessInstanceRetentionService retentionService;
+
+    @BeforeEach
+    void setup() {
+        retentionService = new ProcessInstanceRetentionService();
+        retentionService.storageService = storageService;
+        retentionService.partitionManager = partitionManagerInstance;
+        retentionService.dateTimeCoercing = dateTimeCoercing;
+        retentionService.metricRegistry = metricRegistry;
+        retentionService.maxAge = Duration.ofDays(30);
+        retentionService.batchSize = 2;
+        retentionService.maxBatchesPerRun = 3;
+        retentionService.batchDelay = Duration.ZERO;
+
+        when(dateTimeCoercing.parseValue(anyString())).thenReturn(1L);
+        when(metricRegistry.counter(anyString(), any(Tag[].class))).thenReturn(counter);
+        when(storageService.getProcessInstanceStorage()).thenReturn(processInstanceStorage);
+        when(storageService.getUserTaskInstanceStorage()).thenReturn(userTaskInstanceStorage);
+        when(storageService.getJobsStorage()).thenReturn(jobsStorage);
+        when(storageService.getDomainModelCache("travels")).thenReturn(domainStorage);
+        when(processInstanceStorage.query()).thenReturn(processInstanceQuery);
+        when(userTaskInstanceStorage.query()).thenReturn(userTaskInstanceQuery);
+        when(jobsStorage.query()).thenReturn(jobsQuery);
+        when(domainStorage.query()).thenReturn(domainQuery);
+        when(processInstanceQuery.delete()).thenAnswer(invocation -> 1L);
+    }
+
+    @Test
+    void testPurgeStopsOnPartialBatch() {
+        when(processInstanceQuery.execute()).thenReturn(instances(0, 2), instances(2, 1));
+
+        assertThat(retentionService.purge()).isEqualTo(3);
+
+        verify(processInstanceQuery, times(2)).execute();
+        verify(processInstanceQuery, times(2)).limit(2);
+        verify(processInstanceQuery, times(2)).projection(List.of("id", "rootProcessInstanceId", "processId"));
+        verify(userTaskInstanceQuery, times(2)).delete();
+        verify(jobsQuery, times(2)).delete();
+        verify(domainQuery, times(2)).delete();
+        verify(processInstanceQuery, times(2)).delete();
+    }
+
+    @Test
+    void testPurgeLimitsBatchesPerRun() {
+        when(processInstanceQuery.execute()).thenReturn(instances(0, 2));
+
+        assertThat(retentionService.purge()).isEqualTo(6);
+
+        verify(processInstanceQuery, times(3)).execute();
+    }
+
+    @Test
+    void testPurgeWithoutFinishedInstances() {
+        when(processInstanceQuery.execute()).thenReturn(List.of());
+
+        assertThat(retentionService.purge()).isZero();
+
+        verify(userTaskInstanceQuery, never()).delete();
+        verify(jobsQuery, never()).delete();
+        verify(processInstanceQuery, never()).delete();
+        verify(metricRegistry, never()).counter(anyString(), any(Tag[].class));
+    }
+
+    @Test
+    void testPurgeWithoutDomainStorage() {
+        when(storageService.getDomainModelCache(anyString())).thenThrow(new UnsupportedOperationException());
+        when(processInstanceQuery.execute()).thenReturn(instances(0, 1));
+
+        assertThat(retentionService.purge()).isEqualTo(1);
+
+        verify(processInstanceQuery).delete();
+        verify(counter).inc(eq(1L));
+    }
+
+    @Test
+    void testPurgeDropsPartitionsFirst() {
+        when(partitionManagerInstance.isResolvable()).thenReturn(true);
+        when(partitionManagerInstance.get()).thenReturn(partitionManager);
+        when(partitionManager.dropFinishedPartitions(any())).thenReturn(10L);
+        when(processInstanceQuery.execute()).thenReturn(instances(0, 1));
+
+        assertThat(retentionService.purge()).isEqualTo(11);
+
+        verify(counter).inc(10L);
+        verify(processInstanceQuery).delete();
+    }
+
+    private static List<ProcessInstance> instances(int from, int count) {
+        return IntStream.range(from, from + count).mapToObj(i -> {
+            ProcessInstance pi = new ProcessInstance();
+            pi.setId("pi-" + i);
+            pi.setProcessId("travels");
+            return pi;
+        }).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.kie.kogito.index.service.vertx;
+
+import org.kie.kogito.persistence.mongodb.index.IndexAdvisor;
+import org.kie.kogito.persistence.mongodb.index.IndexRecommendation;
+
+import io.quarkus.vertx.web.Route;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.web.RoutingContext;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+import static io.quarkus.vertx.web.Route.HttpMethod.GET;
+import static io.quarkus.vertx.web.Route.HttpMethod.POST;
+
+/**
+ * Admin endpoint exposing the indexes recommended by the MongoDB index advisor.
+ * {@code GET} lists the recommendations and {@code POST /{indexName}} creates the recommended index, answering 201 when
+ * it was created, 200 when an equivalent index already existed and 409 when the configured limits rejected it.
+ */
+@ApplicationScoped
+public class IndexAdvisorRouter {
+
+    static final String PATH = "/admin/index-advisor";
+
+    @Inject
+    IndexAdvisor indexAdvisor;
+
+    @Route(path = PATH, type = Route.HandlerType.BLOCKING, methods = { GET }, produces = "application/json")
+    public void getRecommendations(RoutingContext rc) {
+        JsonArray recommendations = new JsonArray();
+        indexAdvisor.getRecommendations().forEach(recommendation -> recommendations.add(toJson(recommendation)));
+        rc.response().putHeader("Content-Type", "application/json").end(recommendations.encode());
+    }
+
+    @Route(path = PATH + "/:indexName", type = Route.HandlerType.BLOCKING, methods = { POST }, produces = "application/json")
+    public void createIndex(RoutingContext rc) {
+        IndexRecommendation recommendation;
+        try {
+            recommendation = indexAdvisor.createIndex(rc.pathParam("indexName"));
+        } catch (IllegalArgumentException e) {
+            rc.response().setStatusCode(404).end(e.getMessage());
+            return;
+        }
+        int status;
+        switch (recommendation.getStatus()) {
+            case CREATED:
+                status = 201;
+                break;
+            case REJECTED:
+                status = 409;
+                break;
+            default:
+                status = 200;
+        }
+        rc.response().setStatusCode(status).putHeader("Content-Type", "application/json").end(toJson(recommendation).encode());
+    }
+
+    private static JsonObject toJson(IndexRecommendation recommendation) {
+        JsonObject keys = new JsonObject();
+        recommendation.getKeys().forEach(keys::put);
+        return new JsonObject()
+                .put("collection", recommendation.getCollection())
+                .put("indexName", recommendation.getIndexName())
+                .put("keys", keys)
+                .put("samples", recommendation.getSamples())
+                .put("collectionScans", recommendation.getCollectionScans())
+                .put("status", recommendation.getStatus().name())
+                .put("reason", recommendation.getReason());
+    }
+}
@@ -0,0 +1,43 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.kie.kogito.index.storage;
+
+import java.util.Set;
+
+/**
+ * Implemented by storages able to index hot JSON paths, such as {@code variables.traveller.lastName}, so filters on
+ * those paths of the process instance variables or the user task inputs and outputs do not scan every element.
+ */
+public interface JsonPathIndexManager {
+
+    /**
+     * Declares a hot JSON path, building its index in the background when it does not exist yet. Declaring a path
+     * again has no effect.
+     *
+     * @param path dotted path starting with the JSON attribute, {@code variables}, {@code inputs} or {@code outputs}.
+     * @return whether the index is being built, {@code false} when it already exists.
+     * @throws IllegalArgumentException if the path does not start with a JSON attribute or has no key.
+     */
+    boolean declareHotPath(String path);
+
+    /**
+     * @return the declared hot JSON paths.
+     */
+    Set<String> getHotPaths();
+}
@@ -0,0 +1,37 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.kie.kogito.index.storage;
+
+import java.time.ZonedDateTime;
+
+/**
+ * Implemented by storages that partition process instances by start time, allowing the retention to remove
+ * whole partitions instead of deleting instances one by one.
+ */
+public interface ProcessInstancePartitionManager {
+
+    /**
+     * Removes the partitions only holding completed or aborted process instances that ended before the given time,
+     * together with their user task instances and jobs.
+     *
+     * @param endedBefore upper bound of the end time of the removed instances.
+     * @return the number of removed process instances.
+     */
+    long dropFinishedPartitions(ZonedDateTime endedBefore);
+}
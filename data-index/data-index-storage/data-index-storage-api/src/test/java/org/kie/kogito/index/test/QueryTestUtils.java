@@ -18,12 +18,20 @@
  */
 package org.kie.kogito.index.test;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+import org.kie.kogito.persistence.api.StorageFetcher;
+import org.kie.kogito.persistence.api.query.AttributeFilter;
+import org.kie.kogito.persistence.api.query.AttributeSort;
+import org.kie.kogito.persistence.api.query.Query;
 
 import com.fasterxml.jackson.databind.node.ObjectNode;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.extractProperty;
 
 public class QueryTestUtils {
 
@@ -55,4 +63,26 @@ public class QueryTestUtils {
         return (instances, ids) -> assertThat(instances).extracting("id").doesNotContainAnyElementsOf(List.of(ids));
     }
 
+    /**
+     * Reads the elements matching the filters page by page, each page resuming after the sort values of the last
+     * element of the previous one, and asserts they come exactly once and in the order of a single sorted query,
+     * wherever the storage places null values.
+     */
+    public static <V> void assertKeysetPaging(StorageFetcher<?, V> storage, List<AttributeFilter<?>> filters, List<AttributeSort> sort, int pageSize,
+            Function<V, Object[]> sortValues) {
+        List<V> expected = storage.query().filter(filters).sort(sort).execute();
+        List<V> paged = new ArrayList<>();
+        List<V> page;
+        Object[] last = null;
+        do {
+            Query<V> query = storage.query().filter(filters).sort(sort).limit(pageSize);
+            if (last != null) {
+                query.searchAfter(last);
+            }
+            page = query.execute();
+            paged.addAll(page);
+            last = page.isEmpty() ? null : sortValues.apply(page.get(page.size() - 1));
+        } while (page.size() == pageSize && paged.size() <= expected.size());
+        assertThat(paged).extracting("id").containsExactlyElementsOf(extractProperty("id").from(expected));
+    }
 }
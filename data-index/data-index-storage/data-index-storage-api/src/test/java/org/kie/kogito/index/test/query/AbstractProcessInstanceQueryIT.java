@@ -18,6 +18,7 @@
  */
 package org.kie.kogito.index.test.query;
 
+import java.util.List;
 import java.util.UUID;
 
 import org.junit.jupiter.api.Test;
@@ -26,11 +27,17 @@ import org.kie.kogito.index.model.ProcessInstance;
 import org.kie.kogito.index.storage.ProcessInstanceStorage;
 import org.kie.kogito.index.test.QueryTestBase;
 import org.kie.kogito.index.test.TestUtils;
+import org.kie.kogito.persistence.api.query.AttributeFilter;
 
 import static java.util.Collections.singletonList;
+import static org.kie.kogito.index.model.ProcessInstanceState.ACTIVE;
 import static org.kie.kogito.index.model.ProcessInstanceState.COMPLETED;
+import static org.kie.kogito.index.test.QueryTestUtils.assertKeysetPaging;
 import static org.kie.kogito.index.test.QueryTestUtils.assertWithId;
 import static org.kie.kogito.persistence.api.query.QueryFilterFactory.equalTo;
+import static org.kie.kogito.persistence.api.query.QueryFilterFactory.orderBy;
+import static org.kie.kogito.persistence.api.query.SortDirection.ASC;
+import static org.kie.kogito.persistence.api.query.SortDirection.DESC;
 
 public abstract class AbstractProcessInstanceQueryIT extends QueryTestBase<String, ProcessInstance> {
 
@@ -49,4 +56,24 @@ public abstract class AbstractProcessInstanceQueryIT extends QueryTestBase<Strin
                 processInstanceId);
     }
 
+    @Test
+    void testProcessInstanceKeysetPaging() {
+        String processId = "travels_" + UUID.randomUUID();
+        ProcessInstanceStorage storage = getStorage();
+        // ties and null values on the first sort attribute, the id breaks the ties
+        String[] businessKeys = { "a", null, "b", "a", null, "b", "a" };
+        for (int i = 0; i < businessKeys.length; i++) {
+            ProcessInstanceStateDataEvent event = TestUtils.createProcessInstanceEvent(processId + "_" + i, processId, null, null, ACTIVE.ordinal());
+            event.getData().update().businessKey(businessKeys[i]);
+            storage.indexState(event);
+        }
+
+        List<AttributeFilter<?>> filters = List.of(equalTo("processId", processId));
+        for (int pageSize = 1; pageSize <= 3; pageSize++) {
+            assertKeysetPaging(storage, filters, List.of(orderBy("businessKey", ASC), orderBy("id", DESC)), pageSize,
+                    pi -> new Object[] { pi.getBusinessKey(), pi.getId() });
+            assertKeysetPaging(storage, filters, List.of(orderBy("businessKey", DESC), orderBy("id", ASC)), pageSize,
+                    pi -> new Object[] { pi.getBusinessKey(), pi.getId() });
+        }
+    }
 }
@@ -18,17 +18,28 @@
  */
 package org.kie.kogito.index.jpa.storage;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
 import java.util.function.Function;
 
 import org.kie.kogito.index.jpa.model.AbstractEntity;
+import org.kie.kogito.index.jpa.storage.EntityChangeNotifier.ChangeType;
 import org.kie.kogito.persistence.api.StorageFetcher;
+import org.kie.kogito.persistence.api.query.AttributeFilter;
 import org.kie.kogito.persistence.api.query.Query;
 
 import io.quarkus.hibernate.orm.panache.PanacheRepositoryBase;
+import io.quarkus.narayana.jta.QuarkusTransaction;
 import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.infrastructure.Infrastructure;
 
+import jakarta.enterprise.inject.Instance;
+import jakarta.inject.Inject;
 import jakarta.transaction.Transactional;
 
+import static org.kie.kogito.persistence.api.query.QueryFilterFactory.in;
+
 public class AbstractJPAStorageFetcher<K, E extends AbstractEntity, V> implements StorageFetcher<K, V> {
 
     private static final String LISTENER_NOT_AVAILABLE_IN_JPA = "Listener not available in JPA database";
@@ -37,6 +48,9 @@ public class AbstractJPAStorageFetcher<K, E extends AbstractEntity, V> implement
     protected Class<E> entityClass;
     protected Function<E, V> mapToModel;
 
+    @Inject
+    Instance<EntityChangeNotifier> changeNotifier;
+
     protected AbstractJPAStorageFetcher() {
     }
 
@@ -48,17 +62,49 @@ public class AbstractJPAStorageFetcher<K, E extends AbstractEntity, V> implement
 
     @Override
     public Multi<V> objectCreatedListener() {
-        throw new UnsupportedOperationException(LISTENER_NOT_AVAILABLE_IN_JPA);
+        return objectCreatedListener(List.of());
     }
 
     @Override
     public Multi<V> objectUpdatedListener() {
-        throw new UnsupportedOperationException(LISTENER_NOT_AVAILABLE_IN_JPA);
+        return objectUpdatedListener(List.of());
+    }
+
+    @Override
+    public Multi<V> objectCreatedListener(List<AttributeFilter<?>> filters) {
+        return changedObjects(ChangeType.CREATED, filters);
+    }
+
+    @Override
+    public Multi<V> objectUpdatedListener(List<AttributeFilter<?>> filters) {
+        return changedObjects(ChangeType.UPDATED, filters);
     }
 
     @Override
+    @SuppressWarnings("unchecked")
     public Multi<K> objectRemovedListener() {
-        throw new UnsupportedOperationException(LISTENER_NOT_AVAILABLE_IN_JPA);
+        // all the entities observed by the notifier use string ids
+        return getChangeNotifier().changes(entityClass, ChangeType.REMOVED).onItem().transformToIterable(ids -> (Set<K>) ids);
+    }
+
+    private Multi<V> changedObjects(ChangeType type, List<AttributeFilter<?>> filters) {
+        return getChangeNotifier().changes(entityClass, type)
+                .emitOn(Infrastructure.getDefaultWorkerPool())
+                .onItem().transformToIterable(ids -> findChanged(ids, filters));
+    }
+
+    private List<V> findChanged(Set<String> ids, List<AttributeFilter<?>> filters) {
+        // subscription filters are evaluated by the database, restricted to the rows of the batch
+        List<AttributeFilter<?>> batchFilters = new ArrayList<>(filters);
+        batchFilters.add(in("id", new ArrayList<>(ids)));
+        return QuarkusTransaction.requiringNew().call(() -> query().filter(batchFilters).execute());
+    }
+
+    private EntityChangeNotifier getChangeNotifier() {
+        if (changeNotifier == null || !changeNotifier.isResolvable()) {
+            throw new UnsupportedOperationException(LISTENER_NOT_AVAILABLE_IN_JPA);
+        }
+        return changeNotifier.get();
     }
 
     @Override
@@ -0,0 +1,49 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.kie.kogito.index.jpa.storage;
+
+import java.util.Set;
+
+import org.kie.kogito.index.jpa.model.AbstractEntity;
+
+import io.smallrye.mutiny.Multi;
+
+/**
+ * Source of change events for the JPA storages. Relational databases do not push changes by themselves, so
+ * listeners on the JPA storages are only available when a database specific implementation of this interface is
+ * deployed.
+ */
+public interface EntityChangeNotifier {
+
+    enum ChangeType {
+        CREATED,
+        UPDATED,
+        REMOVED
+    }
+
+    /**
+     * Emits, for the given entity, batches with the ids of the rows affected by the given type of change.
+     * Several changes of the same row close in time are coalesced into a single id.
+     *
+     * @param entityClass The entity whose table is observed.
+     * @param type The type of change.
+     * @return A hot stream of id batches.
+     */
+    Multi<Set<String>> changes(Class<? extends AbstractEntity> entityClass, ChangeType type);
+}
@@ -18,36 +18,61 @@
  */
 package org.kie.kogito.index.jpa.storage;
 
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.function.Function;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.AvailableHints;
+import org.hibernate.query.criteria.HibernateCriteriaBuilder;
 import org.kie.kogito.index.jpa.model.AbstractEntity;
 import org.kie.kogito.persistence.api.query.AttributeFilter;
 import org.kie.kogito.persistence.api.query.AttributeSort;
 import org.kie.kogito.persistence.api.query.Query;
 import org.kie.kogito.persistence.api.query.SortDirection;
+import org.kie.kogito.persistence.postgresql.StreamTransactions;
 
 import io.quarkus.hibernate.orm.panache.PanacheRepositoryBase;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.narayana.jta.TransactionRunnerOptions;
 
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
 import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaDelete;
 import jakarta.persistence.criteria.CriteriaQuery;
 import jakarta.persistence.criteria.Join;
 import jakarta.persistence.criteria.Order;
 import jakarta.persistence.criteria.Path;
 import jakarta.persistence.criteria.Predicate;
 import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
 import jakarta.persistence.metamodel.Attribute;
+import jakarta.persistence.metamodel.EntityType;
+import jakarta.persistence.metamodel.SingularAttribute;
 
 import static java.util.stream.Collectors.toList;
+import static java.util.stream.Collectors.toMap;
+import static org.kie.kogito.persistence.api.query.QueryFilterFactory.after;
 
 public class JPAQuery<K, E extends AbstractEntity, T> implements Query<T> {
 
+    static final int STREAM_FETCH_SIZE = 500;
+
     protected final PanacheRepositoryBase<E, K> repository;
     private Integer limit;
     private Integer offset;
     private List<AttributeFilter<?>> filters;
     private List<AttributeSort> sortBy;
+    private List<String> projection;
+    private List<Object> searchAfter;
     protected final Class<E> entityClass;
     protected final Function<E, T> mapper;
 
@@ -81,32 +106,172 @@ public class JPAQuery<K, E extends AbstractEntity, T> implements Query<T> {
         return this;
     }
 
+    @Override
+    public Query<T> projection(List<String> attributes) {
+        this.projection = attributes;
+        return this;
+    }
+
+    @Override
+    public Query<T> searchAfter(Object... sortValues) {
+        this.searchAfter = sortValues == null ? null : Arrays.asList(sortValues);
+        return this;
+    }
+
     @Override
     public List<T> execute() {
+        List<SingularAttribute<? super E, ?>> projectedAttributes = getProjectedAttributes();
+        if (projectedAttributes != null) {
+            return executeProjection(projectedAttributes);
+        }
+        CriteriaBuilder builder = repository.getEntityManager().getCriteriaBuilder();
+        CriteriaQuery<E> criteriaQuery = builder.createQuery(entityClass);
+        Root<E> root = criteriaQuery.from(entityClass);
+        applyFiltersAndSort(criteriaQuery, builder, root);
+        return createQuery(criteriaQuery).getResultList().stream().map(mapper).collect(toList());
+    }
+
+    /**
+     * Reads the results with a database cursor, see {@link StreamTransactions#stream}. The stream must be consumed and
+     * closed by the calling thread.
+     */
+    @Override
+    public Stream<T> stream() {
+        return StreamTransactions.stream(this::streamResults);
+    }
+
+    private Stream<T> streamResults() {
         CriteriaBuilder builder = repository.getEntityManager().getCriteriaBuilder();
+        List<SingularAttribute<? super E, ?>> projectedAttributes = getProjectedAttributes();
+        if (projectedAttributes != null) {
+            CriteriaQuery<Tuple> criteriaQuery = builder.createTupleQuery();
+            Root<E> root = criteriaQuery.from(entityClass);
+            criteriaQuery.multiselect(projectedAttributes.stream().<Selection<?>> map(attribute -> root.get(attribute).alias(attribute.getName())).collect(toList()));
+            applyFiltersAndSort(criteriaQuery, builder, root);
+            return createQuery(criteriaQuery).setHint(AvailableHints.HINT_FETCH_SIZE, STREAM_FETCH_SIZE).getResultStream()
+                    .map(tuple -> mapper.apply(toEntity(tuple, projectedAttributes)));
+        }
         CriteriaQuery<E> criteriaQuery = builder.createQuery(entityClass);
         Root<E> root = criteriaQuery.from(entityClass);
+        applyFiltersAndSort(criteriaQuery, builder, root);
+        EntityManager entityManager = repository.getEntityManager();
+        return createQuery(criteriaQuery).setHint(AvailableHints.HINT_FETCH_SIZE, STREAM_FETCH_SIZE).getResultStream().map(entity -> {
+            T value = mapper.apply(entity);
+            // keeps the persistence context from growing with the whole result set
+            entityManager.detach(entity);
+            return value;
+        });
+    }
+
+    private List<T> executeProjection(List<SingularAttribute<? super E, ?>> attributes) {
+        CriteriaBuilder builder = repository.getEntityManager().getCriteriaBuilder();
+        CriteriaQuery<Tuple> criteriaQuery = builder.createTupleQuery();
+        Root<E> root = criteriaQuery.from(entityClass);
+        criteriaQuery.multiselect(attributes.stream().<Selection<?>> map(attribute -> root.get(attribute).alias(attribute.getName())).collect(toList()));
+        applyFiltersAndSort(criteriaQuery, builder, root);
+        return createQuery(criteriaQuery).getResultList().stream().map(tuple -> mapper.apply(toEntity(tuple, attributes))).collect(toList());
+    }
+
+    private void applyFiltersAndSort(CriteriaQuery<?> criteriaQuery, CriteriaBuilder builder, Root<E> root) {
+        List<Predicate> predicates = new ArrayList<>();
         if (filters != null && !filters.isEmpty()) {
-            List<Predicate> predicates = getPredicates(builder, root);
+            predicates.addAll(getPredicates(builder, root));
+        }
+        if (searchAfter != null) {
+            // the order by below places nulls last in ascending order
+            predicates.add(filterPredicateFunction(root, builder).apply(after(sortBy, searchAfter, true)));
+        }
+        if (!predicates.isEmpty()) {
             criteriaQuery.where(predicates.toArray(new Predicate[] {}));
         }
         if (sortBy != null && !sortBy.isEmpty()) {
+            // null precedence is explicit since databases disagree on it, H2 places nulls first in ascending order
+            HibernateCriteriaBuilder hibernateBuilder = (HibernateCriteriaBuilder) builder;
             List<Order> orderBy = sortBy.stream().map(f -> {
                 Path attributePath = getAttributePath(root, f.getAttribute());
-                return f.getSort() == SortDirection.ASC ? builder.asc(attributePath) : builder.desc(attributePath);
+                return f.getSort() == SortDirection.ASC ? hibernateBuilder.asc(attributePath, false) : hibernateBuilder.desc(attributePath, true);
             }).collect(toList());
             criteriaQuery.orderBy(orderBy);
         }
+    }
 
-        jakarta.persistence.Query query = repository.getEntityManager().createQuery(criteriaQuery);
-
+    private <R> TypedQuery<R> createQuery(CriteriaQuery<R> criteriaQuery) {
+        TypedQuery<R> query = repository.getEntityManager().createQuery(criteriaQuery);
         if (limit != null) {
             query.setMaxResults(limit);
         }
         if (offset != null) {
             query.setFirstResult(offset);
         }
-        return (List<T>) query.getResultList().stream().map(mapper).collect(toList());
+        return query;
+    }
+
+    /**
+     * Resolves the projection into basic attributes of the entity, plus its identifier. Returns null when there is no
+     * projection or it includes associations, collections or embedded attributes, which are then loaded with the
+     * complete entity.
+     */
+    private List<SingularAttribute<? super E, ?>> getProjectedAttributes() {
+        if (projection == null || projection.isEmpty()) {
+            return null;
+        }
+        EntityType<E> entityType = repository.getEntityManager().getMetamodel().entity(entityClass);
+        Map<String, SingularAttribute<? super E, ?>> basicAttributes = entityType.getSingularAttributes().stream()
+                .filter(attribute -> attribute.getPersistentAttributeType() == Attribute.PersistentAttributeType.BASIC && attribute.getJavaMember() instanceof Field)
+                .collect(toMap(Attribute::getName, Function.identity()));
+        if (!basicAttributes.keySet().containsAll(projection)) {
+            return null;
+        }
+        Set<SingularAttribute<? super E, ?>> attributes = new LinkedHashSet<>();
+        basicAttributes.values().stream().filter(SingularAttribute::isId).forEach(attributes::add);
+        projection.stream().map(basicAttributes::get).forEach(attributes::add);
+        return List.copyOf(attributes);
+    }
+
+    private E toEntity(Tuple tuple, List<SingularAttribute<? super E, ?>> attributes) {
+        try {
+            E entity = entityClass.getDeclaredConstructor().newInstance();
+            for (SingularAttribute<? super E, ?> attribute : attributes) {
+                Field field = (Field) attribute.getJavaMember();
+                field.setAccessible(true);
+                field.set(entity, tuple.get(attribute.getName()));
+            }
+            return entity;
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Unable to create projection of " + entityClass.getName(), e);
+        }
+    }
+
+    @Override
+    public long count() {
+        CriteriaBuilder builder = repository.getEntityManager().getCriteriaBuilder();
+        CriteriaQuery<Long> criteriaQuery = builder.createQuery(Long.class);
+        Root<E> root = criteriaQuery.from(entityClass);
+        if (filters != null && !filters.isEmpty()) {
+            criteriaQuery.where(getPredicates(builder, root).toArray(new Predicate[] {}));
+        }
+        // filters on collections join them, counting distinct roots keeps every element counted once
+        criteriaQuery.select(root.getJoins().isEmpty() ? builder.count(root) : builder.countDistinct(root));
+        return repository.getEntityManager().createQuery(criteriaQuery).getSingleResult();
+    }
+
+    @Override
+    public long delete() {
+        TransactionRunnerOptions runner = QuarkusTransaction.isActive() ? QuarkusTransaction.joiningExisting() : QuarkusTransaction.requiringNew();
+        return runner.call(() -> {
+            CriteriaBuilder builder = repository.getEntityManager().getCriteriaBuilder();
+            CriteriaDelete<E> criteriaDelete = builder.createCriteriaDelete(entityClass);
+            Root<E> root = criteriaDelete.from(entityClass);
+            if (filters != null && !filters.isEmpty()) {
+                criteriaDelete.where(getPredicates(builder, root).toArray(new Predicate[] {}));
+            }
+            // dependent rows (nodes, milestones, comments, ...) are removed by the ON DELETE CASCADE foreign keys or their trigger counterpart
+            return (long) repository.getEntityManager().createQuery(criteriaDelete).executeUpdate();
+        });
+    }
+
+    protected List<AttributeFilter<?>> getFilters() {
+        return filters;
     }
 
     protected List<Predicate> getPredicates(CriteriaBuilder builder, Root<E> root) {
@@ -22,6 +22,7 @@ import java.time.ZonedDateTime;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
 
 import org.kie.kogito.event.process.MultipleProcessInstanceDataEvent;
@@ -110,11 +111,13 @@ public class ProcessInstanceEntityStorage extends AbstractJPAStorageFetcher<Stri
     }
 
     private ProcessInstanceEntity findOrInit(ProcessInstanceDataEvent<?> event) {
-        return repository.findByIdOptional(event.getKogitoProcessInstanceId()).orElseGet(() -> {
+        String id = event.getKogitoProcessInstanceId();
+        return repository.findByIdOptional(id).or(() -> findBeforeInit(id)).orElseGet(() -> {
             ProcessInstanceEntity pi = new ProcessInstanceEntity();
             pi.setProcessId(event.getKogitoProcessId());
             pi.setId(event.getKogitoProcessInstanceId());
             pi.setLastUpdate(toZonedDateTime(event.getTime()));
+            pi.setStart(initialStart(event));
             pi.setNodes(new ArrayList<>());
             pi.setMilestones(new ArrayList<>());
             repository.persist(pi);
@@ -122,6 +125,28 @@ public class ProcessInstanceEntityStorage extends AbstractJPAStorageFetcher<Stri
         });
     }
 
+    /**
+     * Looks up again an instance that was not found, right before storing it. None is by default, the primary key
+     * rejects a concurrent first write of the same instance.
+     */
+    protected Optional<ProcessInstanceEntity> findBeforeInit(String id) {
+        return Optional.empty();
+    }
+
+    /**
+     * Start time of an instance stored before its started event is indexed, none by default.
+     */
+    protected ZonedDateTime initialStart(ProcessInstanceDataEvent<?> event) {
+        return null;
+    }
+
+    /**
+     * Start time of an instance once its started event is indexed.
+     */
+    protected ZonedDateTime startOf(ProcessInstanceEntity pi, ZonedDateTime started) {
+        return started;
+    }
+
     private void indexEvent(ProcessInstanceEntity pi, ProcessInstanceDataEvent<?> event) {
         if (event instanceof ProcessInstanceErrorDataEvent) {
             indexError(pi, ((ProcessInstanceErrorDataEvent) event).getData());
@@ -213,7 +238,7 @@ public class ProcessInstanceEntityStorage extends AbstractJPAStorageFetcher<Stri
         pi.setRoles(data.getRoles());
         pi.setState(data.getState());
         if (data.getEventType() == null || data.getEventType() == ProcessInstanceStateEventBody.EVENT_TYPE_STARTED) {
-            pi.setStart(toZonedDateTime(data.getEventDate()));
+            pi.setStart(startOf(pi, toZonedDateTime(data.getEventDate())));
             pi.setCreatedBy(data.getEventUser());
         } else if (data.getEventType() == ProcessInstanceStateEventBody.EVENT_TYPE_ENDED) {
             pi.setEnd(toZonedDateTime(data.getEventDate()));
@@ -18,7 +18,9 @@
  */
 package org.kie.kogito.index.jpa.storage;
 
+import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 import org.apache.commons.lang3.RandomStringUtils;
 import org.junit.jupiter.api.Test;
@@ -26,9 +28,13 @@ import org.kie.kogito.index.jpa.model.JobEntity;
 import org.kie.kogito.index.model.Job;
 import org.kie.kogito.index.test.TestUtils;
 import org.kie.kogito.persistence.api.Storage;
+import org.kie.kogito.persistence.api.query.Query;
 
 import jakarta.inject.Inject;
 
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.kie.kogito.persistence.api.query.QueryFilterFactory.equalTo;
+
 public abstract class AbstractJobStorageIT extends AbstractStorageIT<String, JobEntity, Job> {
 
     @Inject
@@ -56,4 +62,21 @@ public abstract class AbstractJobStorageIT extends AbstractStorageIT<String, Job
                         RandomStringUtils.randomAlphabetic(10), "SCHEDULED", 1000L);
         testStorage(jobId, job1, job2);
     }
+
+    @Test
+    public void testStreamSeveralFetchBatches() {
+        String processId = RandomStringUtils.randomAlphabetic(10);
+        int size = JPAQuery.STREAM_FETCH_SIZE * 2 + 1;
+        for (int i = 0; i < size; i++) {
+            String jobId = UUID.randomUUID().toString();
+            storage.put(jobId, TestUtils.createJob(jobId, UUID.randomUUID().toString(), processId, UUID.randomUUID().toString(),
+                    RandomStringUtils.randomAlphabetic(10), "SCHEDULED", 0L));
+        }
+
+        Query<Job> query = storage.query();
+        query.filter(List.of(equalTo("processId", processId)));
+        try (Stream<Job> jobs = query.stream()) {
+            assertThat(jobs.map(Job::getProcessId).filter(processId::equals).count()).isEqualTo(size);
+        }
+    }
 }
@@ -0,0 +1,201 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.kie.kogito.index.postgresql.reporting;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.Test;
+import org.kie.kogito.index.jpa.model.ProcessInstanceEntityRepository;
+import org.kie.kogito.index.jpa.storage.ProcessInstanceEntityStorage;
+import org.kie.kogito.index.test.TestUtils;
+import org.kie.kogito.persistence.postgresql.reporting.database.BasePostgresDatabaseManagerImpl;
+import org.kie.kogito.persistence.postgresql.reporting.model.PostgresMappingDefinition;
+import org.kie.kogito.persistence.postgresql.reporting.service.PostgresMappingServiceImpl;
+import org.kie.kogito.testcontainers.quarkus.PostgreSqlQuarkusTestResource;
+
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.test.common.QuarkusTestResource;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.TestProfile;
+
+import jakarta.inject.Inject;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@QuarkusTest
+@QuarkusTestResource(PostgreSqlQuarkusTestResource.class)
+@TestProfile(DeferredExtractionQuarkusTestProfile.class)
+class DeferredExtractionIT {
+
+    private static final String MAPPING_ID = "ProcessInstanceVariableMapping";
+
+    private static final String UPDATE_FIRST_NAME = "UPDATE processes " +
+            "SET variables = jsonb_set(variables, '{traveller,firstName}', to_jsonb(cast(? as text))) " +
+            "WHERE id = ?";
+
+    private static final String DELETE = "DELETE FROM processes WHERE id = ?";
+
+    private static final String LOCK_WAITS = "SELECT count(*) FROM pg_stat_activity WHERE wait_event_type = 'Lock'";
+
+    private static final String FIRST_NAMES = "SELECT firstName FROM ProcessInstanceVariableExtract WHERE id = ?1";
+
+    @Inject
+    ProcessInstanceEntityRepository repository;
+    @Inject
+    ProcessInstanceEntityStorage storage;
+    @Inject
+    PostgresMappingServiceImpl mappingService;
+    @Inject
+    BasePostgresDatabaseManagerImpl databaseManager;
+    @Inject
+    DataSource dataSource;
+
+    @Test
+    void testChangeToQueuedRowIsNotLostWhenExtractedConcurrently() throws SQLException {
+        final PostgresMappingDefinition definition = mappingService.getMappingDefinitionById(MAPPING_ID);
+        QuarkusTransaction.requiringNew().run(() -> storage.indexVariable(TestUtils.createProcessInstanceVariableEvent("pi0",
+                "process0",
+                "Michael",
+                "Anstis")));
+
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            // a source transaction changes a row that is already queued and is still in flight when the worker runs
+            try (PreparedStatement update = connection.prepareStatement(UPDATE_FIRST_NAME)) {
+                update.setString(1, "Keith");
+                update.setString(2, "pi0");
+                assertThat(update.executeUpdate()).isEqualTo(1);
+            }
+
+            assertThat(databaseManager.extract(definition, 10)).isZero();
+            assertThat(firstNames("pi0")).isEmpty();
+            assertThat(databaseManager.getExtractionLag(definition).getPending()).isEqualTo(1);
+
+            connection.commit();
+        }
+
+        assertThat(databaseManager.extract(definition, 10)).isEqualTo(1);
+        assertThat(firstNames("pi0")).containsExactly("Keith");
+        assertThat(databaseManager.getExtractionLag(definition).getPending()).isZero();
+    }
+
+    @Test
+    void testChangeDuringExtractionStaysQueued() throws Exception {
+        final PostgresMappingDefinition definition = mappingService.getMappingDefinitionById(MAPPING_ID);
+        QuarkusTransaction.requiringNew().run(() -> storage.indexVariable(TestUtils.createProcessInstanceVariableEvent("pi1",
+                "process0",
+                "Javier",
+                "Ito")));
+
+        // the worker claims the row and a source transaction changes it before the worker commits
+        final CompletableFuture<Void> update;
+        QuarkusTransaction.begin();
+        try {
+            assertThat(databaseManager.extract(definition, 10)).isEqualTo(1);
+            update = CompletableFuture.runAsync(() -> updateFirstName("pi1", "Keith"));
+            awaitLockWait();
+        } finally {
+            QuarkusTransaction.commit();
+        }
+        update.get(10, TimeUnit.SECONDS);
+
+        assertThat(firstNames("pi1")).containsExactly("Javier");
+        assertThat(databaseManager.extract(definition, 10)).isEqualTo(1);
+        assertThat(firstNames("pi1")).containsExactly("Keith");
+    }
+
+    @Test
+    void testDeleteDuringExtractionIsPurged() throws Exception {
+        final PostgresMappingDefinition definition = mappingService.getMappingDefinitionById(MAPPING_ID);
+        QuarkusTransaction.requiringNew().run(() -> storage.indexVariable(TestUtils.createProcessInstanceVariableEvent("pi2",
+                "process0",
+                "Cristiano",
+                "Nicolai")));
+
+        // the worker extracts the row and a source transaction deletes it before the worker commits
+        final CompletableFuture<Void> delete;
+        QuarkusTransaction.begin();
+        try {
+            assertThat(databaseManager.extract(definition, 10)).isEqualTo(1);
+            delete = CompletableFuture.runAsync(() -> delete("pi2"));
+            awaitLockWait();
+        } finally {
+            QuarkusTransaction.commit();
+        }
+        delete.get(10, TimeUnit.SECONDS);
+
+        assertThat(firstNames("pi2")).containsExactly("Cristiano");
+        assertThat(databaseManager.getExtractionLag(definition).getPending()).isEqualTo(1);
+        assertThat(databaseManager.extract(definition, 10)).isEqualTo(1);
+        assertThat(firstNames("pi2")).isEmpty();
+        assertThat(databaseManager.getExtractionLag(definition).getPending()).isZero();
+    }
+
+    private void delete(final String id) {
+        try (Connection connection = dataSource.getConnection();
+                PreparedStatement delete = connection.prepareStatement(DELETE)) {
+            delete.setString(1, id);
+            delete.executeUpdate();
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private void updateFirstName(final String id, final String firstName) {
+        try (Connection connection = dataSource.getConnection();
+                PreparedStatement update = connection.prepareStatement(UPDATE_FIRST_NAME)) {
+            update.setString(1, firstName);
+            update.setString(2, id);
+            update.executeUpdate();
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private void awaitLockWait() throws SQLException, InterruptedException {
+        try (Connection connection = dataSource.getConnection();
+                PreparedStatement waiting = connection.prepareStatement(LOCK_WAITS)) {
+            for (int attempt = 0; attempt < 100; attempt++) {
+                try (ResultSet rs = waiting.executeQuery()) {
+                    if (rs.next() && rs.getLong(1) > 0) {
+                        return;
+                    }
+                }
+                Thread.sleep(100);
+            }
+        }
+        throw new IllegalStateException("The source transaction did not wait for the extraction");
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<String> firstNames(final String id) {
+        return QuarkusTransaction.requiringNew().call(() -> repository.getEntityManager()
+                .createNativeQuery(FIRST_NAMES)
+                .setParameter(1, id)
+                .getResultList());
+    }
+}
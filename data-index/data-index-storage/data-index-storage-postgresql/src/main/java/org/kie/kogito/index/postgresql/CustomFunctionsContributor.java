@@ -32,5 +32,6 @@ public class CustomFunctionsContributor implements FunctionContributor {
         registry.register(CONTAINS_NAME, new ContainsSQLFunction(CONTAINS_NAME, CONTAINS_SEQ));
         registry.register(CONTAINS_ANY_NAME, new ContainsSQLFunction(CONTAINS_ANY_NAME, CONTAINS_ANY_SEQ));
         registry.register(CONTAINS_ALL_NAME, new ContainsSQLFunction(CONTAINS_ALL_NAME, CONTAINS_ALL_SEQ));
+        registry.register(JsonContainsSQLFunction.JSON_CONTAINS_NAME, new JsonContainsSQLFunction());
     }
 }
@@ -0,0 +1,59 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.kie.kogito.index.postgresql;
+
+import java.util.List;
+
+import org.hibernate.dialect.function.StandardSQLFunction;
+import org.hibernate.query.ReturnableType;
+import org.hibernate.sql.ast.SqlAstTranslator;
+import org.hibernate.sql.ast.spi.SqlAppender;
+import org.hibernate.sql.ast.tree.SqlAstNode;
+import org.hibernate.type.BasicTypeReference;
+import org.hibernate.type.SqlTypes;
+
+/**
+ * Renders the jsonb containment operator, {@code column @> cast(document as jsonb)}, which unlike path extraction
+ * expressions can be served by the {@code jsonb_path_ops} GIN indexes of the JSON columns.
+ */
+public class JsonContainsSQLFunction extends StandardSQLFunction {
+
+    static final String JSON_CONTAINS_NAME = "jsonContains";
+
+    private static final BasicTypeReference<Boolean> RETURN_TYPE = new BasicTypeReference<>("boolean", Boolean.class, SqlTypes.BOOLEAN);
+
+    JsonContainsSQLFunction() {
+        super(JSON_CONTAINS_NAME, RETURN_TYPE);
+    }
+
+    @Override
+    public void render(
+            SqlAppender sqlAppender,
+            List<? extends SqlAstNode> args,
+            ReturnableType<?> returnType,
+            SqlAstTranslator<?> translator) {
+        if (args.size() != 2) {
+            throw new IllegalArgumentException("Function " + getName() + " requires two arguments");
+        }
+        args.get(0).accept(translator);
+        sqlAppender.append(" @> cast(");
+        args.get(1).accept(translator);
+        sqlAppender.append(" as jsonb)");
+    }
+}
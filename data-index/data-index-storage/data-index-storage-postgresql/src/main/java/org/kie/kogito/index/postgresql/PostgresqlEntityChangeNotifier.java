@@ -0,0 +1,210 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.kie.kogito.index.postgresql;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.kie.kogito.index.jpa.model.AbstractEntity;
+import org.kie.kogito.index.jpa.model.ProcessInstanceEntityRepository;
+import org.kie.kogito.index.jpa.storage.EntityChangeNotifier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.runtime.ShutdownEvent;
+import io.quarkus.runtime.StartupEvent;
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.operators.multi.processors.BroadcastProcessor;
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonObject;
+import io.vertx.pgclient.PgConnectOptions;
+import io.vertx.pgclient.pubsub.PgSubscriber;
+
+import jakarta.annotation.Priority;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import jakarta.interceptor.Interceptor;
+import jakarta.persistence.Table;
+
+import static java.lang.String.format;
+
+/**
+ * Publishes the changes of the processes, tasks and jobs tables using the triggers declared by the
+ * {@code V1.45.2.0__data_index_change_notifications.sql} migration and a {@code LISTEN} connection.
+ * Notifications received within the debounce window are coalesced per row before being published.
+ */
+@ApplicationScoped
+public class PostgresqlEntityChangeNotifier implements EntityChangeNotifier {
+
+    static final String CHANNEL = "data_index_changes";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(PostgresqlEntityChangeNotifier.class);
+
+    private static final Set<String> OBSERVED_TABLES = Set.of("processes", "tasks", "jobs");
+
+    private static final long RECONNECT_DELAY_MILLIS = 1000;
+
+    /**
+     * Installs the change notification triggers and listens to them. Once enabled, disabling this property does not
+     * remove the triggers, {@code select data_index_disable_notifications()} does.
+     */
+    @ConfigProperty(name = "kogito.data-index.postgresql.notifications.enabled", defaultValue = "false")
+    boolean enabled;
+
+    /**
+     * Time during which the notifications of a row are accumulated before the change is published.
+     */
+    @ConfigProperty(name = "kogito.data-index.postgresql.notifications.debounce", defaultValue = "PT0.2S")
+    Duration debounce;
+
+    @ConfigProperty(name = "quarkus.datasource.jdbc.url")
+    Optional<String> jdbcUrl;
+
+    @ConfigProperty(name = "quarkus.datasource.username")
+    Optional<String> username;
+
+    @ConfigProperty(name = "quarkus.datasource.password")
+    Optional<String> password;
+
+    @Inject
+    Vertx vertx;
+
+    @Inject
+    ProcessInstanceEntityRepository repository;
+
+    private final BroadcastProcessor<Change> processor = BroadcastProcessor.create();
+
+    private final Map<String, Map<String, ChangeType>> pending = new HashMap<>();
+
+    private boolean flushScheduled;
+
+    private PgSubscriber subscriber;
+
+    record Change(String table, ChangeType type, Set<String> ids) {
+    }
+
+    // after the default priority so the processes table has already been converted when partitioning is enabled
+    void onStart(@Observes @Priority(Interceptor.Priority.LIBRARY_AFTER) StartupEvent event) {
+        if (!enabled) {
+            return;
+        }
+        // only creates the triggers missing, so restarts do not lock the tables to replace them
+        Number created = QuarkusTransaction.requiringNew()
+                .call(() -> (Number) repository.getEntityManager().createNativeQuery("select data_index_enable_notifications()").getSingleResult());
+        LOGGER.debug("Created {} change notification triggers", created);
+        subscriber = PgSubscriber.subscriber(vertx, getConnectOptions());
+        subscriber.reconnectPolicy(retries -> {
+            LOGGER.warn("Change notifications connection lost, reconnecting (attempt {})", retries + 1);
+            return RECONNECT_DELAY_MILLIS;
+        });
+        subscriber.channel(CHANNEL).handler(this::onNotification);
+        subscriber.connect()
+                .onSuccess(v -> LOGGER.info("Listening to data index changes on channel {}", CHANNEL))
+                .onFailure(e -> LOGGER.error("Error listening to data index changes: {}", e.getMessage(), e));
+    }
+
+    void onStop(@Observes ShutdownEvent event) {
+        if (subscriber != null) {
+            subscriber.close();
+        }
+    }
+
+    @Override
+    public Multi<Set<String>> changes(Class<? extends AbstractEntity> entityClass, ChangeType type) {
+        Table table = entityClass.getAnnotation(Table.class);
+        if (!enabled || table == null || !OBSERVED_TABLES.contains(table.name())) {
+            throw new UnsupportedOperationException(format("Change notifications not available for %s", entityClass.getSimpleName()));
+        }
+        return processor.select().where(change -> change.table().equals(table.name()) && change.type() == type)
+                .onItem().transform(Change::ids);
+    }
+
+    PgConnectOptions getConnectOptions() {
+        // the reactive client understands the host, port and database of the JDBC url but not the driver parameters
+        String uri = jdbcUrl.orElseThrow(() -> new IllegalStateException("quarkus.datasource.jdbc.url is required for change notifications"))
+                .replaceFirst("^jdbc:", "");
+        int parameters = uri.indexOf('?');
+        PgConnectOptions options = PgConnectOptions.fromUri(parameters >= 0 ? uri.substring(0, parameters) : uri);
+        username.ifPresent(options::setUser);
+        password.ifPresent(options::setPassword);
+        return options;
+    }
+
+    void onNotification(String payload) {
+        JsonObject notification = new JsonObject(payload);
+        String table = notification.getString("table");
+        String id = notification.getString("id");
+        ChangeType type = toChangeType(notification.getString("op"));
+        synchronized (pending) {
+            // a null merge result removes the row, a row created and removed within the window is never published
+            pending.computeIfAbsent(table, t -> new LinkedHashMap<>()).merge(id, type, PostgresqlEntityChangeNotifier::coalesce);
+            if (!flushScheduled) {
+                flushScheduled = true;
+                vertx.setTimer(Math.max(1, debounce.toMillis()), timer -> flush());
+            }
+        }
+    }
+
+    void flush() {
+        Map<String, Map<String, ChangeType>> changes;
+        synchronized (pending) {
+            changes = new HashMap<>(pending);
+            pending.clear();
+            flushScheduled = false;
+        }
+        changes.forEach((table, rows) -> {
+            Map<ChangeType, Set<String>> idsByType = new EnumMap<>(ChangeType.class);
+            rows.forEach((id, type) -> idsByType.computeIfAbsent(type, t -> new LinkedHashSet<>()).add(id));
+            idsByType.forEach((type, ids) -> {
+                LOGGER.trace("Publishing {} {} rows of table {}", ids.size(), type, table);
+                processor.onNext(new Change(table, type, ids));
+            });
+        });
+    }
+
+    static ChangeType coalesce(ChangeType previous, ChangeType current) {
+        if (previous == ChangeType.CREATED) {
+            return current == ChangeType.REMOVED ? null : ChangeType.CREATED;
+        }
+        if (previous == ChangeType.REMOVED && current == ChangeType.CREATED) {
+            return ChangeType.UPDATED;
+        }
+        return current;
+    }
+
+    private static ChangeType toChangeType(String operation) {
+        switch (operation) {
+            case "insert":
+                return ChangeType.CREATED;
+            case "delete":
+                return ChangeType.REMOVED;
+            default:
+                return ChangeType.UPDATED;
+        }
+    }
+}
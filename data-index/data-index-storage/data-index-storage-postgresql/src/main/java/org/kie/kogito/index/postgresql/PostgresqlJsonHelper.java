@@ -19,11 +19,16 @@
 package org.kie.kogito.index.postgresql;
 
 import java.util.List;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
+import org.kie.kogito.jackson.utils.ObjectMapperFactory;
 import org.kie.kogito.persistence.api.query.AttributeFilter;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
 import jakarta.persistence.criteria.CriteriaBuilder;
 import jakarta.persistence.criteria.Expression;
 import jakarta.persistence.criteria.Predicate;
@@ -33,6 +38,9 @@ import static java.util.stream.Collectors.toList;
 
 public class PostgresqlJsonHelper {
 
+    private static final Pattern ARRAY_INDEX = Pattern.compile("-?\\d+");
+    private static final Pattern JSON_NUMBER = Pattern.compile("-?\\d+(\\.\\d+)?([eE][+-]?\\d+)?");
+
     private PostgresqlJsonHelper() {
     }
 
@@ -42,6 +50,9 @@ public class PostgresqlJsonHelper {
         List<Object> values;
         switch (filter.getCondition()) {
             case EQUAL:
+                if (isContainable(filter.getAttribute(), filter.getValue())) {
+                    return containmentPredicate(builder, root, filter.getAttribute(), filter.getValue());
+                }
                 isString = filter.getValue() instanceof String;
                 return builder.equal(buildPathExpression(builder, root, filter.getAttribute(), isString), buildObjectExpression(builder, filter.getValue(), isString));
             case GT:
@@ -71,6 +82,9 @@ public class PostgresqlJsonHelper {
                         buildObjectExpression(builder, values.get(1), isString));
             case IN:
                 values = (List<Object>) filter.getValue();
+                if (values.stream().allMatch(value -> isContainable(filter.getAttribute(), value))) {
+                    return builder.or(values.stream().map(value -> containmentPredicate(builder, root, filter.getAttribute(), value)).toArray(Predicate[]::new));
+                }
                 isString = values.get(0) instanceof String;
                 return buildPathExpression(builder, root, filter.getAttribute(), isString).in(values.stream().map(o -> buildObjectExpression(builder, o, isString)).collect(Collectors.toList()));
             case CONTAINS:
@@ -84,6 +98,42 @@ public class PostgresqlJsonHelper {
         throw new UnsupportedOperationException("Filter " + filter + " is not supported");
     }
 
+    /**
+     * Whether an equality on a nested path can be expressed as a containment, which the GIN index of the column serves.
+     * Both only match the same rows when the path only goes through object keys and the value has a single JSON form:
+     * <ul>
+     * <li>the path extraction reads numeric segments as array indexes, which containment would read as object keys;</li>
+     * <li>strings are compared with the text of the extracted value, so a string that is the text of a number, a
+     * boolean or a structure also matches values of that type, which containment of a JSON string would not;</li>
+     * <li>containment on the column itself would also match documents with other keys.</li>
+     * </ul>
+     */
+    static boolean isContainable(String attributeName, Object value) {
+        String[] attributes = attributeName.split("\\.");
+        if (attributes.length < 2 || Stream.of(attributes).skip(1).anyMatch(attribute -> ARRAY_INDEX.matcher(attribute).matches())) {
+            return false;
+        }
+        if (value instanceof String) {
+            return !isTextOfOtherJsonType((String) value);
+        }
+        return value instanceof Number || value instanceof Boolean;
+    }
+
+    private static boolean isTextOfOtherJsonType(String value) {
+        return value.startsWith("{") || value.startsWith("[") || "true".equals(value) || "false".equals(value) || JSON_NUMBER.matcher(value).matches();
+    }
+
+    private static Predicate containmentPredicate(CriteriaBuilder builder, Root<?> root, String attributeName, Object value) {
+        String[] attributes = attributeName.split("\\.");
+        JsonNode document = ObjectMapperFactory.get().valueToTree(value);
+        for (int i = attributes.length - 1; i > 0; i--) {
+            ObjectNode parent = ObjectMapperFactory.get().createObjectNode();
+            parent.set(attributes[i], document);
+            document = parent;
+        }
+        return builder.isTrue(builder.function(JsonContainsSQLFunction.JSON_CONTAINS_NAME, Boolean.class, root.get(attributes[0]), builder.literal(document.toString())));
+    }
+
     private static Predicate containsPredicate(AttributeFilter<?> filter, Root<?> root, CriteriaBuilder builder, String name) {
         return builder.isTrue(
                 builder.function(name, Boolean.class,
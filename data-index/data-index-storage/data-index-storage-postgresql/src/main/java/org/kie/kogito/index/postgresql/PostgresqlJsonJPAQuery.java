@@ -18,11 +18,16 @@
  */
 package org.kie.kogito.index.postgresql;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
 import java.util.function.Function;
+import java.util.stream.Stream;
 
 import org.kie.kogito.index.jpa.model.AbstractEntity;
 import org.kie.kogito.index.jpa.storage.JPAQuery;
 import org.kie.kogito.persistence.api.query.AttributeFilter;
+import org.kie.kogito.persistence.api.query.FilterCondition;
 
 import io.quarkus.hibernate.orm.panache.PanacheRepositoryBase;
 
@@ -32,8 +37,53 @@ import jakarta.persistence.criteria.Root;
 
 public class PostgresqlJsonJPAQuery<K, E extends AbstractEntity, T> extends JPAQuery<K, E, T> {
 
+    private final String partitionAttribute;
+    private final String laterAttribute;
+
     public PostgresqlJsonJPAQuery(PanacheRepositoryBase<E, K> repository, Function<E, T> mapper, Class<E> entityClass) {
+        this(repository, mapper, entityClass, null, null);
+    }
+
+    /**
+     * Creates a query over a table range partitioned by {@code partitionAttribute}. Upper bounds on
+     * {@code laterAttribute}, whose value is never lower than the partition attribute, are also applied to the
+     * partition attribute so PostgreSQL can prune the partitions that cannot match.
+     */
+    public PostgresqlJsonJPAQuery(PanacheRepositoryBase<E, K> repository, Function<E, T> mapper, Class<E> entityClass, String partitionAttribute,
+            String laterAttribute) {
         super(repository, mapper, entityClass);
+        this.partitionAttribute = partitionAttribute;
+        this.laterAttribute = laterAttribute;
+    }
+
+    @Override
+    protected List<Predicate> getPredicates(CriteriaBuilder builder, Root<E> root) {
+        List<Predicate> predicates = new ArrayList<>(super.getPredicates(builder, root));
+        if (partitionAttribute != null) {
+            conjunction(getFilters().stream())
+                    .filter(filter -> laterAttribute.equals(filter.getAttribute()))
+                    .map(PostgresqlJsonJPAQuery::upperBound)
+                    .filter(Objects::nonNull)
+                    .forEach(bound -> predicates.add(builder.lessThanOrEqualTo(root.get(partitionAttribute), bound)));
+        }
+        return predicates;
+    }
+
+    private static Stream<AttributeFilter<?>> conjunction(Stream<AttributeFilter<?>> filters) {
+        return filters.flatMap(filter -> filter.getCondition() == FilterCondition.AND ? conjunction(((List<AttributeFilter<?>>) filter.getValue()).stream()) : Stream.of(filter));
+    }
+
+    private static Comparable upperBound(AttributeFilter<?> filter) {
+        switch (filter.getCondition()) {
+            case EQUAL:
+            case LT:
+            case LTE:
+                return (Comparable) filter.getValue();
+            case BETWEEN:
+                return (Comparable) ((List<?>) filter.getValue()).get(1);
+            default:
+                return null;
+        }
     }
 
     protected Function<AttributeFilter<?>, Predicate> filterPredicateFunction(Root<E> root, CriteriaBuilder builder) {
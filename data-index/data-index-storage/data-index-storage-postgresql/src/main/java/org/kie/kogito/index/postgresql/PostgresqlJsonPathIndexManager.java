@@ -0,0 +1,234 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.kie.kogito.index.postgresql;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import javax.sql.DataSource;
+
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.kie.kogito.index.jpa.model.ProcessInstanceEntityRepository;
+import org.kie.kogito.index.storage.JsonPathIndexManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.runtime.ShutdownEvent;
+import io.quarkus.runtime.StartupEvent;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+
+import static java.lang.String.format;
+
+/**
+ * Builds the expression indexes of the hot JSON paths declared through the functions of the
+ * {@code V1.45.3.0__data_index_json_indexes.sql} migration.
+ * <p>
+ * The indexes are built in the background with {@code CREATE INDEX CONCURRENTLY}, on a connection outside of any
+ * transaction, so the writes to the table are not blocked while an index is built. On a partitioned table the index
+ * is declared on the parent only, built concurrently on every partition and attached to the parent, which becomes
+ * valid once all the partitions are attached; partitions created later get the index when they are attached.
+ * A build interrupted by a restart, leaving an invalid index, is started again at startup.
+ */
+@ApplicationScoped
+public class PostgresqlJsonPathIndexManager implements JsonPathIndexManager {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(PostgresqlJsonPathIndexManager.class);
+
+    // tables of the JSON columns hot paths may start with
+    private static final Map<String, String> JSON_COLUMNS = Map.of(
+            "variables", "processes",
+            "inputs", "tasks",
+            "outputs", "tasks");
+
+    private static final String VALID_INDEX = "select exists (select 1 from pg_index where indexrelid = to_regclass(?) and indisvalid)";
+
+    private static final String INVALID_INDEX = "select exists (select 1 from pg_index where indexrelid = to_regclass(?) and not indisvalid)";
+
+    private static final String PARTITIONED_TABLE = "select exists (select 1 from pg_partitioned_table where partrelid = to_regclass(?))";
+
+    private static final String PARTITIONS = "select inhrelid::regclass::text from pg_inherits where inhparent = to_regclass(?) order by 1";
+
+    /**
+     * Hot JSON paths indexed at startup, such as {@code variables.traveller.lastName}.
+     */
+    @ConfigProperty(name = "kogito.data-index.postgresql.json-index.paths")
+    Optional<List<String>> paths;
+
+    @Inject
+    ProcessInstanceEntityRepository repository;
+
+    @Inject
+    DataSource dataSource;
+
+    // indexes being built by this instance
+    private final Set<String> building = ConcurrentHashMap.newKeySet();
+
+    private ExecutorService builder;
+
+    void onStart(@Observes StartupEvent event) {
+        paths.ifPresent(hotPaths -> hotPaths.forEach(this::declareHotPath));
+        getHotPaths().forEach(this::declareHotPath);
+    }
+
+    void onStop(@Observes ShutdownEvent event) {
+        if (builder != null) {
+            builder.shutdownNow();
+        }
+    }
+
+    @Override
+    public boolean declareHotPath(String path) {
+        String[] keys = path == null ? new String[0] : path.split("\\.", -1);
+        String table = keys.length > 0 ? JSON_COLUMNS.get(keys[0]) : null;
+        if (table == null || keys.length < 2 || Arrays.stream(keys).anyMatch(String::isBlank)) {
+            throw new IllegalArgumentException("Invalid JSON path " + path + ", it must start with one of " + JSON_COLUMNS.keySet() + " followed by keys");
+        }
+        String column = keys[0];
+        String jsonPath = path.substring(column.length() + 1);
+        String indexName = QuarkusTransaction.requiringNew()
+                .call(() -> (String) repository.getEntityManager()
+                        .createNativeQuery("select data_index_declare_json_path_index(?1, ?2, string_to_array(?3, '.'))")
+                        .setParameter(1, table)
+                        .setParameter(2, column)
+                        .setParameter(3, jsonPath)
+                        .getSingleResult());
+        if (isValidIndex(indexName)) {
+            return false;
+        }
+        if (building.add(indexName)) {
+            getBuilder().execute(() -> build(path, table, column, jsonPath, indexName));
+        }
+        return true;
+    }
+
+    @Override
+    public Set<String> getHotPaths() {
+        List<?> declared = QuarkusTransaction.requiringNew()
+                .call(() -> repository.getEntityManager()
+                        .createNativeQuery("select column_name || '.' || path from json_path_indexes order by created_at")
+                        .getResultList());
+        Set<String> hotPaths = new LinkedHashSet<>();
+        declared.forEach(path -> hotPaths.add(path.toString()));
+        return hotPaths;
+    }
+
+    private synchronized ExecutorService getBuilder() {
+        if (builder == null) {
+            // one index at a time, each build already scans a whole table
+            builder = Executors.newSingleThreadExecutor(r -> new Thread(r, "data-index-json-indexes"));
+        }
+        return builder;
+    }
+
+    private boolean isValidIndex(String indexName) {
+        try (Connection connection = dataSource.getConnection()) {
+            return queryBoolean(connection, VALID_INDEX, indexName);
+        } catch (SQLException e) {
+            throw new IllegalStateException("Unable to check index " + indexName, e);
+        }
+    }
+
+    private void build(String path, String table, String column, String jsonPath, String indexName) {
+        LOGGER.info("Building index {} on JSON path {}", indexName, path);
+        try (Connection connection = dataSource.getConnection()) {
+            // CREATE INDEX CONCURRENTLY can not run within a transaction
+            connection.setAutoCommit(true);
+            String expression = queryString(connection, "select data_index_json_path_index_expression(?, string_to_array(?, '.'))", column, jsonPath);
+            if (queryBoolean(connection, PARTITIONED_TABLE, table)) {
+                execute(connection, format("create index if not exists %s on only %s (%s)", indexName, table, expression));
+                for (String partition : queryStrings(connection, PARTITIONS, table)) {
+                    String partitionIndexName = indexName + "_" + Integer.toHexString(partition.hashCode());
+                    createIndexConcurrently(connection, partitionIndexName, partition, expression);
+                    execute(connection, format("alter index %s attach partition %s", indexName, partitionIndexName));
+                }
+            } else {
+                createIndexConcurrently(connection, indexName, table, expression);
+            }
+            LOGGER.info("Created index {} on JSON path {}", indexName, path);
+        } catch (SQLException | RuntimeException e) {
+            LOGGER.error("Error building index {} on JSON path {}, it is built again at the next startup: {}", indexName, path, e.getMessage(), e);
+        } finally {
+            building.remove(indexName);
+        }
+    }
+
+    private static void createIndexConcurrently(Connection connection, String indexName, String table, String expression) throws SQLException {
+        // a failed concurrent build leaves an invalid index behind, which IF NOT EXISTS would keep
+        if (queryBoolean(connection, INVALID_INDEX, indexName)) {
+            execute(connection, format("drop index concurrently if exists %s", indexName));
+        }
+        execute(connection, format("create index concurrently if not exists %s on %s (%s)", indexName, table, expression));
+    }
+
+    private static void execute(Connection connection, String sql) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+
+    private static boolean queryBoolean(Connection connection, String sql, String parameter) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            statement.setString(1, parameter);
+            try (ResultSet rs = statement.executeQuery()) {
+                return rs.next() && rs.getBoolean(1);
+            }
+        }
+    }
+
+    private static String queryString(Connection connection, String sql, String... parameters) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            for (int i = 0; i < parameters.length; i++) {
+                statement.setString(i + 1, parameters[i]);
+            }
+            try (ResultSet rs = statement.executeQuery()) {
+                return rs.next() ? rs.getString(1) : null;
+            }
+        }
+    }
+
+    private static List<String> queryStrings(Connection connection, String sql, String parameter) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            statement.setString(1, parameter);
+            try (ResultSet rs = statement.executeQuery()) {
+                List<String> values = new ArrayList<>();
+                while (rs.next()) {
+                    values.add(rs.getString(1));
+                }
+                return values;
+            }
+        }
+    }
+}
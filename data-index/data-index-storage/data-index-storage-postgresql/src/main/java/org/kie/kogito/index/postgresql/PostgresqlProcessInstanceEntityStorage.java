@@ -18,7 +18,14 @@
  */
 package org.kie.kogito.index.postgresql;
 
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.Optional;
+
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.kie.kogito.event.process.ProcessInstanceDataEvent;
 import org.kie.kogito.index.jpa.mapper.ProcessInstanceEntityMapper;
+import org.kie.kogito.index.jpa.model.ProcessInstanceEntity;
 import org.kie.kogito.index.jpa.model.ProcessInstanceEntityRepository;
 import org.kie.kogito.index.jpa.storage.ProcessInstanceEntityStorage;
 import org.kie.kogito.index.model.ProcessInstance;
@@ -27,16 +34,58 @@ import org.kie.kogito.persistence.api.query.Query;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 
+import static org.kie.kogito.index.DateTimeUtils.toZonedDateTime;
+
 @ApplicationScoped
 public class PostgresqlProcessInstanceEntityStorage extends ProcessInstanceEntityStorage {
 
+    private final boolean partitioned;
+
     @Inject
-    public PostgresqlProcessInstanceEntityStorage(ProcessInstanceEntityRepository repository, ProcessInstanceEntityMapper mapper) {
+    public PostgresqlProcessInstanceEntityStorage(ProcessInstanceEntityRepository repository, ProcessInstanceEntityMapper mapper,
+            @ConfigProperty(name = "kogito.data-index.postgresql.partitioning.enabled", defaultValue = "false") boolean partitioned) {
         super(repository, mapper);
+        this.partitioned = partitioned;
+    }
+
+    // the primary key includes the start time, so it no longer rejects two first writes of an instance with different
+    // provisional starts; they are serialized by a lock held until the end of the transaction instead, the second one
+    // then finds the instance stored by the first one
+    @Override
+    protected Optional<ProcessInstanceEntity> findBeforeInit(String id) {
+        if (!partitioned) {
+            return super.findBeforeInit(id);
+        }
+        repository.getEntityManager().createNativeQuery("select 1 from pg_advisory_xact_lock(hashtext(?1))")
+                .setParameter(1, id)
+                .getSingleResult();
+        return repository.findByIdOptional(id);
+    }
+
+    // start time is the partition key, so instances stored before their started event, for instance by a node
+    // event, start at the time of that event
+    @Override
+    protected ZonedDateTime initialStart(ProcessInstanceDataEvent<?> event) {
+        if (!partitioned) {
+            return super.initialStart(event);
+        }
+        ZonedDateTime time = toZonedDateTime(event.getTime());
+        return time == null ? ZonedDateTime.now(ZoneOffset.UTC) : time;
+    }
+
+    // the actual start always replaces that provisional one, PostgreSQL moves the row when it falls in another partition;
+    // a started event without a date keeps the provisional start, a partitioned row cannot lose its key
+    @Override
+    protected ZonedDateTime startOf(ProcessInstanceEntity pi, ZonedDateTime started) {
+        if (partitioned && started == null) {
+            return pi.getStart();
+        }
+        return started;
     }
 
     @Override
     public Query<ProcessInstance> query() {
-        return new PostgresqlJsonJPAQuery<>(repository, mapToModel, entityClass);
+        // a process instance always ends after it starts, so bounds on end also prune start time partitions
+        return partitioned ? new PostgresqlJsonJPAQuery<>(repository, mapToModel, entityClass, "start", "end") : new PostgresqlJsonJPAQuery<>(repository, mapToModel, entityClass);
     }
 }
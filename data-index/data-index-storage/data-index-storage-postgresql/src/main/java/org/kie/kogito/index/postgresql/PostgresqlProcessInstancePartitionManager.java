@@ -0,0 +1,113 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.kie.kogito.index.postgresql;
+
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.kie.kogito.index.jpa.model.ProcessInstanceEntityRepository;
+import org.kie.kogito.index.storage.ProcessInstancePartitionManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.runtime.ShutdownEvent;
+import io.quarkus.runtime.StartupEvent;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+
+/**
+ * Manages the optional monthly range partitioning of the processes table declared by the
+ * {@code V1.45.1.0__processes_partitioning.sql} migration: keeps partitions created ahead of time once the table has
+ * been converted. The conversion itself is an explicit migration run by an operator with
+ * {@code CALL data_index_partition_processes()}, since it moves every process instance.
+ */
+@ApplicationScoped
+public class PostgresqlProcessInstancePartitionManager implements ProcessInstancePartitionManager {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(PostgresqlProcessInstancePartitionManager.class);
+
+    /**
+     * Stores process instances in a processes table partitioned by start time.
+     */
+    @ConfigProperty(name = "kogito.data-index.postgresql.partitioning.enabled", defaultValue = "false")
+    boolean enabled;
+
+    /**
+     * Number of monthly partitions created ahead of the current month.
+     */
+    @ConfigProperty(name = "kogito.data-index.postgresql.partitioning.months-ahead", defaultValue = "3")
+    int monthsAhead;
+
+    @Inject
+    ProcessInstanceEntityRepository repository;
+
+    private ScheduledExecutorService scheduler;
+
+    void onStart(@Observes StartupEvent event) {
+        if (!enabled) {
+            return;
+        }
+        boolean partitioned = QuarkusTransaction.requiringNew()
+                .call(() -> (Boolean) repository.getEntityManager().createNativeQuery("select data_index_processes_partitioned()").getSingleResult());
+        if (!partitioned) {
+            LOGGER.warn("Partitioning is enabled but the processes table is not partitioned yet, convert it with "
+                    + "'CALL data_index_partition_processes(batch_size => 10000, months_ahead => {})' outside of a transaction", monthsAhead);
+        }
+        createPartitions();
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> new Thread(r, "data-index-partitions"));
+        scheduler.scheduleAtFixedRate(this::createPartitions, 1, 1, TimeUnit.DAYS);
+    }
+
+    void onStop(@Observes ShutdownEvent event) {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    void createPartitions() {
+        try {
+            Number created = QuarkusTransaction.requiringNew()
+                    .call(() -> (Number) repository.getEntityManager().createNativeQuery("select data_index_create_process_partitions(?1)")
+                            .setParameter(1, monthsAhead)
+                            .getSingleResult());
+            LOGGER.debug("Created {} process instance partitions", created);
+        } catch (RuntimeException e) {
+            LOGGER.error("Error creating process instance partitions: {}", e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public long dropFinishedPartitions(ZonedDateTime endedBefore) {
+        if (!enabled) {
+            return 0;
+        }
+        Number removed = QuarkusTransaction.requiringNew()
+                .call(() -> (Number) repository.getEntityManager().createNativeQuery("select data_index_drop_process_partitions(cast(?1 as timestamp))")
+                        .setParameter(1, endedBefore.withZoneSameInstant(ZoneOffset.UTC).toLocalDateTime())
+                        .getSingleResult());
+        return removed.longValue();
+    }
+}
@@ -0,0 +1,246 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+-- Optional range partitioning of the processes table by start_time with monthly partitions.
+-- This script only declares the routines. Converting the table is an explicit migration run by an operator with
+-- CALL data_index_partition_processes(), see its description below.
+-- Partitioned tables cannot be referenced by foreign keys that do not include the partition key, so the
+-- ON DELETE CASCADE constraints of the process children are replaced by a trigger.
+
+create or replace function data_index_processes_partitioned()
+returns boolean
+language sql
+as $$
+    select exists (select 1
+                   from pg_partitioned_table pt
+                   where pt.partrelid = to_regclass('processes'));
+$$;
+
+create or replace function data_index_delete_process_children()
+returns trigger
+language plpgsql
+as $$
+begin
+    -- rows moved out of the default partition are not removals either
+    if current_setting('data_index.moving_processes', true) = 'on' then
+        return old;
+    end if;
+    -- a row moved to another partition by an update of start_time is not a removal
+    if not exists (select 1 from processes where id = old.id) then
+        delete from nodes where process_instance_id = old.id;
+        delete from milestones where process_instance_id = old.id;
+        delete from processes_addons where process_id = old.id;
+        delete from processes_roles where process_id = old.id;
+    end if;
+    return old;
+end;
+$$;
+
+-- Disables, or enables again, the change notification triggers of the processes table and its partitions, so the
+-- rows moved between partitions by the routines below are not announced as removed and created. Altering the triggers
+-- locks the tables against writes until the end of the transaction, so no concurrent change goes unnoticed.
+create or replace function data_index_set_process_notifications(enabled boolean)
+returns void
+language plpgsql
+as $$
+declare
+    notified_table regclass;
+begin
+    for notified_table in
+        select t.tgrelid::regclass
+        from pg_trigger t
+        where t.tgname = 'data_index_notify_change'
+          and (t.tgrelid = to_regclass('processes')
+               or t.tgrelid in (select i.inhrelid from pg_inherits i where i.inhparent = to_regclass('processes')))
+    loop
+        execute format('alter table %s %s trigger data_index_notify_change', notified_table,
+                       case when enabled then 'enable' else 'disable' end);
+    end loop;
+end;
+$$;
+
+-- Creates the monthly partitions from the given month to months_ahead months after the current one. The rows of a
+-- month already stored in the default partition are moved to the new partition before it is attached, otherwise
+-- attaching it would fail. Replicas invoking it concurrently are serialized by an advisory lock.
+create or replace function data_index_create_process_partitions(months_ahead integer default 3, from_month date default null)
+returns integer
+language plpgsql
+as $$
+declare
+    partition_start date := date_trunc('month', coalesce(from_month, now()))::date;
+    partition_end   date;
+    last_start      date := (date_trunc('month', now()) + make_interval(months => months_ahead))::date;
+    partition_name  text;
+    created         integer := 0;
+begin
+    if not data_index_processes_partitioned() then
+        return 0;
+    end if;
+    perform pg_advisory_xact_lock(hashtext('data_index_create_process_partitions'));
+    while partition_start <= last_start loop
+        partition_name := 'processes_p' || to_char(partition_start, 'YYYYMM');
+        partition_end := (partition_start + interval '1 month')::date;
+        if to_regclass(partition_name) is null then
+            execute format('create table %I (like processes including defaults)', partition_name);
+            if to_regclass('processes_default') is not null then
+                perform set_config('data_index.moving_processes', 'on', true);
+                perform data_index_set_process_notifications(false);
+                execute format('with moved as (delete from processes_default where start_time >= %L and start_time < %L returning *) '
+                               'insert into %I select * from moved', partition_start, partition_end, partition_name);
+                perform set_config('data_index.moving_processes', 'off', true);
+            end if;
+            execute format('alter table processes attach partition %I for values from (%L) to (%L)',
+                           partition_name, partition_start, partition_end);
+            if to_regclass('processes_default') is not null then
+                -- after attaching, so the trigger cloned on the new partition is enabled too
+                perform data_index_set_process_notifications(true);
+            end if;
+            created := created + 1;
+        end if;
+        partition_start := partition_end;
+    end loop;
+    return created;
+end;
+$$;
+
+-- Converts the processes table into a table partitioned by start_time, one partition per month of history.
+-- It must be invoked with CALL outside of any transaction block, preferably while the data index is stopped since
+-- instances not moved yet are not visible:
+--   CALL data_index_partition_processes(batch_size => 10000, months_ahead => 3);
+-- The table is renamed to processes_unpartitioned and its rows are moved batch_size at a time, committing after each
+-- batch so no lock is held for long and no single transaction grows with the table. An interrupted conversion is
+-- resumed by calling it again. Sessions are serialized by an advisory lock, a concurrent call fails immediately.
+create or replace procedure data_index_partition_processes(batch_size integer default 10000, months_ahead integer default 3)
+language plpgsql
+as $$
+declare
+    first_month date;
+    moved       integer;
+begin
+    if not pg_try_advisory_lock(hashtext('data_index_partition_processes')) then
+        raise exception 'The processes table is being converted by another session';
+    end if;
+
+    if to_regclass('processes_unpartitioned') is null then
+        if to_regclass('processes') is null or data_index_processes_partitioned() then
+            perform pg_advisory_unlock(hashtext('data_index_partition_processes'));
+            return;
+        end if;
+
+        alter table if exists milestones drop constraint if exists fk_milestones_process;
+        alter table if exists nodes drop constraint if exists fk_nodes_process;
+        alter table if exists processes_addons drop constraint if exists fk_processes_addons_processes;
+        alter table if exists processes_roles drop constraint if exists fk_processes_roles_processes;
+
+        alter table processes rename to processes_unpartitioned;
+        -- moved rows are neither removed nor created, change notifications are installed again once they are moved
+        alter table processes_unpartitioned disable trigger user;
+        create table processes (like processes_unpartitioned including defaults) partition by range (start_time);
+        alter table processes add primary key (id, start_time);
+        create table processes_default partition of processes default;
+        create trigger trg_processes_delete_children
+            after delete on processes
+            for each row execute function data_index_delete_process_children();
+
+        select date_trunc('month', min(start_time))::date into first_month from processes_unpartitioned;
+        perform data_index_create_process_partitions(months_ahead, first_month);
+        commit;
+    end if;
+
+    -- the partition key cannot be null
+    loop
+        update processes_unpartitioned set start_time = coalesce(last_update_time, timestamp 'epoch')
+        where id in (select id from processes_unpartitioned where start_time is null limit batch_size);
+        get diagnostics moved = row_count;
+        commit;
+        exit when moved = 0;
+    end loop;
+
+    loop
+        -- the data index may have installed the change notifications on the new table meanwhile
+        perform data_index_set_process_notifications(false);
+        with batch as (
+            delete from processes_unpartitioned
+            where id in (select id from processes_unpartitioned limit batch_size)
+            returning *)
+        insert into processes select * from batch;
+        get diagnostics moved = row_count;
+        perform data_index_set_process_notifications(true);
+        commit;
+        exit when moved = 0;
+    end loop;
+
+    -- the data index may have created it meanwhile when starting with notifications enabled
+    if exists (select 1 from pg_trigger where tgrelid = to_regclass('processes_unpartitioned') and tgname = 'data_index_notify_change')
+            and not exists (select 1 from pg_trigger where tgrelid = to_regclass('processes') and tgname = 'data_index_notify_change') then
+        create trigger data_index_notify_change after insert or update or delete on processes
+            for each row execute function data_index_notify_change('processes');
+    end if;
+    drop table processes_unpartitioned;
+    -- indexes of the former table, such as the JSON ones, are created again on the partitioned one
+    if to_regproc('data_index_create_json_indexes') is not null then
+        perform data_index_create_json_indexes();
+    end if;
+    commit;
+    perform pg_advisory_unlock(hashtext('data_index_partition_processes'));
+end;
+$$;
+
+-- Drops the monthly partitions whose instances are all completed (2) or aborted (3) and ended before the given
+-- timestamp, together with their nodes, milestones, user tasks and jobs. Returns the number of removed instances.
+create or replace function data_index_drop_process_partitions(ended_before timestamp)
+returns bigint
+language plpgsql
+as $$
+declare
+    partition_name text;
+    removable      boolean;
+    instances      bigint;
+    removed        bigint := 0;
+begin
+    if not data_index_processes_partitioned() then
+        return 0;
+    end if;
+    for partition_name in
+        select c.relname
+        from pg_inherits i
+                 join pg_class c on c.oid = i.inhrelid
+        where i.inhparent = to_regclass('processes')
+          and c.relname ~ '^processes_p[0-9]{6}$'
+          and (to_date(substring(c.relname from 12), 'YYYYMM') + interval '1 month') <= ended_before
+        order by c.relname
+    loop
+        execute format('select not exists (select 1 from %I where state not in (2, 3) or end_time is null or end_time >= %L)',
+                       partition_name, ended_before) into removable;
+        if removable then
+            execute format('select count(*) from %I', partition_name) into instances;
+            execute format('delete from nodes where process_instance_id in (select id from %I)', partition_name);
+            execute format('delete from milestones where process_instance_id in (select id from %I)', partition_name);
+            execute format('delete from processes_addons where process_id in (select id from %I)', partition_name);
+            execute format('delete from processes_roles where process_id in (select id from %I)', partition_name);
+            execute format('delete from tasks where process_instance_id in (select id from %I)', partition_name);
+            execute format('delete from jobs where process_instance_id in (select id from %I)', partition_name);
+            execute format('alter table processes detach partition %I', partition_name);
+            execute format('drop table %I', partition_name);
+            removed := removed + instances;
+        end if;
+    end loop;
+    return removed;
+end;
+$$;
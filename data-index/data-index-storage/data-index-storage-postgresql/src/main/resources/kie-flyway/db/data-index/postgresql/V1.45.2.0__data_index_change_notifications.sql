@@ -0,0 +1,80 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+-- Optional change notifications on the processes, tasks and jobs tables, backing the GraphQL subscriptions.
+-- This script only declares the functions, the triggers are installed when data_index_enable_notifications is invoked
+-- (the data index does it at startup when kogito.data-index.postgresql.notifications.enabled is set).
+-- Only the table, the operation and the row id are sent, listeners load the rows themselves, which keeps payloads
+-- far below the NOTIFY size limit.
+
+create or replace function data_index_notify_change()
+returns trigger
+language plpgsql
+as $$
+declare
+    changed_id varchar;
+begin
+    if tg_op = 'DELETE' then
+        changed_id := old.id;
+    else
+        changed_id := new.id;
+    end if;
+    -- the table is passed as argument since on partitioned tables tg_table_name is the partition name
+    perform pg_notify('data_index_changes', json_build_object('table', tg_argv[0], 'op', lower(tg_op), 'id', changed_id)::text);
+    return null;
+end;
+$$;
+
+-- returns the number of tables whose trigger was created
+create or replace function data_index_enable_notifications()
+returns integer
+language plpgsql
+as $$
+declare
+    notified_table text;
+    tables         integer := 0;
+begin
+    -- existing triggers are kept, replacing them on every startup would lock the tables against writes each time
+    foreach notified_table in array array['processes', 'tasks', 'jobs'] loop
+        if not exists (select 1 from pg_trigger
+                       where tgrelid = to_regclass(notified_table) and tgname = 'data_index_notify_change') then
+            execute format('create trigger data_index_notify_change after insert or update or delete on %I '
+                           'for each row execute function data_index_notify_change(%L)', notified_table, notified_table);
+            tables := tables + 1;
+        end if;
+    end loop;
+    return tables;
+end;
+$$;
+
+create or replace function data_index_disable_notifications()
+returns integer
+language plpgsql
+as $$
+declare
+    notified_table text;
+    tables         integer := 0;
+begin
+    foreach notified_table in array array['processes', 'tasks', 'jobs'] loop
+        execute format('drop trigger if exists data_index_notify_change on %I', notified_table);
+        tables := tables + 1;
+    end loop;
+    return tables;
+end;
+$$;
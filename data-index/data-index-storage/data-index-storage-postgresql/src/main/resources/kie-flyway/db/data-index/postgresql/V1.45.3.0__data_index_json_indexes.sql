@@ -0,0 +1,100 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+-- GIN indexes serving the containment (@>) form of the equality filters on the JSON columns, and expression
+-- indexes on the hot JSON paths declared through data_index_declare_json_path_index, which records them. The data
+-- index builds those expression indexes with CREATE INDEX CONCURRENTLY, outside of any transaction, so declaring a
+-- path does not block the writes to the table while its index is built.
+
+create index if not exists idx_processes_variables_gin on processes using gin (variables jsonb_path_ops);
+create index if not exists idx_tasks_inputs_gin on tasks using gin (inputs jsonb_path_ops);
+create index if not exists idx_tasks_outputs_gin on tasks using gin (outputs jsonb_path_ops);
+
+create table if not exists json_path_indexes
+(
+    table_name  varchar(63)   not null,
+    column_name varchar(63)   not null,
+    path        varchar(1024) not null,
+    index_name  varchar(63)   not null,
+    created_at  timestamp default now(),
+    constraint json_path_indexes_pkey primary key (table_name, column_name, path)
+);
+
+-- Records a hot JSON path, given as an array of keys, returning the name of its expression index.
+create or replace function data_index_declare_json_path_index(target_table text, target_column text, path text[])
+returns text
+language plpgsql
+as $$
+declare
+    index_name text := 'idx_' || target_table || '_' || target_column || '_' || substr(md5(array_to_string(path, '.')), 1, 16);
+begin
+    insert into json_path_indexes (table_name, column_name, path, index_name)
+    values (target_table, target_column, array_to_string(path, '.'), index_name)
+    on conflict do nothing;
+    return index_name;
+end;
+$$;
+
+-- The expression string filters on a JSON path are translated to, jsonb_extract_path_text(column, path...).
+create or replace function data_index_json_path_index_expression(target_column text, path text[])
+returns text
+language sql
+immutable
+as $$
+    select format('jsonb_extract_path_text(%I, %s)', target_column, (select string_agg(quote_literal(key), ', ') from unnest(path) as key));
+$$;
+
+-- Creates the expression index of a JSON path within the current transaction, returning whether it did not exist
+-- yet. It locks the writes to the table for the whole build, so it is only used by data_index_create_json_indexes.
+create or replace function data_index_create_json_path_index(target_table text, target_column text, path text[])
+returns boolean
+language plpgsql
+as $$
+declare
+    index_name text := data_index_declare_json_path_index(target_table, target_column, path);
+    created    boolean;
+begin
+    created := to_regclass(index_name) is null;
+    execute format('create index if not exists %I on %I (%s)', index_name, target_table, data_index_json_path_index_expression(target_column, path));
+    return created;
+end;
+$$;
+
+-- Creates again the GIN indexes and the declared expression indexes missing, returning the number of created ones.
+-- Only run at the end of the conversion of the processes table into a partitioned table, an operator-run migration.
+create or replace function data_index_create_json_indexes()
+returns integer
+language plpgsql
+as $$
+declare
+    declared record;
+    created  integer := 0;
+begin
+    if to_regclass('idx_processes_variables_gin') is null then
+        create index idx_processes_variables_gin on processes using gin (variables jsonb_path_ops);
+        created := created + 1;
+    end if;
+    for declared in select table_name, column_name, path from json_path_indexes loop
+        if data_index_create_json_path_index(declared.table_name, declared.column_name, string_to_array(declared.path, '.')) then
+            created := created + 1;
+        end if;
+    end loop;
+    return created;
+end;
+$$;
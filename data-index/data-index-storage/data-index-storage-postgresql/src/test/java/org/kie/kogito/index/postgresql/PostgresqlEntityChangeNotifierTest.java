@@ -0,0 +1,128 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.kie.kogito.index.postgresql;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.kie.kogito.index.jpa.model.JobEntity;
+import org.kie.kogito.index.jpa.model.ProcessDefinitionEntity;
+import org.kie.kogito.index.jpa.model.ProcessInstanceEntity;
+import org.kie.kogito.index.jpa.storage.EntityChangeNotifier.ChangeType;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import io.vertx.core.Vertx;
+import io.vertx.pgclient.PgConnectOptions;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class PostgresqlEntityChangeNotifierTest {
+
+    @Mock
+    Vertx vertx;
+
+    private PostgresqlEntityChangeNotifier notifier;
+
+    @BeforeEach
+    void setup() {
+        notifier = new PostgresqlEntityChangeNotifier();
+        notifier.enabled = true;
+        notifier.debounce = Duration.ofMillis(100);
+        notifier.vertx = vertx;
+        notifier.jdbcUrl = Optional.of("jdbc:postgresql://localhost:5432/kogito?currentSchema=public");
+        notifier.username = Optional.of("kogito-user");
+        notifier.password = Optional.of("kogito-pass");
+    }
+
+    @Test
+    void testChangesAreCoalescedWithinTheDebounceWindow() {
+        List<Set<String>> created = new ArrayList<>();
+        List<Set<String>> updated = new ArrayList<>();
+        List<Set<String>> removed = new ArrayList<>();
+        notifier.changes(ProcessInstanceEntity.class, ChangeType.CREATED).subscribe().with(created::add);
+        notifier.changes(ProcessInstanceEntity.class, ChangeType.UPDATED).subscribe().with(updated::add);
+        notifier.changes(ProcessInstanceEntity.class, ChangeType.REMOVED).subscribe().with(removed::add);
+
+        notifier.onNotification(notification("processes", "insert", "pi1"));
+        notifier.onNotification(notification("processes", "update", "pi1"));
+        notifier.onNotification(notification("processes", "update", "pi2"));
+        notifier.onNotification(notification("processes", "update", "pi2"));
+        notifier.onNotification(notification("processes", "insert", "pi3"));
+        notifier.onNotification(notification("processes", "delete", "pi3"));
+        notifier.onNotification(notification("processes", "delete", "pi4"));
+        notifier.onNotification(notification("jobs", "insert", "job1"));
+        verify(vertx, times(1)).setTimer(anyLong(), any());
+
+        notifier.flush();
+
+        assertThat(created).containsExactly(Set.of("pi1"));
+        assertThat(updated).containsExactly(Set.of("pi2"));
+        assertThat(removed).containsExactly(Set.of("pi4"));
+    }
+
+    @Test
+    void testTimerScheduledAgainAfterFlush() {
+        notifier.onNotification(notification("tasks", "update", "task1"));
+        notifier.flush();
+        notifier.onNotification(notification("tasks", "update", "task1"));
+        verify(vertx, times(2)).setTimer(anyLong(), any());
+    }
+
+    @Test
+    void testCoalesce() {
+        assertThat(PostgresqlEntityChangeNotifier.coalesce(ChangeType.CREATED, ChangeType.UPDATED)).isEqualTo(ChangeType.CREATED);
+        assertThat(PostgresqlEntityChangeNotifier.coalesce(ChangeType.CREATED, ChangeType.REMOVED)).isNull();
+        assertThat(PostgresqlEntityChangeNotifier.coalesce(ChangeType.REMOVED, ChangeType.CREATED)).isEqualTo(ChangeType.UPDATED);
+        assertThat(PostgresqlEntityChangeNotifier.coalesce(ChangeType.UPDATED, ChangeType.REMOVED)).isEqualTo(ChangeType.REMOVED);
+    }
+
+    @Test
+    void testChangesNotAvailable() {
+        assertThatThrownBy(() -> notifier.changes(ProcessDefinitionEntity.class, ChangeType.CREATED)).isInstanceOf(UnsupportedOperationException.class);
+        notifier.enabled = false;
+        assertThatThrownBy(() -> notifier.changes(JobEntity.class, ChangeType.CREATED)).isInstanceOf(UnsupportedOperationException.class);
+    }
+
+    @Test
+    void testConnectOptions() {
+        PgConnectOptions options = notifier.getConnectOptions();
+        assertThat(options.getHost()).isEqualTo("localhost");
+        assertThat(options.getPort()).isEqualTo(5432);
+        assertThat(options.getDatabase()).isEqualTo("kogito");
+        assertThat(options.getUser()).isEqualTo("kogito-user");
+        assertThat(options.getPassword()).isEqualTo("kogito-pass");
+    }
+
+    private static String notification(String table, String operation, String id) {
+        return "{\"table\":\"" + table + "\",\"op\":\"" + operation + "\",\"id\":\"" + id + "\"}";
+    }
+}
@@ -0,0 +1,61 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.kie.kogito.index.postgresql;
+
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.kie.kogito.index.postgresql.PostgresqlJsonHelper.isContainable;
+
+class PostgresqlJsonHelperTest {
+
+    @Test
+    void testScalarsOnObjectPathsAreContainable() {
+        assertThat(isContainable("variables.traveller.name", "John")).isTrue();
+        assertThat(isContainable("variables.traveller.age", 28)).isTrue();
+        assertThat(isContainable("variables.traveller.isMartian", false)).isTrue();
+    }
+
+    @Test
+    void testColumnEqualityIsNotContainable() {
+        assertThat(isContainable("variables", "John")).isFalse();
+    }
+
+    @Test
+    void testArrayIndexPathIsNotContainable() {
+        assertThat(isContainable("variables.traveller.aliases.0", "Super")).isFalse();
+    }
+
+    @Test
+    void testStringsMatchingOtherJsonTypesAreNotContainable() {
+        assertThat(isContainable("variables.traveller.age", "28")).isFalse();
+        assertThat(isContainable("variables.traveller.age", "-2.5e3")).isFalse();
+        assertThat(isContainable("variables.traveller.isMartian", "true")).isFalse();
+        assertThat(isContainable("variables.traveller.address", "{\"city\":\"Paris\"}")).isFalse();
+        assertThat(isContainable("variables.traveller.aliases", "[\"Super\"]")).isFalse();
+        assertThat(isContainable("variables.traveller.name", "28 Years")).isTrue();
+    }
+
+    @Test
+    void testStructuresAreNotContainable() {
+        assertThat(isContainable("variables.traveller", Map.of("name", "John"))).isFalse();
+    }
+}
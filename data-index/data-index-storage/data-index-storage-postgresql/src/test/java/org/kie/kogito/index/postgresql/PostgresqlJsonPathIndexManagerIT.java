@@ -0,0 +1,100 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.kie.kogito.index.postgresql;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.kie.kogito.index.jpa.model.ProcessInstanceEntityRepository;
+import org.kie.kogito.index.jpa.storage.ProcessInstanceEntityStorage;
+import org.kie.kogito.testcontainers.quarkus.PostgreSqlQuarkusTestResource;
+
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.test.common.QuarkusTestResource;
+import io.quarkus.test.junit.QuarkusTest;
+
+import jakarta.inject.Inject;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+import static org.kie.kogito.index.json.JsonUtils.jsonFilter;
+import static org.kie.kogito.persistence.api.query.QueryFilterFactory.equalTo;
+
+@QuarkusTest
+@QuarkusTestResource(PostgreSqlQuarkusTestResource.class)
+class PostgresqlJsonPathIndexManagerIT {
+
+    @Inject
+    PostgresqlJsonPathIndexManager indexManager;
+
+    @Inject
+    ProcessInstanceEntityRepository repository;
+
+    @Inject
+    ProcessInstanceEntityStorage storage;
+
+    @Test
+    void testDeclareHotPath() {
+        assertThat(indexManager.declareHotPath("variables.traveller.lastName")).isTrue();
+        assertThat(indexManager.getHotPaths()).contains("variables.traveller.lastName");
+
+        // the index is built concurrently in the background
+        await().atMost(Duration.ofSeconds(30))
+                .untilAsserted(() -> assertThat(indexManager.declareHotPath("variables.traveller.lastName")).isFalse());
+
+        assertThat(plan("select id from processes where jsonb_extract_path_text(variables, 'traveller', 'lastName') = 'Smith'"))
+                .anyMatch(line -> line.contains("idx_processes_variables_"));
+    }
+
+    @Test
+    void testContainmentUsesGinIndex() {
+        assertThat(plan("select id from processes where variables @> cast('{\"traveller\":{\"name\":\"John\"}}' as jsonb)"))
+                .anyMatch(line -> line.contains("idx_processes_variables_gin"));
+    }
+
+    @Test
+    void testJsonFilterUsesGinIndex() {
+        // runs the predicate generated by Hibernate for a JSON filter and counts the scans of the index in the transaction
+        long scans = QuarkusTransaction.requiringNew().call(() -> {
+            repository.getEntityManager().createNativeQuery("set local enable_seqscan = off").executeUpdate();
+            storage.query().filter(List.of(jsonFilter(equalTo("variables.traveller.name", "John")))).execute();
+            return ((Number) repository.getEntityManager()
+                    .createNativeQuery("select pg_stat_get_xact_numscans(cast('idx_processes_variables_gin' as regclass))")
+                    .getSingleResult()).longValue();
+        });
+        assertThat(scans).isPositive();
+    }
+
+    @Test
+    void testInvalidHotPath() {
+        assertThatThrownBy(() -> indexManager.declareHotPath("variables")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> indexManager.declareHotPath("state.value")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> indexManager.declareHotPath("variables..name")).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private List<String> plan(String query) {
+        // the test tables are tiny, so sequential scans are disabled to check the index can serve the query
+        return QuarkusTransaction.requiringNew().call(() -> {
+            repository.getEntityManager().createNativeQuery("set local enable_seqscan = off").executeUpdate();
+            return ((List<?>) repository.getEntityManager().createNativeQuery("explain " + query).getResultList()).stream().map(Object::toString).toList();
+        });
+    }
+}
@@ -0,0 +1,298 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.kie.kogito.index.postgresql;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Date;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.kie.kogito.event.process.ProcessInstanceNodeDataEvent;
+import org.kie.kogito.event.process.ProcessInstanceNodeEventBody;
+import org.kie.kogito.event.process.ProcessInstanceStateDataEvent;
+import org.kie.kogito.event.process.ProcessInstanceStateEventBody;
+import org.kie.kogito.index.jpa.storage.ProcessInstanceEntityStorage;
+import org.kie.kogito.index.model.ProcessInstance;
+import org.kie.kogito.index.model.ProcessInstanceState;
+import org.kie.kogito.index.test.TestUtils;
+import org.kie.kogito.testcontainers.quarkus.PostgreSqlQuarkusTestResource;
+import org.postgresql.PGConnection;
+
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.test.common.QuarkusTestResource;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.TestProfile;
+
+import jakarta.inject.Inject;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Runs against a dedicated database since converting the processes table cannot be undone. The conversion is a
+ * procedure committing between batches, so it is called through plain JDBC connections in autocommit mode.
+ */
+@QuarkusTest
+@QuarkusTestResource(value = PostgreSqlQuarkusTestResource.class, restrictToAnnotatedClass = true)
+@TestProfile(PartitioningQuarkusTestProfile.class)
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class PostgresqlProcessInstancePartitioningIT {
+
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("yyyyMM");
+
+    private static final String LOCK_WAITS = "select count(*) from pg_stat_activity where wait_event_type = 'Lock'";
+
+    @Inject
+    DataSource dataSource;
+
+    @Inject
+    PostgresqlProcessInstancePartitionManager partitionManager;
+
+    @Inject
+    ProcessInstanceEntityStorage storage;
+
+    @Test
+    @Order(1)
+    void testNotConvertedOnStartup() throws SQLException {
+        assertThat(queryBoolean("select data_index_processes_partitioned()")).isFalse();
+    }
+
+    @Test
+    @Order(2)
+    void testConcurrentConversionFails() throws SQLException {
+        try (Connection holder = dataSource.getConnection()) {
+            execute(holder, "select pg_advisory_lock(hashtext('data_index_partition_processes'))");
+            assertThatThrownBy(() -> execute("call data_index_partition_processes()"))
+                    .isInstanceOf(SQLException.class)
+                    .hasMessageContaining("being converted by another session");
+            execute(holder, "select pg_advisory_unlock(hashtext('data_index_partition_processes'))");
+        }
+        assertThat(queryBoolean("select data_index_processes_partitioned()")).isFalse();
+    }
+
+    @Test
+    @Order(3)
+    void testConvert() throws SQLException {
+        execute("insert into processes (id, process_id, state, start_time, last_update_time) values "
+                + "('history-1', 'travels', 1, date_trunc('month', now()) - interval '2 months', now()), "
+                + "('history-2', 'travels', 1, date_trunc('month', now()) - interval '2 months' + interval '1 day', now()), "
+                + "('no-start', 'travels', 1, null, timestamp '2001-01-01 10:00:00')");
+        execute("insert into nodes (id, process_instance_id, name) values ('history-1-node', 'history-1', 'start')");
+
+        execute("call data_index_partition_processes(batch_size => 1, months_ahead => 2)");
+
+        assertThat(queryBoolean("select data_index_processes_partitioned()")).isTrue();
+        assertThat(queryBoolean("select to_regclass('processes_unpartitioned') is null")).isTrue();
+        assertThat(partitionOf("history-1")).isEqualTo(partitionName(now().minusMonths(2)));
+        assertThat(partitionOf("history-2")).isEqualTo(partitionName(now().minusMonths(2)));
+        assertThat(partitionOf("no-start")).isEqualTo("processes_default");
+        assertThat(queryBoolean("select start_time = timestamp '2001-01-01 10:00:00' from processes where id = 'no-start'")).isTrue();
+        assertThat(queryBoolean("select to_regclass(" + quote(partitionName(now().plusMonths(2))) + ") is not null")).isTrue();
+        // moving the rows must not remove their children
+        assertThat(queryBoolean("select exists (select 1 from nodes where id = 'history-1-node')")).isTrue();
+        assertThat(queryBoolean("select exists (select 1 from pg_indexes where tablename = 'processes' and indexname = 'idx_processes_variables_gin')")).isTrue();
+
+        // converting again is a no-op
+        execute("call data_index_partition_processes()");
+        assertThat(queryBoolean("select data_index_processes_partitioned()")).isTrue();
+    }
+
+    @Test
+    @Order(4)
+    void testCreatePartitionsMovesDefaultRows() throws SQLException {
+        ZonedDateTime later = now().plusMonths(6);
+        execute("insert into processes (id, process_id, state, start_time) values ('later', 'travels', 1, date_trunc('month', now()) + interval '6 months')");
+        execute("insert into nodes (id, process_instance_id, name) values ('later-node', 'later', 'start')");
+        assertThat(partitionOf("later")).isEqualTo("processes_default");
+
+        assertThat(queryInt("select data_index_create_process_partitions(6)")).isEqualTo(4);
+
+        assertThat(partitionOf("later")).isEqualTo(partitionName(later));
+        assertThat(queryBoolean("select exists (select 1 from nodes where id = 'later-node')")).isTrue();
+        assertThat(queryInt("select data_index_create_process_partitions(6)")).isZero();
+    }
+
+    @Test
+    @Order(5)
+    void testCreatePartitionsDoesNotNotifyMovedRows() throws SQLException {
+        execute("select data_index_enable_notifications()");
+        try (Connection listener = dataSource.getConnection()) {
+            execute(listener, "listen data_index_changes");
+            PGConnection notifications = listener.unwrap(PGConnection.class);
+            execute("insert into processes (id, process_id, state, start_time) values ('much-later', 'travels', 1, date_trunc('month', now()) + interval '8 months')");
+            assertThat(notifications.getNotifications(10000)).hasSize(1);
+
+            assertThat(queryInt("select data_index_create_process_partitions(8)")).isEqualTo(2);
+
+            assertThat(partitionOf("much-later")).isEqualTo(partitionName(now().plusMonths(8)));
+            assertThat(notifications.getNotifications(1000)).isEmpty();
+            // the notifications are enabled again, on the new partition too
+            execute("update processes set state = 2 where id = 'much-later'");
+            assertThat(notifications.getNotifications(10000)).hasSize(1);
+        } finally {
+            execute("select data_index_disable_notifications()");
+        }
+    }
+
+    @Test
+    @Order(6)
+    void testDropFinishedPartitions() throws SQLException {
+        ZonedDateTime old = now().minusYears(2);
+        execute("select data_index_create_process_partitions(0, cast(date_trunc('month', now()) - interval '2 years' as date))");
+        execute("insert into processes (id, process_id, state, start_time, end_time) values "
+                + "('finished', 'travels', 2, date_trunc('month', now()) - interval '2 years', date_trunc('month', now()) - interval '2 years' + interval '1 day')");
+        execute("insert into nodes (id, process_instance_id, name) values ('finished-node', 'finished', 'start')");
+        assertThat(partitionOf("finished")).isEqualTo(partitionName(old));
+
+        assertThat(partitionManager.dropFinishedPartitions(now().minusYears(1))).isEqualTo(1);
+
+        assertThat(queryBoolean("select to_regclass(" + quote(partitionName(old)) + ") is null")).isTrue();
+        assertThat(queryBoolean("select exists (select 1 from nodes where id = 'finished-node')")).isFalse();
+        // partitions with active instances are kept
+        assertThat(partitionOf("history-1")).isEqualTo(partitionName(now().minusMonths(2)));
+    }
+
+    @Test
+    @Order(7)
+    void testNodeEventBeforeStateEvent() throws SQLException {
+        storage.indexNode(TestUtils.createProcessInstanceNodeDataEvent("node-first", "travels", "node-definition", "node-instance", "start", "StartNode",
+                ProcessInstanceNodeEventBody.EVENT_TYPE_ENTER));
+
+        ProcessInstance processInstance = storage.get("node-first");
+        assertThat(processInstance.getStart()).isNotNull();
+        assertThat(processInstance.getNodes()).hasSize(1);
+        assertThat(partitionOf("node-first")).isEqualTo(partitionName(processInstance.getStart().withZoneSameInstant(ZoneOffset.UTC)));
+
+        // the started event of an instance started two months ago moves the row to the partition of its actual start
+        ZonedDateTime started = now().minusMonths(2).withNano(0);
+        ProcessInstanceStateDataEvent event = TestUtils.createProcessInstanceEvent("node-first", "travels", null, null, ProcessInstanceState.ACTIVE.ordinal());
+        event.setData(ProcessInstanceStateEventBody.create().processId("travels").processInstanceId("node-first")
+                .eventType(ProcessInstanceStateEventBody.EVENT_TYPE_STARTED).eventDate(Date.from(started.toInstant()))
+                .state(ProcessInstanceState.ACTIVE.ordinal()).build());
+        storage.indexState(event);
+
+        assertThat(storage.get("node-first"))
+                .hasFieldOrPropertyWithValue("state", ProcessInstanceState.ACTIVE.ordinal())
+                .extracting(pi -> pi.getStart().toInstant()).isEqualTo(started.toInstant());
+        assertThat(partitionOf("node-first")).isEqualTo(partitionName(started));
+        // moving the row must not remove its children
+        assertThat(storage.get("node-first").getNodes()).hasSize(1);
+    }
+
+    @Test
+    @Order(8)
+    void testConcurrentFirstEventsStoreOneInstance() throws Exception {
+        // both events come before the started one, each would store the instance in the partition of its own time
+        ProcessInstanceNodeDataEvent first = TestUtils.createProcessInstanceNodeDataEvent("raced", "travels", "node-definition", "first-node", "start",
+                "StartNode", ProcessInstanceNodeEventBody.EVENT_TYPE_ENTER);
+        first.setTime(OffsetDateTime.now(ZoneOffset.UTC));
+        ProcessInstanceNodeDataEvent second = TestUtils.createProcessInstanceNodeDataEvent("raced", "travels", "node-definition", "second-node", "start",
+                "StartNode", ProcessInstanceNodeEventBody.EVENT_TYPE_ENTER);
+        second.setTime(OffsetDateTime.now(ZoneOffset.UTC).minusMonths(2));
+
+        final CompletableFuture<Void> concurrent;
+        QuarkusTransaction.begin();
+        try {
+            storage.indexNode(first);
+            concurrent = CompletableFuture.runAsync(() -> QuarkusTransaction.requiringNew().run(() -> storage.indexNode(second)));
+            awaitLockWait();
+        } finally {
+            QuarkusTransaction.commit();
+        }
+        concurrent.get(10, TimeUnit.SECONDS);
+
+        assertThat(queryInt("select count(*) from processes where id = 'raced'")).isEqualTo(1);
+        assertThat(partitionOf("raced")).isEqualTo(partitionName(now()));
+        assertThat(storage.get("raced").getNodes()).hasSize(2);
+    }
+
+    // the database runs in UTC, like the timestamps the data index stores
+    private static ZonedDateTime now() {
+        return ZonedDateTime.now(ZoneOffset.UTC);
+    }
+
+    private static String partitionName(ZonedDateTime month) {
+        return "processes_p" + PARTITION_SUFFIX.format(month);
+    }
+
+    private static String quote(String value) {
+        return "'" + value + "'";
+    }
+
+    private String partitionOf(String id) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+                PreparedStatement statement = connection.prepareStatement("select tableoid::regclass::text from processes where id = ?")) {
+            statement.setString(1, id);
+            try (ResultSet rs = statement.executeQuery()) {
+                return rs.next() ? rs.getString(1) : null;
+            }
+        }
+    }
+
+    private void awaitLockWait() throws SQLException, InterruptedException {
+        for (int attempt = 0; attempt < 100; attempt++) {
+            if (queryInt(LOCK_WAITS) > 0) {
+                return;
+            }
+            Thread.sleep(100);
+        }
+        throw new IllegalStateException("The concurrent event did not wait for the first one");
+    }
+
+    private boolean queryBoolean(String sql) throws SQLException {
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement(); ResultSet rs = statement.executeQuery(sql)) {
+            rs.next();
+            return rs.getBoolean(1);
+        }
+    }
+
+    private int queryInt(String sql) throws SQLException {
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement(); ResultSet rs = statement.executeQuery(sql)) {
+            rs.next();
+            return rs.getInt(1);
+        }
+    }
+
+    private void execute(String sql) throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            execute(connection, sql);
+        }
+    }
+
+    private static void execute(Connection connection, String sql) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            connection.setAutoCommit(true);
+            statement.execute(sql);
+        }
+    }
+}
@@ -89,6 +89,11 @@ class ProcessInstanceEntityQueryIT extends AbstractProcessInstanceEntityQueryIT
                 processInstanceId);
         queryAndAssert(assertNotId(), storage, singletonList(jsonFilter(lessThanEqual("variables.traveller.age", 27))), null, null, null,
                 processInstanceId);
+        // strings are compared with the text of numbers and array indexes are followed, as without the containment rewrite
+        queryAndAssert(assertWithId(), storage, singletonList(jsonFilter(equalTo("variables.traveller.age", "28"))), null, null, null,
+                processInstanceId);
+        queryAndAssert(assertWithId(), storage, singletonList(jsonFilter(equalTo("variables.traveller.aliases.0", "Super"))), null, null, null,
+                processInstanceId);
         queryAndAssert(assertWithId(), storage, singletonList(jsonFilter(in("variables.traveller.name", List.of("John", "Smith")))), null, null, null,
                 processInstanceId);
         queryAndAssert(assertNotId(), storage, singletonList(jsonFilter(in("variables.traveller.age", List.of("Jack", "Smith")))), null, null, null,
@@ -42,6 +42,13 @@ public class GraphQLAddonSchemaManagerImpl extends AbstractGraphQLSchemaManager
                     builder.dataFetcher("ProcessInstances", this::getProcessInstancesValues);
                     builder.dataFetcher("UserTaskInstances", this::getUserTaskInstancesValues);
                     builder.dataFetcher("Jobs", this::getJobsValues);
+                    builder.dataFetcher("ProcessDefinitionsCount", this::getProcessDefinitionsCount);
+                    builder.dataFetcher("ProcessInstancesCount", this::getProcessInstancesCount);
+                    builder.dataFetcher("UserTaskInstancesCount", this::getUserTaskInstancesCount);
+                    builder.dataFetcher("JobsCount", this::getJobsCount);
+                    builder.dataFetcher("ProcessInstancesConnection", this::getProcessInstancesConnection);
+                    builder.dataFetcher("UserTaskInstancesConnection", this::getUserTaskInstancesConnection);
+                    builder.dataFetcher("JobsConnection", this::getJobsConnection);
                     return builder;
                 })
                 .type("Mutation", builder -> {
@@ -18,7 +18,10 @@
  */
 package org.kie.kogito.persistence.api;
 
+import java.util.HashMap;
 import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
 
 public interface Storage<K, V> extends StorageFetcher<K, V> {
     /**
@@ -30,6 +33,42 @@ public interface Storage<K, V> extends StorageFetcher<K, V> {
      */
     V put(K key, V value);
 
+    /**
+     * Puts several elements at once. Elements with the same key already present in the storage are replaced.
+     * Storages override it to write all the elements in a few round trips instead of one per element.
+     *
+     * @param elements The elements by key.
+     */
+    default void putAll(Map<K, V> elements) {
+        elements.forEach(this::put);
+    }
+
+    /**
+     * Gets the elements of several keys at once. Keys not present in the storage are not included in the result.
+     *
+     * @param keys The keys.
+     * @return The elements by key.
+     */
+    default Map<K, V> getAll(Set<K> keys) {
+        Map<K, V> elements = new HashMap<>();
+        for (K key : keys) {
+            V value = get(key);
+            if (value != null) {
+                elements.put(key, value);
+            }
+        }
+        return elements;
+    }
+
+    /**
+     * Removes the elements of several keys at once. Keys not present in the storage are ignored.
+     *
+     * @param keys The keys.
+     */
+    default void removeAll(Set<K> keys) {
+        keys.forEach(this::remove);
+    }
+
     /**
      * Removes an element by key. If the element is not present in the storage, then `null` is returned.
      *
@@ -53,6 +92,17 @@ public interface Storage<K, V> extends StorageFetcher<K, V> {
      */
     Map<K, V> entries();
 
+    /**
+     * Iterates the key-value entries of the elements in the storage. Storages that can read lazily fetch the
+     * entries in batches as the stream is consumed, instead of loading all of them at once. The stream holds storage
+     * resources and must be closed.
+     *
+     * @return The key-value entries of the elements in the storage.
+     */
+    default Stream<Map.Entry<K, V>> entryStream() {
+        return entries().entrySet().stream();
+    }
+
     /**
      * Gets the root type for the storage.
      *
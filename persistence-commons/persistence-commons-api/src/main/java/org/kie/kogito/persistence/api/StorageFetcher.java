@@ -18,6 +18,9 @@
  */
 package org.kie.kogito.persistence.api;
 
+import java.util.List;
+
+import org.kie.kogito.persistence.api.query.AttributeFilter;
 import org.kie.kogito.persistence.api.query.Query;
 
 import io.smallrye.mutiny.Multi;
@@ -33,6 +36,28 @@ public interface StorageFetcher<K, V> {
      */
     Multi<V> objectUpdatedListener();
 
+    /**
+     * Adds a listener on the create events of the elements matching the given filters.
+     * Storages that cannot evaluate filters on their change events only accept an empty filter list.
+     */
+    default Multi<V> objectCreatedListener(List<AttributeFilter<?>> filters) {
+        if (filters == null || filters.isEmpty()) {
+            return objectCreatedListener();
+        }
+        throw new UnsupportedOperationException("Filtered listeners not available in this storage");
+    }
+
+    /**
+     * Adds a listener on the update events of the elements matching the given filters.
+     * Storages that cannot evaluate filters on their change events only accept an empty filter list.
+     */
+    default Multi<V> objectUpdatedListener(List<AttributeFilter<?>> filters) {
+        if (filters == null || filters.isEmpty()) {
+            return objectUpdatedListener();
+        }
+        throw new UnsupportedOperationException("Filtered listeners not available in this storage");
+    }
+
     /**
      * Adds a listener on the remove events.
      */
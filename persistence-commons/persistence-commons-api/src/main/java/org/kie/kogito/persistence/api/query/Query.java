@@ -19,6 +19,7 @@
 package org.kie.kogito.persistence.api.query;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface Query<T> {
 
@@ -30,5 +31,59 @@ public interface Query<T> {
 
     Query<T> sort(List<AttributeSort> sortBy);
 
+    /**
+     * Restricts the attributes loaded from the storage to the given ones, the identifier is always loaded.
+     * This is an optimization hint: storages that cannot project return complete elements, so callers must not
+     * rely on the other attributes being empty.
+     *
+     * @param attributes The attributes to load, or null to load complete elements.
+     * @return The `Query` instance.
+     */
+    default Query<T> projection(List<String> attributes) {
+        return this;
+    }
+
+    /**
+     * Keyset pagination: restricts the results to the elements placed after the given values of the sort attributes,
+     * in the sort order. Values are given in the order of the sort attributes and the last sort attribute must be
+     * unique, usually the identifier. Unlike offsets, the cost of reading a page does not grow with its depth.
+     *
+     * @param sortValues The values of the sort attributes of the last element already read.
+     * @return The `Query` instance.
+     */
+    default Query<T> searchAfter(Object... sortValues) {
+        throw new UnsupportedOperationException("Keyset pagination is not supported by " + getClass().getName());
+    }
+
     List<T> execute();
+
+    /**
+     * Returns the results lazily, so that large result sets are not held in memory at once. Storages that cannot
+     * read lazily return the executed results. The stream holds storage resources and must be closed.
+     *
+     * @return The results of the query.
+     */
+    default Stream<T> stream() {
+        return execute().stream();
+    }
+
+    /**
+     * Counts the elements matching the query filters on the storage, without loading them.
+     * Limit, offset and sorting are ignored.
+     *
+     * @return The number of matching elements.
+     */
+    default long count() {
+        throw new UnsupportedOperationException("Count is not supported by " + getClass().getName());
+    }
+
+    /**
+     * Deletes all the elements matching the query filters with a single bulk operation on the storage.
+     * Limit, offset and sorting are ignored.
+     *
+     * @return The number of deleted elements.
+     */
+    default long delete() {
+        throw new UnsupportedOperationException("Bulk delete is not supported by " + getClass().getName());
+    }
 }
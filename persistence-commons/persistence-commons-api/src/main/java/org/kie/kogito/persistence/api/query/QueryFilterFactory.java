@@ -18,8 +18,10 @@
  */
 package org.kie.kogito.persistence.api.query;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Optional;
 
 public final class QueryFilterFactory {
 
@@ -93,4 +95,46 @@ public final class QueryFilterFactory {
     public static <T> AttributeFilter<AttributeFilter<T>> not(AttributeFilter<T> filter) {
         return new AttributeFilter<>(null, FilterCondition.NOT, filter);
     }
+
+    /**
+     * Builds the keyset pagination filter matching the elements placed after the given values of the sort attributes,
+     * in the sort order. The last sort attribute must be unique, usually the identifier, so that every element has a
+     * distinct position.
+     *
+     * @param sortBy The sort attributes.
+     * @param values The values of the sort attributes of the last element already read, in the same order.
+     * @param nullsLast Whether the storage places null values after the non null ones when sorting in ascending order.
+     * @return The filter.
+     */
+    public static AttributeFilter<?> after(List<AttributeSort> sortBy, List<?> values, boolean nullsLast) {
+        if (sortBy == null || values == null || sortBy.size() != values.size()) {
+            throw new IllegalArgumentException("Keyset pagination requires one value per sort attribute");
+        }
+        List<AttributeFilter<?>> positions = new ArrayList<>();
+        for (int i = 0; i < sortBy.size(); i++) {
+            Optional<AttributeFilter<?>> next = nextTo(sortBy.get(i), values.get(i), nullsLast);
+            if (next.isPresent()) {
+                List<AttributeFilter<?>> position = new ArrayList<>();
+                for (int j = 0; j < i; j++) {
+                    String attribute = sortBy.get(j).getAttribute();
+                    position.add(values.get(j) == null ? isNull(attribute) : equalTo(attribute, values.get(j)));
+                }
+                position.add(next.get());
+                positions.add(position.size() == 1 ? position.get(0) : and(position));
+            }
+        }
+        return positions.size() == 1 ? positions.get(0) : or(positions);
+    }
+
+    private static Optional<AttributeFilter<?>> nextTo(AttributeSort sort, Object value, boolean nullsLast) {
+        boolean ascending = sort.getSort() != SortDirection.DESC;
+        // whether null values are placed after the non null ones in this sort direction
+        boolean nullsFollow = ascending == nullsLast;
+        String attribute = sort.getAttribute();
+        if (value == null) {
+            return nullsFollow ? Optional.empty() : Optional.of(notNull(attribute));
+        }
+        AttributeFilter<?> next = ascending ? greaterThan(attribute, value) : lessThan(attribute, value);
+        return Optional.of(nullsFollow ? or(List.of(next, isNull(attribute))) : next);
+    }
 }
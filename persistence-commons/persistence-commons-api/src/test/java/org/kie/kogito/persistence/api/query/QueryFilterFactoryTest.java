@@ -0,0 +1,86 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.kie.kogito.persistence.api.query;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.kie.kogito.persistence.api.query.QueryFilterFactory.after;
+import static org.kie.kogito.persistence.api.query.QueryFilterFactory.and;
+import static org.kie.kogito.persistence.api.query.QueryFilterFactory.equalTo;
+import static org.kie.kogito.persistence.api.query.QueryFilterFactory.greaterThan;
+import static org.kie.kogito.persistence.api.query.QueryFilterFactory.isNull;
+import static org.kie.kogito.persistence.api.query.QueryFilterFactory.lessThan;
+import static org.kie.kogito.persistence.api.query.QueryFilterFactory.notNull;
+import static org.kie.kogito.persistence.api.query.QueryFilterFactory.or;
+import static org.kie.kogito.persistence.api.query.QueryFilterFactory.orderBy;
+import static org.kie.kogito.persistence.api.query.SortDirection.ASC;
+import static org.kie.kogito.persistence.api.query.SortDirection.DESC;
+
+class QueryFilterFactoryTest {
+
+    @Test
+    void testAfterSingleAttribute() {
+        assertThat(after(List.of(orderBy("id", ASC)), List.of("5"), true)).isEqualTo(or(List.of(greaterThan("id", "5"), isNull("id"))));
+        assertThat(after(List.of(orderBy("id", ASC)), List.of("5"), false)).isEqualTo(greaterThan("id", "5"));
+        assertThat(after(List.of(orderBy("id", DESC)), List.of("5"), true)).isEqualTo(lessThan("id", "5"));
+        assertThat(after(List.of(orderBy("id", DESC)), List.of("5"), false)).isEqualTo(or(List.of(lessThan("id", "5"), isNull("id"))));
+    }
+
+    @Test
+    void testAfterMixedDirections() {
+        List<AttributeSort> sortBy = List.of(orderBy("name", ASC), orderBy("id", DESC));
+
+        // nulls last in ascending order are first in descending order
+        assertThat(after(sortBy, List.of("b", "5"), true)).isEqualTo(or(List.of(
+                or(List.of(greaterThan("name", "b"), isNull("name"))),
+                and(List.of(equalTo("name", "b"), lessThan("id", "5"))))));
+        assertThat(after(sortBy, List.of("b", "5"), false)).isEqualTo(or(List.of(
+                greaterThan("name", "b"),
+                and(List.of(equalTo("name", "b"), or(List.of(lessThan("id", "5"), isNull("id"))))))));
+    }
+
+    @Test
+    void testAfterNullValue() {
+        List<AttributeSort> ascending = List.of(orderBy("name", ASC), orderBy("id", ASC));
+        List<AttributeSort> descending = List.of(orderBy("name", DESC), orderBy("id", ASC));
+
+        // nulls follow the non null values, only the ties on null remain
+        assertThat(after(ascending, Arrays.asList(null, "5"), true)).isEqualTo(
+                and(List.of(isNull("name"), or(List.of(greaterThan("id", "5"), isNull("id"))))));
+        // nulls precede the non null values, which all follow
+        assertThat(after(ascending, Arrays.asList(null, "5"), false)).isEqualTo(or(List.of(
+                notNull("name"),
+                and(List.of(isNull("name"), greaterThan("id", "5"))))));
+        assertThat(after(descending, Arrays.asList(null, "5"), true)).isEqualTo(or(List.of(
+                notNull("name"),
+                and(List.of(isNull("name"), or(List.of(greaterThan("id", "5"), isNull("id"))))))));
+    }
+
+    @Test
+    void testAfterRequiresOneValuePerAttribute() {
+        assertThatThrownBy(() -> after(List.of(orderBy("name", ASC), orderBy("id", ASC)), List.of("b"), true))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> after(null, List.of("b"), true)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -20,6 +20,9 @@ package org.kie.kogito.persistence.infinispan.cache;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
 
 import org.infinispan.client.hotrod.RemoteCache;
 import org.kie.kogito.persistence.api.Storage;
@@ -28,6 +31,7 @@ import org.kie.kogito.persistence.infinispan.listener.CacheObjectCreatedListener
 import org.kie.kogito.persistence.infinispan.listener.CacheObjectRemovedListener;
 import org.kie.kogito.persistence.infinispan.listener.CacheObjectUpdatedListener;
 import org.kie.kogito.persistence.infinispan.query.InfinispanQuery;
+import org.kie.kogito.persistence.infinispan.query.InfinispanQueryCache;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -40,6 +44,7 @@ public class InfinispanStorage<K, V> implements Storage<K, V> {
 
     private RemoteCache<K, V> delegate;
     private String rootType;
+    private final InfinispanQueryCache queryCache = new InfinispanQueryCache();
 
     public InfinispanStorage(RemoteCache<K, V> delegate, String rootType) {
         this.delegate = delegate;
@@ -63,15 +68,40 @@ public class InfinispanStorage<K, V> implements Storage<K, V> {
         return delegate.containsKey(key);
     }
 
+    /**
+     * Returns a snapshot copy of the remote cache, use {@link #entryStream()} to read the entries in batches.
+     */
     @Override
     public Map<K, V> entries() {
         return new HashMap<>(delegate);
     }
 
+    @Override
+    public Stream<Map.Entry<K, V>> entryStream() {
+        // the stream closes the remote iteration when closed
+        return delegate.entrySet().stream();
+    }
+
     public V put(K key, V value) {
         return delegate.put(key, value);
     }
 
+    @Override
+    public void putAll(Map<K, V> elements) {
+        delegate.putAll(elements);
+    }
+
+    @Override
+    public Map<K, V> getAll(Set<K> keys) {
+        return new HashMap<>(delegate.getAll(keys));
+    }
+
+    @Override
+    public void removeAll(Set<K> keys) {
+        // Hot Rod has no bulk removal, removals are sent without waiting for the previous ones
+        CompletableFuture.allOf(keys.stream().map(delegate::removeAsync).toArray(CompletableFuture[]::new)).join();
+    }
+
     @Override
     public Multi<V> objectCreatedListener() {
         LOGGER.debug("Adding new object created listener into Cache: {}", delegate.getName());
@@ -113,6 +143,6 @@ public class InfinispanStorage<K, V> implements Storage<K, V> {
 
     @Override
     public Query<V> query() {
-        return new InfinispanQuery<>(delegate, rootType);
+        return new InfinispanQuery<>(delegate, rootType, queryCache);
     }
 }
@@ -18,12 +18,21 @@
  */
 package org.kie.kogito.persistence.infinispan.query;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
-import java.util.function.Function;
+import java.util.Map;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import org.infinispan.client.hotrod.RemoteCache;
 import org.infinispan.client.hotrod.Search;
+import org.infinispan.commons.util.CloseableIterator;
 import org.infinispan.query.dsl.QueryFactory;
+import org.infinispan.query.dsl.QueryResult;
 import org.kie.kogito.persistence.api.query.AttributeFilter;
 import org.kie.kogito.persistence.api.query.AttributeSort;
 import org.kie.kogito.persistence.api.query.Query;
@@ -32,6 +41,7 @@ import org.slf4j.LoggerFactory;
 
 import static java.lang.String.format;
 import static java.util.stream.Collectors.joining;
+import static org.kie.kogito.persistence.api.query.QueryFilterFactory.after;
 
 public class InfinispanQuery<T> implements Query<T> {
 
@@ -39,25 +49,33 @@ public class InfinispanQuery<T> implements Query<T> {
     private static final String AND = " and ";
     private static final String OR = " or ";
     private static final String ATTRIBUTE_VALUE = "o.%s = %s";
+    private static final String COUNT = "COUNT ";
 
     private QueryFactory qf;
+    private InfinispanQueryCache queryCache;
     private Integer limit;
     private Integer offset;
     private List<AttributeFilter<?>> filters;
     private List<AttributeSort> sortBy;
+    private List<Object> searchAfter;
     private String rootType;
 
     public InfinispanQuery(RemoteCache<?, T> delegate, String rootType) {
-        this(Search.getQueryFactory(delegate), rootType);
+        this(delegate, rootType, new InfinispanQueryCache());
+    }
+
+    public InfinispanQuery(RemoteCache<?, T> delegate, String rootType, InfinispanQueryCache queryCache) {
+        this(Search.getQueryFactory(delegate), rootType, queryCache);
     }
 
     protected InfinispanQuery(QueryFactory qf, String rootType) {
-        this.qf = qf;
-        this.rootType = rootType;
+        this(qf, rootType, new InfinispanQueryCache());
     }
 
-    private static Function<Object, Object> getValueForQueryString() {
-        return value -> value instanceof String ? "'" + value + "'" : value.toString();
+    protected InfinispanQuery(QueryFactory qf, String rootType, InfinispanQueryCache queryCache) {
+        this.qf = qf;
+        this.rootType = rootType;
+        this.queryCache = queryCache;
     }
 
     @Override
@@ -84,74 +102,167 @@ public class InfinispanQuery<T> implements Query<T> {
         return this;
     }
 
+    @Override
+    public Query<T> searchAfter(Object... sortValues) {
+        this.searchAfter = sortValues == null ? null : Arrays.asList(sortValues);
+        return this;
+    }
+
     @Override
     public List<T> execute() {
+        Map<String, Object> parameters = new HashMap<>();
+        String queryString = selectString(parameters);
+        org.infinispan.query.dsl.Query<T> query = createQuery(queryString, parameters);
+        try {
+            return query.execute().list();
+        } finally {
+            queryCache.release(queryString, query);
+        }
+    }
+
+    @Override
+    public Stream<T> stream() {
+        Map<String, Object> parameters = new HashMap<>();
+        String queryString = selectString(parameters);
+        org.infinispan.query.dsl.Query<T> query = createQuery(queryString, parameters);
+        CloseableIterator<T> iterator = query.iterator();
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED), false)
+                .onClose(() -> {
+                    iterator.close();
+                    queryCache.release(queryString, query);
+                });
+    }
+
+    private String selectString(Map<String, Object> parameters) {
         StringBuilder queryString = new StringBuilder("FROM " + rootType + " o");
-        if (filters != null && !filters.isEmpty()) {
-            queryString.append(" WHERE ");
-            queryString.append(filters.stream().map(filterStringFunction()).collect(joining(AND)));
+        List<AttributeFilter<?>> queryFilters = filters;
+        if (searchAfter != null) {
+            queryFilters = filters == null ? new ArrayList<>() : new ArrayList<>(filters);
+            // missing values are sorted last in ascending order
+            queryFilters.add(after(sortBy, searchAfter, true));
         }
+        appendWhere(queryString, queryFilters, parameters);
         if (sortBy != null && !sortBy.isEmpty()) {
             queryString.append(" ORDER BY ");
             queryString.append(sortBy.stream().map(f -> "o." + f.getAttribute() + " " + f.getSort().name()).collect(joining(", ")));
         }
-        LOGGER.debug("Executing Infinispan query: {}", queryString);
-        org.infinispan.query.dsl.Query<T> query = qf.create(queryString.toString());
-        if (limit != null) {
-            query.maxResults(limit);
+        return queryString.toString();
+    }
+
+    private org.infinispan.query.dsl.Query<T> createQuery(String queryString, Map<String, Object> parameters) {
+        LOGGER.debug("Executing Infinispan query: {} with parameters {}", queryString, parameters);
+        org.infinispan.query.dsl.Query<T> query = queryCache.borrow(qf, queryString);
+        if (!parameters.isEmpty()) {
+            query.setParameters(parameters);
         }
-        if (offset != null) {
-            query.startOffset(offset);
+        // cached queries keep the pagination of their previous execution
+        query.maxResults(limit == null ? -1 : limit);
+        query.startOffset(offset == null ? 0 : offset);
+        return query;
+    }
+
+    @Override
+    public long count() {
+        Map<String, Object> parameters = new HashMap<>();
+        StringBuilder queryString = new StringBuilder("FROM " + rootType + " o");
+        appendWhere(queryString, filters, parameters);
+        LOGGER.debug("Executing Infinispan count query: {} with parameters {}", queryString, parameters);
+        // the hit count is only exact up to the accuracy of the query, which is raised for counts and must not leak
+        // into the list queries sharing the same string, so count queries are cached apart
+        String cacheKey = COUNT + queryString;
+        org.infinispan.query.dsl.Query<T> query = queryCache.borrow(qf, cacheKey, queryString.toString());
+        try {
+            if (!parameters.isEmpty()) {
+                query.setParameters(parameters);
+            }
+            query.hitCountAccuracy(Integer.MAX_VALUE);
+            query.startOffset(0);
+            query.maxResults(1);
+            QueryResult<T> result = query.execute();
+            if (!result.count().isExact()) {
+                throw new IllegalStateException("Infinispan returned an approximate count for query: " + queryString);
+            }
+            return result.count().value();
+        } finally {
+            queryCache.release(cacheKey, query);
         }
-        return query.execute().list();
-    }
-
-    private Function<AttributeFilter<?>, String> filterStringFunction() {
-        return filter -> {
-            switch (filter.getCondition()) {
-                case CONTAINS:
-                    return format(ATTRIBUTE_VALUE, filter.getAttribute(), getValueForQueryString().apply(filter.getValue()));
-                case CONTAINS_ALL:
-                    return (String) ((List) filter.getValue()).stream().map(o -> format(ATTRIBUTE_VALUE, filter.getAttribute(), getValueForQueryString().apply(o))).collect(joining(AND));
-                case CONTAINS_ANY:
-                    return (String) ((List) filter.getValue()).stream().map(o -> format(ATTRIBUTE_VALUE, filter.getAttribute(), getValueForQueryString().apply(o))).collect(joining(OR));
-                case LIKE:
-                    return format("o.%s like %s", filter.getAttribute(), getValueForQueryString().apply(filter.getValue())).replaceAll("\\*", "%");
-                case EQUAL:
-                    return format(ATTRIBUTE_VALUE, filter.getAttribute(), getValueForQueryString().apply(filter.getValue()));
-                case IN:
-                    return format("o.%s in (%s)", filter.getAttribute(), ((List) filter.getValue()).stream().map(getValueForQueryString()).collect(joining(", ")));
-                case IS_NULL:
-                    return format("o.%s is null", filter.getAttribute());
-                case NOT_NULL:
-                    return format("o.%s is not null", filter.getAttribute());
-                case BETWEEN:
-                    List<Object> value = (List<Object>) filter.getValue();
-                    return format("o.%s between %s and %s", filter.getAttribute(), getValueForQueryString().apply(value.get(0)), getValueForQueryString().apply(value.get(1)));
-                case GT:
-                    return format("o.%s > %s", filter.getAttribute(), getValueForQueryString().apply(filter.getValue()));
-                case GTE:
-                    return format("o.%s >= %s", filter.getAttribute(), getValueForQueryString().apply(filter.getValue()));
-                case LT:
-                    return format("o.%s < %s", filter.getAttribute(), getValueForQueryString().apply(filter.getValue()));
-                case LTE:
-                    return format("o.%s <= %s", filter.getAttribute(), getValueForQueryString().apply(filter.getValue()));
-                case OR:
-                    return getRecursiveString(filter, OR);
-                case AND:
-                    return getRecursiveString(filter, AND);
-                case NOT:
-                    return format("not %s", filterStringFunction().apply((AttributeFilter<?>) filter.getValue()));
-                default:
-                    return null;
+    }
+
+    @Override
+    public long delete() {
+        Map<String, Object> parameters = new HashMap<>();
+        StringBuilder queryString = new StringBuilder("DELETE FROM " + rootType + " o");
+        appendWhere(queryString, filters, parameters);
+        LOGGER.debug("Executing Infinispan delete statement: {} with parameters {}", queryString, parameters);
+        org.infinispan.query.dsl.Query<T> query = queryCache.borrow(qf, queryString.toString());
+        try {
+            if (!parameters.isEmpty()) {
+                query.setParameters(parameters);
             }
-        };
+            return query.executeStatement();
+        } finally {
+            queryCache.release(queryString.toString(), query);
+        }
+    }
+
+    private void appendWhere(StringBuilder queryString, List<AttributeFilter<?>> whereFilters, Map<String, Object> parameters) {
+        if (whereFilters != null && !whereFilters.isEmpty()) {
+            queryString.append(" WHERE ");
+            queryString.append(whereFilters.stream().map(filter -> filterString(filter, parameters)).collect(joining(AND)));
+        }
+    }
+
+    // Values are referenced through named parameters, so queries only differing in their values share the same string
+    private static String parameter(Map<String, Object> parameters, Object value) {
+        String name = "p" + (parameters.size() + 1);
+        parameters.put(name, value instanceof String || value instanceof Number || value instanceof Boolean ? value : value.toString());
+        return ":" + name;
+    }
+
+    private String filterString(AttributeFilter<?> filter, Map<String, Object> parameters) {
+        switch (filter.getCondition()) {
+            case CONTAINS:
+                return format(ATTRIBUTE_VALUE, filter.getAttribute(), parameter(parameters, filter.getValue()));
+            case CONTAINS_ALL:
+                return (String) ((List) filter.getValue()).stream().map(o -> format(ATTRIBUTE_VALUE, filter.getAttribute(), parameter(parameters, o))).collect(joining(AND));
+            case CONTAINS_ANY:
+                return (String) ((List) filter.getValue()).stream().map(o -> format(ATTRIBUTE_VALUE, filter.getAttribute(), parameter(parameters, o))).collect(joining(OR));
+            case LIKE:
+                return format("o.%s like %s", filter.getAttribute(), parameter(parameters, filter.getValue().toString().replace('*', '%')));
+            case EQUAL:
+                return format(ATTRIBUTE_VALUE, filter.getAttribute(), parameter(parameters, filter.getValue()));
+            case IN:
+                return format("o.%s in (%s)", filter.getAttribute(), ((List<?>) filter.getValue()).stream().map(o -> parameter(parameters, o)).collect(joining(", ")));
+            case IS_NULL:
+                return format("o.%s is null", filter.getAttribute());
+            case NOT_NULL:
+                return format("o.%s is not null", filter.getAttribute());
+            case BETWEEN:
+                List<Object> value = (List<Object>) filter.getValue();
+                return format("o.%s between %s and %s", filter.getAttribute(), parameter(parameters, value.get(0)), parameter(parameters, value.get(1)));
+            case GT:
+                return format("o.%s > %s", filter.getAttribute(), parameter(parameters, filter.getValue()));
+            case GTE:
+                return format("o.%s >= %s", filter.getAttribute(), parameter(parameters, filter.getValue()));
+            case LT:
+                return format("o.%s < %s", filter.getAttribute(), parameter(parameters, filter.getValue()));
+            case LTE:
+                return format("o.%s <= %s", filter.getAttribute(), parameter(parameters, filter.getValue()));
+            case OR:
+                return getRecursiveString(filter, OR, parameters);
+            case AND:
+                return getRecursiveString(filter, AND, parameters);
+            case NOT:
+                return format("not %s", filterString((AttributeFilter<?>) filter.getValue(), parameters));
+            default:
+                return null;
+        }
     }
 
-    private String getRecursiveString(AttributeFilter<?> filter, String joining) {
+    private String getRecursiveString(AttributeFilter<?> filter, String joining, Map<String, Object> parameters) {
         return ((List<AttributeFilter<?>>) filter.getValue())
                 .stream()
-                .map(filterStringFunction())
+                .map(f -> filterString(f, parameters))
                 .collect(joining(joining, "(", ")"));
     }
 }
@@ -0,0 +1,66 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.kie.kogito.persistence.infinispan.query;
+
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import org.infinispan.query.dsl.Query;
+import org.infinispan.query.dsl.QueryFactory;
+
+/**
+ * Keeps the Ickle queries created for each query string, so that queries with the same shape are not created and
+ * parsed again on every execution. Query instances hold their parameters and pagination, so an instance is borrowed
+ * by a single execution at a time and released once it completes.
+ */
+public class InfinispanQueryCache {
+
+    static final int MAX_QUERY_STRINGS = 256;
+
+    private final Map<String, Queue<Query<?>>> idleQueries = new ConcurrentHashMap<>();
+
+    <T> Query<T> borrow(QueryFactory qf, String queryString) {
+        return borrow(qf, queryString, queryString);
+    }
+
+    /**
+     * Borrows a query cached under the given key, for queries whose settings must not be shared with the other
+     * queries of the same string.
+     */
+    @SuppressWarnings("unchecked")
+    <T> Query<T> borrow(QueryFactory qf, String key, String queryString) {
+        Queue<Query<?>> queries = idleQueries.get(key);
+        Query<?> query = queries == null ? null : queries.poll();
+        return query == null ? qf.create(queryString) : (Query<T>) query;
+    }
+
+    void release(String queryString, Query<?> query) {
+        Queue<Query<?>> queries = idleQueries.get(queryString);
+        if (queries == null) {
+            // query strings are built from filter shapes, but are bounded anyway in case values end up in them
+            if (idleQueries.size() >= MAX_QUERY_STRINGS) {
+                return;
+            }
+            queries = idleQueries.computeIfAbsent(queryString, key -> new ConcurrentLinkedQueue<>());
+        }
+        queries.offer(query);
+    }
+}
@@ -20,8 +20,11 @@ package org.kie.kogito.persistence.infinispan.cache;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
 
 import org.infinispan.client.hotrod.DefaultTemplate;
 import org.infinispan.client.hotrod.RemoteCache;
@@ -37,6 +40,7 @@ import io.quarkus.test.junit.QuarkusTest;
 import jakarta.inject.Inject;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @QuarkusTest
@@ -105,6 +109,44 @@ class InfinispanStorageIT {
         assertThat(cache.size()).isZero();
     }
 
+    @Test
+    void testPutAll() {
+        storage.putAll(Map.of("testPutAll_1", "testValue1", "testPutAll_2", "testValue2"));
+
+        assertThat(cache.get("testPutAll_1")).isEqualTo("testValue1");
+        assertThat(cache.get("testPutAll_2")).isEqualTo("testValue2");
+    }
+
+    @Test
+    void testGetAll() {
+        cache.put("testGetAll_1", "testValue1");
+        cache.put("testGetAll_2", "testValue2");
+
+        assertThat(storage.getAll(Set.of("testGetAll_1", "testGetAll_2", "testGetAll_3")))
+                .containsOnly(entry("testGetAll_1", "testValue1"), entry("testGetAll_2", "testValue2"));
+    }
+
+    @Test
+    void testRemoveAll() {
+        cache.put("testRemoveAll_1", "testValue1");
+        cache.put("testRemoveAll_2", "testValue2");
+        cache.put("testRemoveAll_3", "testValue3");
+        storage.removeAll(Set.of("testRemoveAll_1", "testRemoveAll_2"));
+
+        assertThat(cache.keySet()).containsExactly("testRemoveAll_3");
+    }
+
+    @Test
+    void testEntries() {
+        cache.put("testEntries_1", "testValue1");
+        cache.put("testEntries_2", "testValue2");
+
+        assertThat(storage.entries()).containsOnly(entry("testEntries_1", "testValue1"), entry("testEntries_2", "testValue2"));
+        try (Stream<Map.Entry<String, String>> entries = storage.entryStream()) {
+            assertThat(entries.map(Map.Entry::getValue)).containsExactlyInAnyOrder("testValue1", "testValue2");
+        }
+    }
+
     @Test
     void testObjectCreatedListener() throws Exception {
         CountDownLatch latch = new CountDownLatch(3);
@@ -19,6 +19,7 @@
 package org.kie.kogito.persistence.infinispan.query;
 
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Stream;
 
 import org.infinispan.query.dsl.Query;
@@ -31,11 +32,14 @@ import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
 import org.kie.kogito.persistence.api.query.AttributeFilter;
+import org.mockito.Answers;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import static java.util.Arrays.asList;
 import static java.util.Collections.emptyList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.kie.kogito.persistence.api.query.QueryFilterFactory.and;
 import static org.kie.kogito.persistence.api.query.QueryFilterFactory.between;
 import static org.kie.kogito.persistence.api.query.QueryFilterFactory.contains;
@@ -56,6 +60,8 @@ import static org.kie.kogito.persistence.api.query.QueryFilterFactory.orderBy;
 import static org.kie.kogito.persistence.api.query.SortDirection.ASC;
 import static org.kie.kogito.persistence.api.query.SortDirection.DESC;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -70,66 +76,84 @@ class InfinispanQueryTest {
     @Mock
     Query mockQuery;
 
-    @Mock
+    @Mock(answer = Answers.RETURNS_DEEP_STUBS)
     QueryResult queryResult;
 
     private static Stream<Arguments> provideFilters() {
         return Stream.of(
                 Arguments.of(
                         asList(like("name", "test%")),
-                        "FROM org.kie.kogito.index.model.ProcessInstance o WHERE o.name like 'test%'"),
+                        "FROM org.kie.kogito.index.model.ProcessInstance o WHERE o.name like :p1",
+                        Map.of("p1", "test%")),
                 Arguments.of(
                         asList(in("id", asList("8035b580-6ae4-4aa8-9ec0-e18e19809e0b", "a1e139d5-4e77-48c9-84ae-34578e904e5a"))),
-                        "FROM org.kie.kogito.index.model.ProcessInstance o WHERE o.id in ('8035b580-6ae4-4aa8-9ec0-e18e19809e0b', 'a1e139d5-4e77-48c9-84ae-34578e904e5a')"),
+                        "FROM org.kie.kogito.index.model.ProcessInstance o WHERE o.id in (:p1, :p2)",
+                        Map.of("p1", "8035b580-6ae4-4aa8-9ec0-e18e19809e0b", "p2", "a1e139d5-4e77-48c9-84ae-34578e904e5a")),
                 Arguments.of(
                         asList(equalTo("id", "8035b580-6ae4-4aa8-9ec0-e18e19809e0b")),
-                        "FROM org.kie.kogito.index.model.ProcessInstance o WHERE o.id = '8035b580-6ae4-4aa8-9ec0-e18e19809e0b'"),
+                        "FROM org.kie.kogito.index.model.ProcessInstance o WHERE o.id = :p1",
+                        Map.of("p1", "8035b580-6ae4-4aa8-9ec0-e18e19809e0b")),
                 Arguments.of(
                         asList(contains("name", "test")),
-                        "FROM org.kie.kogito.index.model.ProcessInstance o WHERE o.name = 'test'"),
+                        "FROM org.kie.kogito.index.model.ProcessInstance o WHERE o.name = :p1",
+                        Map.of("p1", "test")),
                 Arguments.of(
                         asList(containsAll("name", asList("name1", "name2"))),
-                        "FROM org.kie.kogito.index.model.ProcessInstance o WHERE o.name = 'name1' and o.name = 'name2'"),
+                        "FROM org.kie.kogito.index.model.ProcessInstance o WHERE o.name = :p1 and o.name = :p2",
+                        Map.of("p1", "name1", "p2", "name2")),
                 Arguments.of(
                         asList(containsAny("name", asList("name1", "name2"))),
-                        "FROM org.kie.kogito.index.model.ProcessInstance o WHERE o.name = 'name1' or o.name = 'name2'"),
+                        "FROM org.kie.kogito.index.model.ProcessInstance o WHERE o.name = :p1 or o.name = :p2",
+                        Map.of("p1", "name1", "p2", "name2")),
                 Arguments.of(
                         asList(isNull("name")),
-                        "FROM org.kie.kogito.index.model.ProcessInstance o WHERE o.name is null"),
+                        "FROM org.kie.kogito.index.model.ProcessInstance o WHERE o.name is null",
+                        Map.of()),
                 Arguments.of(
                         asList(notNull("name")),
-                        "FROM org.kie.kogito.index.model.ProcessInstance o WHERE o.name is not null"),
+                        "FROM org.kie.kogito.index.model.ProcessInstance o WHERE o.name is not null",
+                        Map.of()),
                 Arguments.of(
                         asList(between("start", "2019-01-01", "2020-01-01")),
-                        "FROM org.kie.kogito.index.model.ProcessInstance o WHERE o.start between '2019-01-01' and '2020-01-01'"),
+                        "FROM org.kie.kogito.index.model.ProcessInstance o WHERE o.start between :p1 and :p2",
+                        Map.of("p1", "2019-01-01", "p2", "2020-01-01")),
                 Arguments.of(
                         asList(greaterThan("priority", 1)),
-                        "FROM org.kie.kogito.index.model.ProcessInstance o WHERE o.priority > 1"),
+                        "FROM org.kie.kogito.index.model.ProcessInstance o WHERE o.priority > :p1",
+                        Map.of("p1", 1)),
                 Arguments.of(
                         asList(greaterThanEqual("priority", 1)),
-                        "FROM org.kie.kogito.index.model.ProcessInstance o WHERE o.priority >= 1"),
+                        "FROM org.kie.kogito.index.model.ProcessInstance o WHERE o.priority >= :p1",
+                        Map.of("p1", 1)),
                 Arguments.of(
                         asList(lessThan("priority", 1)),
-                        "FROM org.kie.kogito.index.model.ProcessInstance o WHERE o.priority < 1"),
+                        "FROM org.kie.kogito.index.model.ProcessInstance o WHERE o.priority < :p1",
+                        Map.of("p1", 1)),
                 Arguments.of(
                         asList(lessThanEqual("priority", 1)),
-                        "FROM org.kie.kogito.index.model.ProcessInstance o WHERE o.priority <= 1"),
+                        "FROM org.kie.kogito.index.model.ProcessInstance o WHERE o.priority <= :p1",
+                        Map.of("p1", 1)),
                 Arguments.of(
                         asList(and(asList(lessThanEqual("priority", 1), greaterThan("priority", 1)))),
-                        "FROM org.kie.kogito.index.model.ProcessInstance o WHERE (o.priority <= 1 and o.priority > 1)"),
+                        "FROM org.kie.kogito.index.model.ProcessInstance o WHERE (o.priority <= :p1 and o.priority > :p2)",
+                        Map.of("p1", 1, "p2", 1)),
                 Arguments.of(
                         asList(or(asList(lessThanEqual("priority", 1), greaterThan("priority", 1)))),
-                        "FROM org.kie.kogito.index.model.ProcessInstance o WHERE (o.priority <= 1 or o.priority > 1)"),
+                        "FROM org.kie.kogito.index.model.ProcessInstance o WHERE (o.priority <= :p1 or o.priority > :p2)",
+                        Map.of("p1", 1, "p2", 1)),
                 Arguments.of(
                         asList(and(asList(notNull("name"), contains("name", "test"))), or(asList(lessThanEqual("priority", 1), greaterThan("priority", 1)))),
-                        "FROM org.kie.kogito.index.model.ProcessInstance o WHERE (o.name is not null and o.name = 'test') and (o.priority <= 1 or o.priority > 1)"),
+                        "FROM org.kie.kogito.index.model.ProcessInstance o WHERE (o.name is not null and o.name = :p1) and (o.priority <= :p2 or o.priority > :p3)",
+                        Map.of("p1", "test", "p2", 1, "p3", 1)),
                 Arguments.of(
                         asList(or(asList(isNull("name"), contains("name", "test"))),
                                 and(asList(between("start", "2019-01-01", "2020-01-01"), or(asList(lessThanEqual("priority", 1), greaterThan("priority", 1)))))),
-                        "FROM org.kie.kogito.index.model.ProcessInstance o WHERE (o.name is null or o.name = 'test') and (o.start between '2019-01-01' and '2020-01-01' and (o.priority <= 1 or o.priority > 1))"),
+                        "FROM org.kie.kogito.index.model.ProcessInstance o WHERE (o.name is null or o.name = :p1) and (o.start between :p2 and :p3 and (o.priority <= :p4 or o.priority > :p5))",
+                        Map.of("p1", "test", "p2", "2019-01-01", "p3", "2020-01-01", "p4", 1, "p5", 1)),
                 Arguments.of(
                         asList(not(equalTo("priority", 1))),
-                        "FROM org.kie.kogito.index.model.ProcessInstance o WHERE not o.priority = 1"));
+                        "FROM org.kie.kogito.index.model.ProcessInstance o WHERE not o.priority = :p1",
+                        Map.of("p1", 1)));
     }
 
     @BeforeEach
@@ -187,13 +211,55 @@ class InfinispanQueryTest {
 
     @ParameterizedTest
     @MethodSource("provideFilters")
-    void assertQueryFilters(List<AttributeFilter<?>> filters, String queryString) {
+    void assertQueryFilters(List<AttributeFilter<?>> filters, String queryString, Map<String, Object> parameters) {
         InfinispanQuery query = new InfinispanQuery(factory, rootType);
         query.filter(filters);
 
         query.execute();
 
         verify(factory).create(queryString);
+        if (parameters.isEmpty()) {
+            verify(mockQuery, never()).setParameters(any());
+        } else {
+            verify(mockQuery).setParameters(parameters);
+        }
         verify(queryResult).list();
     }
+
+    @Test
+    void testQueriesWithSameShapeAreReused() {
+        InfinispanQueryCache queryCache = new InfinispanQueryCache();
+
+        new InfinispanQuery(factory, rootType, queryCache).filter(asList(equalTo("id", "a"))).execute();
+        new InfinispanQuery(factory, rootType, queryCache).filter(asList(equalTo("id", "b"))).limit(10).execute();
+
+        verify(factory, times(1)).create("FROM org.kie.kogito.index.model.ProcessInstance o WHERE o.id = :p1");
+        verify(mockQuery).setParameters(Map.of("p1", "a"));
+        verify(mockQuery).setParameters(Map.of("p1", "b"));
+        verify(mockQuery).maxResults(-1);
+        verify(mockQuery).maxResults(10);
+        verify(queryResult, times(2)).list();
+    }
+
+    @Test
+    void testCountIsExact() {
+        when(queryResult.count().isExact()).thenReturn(true);
+        when(queryResult.count().value()).thenReturn(20000);
+        InfinispanQueryCache queryCache = new InfinispanQueryCache();
+
+        assertThat(new InfinispanQuery(factory, rootType, queryCache).filter(asList(equalTo("id", "a"))).count()).isEqualTo(20000);
+        new InfinispanQuery(factory, rootType, queryCache).filter(asList(equalTo("id", "b"))).execute();
+
+        // the count query is not reused by the list query, which keeps the default hit count accuracy
+        verify(factory, times(2)).create("FROM org.kie.kogito.index.model.ProcessInstance o WHERE o.id = :p1");
+        verify(mockQuery).hitCountAccuracy(Integer.MAX_VALUE);
+        verify(mockQuery).maxResults(1);
+    }
+
+    @Test
+    void testCountFailsWhenApproximate() {
+        when(queryResult.count().isExact()).thenReturn(false);
+
+        assertThatThrownBy(() -> new InfinispanQuery(factory, rootType).count()).isInstanceOf(IllegalStateException.class);
+    }
 }
@@ -18,12 +18,16 @@
  */
 package org.kie.kogito.persistence.postgresql;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.AvailableHints;
 import org.hibernate.type.CustomType;
 import org.hibernate.type.spi.TypeConfiguration;
 import org.kie.kogito.persistence.api.query.AttributeFilter;
@@ -40,6 +44,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 
 import static java.lang.String.format;
 import static java.util.stream.Collectors.joining;
+import static org.kie.kogito.persistence.api.query.QueryFilterFactory.after;
 
 public class PostgresQuery<T> implements Query<T> {
 
@@ -47,6 +52,9 @@ public class PostgresQuery<T> implements Query<T> {
     private static final String AND = " AND ";
     private static final String OR = " OR ";
     private static final String ATTRIBUTE_ACCESSOR = "(json_value->>'%s')";
+    // JSON null values are sorted as SQL nulls, which PostgreSQL places last in ascending order
+    private static final String SORT_ACCESSOR = "nullif(json_value->'%s', cast('null' as jsonb))";
+    static final int STREAM_FETCH_SIZE = 500;
 
     private final String name;
     private final CacheEntityRepository repository;
@@ -57,20 +65,22 @@ public class PostgresQuery<T> implements Query<T> {
     private Integer offset;
     private List<AttributeFilter<?>> filters;
     private List<AttributeSort> sortBy;
-    private Map<String, JsonField> fields;
+    private List<Object> searchAfter;
 
     private static final class JsonField {
 
         String name;
         Object value;
+        boolean sorted;
 
-        JsonField(String name) {
-            this(name, null);
+        JsonField(String name, Object value) {
+            this(name, value, false);
         }
 
-        JsonField(String name, Object value) {
+        JsonField(String name, Object value, boolean sorted) {
             this.name = name;
             this.value = value;
+            this.sorted = sorted;
         }
     }
 
@@ -105,41 +115,32 @@ public class PostgresQuery<T> implements Query<T> {
         return this;
     }
 
+    @Override
+    public Query<T> searchAfter(Object... sortValues) {
+        this.searchAfter = sortValues == null ? null : Arrays.asList(sortValues);
+        return this;
+    }
+
     @Override
     public List<T> execute() {
-        //Get type information from filters/sorting to cast JSON document fields in query
-        fields = addFilters(new HashMap<>(), filters);
-        if (sortBy != null && !sortBy.isEmpty()) {
-            sortBy.stream().filter(sortBy -> !fields.containsKey(sortBy.getAttribute()))
-                    .forEach(sortBy -> fields.put(sortBy.getAttribute(),
-                            new JsonField(sortBy.getAttribute())));
-        }
+        return createQuery().getResultStream().map(this::toValue).collect(Collectors.toList());
+    }
 
-        // Build the query to retrieve the filtered data from the temporary table above.
-        StringBuilder queryString = new StringBuilder("SELECT * FROM kogito_data_cache")
-                .append(" WHERE cache_name = '")
-                .append(name)
-                .append("'");
-        if (filters != null && !filters.isEmpty()) {
-            queryString.append(" AND ");
-            queryString.append(filters.stream()
-                    .map(filter -> new StringBuilder()
-                            .append(filterStringFunction(filter)))
-                    .collect(joining(AND)));
-        }
+    @Override
+    public Stream<T> stream() {
+        return StreamTransactions.stream(() -> createQuery().setHint(AvailableHints.HINT_FETCH_SIZE, STREAM_FETCH_SIZE).getResultStream().map(this::toValue));
+    }
 
-        // Sorting
-        if (sortBy != null && !sortBy.isEmpty()) {
-            queryString.append(" ORDER BY ");
-            queryString.append(sortBy.stream().map(f -> {
-                final JsonField field = fields.get(f.getAttribute());
-                return cast(field, format(ATTRIBUTE_ACCESSOR, f.getAttribute())).append(" ").append(f.getSort().name());
-            }).collect(joining(", ")));
-        }
+    private jakarta.persistence.Query createQuery() {
+        List<Object> parameters = new ArrayList<>();
+        String queryString = toSql(parameters);
 
-        LOGGER.debug("Executing PostgreSQL query: {}", queryString);
-        jakarta.persistence.Query query = repository.getEntityManager().createNativeQuery(queryString.toString());
+        LOGGER.debug("Executing PostgreSQL query: {} with parameters {}", queryString, parameters);
+        jakarta.persistence.Query query = repository.getEntityManager().createNativeQuery(queryString);
         query.unwrap(org.hibernate.query.NativeQuery.class).addScalar("json_value", new CustomType<>(new JsonBinaryType(), new TypeConfiguration()));
+        for (int i = 0; i < parameters.size(); i++) {
+            query.setParameter(i + 1, parameters.get(i));
+        }
 
         if (limit != null) {
             query.setMaxResults(limit);
@@ -147,19 +148,56 @@ public class PostgresQuery<T> implements Query<T> {
         if (offset != null) {
             query.setFirstResult(offset);
         }
+        return query;
+    }
+
+    private T toValue(Object result) {
+        if (result == null) {
+            return null;
+        }
+        try {
+            return objectMapper.readValue(objectMapper.writeValueAsString(result), type);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException(e);
+        }
+    }
 
-        List<?> results = query.getResultList();
+    /**
+     * Builds the SQL text of the query. Values are never inlined: they are added to the given list and referenced
+     * through positional parameters, so queries only differing in their values share the same statement and plan.
+     */
+    String toSql(List<Object> parameters) {
+        //Get type information from filters to cast JSON document fields in query
+        Map<String, JsonField> fields = addFilters(new HashMap<>(), filters);
+        // sort attributes are compared as jsonb, which orders numbers numerically without knowing their type, so the
+        // order and the keyset filter of every page do not depend on the filters
+        Map<String, JsonField> sortFields = new HashMap<>();
+        if (sortBy != null) {
+            sortBy.forEach(sort -> sortFields.put(sort.getAttribute(), new JsonField(sort.getAttribute(), null, true)));
+        }
 
-        return results.stream().map(r -> {
-            if (r == null) {
-                return null;
-            }
-            try {
-                return objectMapper.readValue(objectMapper.writeValueAsString(r), type);
-            } catch (JsonProcessingException e) {
-                throw new RuntimeException(e);
-            }
-        }).collect(Collectors.toList());
+        StringBuilder queryString = new StringBuilder("SELECT * FROM kogito_data_cache")
+                .append(" WHERE cache_name = ")
+                .append(parameter(parameters, name));
+        if (filters != null && !filters.isEmpty()) {
+            queryString.append(" AND ");
+            queryString.append(filters.stream()
+                    .map(filter -> filterStringFunction(filter, fields, parameters))
+                    .collect(joining(AND)));
+        }
+        if (searchAfter != null) {
+            // PostgreSQL sorts null values last in ascending order
+            queryString.append(" AND ").append(filterStringFunction(after(sortBy, searchAfter, true), sortFields, parameters));
+        }
+
+        // Sorting
+        if (sortBy != null && !sortBy.isEmpty()) {
+            queryString.append(" ORDER BY ");
+            queryString.append(sortBy.stream()
+                    .map(f -> cast(sortFields.get(f.getAttribute()), accessor(f.getAttribute())).append(f.getSort().name()))
+                    .collect(joining(", ")));
+        }
+        return queryString.toString();
     }
 
     @SuppressWarnings("unchecked")
@@ -214,81 +252,103 @@ public class PostgresQuery<T> implements Query<T> {
     }
 
     @SuppressWarnings("unchecked")
-    private String filterStringFunction(AttributeFilter<?> filter) {
+    private String filterStringFunction(AttributeFilter<?> filter, Map<String, JsonField> fields, List<Object> parameters) {
         JsonField field = fields.get(filter.getAttribute());
         switch (filter.getCondition()) {
             case CONTAINS:
-                return cast(field, format(ATTRIBUTE_ACCESSOR, filter.getAttribute()))
-                        .append(format("= %s", getValueForQueryString(filter.getValue())))
+                return cast(field, accessor(filter.getAttribute()))
+                        .append("= ").append(parameter(parameters, filter.getValue()))
                         .toString();
             case CONTAINS_ALL:
                 return (String) ((List) filter.getValue())
                         .stream()
-                        .map(o -> cast(field, format(ATTRIBUTE_ACCESSOR, filter.getAttribute()))
-                                .append(format("= %s", getValueForQueryString(o))))
+                        .map(o -> cast(field, accessor(filter.getAttribute()))
+                                .append("= ").append(parameter(parameters, o)))
                         .collect(joining(AND));
             case CONTAINS_ANY:
                 return (String) ((List) filter.getValue())
                         .stream()
-                        .map(o -> cast(field, format(ATTRIBUTE_ACCESSOR, filter.getAttribute()))
-                                .append(format("= %s", getValueForQueryString(o))))
+                        .map(o -> cast(field, accessor(filter.getAttribute()))
+                                .append("= ").append(parameter(parameters, o)))
                         .collect(joining(OR));
             case LIKE:
-                return cast(field, format(ATTRIBUTE_ACCESSOR, filter.getAttribute()))
-                        .append(format("LIKE %s", getValueForQueryString(filter.getValue())))
-                        .toString()
-                        .replaceAll("\\*", "%");
+                return cast(field, accessor(filter.getAttribute()))
+                        .append("LIKE ").append(parameter(parameters, filter.getValue().toString().replace('*', '%')))
+                        .toString();
             case EQUAL:
-                return cast(field, format(ATTRIBUTE_ACCESSOR, filter.getAttribute()))
-                        .append(format("= %s", getValueForQueryString(filter.getValue())))
+                return cast(field, accessor(filter.getAttribute()))
+                        .append("= ").append(value(field, parameters, filter.getValue()))
                         .toString();
             case IN:
-                return cast(field, format(ATTRIBUTE_ACCESSOR, filter.getAttribute()))
-                        .append(format("IN (%s)", ((List) filter.getValue()).stream().map(PostgresQuery::getValueForQueryString).collect(joining(", "))))
+                return cast(field, accessor(filter.getAttribute()))
+                        .append(format("IN (%s)", ((List<Object>) filter.getValue()).stream().map(o -> parameter(parameters, o)).collect(joining(", "))))
                         .toString();
             case IS_NULL:
-                return cast(field, format(ATTRIBUTE_ACCESSOR, filter.getAttribute()))
+                return cast(field, accessor(filter.getAttribute()))
                         .append("IS NULL")
                         .toString();
             case NOT_NULL:
-                return cast(field, format(ATTRIBUTE_ACCESSOR, filter.getAttribute()))
+                return cast(field, accessor(filter.getAttribute()))
                         .append("IS NOT NULL")
                         .toString();
             case BETWEEN:
                 List<Object> value = (List<Object>) filter.getValue();
-                return cast(field, format(ATTRIBUTE_ACCESSOR, filter.getAttribute()))
-                        .append(format("BETWEEN %s AND %s", getValueForQueryString(value.get(0)), getValueForQueryString(value.get(1))))
+                return cast(field, accessor(filter.getAttribute()))
+                        .append(format("BETWEEN %s AND %s", parameter(parameters, value.get(0)), parameter(parameters, value.get(1))))
                         .toString();
             case GT:
-                return cast(field, format(ATTRIBUTE_ACCESSOR, filter.getAttribute()))
-                        .append(format("> %s", getValueForQueryString(filter.getValue())))
+                return cast(field, accessor(filter.getAttribute()))
+                        .append("> ").append(value(field, parameters, filter.getValue()))
                         .toString();
             case GTE:
-                return cast(field, format(ATTRIBUTE_ACCESSOR, filter.getAttribute()))
-                        .append(format(">= %s", getValueForQueryString(filter.getValue())))
+                return cast(field, accessor(filter.getAttribute()))
+                        .append(">= ").append(value(field, parameters, filter.getValue()))
                         .toString();
             case LT:
-                return cast(field, format(ATTRIBUTE_ACCESSOR, filter.getAttribute()))
-                        .append(format("< %s", getValueForQueryString(filter.getValue())))
+                return cast(field, accessor(filter.getAttribute()))
+                        .append("< ").append(value(field, parameters, filter.getValue()))
                         .toString();
             case LTE:
-                return cast(field, format(ATTRIBUTE_ACCESSOR, filter.getAttribute()))
-                        .append(format("<= %s", getValueForQueryString(filter.getValue())))
+                return cast(field, accessor(filter.getAttribute()))
+                        .append("<= ").append(value(field, parameters, filter.getValue()))
                         .toString();
             case OR:
-                return getRecursiveString(filter, OR);
+                return getRecursiveString(filter, OR, fields, parameters);
             case AND:
-                return getRecursiveString(filter, AND);
+                return getRecursiveString(filter, AND, fields, parameters);
             case NOT:
-                return format("not %s", filterStringFunction((AttributeFilter<?>) filter.getValue()));
+                return format("not %s", filterStringFunction((AttributeFilter<?>) filter.getValue(), fields, parameters));
             default:
                 return null;
         }
     }
 
+    // Attribute names are part of the statement shape, only their quotes need escaping
+    private static String accessor(String attribute) {
+        return format(ATTRIBUTE_ACCESSOR, attribute.replace("'", "''"));
+    }
+
+    // Numbers are compared against the numeric cast of the attribute, any other value against its text
+    private static String parameter(List<Object> parameters, Object value) {
+        parameters.add(value instanceof Number ? value : value.toString());
+        return "?" + parameters.size();
+    }
+
+    // Values of sort attributes are compared as jsonb, like they are ordered
+    private static String value(JsonField field, List<Object> parameters, Object value) {
+        if (!field.sorted) {
+            return parameter(parameters, value);
+        }
+        String type = value instanceof Number ? "numeric" : value instanceof Boolean ? "boolean" : "text";
+        return format("to_jsonb(cast(%s as %s))", parameter(parameters, value), type);
+    }
+
     // Text values extracted from the JSON structure may need casting into primitive types
     private static StringBuilder cast(JsonField field, String accessor) {
         StringBuilder cast = new StringBuilder();
+        if (field.sorted) {
+            return cast.append(format(SORT_ACCESSOR, field.name.replace("'", "''"))).append(" ");
+        }
         Object value = field.value;
         if (value instanceof Number) {
             cast.append("(").append(accessor).append(")\\:\\:numeric ");
@@ -298,15 +358,11 @@ public class PostgresQuery<T> implements Query<T> {
         return cast;
     }
 
-    private static String getValueForQueryString(Object value) {
-        return value instanceof String ? "'" + value + "'" : value.toString();
-    }
-
     @SuppressWarnings("unchecked")
-    private String getRecursiveString(AttributeFilter<?> filter, String joining) {
+    private String getRecursiveString(AttributeFilter<?> filter, String joining, Map<String, JsonField> fields, List<Object> parameters) {
         return ((List<AttributeFilter<?>>) filter.getValue())
                 .stream()
-                .map(this::filterStringFunction)
+                .map(f -> filterStringFunction(f, fields, parameters))
                 .collect(joining(joining, "(", ")"));
     }
 }
@@ -18,8 +18,13 @@
  */
 package org.kie.kogito.persistence.postgresql;
 
+import java.util.AbstractMap.SimpleImmutableEntry;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
-import java.util.Optional;
+import java.util.Set;
 import java.util.function.Function;
 
 import org.kie.kogito.persistence.api.Storage;
@@ -30,16 +35,23 @@ import org.kie.kogito.persistence.postgresql.model.CacheId;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.node.ObjectNode;
 
 import io.smallrye.mutiny.Multi;
 
+import jakarta.persistence.EntityManager;
+
 import static java.lang.String.format;
+import static java.util.stream.Collectors.toList;
 import static java.util.stream.Collectors.toMap;
 
 public class PostgresStorage<V> implements Storage<String, V> {
 
     private static final String LISTENER_NOT_AVAILABLE_IN_POSTGRES_SQL = "Listener not available in PostgresSQL";
+    // rows per statement, keeps the bind parameters of a batch well below the PostgreSQL protocol limit
+    private static final int BATCH_SIZE = 500;
+    private static final String UPSERT_INSERT = "insert into kogito_data_cache (cache_name, var_name, json_value) values ";
+    private static final String UPSERT_CONFLICT = " on conflict (cache_name, var_name) do update set json_value = excluded.json_value";
+    private static final String EXISTS = "select exists(select 1 from kogito_data_cache where cache_name = ?1 and var_name = ?2)";
     private CacheEntityRepository repository;
     private String cacheName;
     private Class<V> type;
@@ -99,24 +111,86 @@ public class PostgresStorage<V> implements Storage<String, V> {
 
     @Override
     public V put(String key, V value) {
-        ObjectNode json;
-        if (String.class.equals(type)) {
-            json = mapper.createObjectNode();
-            json.put("value", (String) value);
-        } else {
-            json = mapper.valueToTree(value);
+        upsert(List.of(new SimpleImmutableEntry<>(key, value)));
+        return value;
+    }
+
+    @Override
+    public void putAll(Map<String, V> elements) {
+        if (!elements.isEmpty()) {
+            upsert(new ArrayList<>(elements.entrySet()));
+        }
+    }
+
+    private void upsert(List<Map.Entry<String, V>> elements) {
+        EntityManager em = repository.getEntityManager();
+        em.flush();
+        for (List<Map.Entry<String, V>> batch : partition(elements)) {
+            StringBuilder sql = new StringBuilder(UPSERT_INSERT);
+            for (int i = 0; i < batch.size(); i++) {
+                sql.append(i == 0 ? "" : ", ").append(format("(?%d, ?%d, cast(?%d as jsonb))", 3 * i + 1, 3 * i + 2, 3 * i + 3));
+            }
+            sql.append(UPSERT_CONFLICT);
+            jakarta.persistence.Query query = em.createNativeQuery(sql.toString());
+            for (int i = 0; i < batch.size(); i++) {
+                Map.Entry<String, V> element = batch.get(i);
+                query.setParameter(3 * i + 1, cacheName);
+                query.setParameter(3 * i + 2, element.getKey());
+                query.setParameter(3 * i + 3, writeJson(element.getValue()));
+            }
+            query.executeUpdate();
         }
-        CacheId cacheId = new CacheId(cacheName, key);
-        Optional<CacheEntity> byId = repository.findByIdOptional(cacheId);
-        CacheEntity entity;
-        if (byId.isPresent()) {
-            entity = byId.get();
-        } else {
-            entity = new CacheEntity(cacheName, key);
+        evict(elements.stream().map(Map.Entry::getKey).collect(toList()));
+    }
+
+    private String writeJson(V value) {
+        try {
+            // values are serialized straight to text, without building an intermediate JsonNode tree
+            if (String.class.equals(type)) {
+                return mapper.writeValueAsString(mapper.createObjectNode().put("value", (String) value));
+            }
+            return mapper.writeValueAsString(value);
+        } catch (JsonProcessingException ex) {
+            throw new RuntimeException(format("Failed to convert type %s into JSON", rootType), ex);
         }
-        entity.setValue(json);
-        repository.persist(entity);
-        return value;
+    }
+
+    /**
+     * Detaches the entities of the given keys that the persistence context may hold, so that the rows written or
+     * deleted by bulk statements are not shadowed by stale managed instances. References are used so no row is loaded.
+     */
+    protected void evict(Collection<String> keys) {
+        EntityManager em = repository.getEntityManager();
+        keys.forEach(key -> em.detach(em.getReference(CacheEntity.class, new CacheId(cacheName, key))));
+    }
+
+    @Override
+    public Map<String, V> getAll(Set<String> keys) {
+        Map<String, V> result = new HashMap<>();
+        for (List<String> batch : partition(new ArrayList<>(keys))) {
+            repository.list("name = ?1 and key in ?2", cacheName, batch).forEach(entity -> result.put(entity.getKey(), mapper().apply(entity)));
+        }
+        return result;
+    }
+
+    @Override
+    public void removeAll(Set<String> keys) {
+        if (keys.isEmpty()) {
+            return;
+        }
+        repository.getEntityManager().flush();
+        for (List<String> batch : partition(new ArrayList<>(keys))) {
+            repository.delete("name = ?1 and key in ?2", cacheName, batch);
+        }
+        evict(keys);
+    }
+
+    private static <T> List<List<T>> partition(List<T> elements) {
+        List<List<T>> batches = new ArrayList<>();
+        for (int i = 0; i < elements.size(); i += BATCH_SIZE) {
+            batches.add(elements.subList(i, Math.min(i + BATCH_SIZE, elements.size())));
+        }
+        return batches;
     }
 
     @Override
@@ -130,7 +204,10 @@ public class PostgresStorage<V> implements Storage<String, V> {
 
     @Override
     public boolean containsKey(String key) {
-        return repository.count("name = ?1 and key = ?2", cacheName, key) == 1;
+        return (Boolean) repository.getEntityManager().createNativeQuery(EXISTS)
+                .setParameter(1, cacheName)
+                .setParameter(2, key)
+                .getSingleResult();
     }
 
     @Override
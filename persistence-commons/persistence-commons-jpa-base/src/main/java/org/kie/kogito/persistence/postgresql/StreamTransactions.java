@@ -0,0 +1,69 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.kie.kogito.persistence.postgresql;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import org.eclipse.microprofile.config.ConfigProvider;
+
+import io.quarkus.narayana.jta.QuarkusTransaction;
+
+/**
+ * Streams query results with a database cursor, which PostgreSQL only keeps open inside a transaction, otherwise the
+ * whole result set is read at once.
+ */
+public final class StreamTransactions {
+
+    /**
+     * Timeout of the read transaction started to stream results, which usually outlasts regular transactions.
+     */
+    public static final String STREAM_TRANSACTION_TIMEOUT = "kogito.persistence.query.stream.transaction-timeout";
+    private static final Duration DEFAULT_STREAM_TRANSACTION_TIMEOUT = Duration.ofHours(1);
+
+    private StreamTransactions() {
+    }
+
+    /**
+     * Opens the results within the active transaction, or within a read transaction started when none is active and
+     * ended when the stream is closed. The stream must be consumed and closed by the calling thread.
+     */
+    public static <T> Stream<T> stream(Supplier<Stream<T>> results) {
+        boolean ownTransaction = !QuarkusTransaction.isActive();
+        if (ownTransaction) {
+            QuarkusTransaction.begin(QuarkusTransaction.beginOptions().timeout(streamTransactionTimeout()));
+        }
+        try {
+            Stream<T> stream = results.get();
+            // the transaction only reads, nothing to commit
+            return ownTransaction ? stream.onClose(QuarkusTransaction::rollback) : stream;
+        } catch (RuntimeException e) {
+            if (ownTransaction) {
+                QuarkusTransaction.rollback();
+            }
+            throw e;
+        }
+    }
+
+    private static int streamTransactionTimeout() {
+        return (int) ConfigProvider.getConfig().getOptionalValue(STREAM_TRANSACTION_TIMEOUT, Duration.class)
+                .orElse(DEFAULT_STREAM_TRANSACTION_TIMEOUT).toSeconds();
+    }
+}
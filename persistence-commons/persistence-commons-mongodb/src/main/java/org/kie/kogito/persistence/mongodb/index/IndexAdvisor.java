@@ -0,0 +1,286 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.kie.kogito.persistence.mongodb.index;
+
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.UnaryOperator;
+import java.util.stream.StreamSupport;
+
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.kie.kogito.persistence.api.query.AttributeFilter;
+import org.kie.kogito.persistence.api.query.AttributeSort;
+import org.kie.kogito.persistence.mongodb.client.MongoClientManager;
+import org.kie.kogito.persistence.mongodb.index.IndexRecommendation.Status;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.mongodb.ExplainVerbosity;
+import com.mongodb.client.FindIterable;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.IndexOptions;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.inject.Instance;
+import jakarta.inject.Inject;
+
+import static java.util.stream.Collectors.toList;
+import static org.kie.kogito.persistence.mongodb.index.IndexManager.INDEX_NAME_FIELD;
+import static org.kie.kogito.persistence.mongodb.index.IndexManager.MAX_INDEX_NUMBER;
+
+/**
+ * Samples the shapes of the executed queries and explains them in the background, recommending a compound index for the
+ * shapes whose winning plan scans the whole collection. Recommended indexes are created on request or, when
+ * {@code auto-create} is enabled, as soon as a shape reaches the collection scan threshold, within the configured limits.
+ */
+@ApplicationScoped
+public class IndexAdvisor {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(IndexAdvisor.class);
+
+    static final String INDEX_PREFIX = "advisor_";
+
+    static final String COLLECTION_SCAN = "COLLSCAN";
+
+    private static final int QUEUE_SIZE = 100;
+
+    Map<String, Advice> advices = new ConcurrentHashMap<>();
+
+    @ConfigProperty(name = "kogito.apps.persistence.index-advisor.enabled", defaultValue = "false")
+    Boolean enabled;
+
+    @ConfigProperty(name = "kogito.apps.persistence.index-advisor.sample-rate", defaultValue = "0.01")
+    Double sampleRate;
+
+    @ConfigProperty(name = "kogito.apps.persistence.index-advisor.collection-scan-threshold", defaultValue = "5")
+    Integer collectionScanThreshold;
+
+    @ConfigProperty(name = "kogito.apps.persistence.index-advisor.max-recommendations", defaultValue = "1000")
+    Integer maxRecommendations;
+
+    @ConfigProperty(name = "kogito.apps.persistence.index-advisor.max-fields", defaultValue = "4")
+    Integer maxFields;
+
+    @ConfigProperty(name = "kogito.apps.persistence.index-advisor.auto-create", defaultValue = "false")
+    Boolean autoCreate;
+
+    @ConfigProperty(name = "kogito.apps.persistence.index-advisor.max-indexes-per-collection", defaultValue = "5")
+    Integer maxIndexesPerCollection;
+
+    @Inject
+    Instance<MongoClientManager> mongoClientManager;
+
+    ExecutorService executorService;
+
+    @PostConstruct
+    void init() {
+        // samples are dropped, rather than queued without bound, when the explains fall behind the queries
+        executorService = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(QUEUE_SIZE), new ThreadPoolExecutor.DiscardPolicy());
+    }
+
+    @PreDestroy
+    void destroy() {
+        executorService.shutdownNow();
+    }
+
+    /**
+     * Samples a query about to be executed, explaining it in the background.
+     */
+    public void sample(MongoCollection<?> collection, List<AttributeFilter<?>> filters, List<AttributeSort> sortBy, UnaryOperator<String> attributeMapper,
+            Bson query, Bson sort) {
+        if (!Boolean.TRUE.equals(enabled) || ThreadLocalRandom.current().nextDouble() >= sampleRate) {
+            return;
+        }
+        QueryShape shape = QueryShape.of(collection.getNamespace().getCollectionName(), filters, sortBy, attributeMapper);
+        if (shape.isEmpty()) {
+            return;
+        }
+        executorService.execute(() -> explain(collection, shape, query, sort));
+    }
+
+    void explain(MongoCollection<?> collection, QueryShape shape, Bson query, Bson sort) {
+        try {
+            FindIterable<?> find = collection.find(query);
+            if (sort != null) {
+                find = find.sort(sort);
+            }
+            Document plan = find.explain(ExplainVerbosity.QUERY_PLANNER);
+            record(shape, isWinningPlanCollectionScan(plan));
+        } catch (RuntimeException e) {
+            LOGGER.warn("Could not explain query shape {}", shape, e);
+        }
+    }
+
+    void record(QueryShape shape, boolean collectionScan) {
+        Map<String, Integer> keys = shape.getIndexKeys(maxFields);
+        String indexName = INDEX_PREFIX + UUID.nameUUIDFromBytes((shape.getCollection() + keys).getBytes());
+        Advice advice = advices.get(indexName);
+        if (advice == null) {
+            if (advices.size() >= maxRecommendations) {
+                return;
+            }
+            advice = advices.computeIfAbsent(indexName, name -> new Advice(shape.getCollection(), name, keys));
+        }
+        advice.samples.incrementAndGet();
+        if (collectionScan) {
+            long collectionScans = advice.collectionScans.incrementAndGet();
+            if (collectionScans == collectionScanThreshold) {
+                LOGGER.info("Query shape {} was executed with {} collection scans, recommending index {} {}", shape, collectionScans, indexName, keys);
+                if (Boolean.TRUE.equals(autoCreate)) {
+                    create(advice);
+                }
+            }
+        }
+    }
+
+    /**
+     * @return the recommendations for the query shapes that reached the collection scan threshold, most scanned first.
+     */
+    public List<IndexRecommendation> getRecommendations() {
+        return advices.values().stream()
+                .filter(advice -> advice.collectionScans.get() >= collectionScanThreshold)
+                .sorted(Comparator.comparingLong((Advice advice) -> advice.collectionScans.get()).reversed())
+                .map(Advice::toRecommendation)
+                .collect(toList());
+    }
+
+    /**
+     * Creates a recommended index, regardless of the {@code auto-create} setting but within the configured limits.
+     *
+     * @throws IllegalArgumentException if there is no recommendation for that index.
+     */
+    public IndexRecommendation createIndex(String indexName) {
+        Advice advice = advices.get(indexName);
+        if (advice == null) {
+            throw new IllegalArgumentException("There is no recommendation for index " + indexName);
+        }
+        create(advice);
+        return advice.toRecommendation();
+    }
+
+    synchronized void create(Advice advice) {
+        if (advice.status == Status.CREATED || advice.status == Status.EXISTS) {
+            return;
+        }
+        try {
+            MongoCollection<Document> collection = mongoClientManager.get().getCollection(advice.collection);
+            List<Document> indexes = StreamSupport.stream(collection.listIndexes().spliterator(), false).collect(toList());
+            if (indexes.stream().anyMatch(index -> covers(index.get("key", Document.class), advice.keys))) {
+                advice.update(Status.EXISTS, null);
+                return;
+            }
+            if (indexes.size() > MAX_INDEX_NUMBER) {
+                advice.update(Status.REJECTED, "Collection " + advice.collection + " reached the maximum number of indexes");
+                return;
+            }
+            long advisorIndexes = indexes.stream().filter(index -> index.getString(INDEX_NAME_FIELD).startsWith(INDEX_PREFIX)).count();
+            if (advisorIndexes >= maxIndexesPerCollection) {
+                advice.update(Status.REJECTED, "Collection " + advice.collection + " already has " + advisorIndexes + " recommended indexes");
+                return;
+            }
+            collection.createIndex(new Document(new LinkedHashMap<String, Object>(advice.keys)), new IndexOptions().name(advice.indexName));
+            advice.update(Status.CREATED, null);
+            LOGGER.info("Created index {} {} on collection {}", advice.indexName, advice.keys, advice.collection);
+        } catch (RuntimeException e) {
+            LOGGER.warn("Could not create index {} on collection {}", advice.indexName, advice.collection, e);
+            advice.update(Status.REJECTED, e.getMessage());
+        }
+    }
+
+    /**
+     * Whether an existing index, given its key document, starts with the given keys in the same order and direction.
+     */
+    static boolean covers(Document index, Map<String, Integer> keys) {
+        if (index == null || index.size() < keys.size()) {
+            return false;
+        }
+        Iterator<Map.Entry<String, Object>> existing = index.entrySet().iterator();
+        for (Map.Entry<String, Integer> key : keys.entrySet()) {
+            Map.Entry<String, Object> indexKey = existing.next();
+            if (!indexKey.getKey().equals(key.getKey()) || !(indexKey.getValue() instanceof Number)
+                    || (int) Math.signum(((Number) indexKey.getValue()).doubleValue()) != key.getValue()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Whether the plan chosen by the query planner is a collection scan, the rejected candidate plans are ignored.
+     */
+    static boolean isWinningPlanCollectionScan(Document explain) {
+        Object queryPlanner = explain.get("queryPlanner");
+        return queryPlanner instanceof Document && isCollectionScan(((Document) queryPlanner).get("winningPlan"));
+    }
+
+    /**
+     * Whether the plan, or any of its stages, is a collection scan.
+     */
+    static boolean isCollectionScan(Object plan) {
+        if (plan instanceof Document) {
+            Document document = (Document) plan;
+            return COLLECTION_SCAN.equals(document.get("stage")) || document.values().stream().anyMatch(IndexAdvisor::isCollectionScan);
+        }
+        if (plan instanceof List) {
+            return ((List<?>) plan).stream().anyMatch(IndexAdvisor::isCollectionScan);
+        }
+        return false;
+    }
+
+    static class Advice {
+
+        final String collection;
+        final String indexName;
+        final Map<String, Integer> keys;
+        final AtomicLong samples = new AtomicLong();
+        final AtomicLong collectionScans = new AtomicLong();
+        volatile Status status = Status.RECOMMENDED;
+        volatile String reason;
+
+        Advice(String collection, String indexName, Map<String, Integer> keys) {
+            this.collection = collection;
+            this.indexName = indexName;
+            this.keys = keys;
+        }
+
+        void update(Status status, String reason) {
+            this.status = status;
+            this.reason = reason;
+        }
+
+        IndexRecommendation toRecommendation() {
+            return new IndexRecommendation(collection, indexName, keys, samples.get(), collectionScans.get(), status, reason);
+        }
+    }
+}
@@ -55,7 +55,7 @@ import static java.util.stream.Collectors.toMap;
 @ApplicationScoped
 public class IndexManager {
 
-    private static final long MAX_INDEX_NUMBER = 63L;
+    static final long MAX_INDEX_NUMBER = 63L;
 
     static final String INDEX_NAME_FIELD = "name";
 
@@ -114,7 +114,9 @@ public class IndexManager {
         Map<String, IndexModel> indexNameMap = parsedIndexes.stream().collect(toMap(ind -> ind.getOptions().getName(), identity()));
 
         List<String> indexesExists = StreamSupport.stream(collection.listIndexes().spliterator(), false)
-                .map(document -> document.getString(INDEX_NAME_FIELD)).filter(name -> !DEFAULT_INDEX.equals(name)).collect(toList());
+                .map(document -> document.getString(INDEX_NAME_FIELD))
+                // the indexes created by the advisor are not declared in the schema
+                .filter(name -> !DEFAULT_INDEX.equals(name) && !name.startsWith(IndexAdvisor.INDEX_PREFIX)).collect(toList());
 
         indexesExists.forEach(ind -> {
             if (!indexNameMap.containsKey(ind)) {
@@ -0,0 +1,98 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.kie.kogito.persistence.mongodb.index;
+
+import java.util.Map;
+
+/**
+ * Compound index recommended by the {@link IndexAdvisor} for query shapes that were executed with collection scans.
+ */
+public class IndexRecommendation {
+
+    public enum Status {
+        RECOMMENDED,
+        CREATED,
+        EXISTS,
+        REJECTED
+    }
+
+    private final String collection;
+    private final String indexName;
+    private final Map<String, Integer> keys;
+    private final long samples;
+    private final long collectionScans;
+    private final Status status;
+    private final String reason;
+
+    IndexRecommendation(String collection, String indexName, Map<String, Integer> keys, long samples, long collectionScans, Status status, String reason) {
+        this.collection = collection;
+        this.indexName = indexName;
+        this.keys = keys;
+        this.samples = samples;
+        this.collectionScans = collectionScans;
+        this.status = status;
+        this.reason = reason;
+    }
+
+    public String getCollection() {
+        return collection;
+    }
+
+    public String getIndexName() {
+        return indexName;
+    }
+
+    /**
+     * @return the index keys in order, {@code 1} for ascending and {@code -1} for descending.
+     */
+    public Map<String, Integer> getKeys() {
+        return keys;
+    }
+
+    public long getSamples() {
+        return samples;
+    }
+
+    public long getCollectionScans() {
+        return collectionScans;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    /**
+     * @return why the index was rejected, {@code null} otherwise.
+     */
+    public String getReason() {
+        return reason;
+    }
+
+    @Override
+    public String toString() {
+        return "IndexRecommendation{" +
+                "collection='" + collection + '\'' +
+                ", indexName='" + indexName + '\'' +
+                ", keys=" + keys +
+                ", samples=" + samples +
+                ", collectionScans=" + collectionScans +
+                ", status=" + status +
+                '}';
+    }
+}
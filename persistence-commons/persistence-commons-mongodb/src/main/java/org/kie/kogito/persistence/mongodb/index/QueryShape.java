@@ -0,0 +1,116 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.kie.kogito.persistence.mongodb.index;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.function.UnaryOperator;
+
+import org.kie.kogito.persistence.api.query.AttributeFilter;
+import org.kie.kogito.persistence.api.query.AttributeSort;
+import org.kie.kogito.persistence.api.query.SortDirection;
+
+/**
+ * The shape of a query, the attributes it filters by equality, sorts by and filters by range, without the values.
+ */
+final class QueryShape {
+
+    private final String collection;
+    private final SortedSet<String> equalityFields = new TreeSet<>();
+    private final Map<String, Integer> sortFields = new LinkedHashMap<>();
+    private final SortedSet<String> rangeFields = new TreeSet<>();
+
+    private QueryShape(String collection) {
+        this.collection = collection;
+    }
+
+    static QueryShape of(String collection, List<AttributeFilter<?>> filters, List<AttributeSort> sortBy, UnaryOperator<String> attributeMapper) {
+        QueryShape shape = new QueryShape(collection);
+        if (filters != null) {
+            filters.forEach(filter -> shape.addFilter(filter, attributeMapper));
+        }
+        if (sortBy != null) {
+            sortBy.forEach(sort -> shape.sortFields.putIfAbsent(attributeMapper.apply(sort.getAttribute()), SortDirection.ASC.equals(sort.getSort()) ? 1 : -1));
+        }
+        return shape;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void addFilter(AttributeFilter<?> filter, UnaryOperator<String> attributeMapper) {
+        switch (filter.getCondition()) {
+            case EQUAL:
+            case CONTAINS:
+            case CONTAINS_ALL:
+            case CONTAINS_ANY:
+            case IN:
+                equalityFields.add(attributeMapper.apply(filter.getAttribute()));
+                break;
+            case LIKE:
+            case IS_NULL:
+            case NOT_NULL:
+            case GT:
+            case GTE:
+            case LT:
+            case LTE:
+            case BETWEEN:
+                rangeFields.add(attributeMapper.apply(filter.getAttribute()));
+                break;
+            case AND:
+                ((List<AttributeFilter<?>>) filter.getValue()).forEach(f -> addFilter(f, attributeMapper));
+                break;
+            default:
+                // disjunctions and negations are not served by a single compound index
+                break;
+        }
+    }
+
+    boolean isEmpty() {
+        return equalityFields.isEmpty() && sortFields.isEmpty() && rangeFields.isEmpty();
+    }
+
+    String getCollection() {
+        return collection;
+    }
+
+    /**
+     * Keys of the compound index serving this shape, following the equality, sort, range rule.
+     */
+    Map<String, Integer> getIndexKeys(int maxFields) {
+        Map<String, Integer> keys = new LinkedHashMap<>();
+        equalityFields.forEach(field -> keys.putIfAbsent(field, 1));
+        sortFields.forEach(keys::putIfAbsent);
+        rangeFields.forEach(field -> keys.putIfAbsent(field, 1));
+        Map<String, Integer> limited = new LinkedHashMap<>();
+        keys.entrySet().stream().limit(maxFields).forEach(e -> limited.put(e.getKey(), e.getValue()));
+        return limited;
+    }
+
+    @Override
+    public String toString() {
+        return "QueryShape{" +
+                "collection='" + collection + '\'' +
+                ", equality=" + equalityFields +
+                ", sort=" + sortFields +
+                ", range=" + rangeFields +
+                '}';
+    }
+}
@@ -18,15 +18,22 @@
  */
 package org.kie.kogito.persistence.mongodb.query;
 
-import java.util.LinkedList;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
+import org.bson.Document;
 import org.bson.conversions.Bson;
 import org.kie.kogito.persistence.api.query.AttributeFilter;
 import org.kie.kogito.persistence.api.query.AttributeSort;
 import org.kie.kogito.persistence.api.query.Query;
 import org.kie.kogito.persistence.api.query.SortDirection;
+import org.kie.kogito.persistence.mongodb.index.IndexAdvisor;
 import org.kie.kogito.persistence.mongodb.model.MongoEntityMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -36,27 +43,39 @@ import com.mongodb.client.FindIterable;
 import com.mongodb.client.MongoCollection;
 import com.mongodb.client.MongoCursor;
 
+import static com.mongodb.client.model.Projections.include;
 import static com.mongodb.client.model.Sorts.ascending;
 import static com.mongodb.client.model.Sorts.descending;
 import static com.mongodb.client.model.Sorts.orderBy;
 import static java.util.stream.Collectors.toList;
+import static org.kie.kogito.persistence.api.query.QueryFilterFactory.after;
 
 public class MongoQuery<V, E> implements Query<V> {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(MongoQuery.class);
+    private static final int STREAM_BATCH_SIZE = 500;
 
     Integer limit;
     Integer offset;
     List<AttributeFilter<?>> filters;
     List<AttributeSort> sortBy;
+    List<String> projection;
+    List<Object> searchAfter;
 
     MongoEntityMapper<V, E> mongoEntityMapper;
 
     MongoCollection<E> mongoCollection;
 
+    IndexAdvisor indexAdvisor;
+
     public MongoQuery(MongoCollection<E> mongoCollection, MongoEntityMapper<V, E> mongoEntityMapper) {
+        this(mongoCollection, mongoEntityMapper, null);
+    }
+
+    public MongoQuery(MongoCollection<E> mongoCollection, MongoEntityMapper<V, E> mongoEntityMapper, IndexAdvisor indexAdvisor) {
         this.mongoCollection = mongoCollection;
         this.mongoEntityMapper = mongoEntityMapper;
+        this.indexAdvisor = indexAdvisor;
     }
 
     @Override
@@ -83,14 +102,54 @@ public class MongoQuery<V, E> implements Query<V> {
         return this;
     }
 
+    @Override
+    public Query<V> projection(List<String> attributes) {
+        this.projection = attributes;
+        return this;
+    }
+
+    @Override
+    public Query<V> searchAfter(Object... sortValues) {
+        this.searchAfter = sortValues == null ? null : Arrays.asList(sortValues);
+        return this;
+    }
+
     @Override
     public List<V> execute() {
+        List<V> list = new ArrayList<>();
+        try (MongoCursor<E> cursor = find().iterator()) {
+            while (cursor.hasNext()) {
+                E e = cursor.next();
+                list.add(mongoEntityMapper.mapToModel(e));
+            }
+        }
+        return list;
+    }
+
+    @Override
+    public Stream<V> stream() {
+        FindIterable<E> find = find();
+        // documents are fetched from the server in batches as the stream is consumed
+        find = find.batchSize(this.limit == null ? STREAM_BATCH_SIZE : Math.min(this.limit, STREAM_BATCH_SIZE));
+        MongoCursor<E> cursor = find.iterator();
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(cursor, Spliterator.ORDERED), false)
+                .map(mongoEntityMapper::mapToModel)
+                .onClose(cursor::close);
+    }
+
+    private FindIterable<E> find() {
         MongoCollection<E> collection = this.mongoCollection;
-        Optional<Bson> query = QueryUtils.generateQuery(this.filters, mongoEntityMapper::convertToMongoAttribute);
+        List<AttributeFilter<?>> queryFilters = this.generateFilters();
+        Optional<Bson> query = QueryUtils.generateQuery(queryFilters, mongoEntityMapper::convertToMongoAttribute);
         Optional<Bson> sort = this.generateSort();
 
+        if (this.indexAdvisor != null) {
+            this.indexAdvisor.sample(collection, queryFilters, this.sortBy, mongoEntityMapper::convertToMongoAttribute, query.orElseGet(Document::new), sort.orElse(null));
+        }
+
         FindIterable<E> find = query.map(collection::find).orElseGet(collection::find);
         find = sort.map(find::sort).orElse(find);
+        find = this.generateProjection().map(find::projection).orElse(find);
         find = Optional.ofNullable(this.offset).map(find::skip).orElse(find);
         find = Optional.ofNullable(this.limit).map(find::limit).orElse(find);
 
@@ -98,14 +157,35 @@ public class MongoQuery<V, E> implements Query<V> {
             LOGGER.debug("-------------- Executing MongoDb query with { \"queryPlanner\": \"{}\"",
                     find.explain(ExplainVerbosity.QUERY_PLANNER).toBsonDocument().get("queryPlanner"));
         }
-        List<V> list = new LinkedList<>();
-        try (MongoCursor<E> cursor = find.iterator()) {
-            while (cursor.hasNext()) {
-                E e = cursor.next();
-                list.add(mongoEntityMapper.mapToModel(e));
-            }
+        return find;
+    }
+
+    @Override
+    public long count() {
+        Bson query = QueryUtils.generateQuery(this.filters, mongoEntityMapper::convertToMongoAttribute).orElseGet(Document::new);
+        return mongoCollection.countDocuments(query);
+    }
+
+    @Override
+    public long delete() {
+        Bson query = QueryUtils.generateQuery(this.filters, mongoEntityMapper::convertToMongoAttribute).orElseGet(Document::new);
+        return mongoCollection.deleteMany(query).getDeletedCount();
+    }
+
+    private List<AttributeFilter<?>> generateFilters() {
+        if (this.searchAfter == null) {
+            return this.filters;
         }
-        return list;
+        List<AttributeFilter<?>> keysetFilters = this.filters == null ? new ArrayList<>() : new ArrayList<>(this.filters);
+        // MongoDB places nulls first in ascending order
+        keysetFilters.add(after(this.sortBy, this.searchAfter, false));
+        return keysetFilters;
+    }
+
+    private Optional<Bson> generateProjection() {
+        // the _id field is included by default
+        return Optional.ofNullable(this.projection).filter(attributes -> !attributes.isEmpty())
+                .map(attributes -> include(attributes.stream().map(mongoEntityMapper::convertToMongoAttribute).collect(toList())));
     }
 
     private Optional<Bson> generateSort() {
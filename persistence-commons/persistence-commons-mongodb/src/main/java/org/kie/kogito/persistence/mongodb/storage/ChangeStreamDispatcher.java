@@ -0,0 +1,335 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.kie.kogito.persistence.mongodb.storage;
+
+import java.util.Date;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import org.bson.BsonDocument;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.mongodb.MongoException;
+import com.mongodb.client.ChangeStreamIterable;
+import com.mongodb.client.MongoChangeStreamCursor;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.ReplaceOptions;
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.infrastructure.Infrastructure;
+import io.smallrye.mutiny.operators.multi.processors.UnicastProcessor;
+
+import static com.mongodb.client.model.Aggregates.match;
+import static com.mongodb.client.model.Filters.eq;
+import static com.mongodb.client.model.Filters.in;
+import static com.mongodb.client.model.changestream.FullDocument.UPDATE_LOOKUP;
+import static java.util.Collections.singletonList;
+import static java.util.stream.Collectors.toSet;
+import static org.kie.kogito.persistence.mongodb.model.ModelUtils.MONGO_ID;
+import static org.kie.kogito.persistence.mongodb.storage.MongoStorage.OPERATION_TYPE;
+
+/**
+ * Watches a collection through a single change stream shared by all its subscribers.
+ * <p>
+ * The server side {@code $match} stage selects the operation types requested by the current subscribers, the stream is
+ * reopened from its resume token whenever they change. Each subscriber has a bounded buffer, an event arriving when the
+ * buffer of a slow subscriber is full is dropped or, with {@link OverflowPolicy#DROP_SUBSCRIBER}, the subscriber is
+ * failed. The stream is closed when the last subscriber leaves.
+ * <p>
+ * Without a tokens collection, the first subscriber of a stream receives the changes made after it subscribed only.
+ * When a tokens collection is given, the resume token is saved periodically and when the stream is closed, so the next
+ * stream, after a restart or once a subscriber comes back, resumes where the previous one stopped. Events are then
+ * delivered at least once, and the subscribers of that next stream also receive the changes made before they
+ * subscribed, since the previous stream stopped.
+ */
+public class ChangeStreamDispatcher<E> {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ChangeStreamDispatcher.class);
+
+    static final String TOKEN_FIELD = "token";
+
+    static final String UPDATED_FIELD = "updated";
+
+    private static final long TOKEN_SAVE_INTERVAL = 1000L;
+
+    private static final long RETRY_DELAY = 1000L;
+
+    private static final long DROPPED_LOG_INTERVAL = 1000L;
+
+    // InvalidResumeToken, ChangeStreamFatalError and ChangeStreamHistoryLost, the resume token can not be used anymore
+    private static final Set<Integer> LOST_TOKEN_CODES = Set.of(260, 280, 286);
+
+    public enum OverflowPolicy {
+        DROP_EVENTS,
+        DROP_SUBSCRIBER
+    }
+
+    private final MongoCollection<E> collection;
+    private final MongoCollection<Document> tokens;
+    private final String tokenId;
+    private final int bufferSize;
+    private final OverflowPolicy overflowPolicy;
+    // runs the loop reading the change stream
+    private final Executor executor;
+
+    private final Set<Subscription<?>> subscriptions = new CopyOnWriteArraySet<>();
+    // incremented whenever the subscriptions change, so the stream is reopened with the new pipeline
+    private final AtomicInteger version = new AtomicInteger();
+    private final AtomicBoolean running = new AtomicBoolean();
+    private volatile BsonDocument position;
+    // version of the subscriptions when the position was last reset to the current one
+    private int positionVersion;
+    private volatile boolean closed;
+
+    public ChangeStreamDispatcher(MongoCollection<E> collection, MongoCollection<Document> tokens, String tokenId, int bufferSize, OverflowPolicy overflowPolicy,
+            Executor executor) {
+        this.collection = collection;
+        this.tokens = tokens;
+        this.tokenId = tokenId;
+        this.bufferSize = bufferSize;
+        this.overflowPolicy = overflowPolicy;
+        this.executor = executor;
+    }
+
+    /**
+     * @param operationTypes the change stream operation types to receive, such as {@code insert} or {@code delete}.
+     * @param mapper maps each event to the emitted item, events mapped to {@code null} are skipped.
+     */
+    public <T> Multi<T> watch(Set<String> operationTypes, Function<ChangeStreamDocument<E>, T> mapper) {
+        return Multi.createFrom().deferred(() -> {
+            Subscription<T> subscription = new Subscription<>(operationTypes, mapper);
+            subscribe(subscription);
+            start();
+            // the subscribers are not run on the thread reading the change stream
+            return subscription.processor.emitOn(Infrastructure.getDefaultWorkerPool());
+        });
+    }
+
+    /**
+     * Closes the change stream, saving its resume token.
+     */
+    public void close() {
+        closed = true;
+        subscriptions.forEach(subscription -> subscription.processor.onComplete());
+    }
+
+    int getSubscriptionCount() {
+        return subscriptions.size();
+    }
+
+    private void start() {
+        if (!closed && running.compareAndSet(false, true)) {
+            executor.execute(this::run);
+        }
+    }
+
+    private void run() {
+        do {
+            try {
+                dispatch();
+            } catch (RuntimeException e) {
+                LOGGER.error("Change stream of collection {} stopped", collection.getNamespace(), e);
+            } finally {
+                running.set(false);
+            }
+            // a subscriber may have arrived while the stream was closing
+        } while (!closed && !subscriptions.isEmpty() && running.compareAndSet(false, true));
+    }
+
+    /**
+     * Sets the position of the change stream, before the first subscription returns, so the changes made right after
+     * subscribing are not missed while the stream is opened in the background. Unless resuming from a saved token, a
+     * stream without subscribers starts again at the current position, not where its last subscriber left.
+     */
+    private synchronized void subscribe(Subscription<?> subscription) {
+        boolean reset = subscriptions.isEmpty() && tokens == null;
+        if (reset) {
+            position = null;
+        }
+        if (position == null) {
+            position = loadToken();
+        }
+        if (position == null) {
+            try (MongoChangeStreamCursor<ChangeStreamDocument<E>> cursor = collection.watch().cursor()) {
+                position = cursor.getResumeToken();
+            }
+        }
+        subscriptions.add(subscription);
+        int current = version.incrementAndGet();
+        if (reset) {
+            positionVersion = current;
+        }
+    }
+
+    /**
+     * Moves the position forward, unless it was reset after the stream was opened, a stream still winding down from
+     * before the reset would otherwise move it back.
+     */
+    private synchronized void advance(int streamVersion, BsonDocument token) {
+        if (streamVersion >= positionVersion) {
+            position = token;
+        }
+    }
+
+    void dispatch() {
+        BsonDocument token = position;
+        long lastSave = System.currentTimeMillis();
+        try {
+            while (isActive()) {
+                int current = version.get();
+                token = position;
+                ChangeStreamIterable<E> changeStream = collection.watch(singletonList(match(in(OPERATION_TYPE, getOperationTypes())))).fullDocument(UPDATE_LOOKUP);
+                if (token != null) {
+                    // unlike resumeAfter, startAfter also accepts the token of an invalidate event
+                    changeStream = changeStream.startAfter(token);
+                }
+                try (MongoChangeStreamCursor<ChangeStreamDocument<E>> cursor = changeStream.cursor()) {
+                    while (current == version.get() && isActive()) {
+                        // waits at most the await time of the cursor, so changes of the subscriptions are noticed
+                        ChangeStreamDocument<E> change = cursor.tryNext();
+                        if (change != null) {
+                            publish(change);
+                        }
+                        if (cursor.getResumeToken() != null) {
+                            token = cursor.getResumeToken();
+                            advance(current, token);
+                        }
+                        if (change == null && cursor.getServerCursor() == null) {
+                            // invalidated, when the collection is dropped or renamed
+                            break;
+                        }
+                        if (System.currentTimeMillis() - lastSave >= TOKEN_SAVE_INTERVAL) {
+                            saveToken(token);
+                            lastSave = System.currentTimeMillis();
+                        }
+                    }
+                } catch (MongoException e) {
+                    if (token != null && LOST_TOKEN_CODES.contains(e.getCode())) {
+                        LOGGER.warn("Change stream of collection {} can not be resumed, events may have been missed: {}", collection.getNamespace(), e.getMessage());
+                        token = null;
+                        position = null;
+                        deleteToken();
+                    } else if (isActive()) {
+                        LOGGER.warn("Change stream of collection {} failed, reopening it: {}", collection.getNamespace(), e.getMessage());
+                        pause();
+                    }
+                }
+            }
+        } finally {
+            saveToken(token);
+        }
+    }
+
+    private boolean isActive() {
+        return !closed && !subscriptions.isEmpty() && !Thread.currentThread().isInterrupted();
+    }
+
+    private Set<String> getOperationTypes() {
+        return subscriptions.stream().flatMap(subscription -> subscription.operationTypes.stream()).collect(toSet());
+    }
+
+    void publish(ChangeStreamDocument<E> change) {
+        String operationType = change.getOperationType().getValue();
+        subscriptions.stream().filter(subscription -> subscription.operationTypes.contains(operationType)).forEach(subscription -> subscription.offer(change));
+    }
+
+    private void pause() {
+        try {
+            Thread.sleep(RETRY_DELAY);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private BsonDocument loadToken() {
+        if (tokens == null) {
+            return null;
+        }
+        Document document = tokens.find(eq(MONGO_ID, tokenId)).first();
+        return document == null ? null : document.get(TOKEN_FIELD, Document.class).toBsonDocument();
+    }
+
+    private void saveToken(BsonDocument token) {
+        if (tokens == null || token == null) {
+            return;
+        }
+        try {
+            tokens.replaceOne(eq(MONGO_ID, tokenId), new Document(MONGO_ID, tokenId).append(TOKEN_FIELD, token).append(UPDATED_FIELD, new Date()),
+                    new ReplaceOptions().upsert(true));
+        } catch (MongoException e) {
+            LOGGER.warn("Could not save the resume token of the change stream of collection {}: {}", collection.getNamespace(), e.getMessage());
+        }
+    }
+
+    private void deleteToken() {
+        if (tokens != null) {
+            tokens.deleteOne(eq(MONGO_ID, tokenId));
+        }
+    }
+
+    private class Subscription<T> {
+
+        final Set<String> operationTypes;
+        final Function<ChangeStreamDocument<E>, T> mapper;
+        final ArrayBlockingQueue<T> buffer = new ArrayBlockingQueue<>(bufferSize);
+        final UnicastProcessor<T> processor;
+        final AtomicLong dropped = new AtomicLong();
+
+        Subscription(Set<String> operationTypes, Function<ChangeStreamDocument<E>, T> mapper) {
+            this.operationTypes = operationTypes;
+            this.mapper = mapper;
+            this.processor = UnicastProcessor.create(buffer, this::cancel);
+        }
+
+        void offer(ChangeStreamDocument<E> change) {
+            T item = mapper.apply(change);
+            if (item == null) {
+                return;
+            }
+            // the buffer is only filled by the thread reading the change stream, so it can not become full after this check
+            if (buffer.remainingCapacity() > 0) {
+                processor.onNext(item);
+            } else if (overflowPolicy == OverflowPolicy.DROP_SUBSCRIBER) {
+                LOGGER.warn("Dropping slow subscriber of collection {}, its buffer of {} events is full", collection.getNamespace(), bufferSize);
+                cancel();
+                processor.onError(new MongoObjectListenerException("The subscriber did not keep up with the changes of collection " + collection.getNamespace()));
+            } else {
+                long count = dropped.incrementAndGet();
+                if (count == 1 || count % DROPPED_LOG_INTERVAL == 0) {
+                    LOGGER.warn("Dropped {} events of collection {} for a slow subscriber, its buffer of {} events is full", count, collection.getNamespace(), bufferSize);
+                }
+            }
+        }
+
+        void cancel() {
+            if (subscriptions.remove(this)) {
+                version.incrementAndGet();
+            }
+        }
+    }
+}
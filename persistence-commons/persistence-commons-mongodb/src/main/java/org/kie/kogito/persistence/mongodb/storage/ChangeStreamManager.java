@@ -0,0 +1,103 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.kie.kogito.persistence.mongodb.storage;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.kie.kogito.persistence.mongodb.client.MongoClientManager;
+import org.kie.kogito.persistence.mongodb.storage.ChangeStreamDispatcher.OverflowPolicy;
+
+import com.mongodb.client.MongoCollection;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+/**
+ * Holds the {@link ChangeStreamDispatcher} of each watched collection, so the storages of a collection share one change stream.
+ */
+@ApplicationScoped
+public class ChangeStreamManager {
+
+    static final String RESUME_TOKENS_COLLECTION = "kogito_change_stream_tokens";
+
+    Map<String, ChangeStreamDispatcher<?>> dispatchers = new ConcurrentHashMap<>();
+
+    @Inject
+    MongoClientManager mongoClientManager;
+
+    // identifies the resume tokens of this instance, the host name by default so every replica resumes its own stream
+    @ConfigProperty(name = "kogito.apps.persistence.change-stream.id")
+    Optional<String> id;
+
+    // replays the changes made while no stream was open, to the subscribers of the next one, including fresh ones
+    @ConfigProperty(name = "kogito.apps.persistence.change-stream.resume", defaultValue = "false")
+    Boolean resume;
+
+    @ConfigProperty(name = "kogito.apps.persistence.change-stream.buffer-size", defaultValue = "1000")
+    Integer bufferSize;
+
+    @ConfigProperty(name = "kogito.apps.persistence.change-stream.overflow-policy", defaultValue = "DROP_EVENTS")
+    OverflowPolicy overflowPolicy;
+
+    private String instanceId;
+
+    @PostConstruct
+    void init() {
+        instanceId = id.orElseGet(ChangeStreamManager::hostName);
+    }
+
+    @SuppressWarnings("unchecked")
+    public <E> ChangeStreamDispatcher<E> getDispatcher(MongoCollection<E> collection) {
+        return (ChangeStreamDispatcher<E>) dispatchers.computeIfAbsent(collection.getNamespace().getFullName(),
+                name -> new ChangeStreamDispatcher<>(collection, Boolean.TRUE.equals(resume) ? mongoClientManager.getCollection(RESUME_TOKENS_COLLECTION) : null,
+                        instanceId + ":" + name, bufferSize, overflowPolicy, dedicatedThread("kogito-change-stream-" + name)));
+    }
+
+    // the loop reading a change stream lasts as long as its subscribers, so it does not hold a thread of a shared pool
+    private static Executor dedicatedThread(String name) {
+        return command -> {
+            Thread thread = new Thread(command, name);
+            thread.setDaemon(true);
+            thread.start();
+        };
+    }
+
+    private static String hostName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            // a random id still keeps replicas apart, but the stream is not resumed after a restart
+            return UUID.randomUUID().toString();
+        }
+    }
+
+    @PreDestroy
+    void destroy() {
+        dispatchers.values().forEach(ChangeStreamDispatcher::close);
+    }
+}
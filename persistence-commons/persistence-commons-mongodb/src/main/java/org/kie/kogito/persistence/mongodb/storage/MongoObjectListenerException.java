@@ -20,6 +20,10 @@ package org.kie.kogito.persistence.mongodb.storage;
 
 public class MongoObjectListenerException extends RuntimeException {
 
+    public MongoObjectListenerException(String message) {
+        super(message);
+    }
+
     public MongoObjectListenerException(Throwable cause) {
         super(cause);
     }
@@ -18,24 +18,38 @@
  */
 package org.kie.kogito.persistence.mongodb.storage;
 
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
+import org.bson.BsonDocument;
+import org.bson.BsonDocumentReader;
 import org.bson.Document;
+import org.bson.codecs.Decoder;
+import org.bson.codecs.DecoderContext;
 import org.kie.kogito.persistence.api.Storage;
 import org.kie.kogito.persistence.api.query.Query;
+import org.kie.kogito.persistence.mongodb.index.IndexAdvisor;
 import org.kie.kogito.persistence.mongodb.model.MongoEntityMapper;
 import org.kie.kogito.persistence.mongodb.query.MongoQuery;
 
 import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.BulkWriteOptions;
 import com.mongodb.client.model.FindOneAndReplaceOptions;
+import com.mongodb.client.model.ReplaceOneModel;
+import com.mongodb.client.model.ReplaceOptions;
 
 import io.smallrye.mutiny.Multi;
 
 import static com.mongodb.client.model.Filters.eq;
 import static com.mongodb.client.model.Filters.in;
 import static java.util.Arrays.asList;
+import static java.util.stream.Collectors.toList;
 import static org.kie.kogito.persistence.mongodb.model.ModelUtils.MONGO_ID;
+import static org.kie.kogito.persistence.mongodb.storage.StorageUtils.toKey;
+import static org.kie.kogito.persistence.mongodb.storage.StorageUtils.toModel;
 import static org.kie.kogito.persistence.mongodb.storage.StorageUtils.watchCollectionEntries;
 import static org.kie.kogito.persistence.mongodb.storage.StorageUtils.watchCollectionKeys;
 
@@ -43,36 +57,64 @@ public class MongoStorage<V, E> implements Storage<String, V> {
 
     static final String OPERATION_TYPE = "operationType";
 
+    static final String INSERT = "insert";
+
+    static final String UPDATE = "update";
+
+    static final String REPLACE = "replace";
+
+    static final String DELETE = "delete";
+
     MongoEntityMapper<V, E> mapper;
 
     MongoCollection<E> mongoCollection;
 
     String rootType;
 
+    IndexAdvisor indexAdvisor;
+
+    ChangeStreamDispatcher<E> changeStreamDispatcher;
+
     public MongoStorage(MongoCollection<E> mongoCollection, String rootType, MongoEntityMapper<V, E> mapper) {
+        this(mongoCollection, rootType, mapper, null, null);
+    }
+
+    public MongoStorage(MongoCollection<E> mongoCollection, String rootType, MongoEntityMapper<V, E> mapper, IndexAdvisor indexAdvisor,
+            ChangeStreamDispatcher<E> changeStreamDispatcher) {
         this.mongoCollection = mongoCollection;
         this.rootType = rootType;
         this.mapper = mapper;
+        this.indexAdvisor = indexAdvisor;
+        this.changeStreamDispatcher = changeStreamDispatcher;
     }
 
     @Override
     public Multi<V> objectCreatedListener() {
-        return watchCollectionEntries(this.mongoCollection, eq(OPERATION_TYPE, "insert"), this.mapper);
+        if (this.changeStreamDispatcher != null) {
+            return this.changeStreamDispatcher.watch(Set.of(INSERT), toModel(this.mapper));
+        }
+        return watchCollectionEntries(this.mongoCollection, eq(OPERATION_TYPE, INSERT), this.mapper);
     }
 
     @Override
     public Multi<V> objectUpdatedListener() {
-        return watchCollectionEntries(this.mongoCollection, in(OPERATION_TYPE, asList("update", "replace")), this.mapper);
+        if (this.changeStreamDispatcher != null) {
+            return this.changeStreamDispatcher.watch(Set.of(UPDATE, REPLACE), toModel(this.mapper));
+        }
+        return watchCollectionEntries(this.mongoCollection, in(OPERATION_TYPE, asList(UPDATE, REPLACE)), this.mapper);
     }
 
     @Override
     public Multi<String> objectRemovedListener() {
-        return watchCollectionKeys(this.mongoCollection, eq(OPERATION_TYPE, "delete"));
+        if (this.changeStreamDispatcher != null) {
+            return this.changeStreamDispatcher.watch(Set.of(DELETE), toKey());
+        }
+        return watchCollectionKeys(this.mongoCollection, eq(OPERATION_TYPE, DELETE));
     }
 
     @Override
     public Query<V> query() {
-        return new MongoQuery<>(this.mongoCollection, this.mapper);
+        return new MongoQuery<>(this.mongoCollection, this.mapper, this.indexAdvisor);
     }
 
     @Override
@@ -99,6 +141,39 @@ public class MongoStorage<V, E> implements Storage<String, V> {
         return v;
     }
 
+    @Override
+    public void putAll(Map<String, V> elements) {
+        if (elements.isEmpty()) {
+            return;
+        }
+        List<ReplaceOneModel<E>> requests = elements.entrySet().stream()
+                .map(e -> new ReplaceOneModel<>(new Document(MONGO_ID, e.getKey()), mapper.mapToEntity(e.getKey(), e.getValue()), new ReplaceOptions().upsert(true)))
+                .collect(toList());
+        this.mongoCollection.bulkWrite(requests, new BulkWriteOptions().ordered(false));
+    }
+
+    @Override
+    public Map<String, V> getAll(Set<String> keys) {
+        Map<String, V> result = new HashMap<>();
+        if (keys.isEmpty()) {
+            return result;
+        }
+        // documents are read raw first so the key is available whatever the entity class looks like
+        Decoder<E> decoder = this.mongoCollection.getCodecRegistry().get(this.mongoCollection.getDocumentClass());
+        for (BsonDocument document : this.mongoCollection.withDocumentClass(BsonDocument.class).find(in(MONGO_ID, keys))) {
+            E entity = decoder.decode(new BsonDocumentReader(document), DecoderContext.builder().build());
+            result.put(document.getString(MONGO_ID).getValue(), mapper.mapToModel(entity));
+        }
+        return result;
+    }
+
+    @Override
+    public void removeAll(Set<String> keys) {
+        if (!keys.isEmpty()) {
+            this.mongoCollection.deleteMany(in(MONGO_ID, keys));
+        }
+    }
+
     @Override
     public void clear() {
         this.mongoCollection.deleteMany(new Document());
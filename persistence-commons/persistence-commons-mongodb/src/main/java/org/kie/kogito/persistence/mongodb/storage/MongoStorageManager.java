@@ -21,6 +21,10 @@ package org.kie.kogito.persistence.mongodb.storage;
 import org.kie.kogito.persistence.api.Storage;
 import org.kie.kogito.persistence.api.StorageService;
 import org.kie.kogito.persistence.mongodb.client.MongoClientManager;
+import org.kie.kogito.persistence.mongodb.index.IndexAdvisor;
+import org.kie.kogito.persistence.mongodb.model.MongoEntityMapper;
+
+import com.mongodb.client.MongoCollection;
 
 import io.quarkus.arc.properties.IfBuildProperty;
 
@@ -40,24 +44,30 @@ public class MongoStorageManager implements StorageService {
     @Inject
     MongoModelService mongoModelService;
 
+    @Inject
+    IndexAdvisor indexAdvisor;
+
+    @Inject
+    ChangeStreamManager changeStreamManager;
+
     @Override
     public Storage<String, String> getCache(String name) {
-        return new MongoStorage<>(
-                mongoClientManager.getCollection(name, mongoModelService.getEntityMapper(name).getEntityClass()),
-                String.class.getName(), mongoModelService.getEntityMapper(name));
+        return createStorage(name, String.class.getName());
     }
 
     @Override
     public <T> Storage<String, T> getCache(String name, Class<T> type) {
-        return new MongoStorage<>(
-                mongoClientManager.getCollection(name, mongoModelService.getEntityMapper(name).getEntityClass()),
-                type.getName(), mongoModelService.getEntityMapper(name));
+        return createStorage(name, type.getName());
     }
 
     @Override
     public <T> Storage<String, T> getCache(String name, Class<T> type, String rootType) {
-        return new MongoStorage<>(
-                mongoClientManager.getCollection(name, mongoModelService.getEntityMapper(name).getEntityClass()),
-                rootType, mongoModelService.getEntityMapper(name));
+        return createStorage(name, rootType);
+    }
+
+    private <V, E> Storage<String, V> createStorage(String name, String rootType) {
+        MongoEntityMapper<V, E> mapper = mongoModelService.getEntityMapper(name);
+        MongoCollection<E> collection = mongoClientManager.getCollection(name, mapper.getEntityClass());
+        return new MongoStorage<>(collection, rootType, mapper, indexAdvisor, changeStreamManager.getDispatcher(collection));
     }
 }
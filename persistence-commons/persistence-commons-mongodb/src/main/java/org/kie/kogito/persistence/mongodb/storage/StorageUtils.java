@@ -48,17 +48,25 @@ public class StorageUtils {
     }
 
     public static <V, E> Multi<V> watchCollectionEntries(MongoCollection<E> collection, Bson operationType, MongoEntityMapper<V, E> mapper) {
-        return createMulti(collection, operationType, csd -> {
+        return createMulti(collection, operationType, toModel(mapper));
+    }
+
+    public static <E> Multi<String> watchCollectionKeys(MongoCollection<E> collection, Bson operationType) {
+        return createMulti(collection, operationType, toKey());
+    }
+
+    static <V, E> Function<ChangeStreamDocument<E>, V> toModel(MongoEntityMapper<V, E> mapper) {
+        return csd -> {
             E document = csd.getFullDocument();
             return document == null ? null : mapper.mapToModel(document);
-        });
+        };
     }
 
-    public static <E> Multi<String> watchCollectionKeys(MongoCollection<E> collection, Bson operationType) {
-        return createMulti(collection, operationType, csd -> {
+    static <E> Function<ChangeStreamDocument<E>, String> toKey() {
+        return csd -> {
             BsonDocument keyDocument = csd.getDocumentKey();
             return keyDocument == null ? null : keyDocument.getString(MONGO_ID).getValue();
-        });
+        };
     }
 
     private static <T, E> Multi<T> createMulti(MongoCollection<E> collection, Bson operationType, Function<ChangeStreamDocument<E>, T> mapper) {
@@ -0,0 +1,173 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.kie.kogito.persistence.mongodb.index;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.kie.kogito.persistence.api.query.SortDirection;
+import org.kie.kogito.persistence.mongodb.client.MongoClientManager;
+import org.kie.kogito.persistence.mongodb.index.IndexRecommendation.Status;
+
+import com.mongodb.client.ListIndexesIterable;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.IndexOptions;
+
+import jakarta.enterprise.inject.Instance;
+
+import static java.util.Arrays.asList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.kie.kogito.persistence.api.query.QueryFilterFactory.equalTo;
+import static org.kie.kogito.persistence.api.query.QueryFilterFactory.greaterThan;
+import static org.kie.kogito.persistence.api.query.QueryFilterFactory.in;
+import static org.kie.kogito.persistence.api.query.QueryFilterFactory.orderBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class IndexAdvisorTest {
+
+    IndexAdvisor indexAdvisor;
+
+    MongoCollection<Document> collection;
+
+    List<Document> indexes;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setup() {
+        indexes = new ArrayList<>(List.of(new Document(IndexManager.INDEX_NAME_FIELD, IndexManager.DEFAULT_INDEX).append("key", new Document("_id", 1))));
+        ListIndexesIterable<Document> listIndexes = mock(ListIndexesIterable.class);
+        when(listIndexes.spliterator()).thenAnswer(invocation -> indexes.spliterator());
+        collection = mock(MongoCollection.class);
+        when(collection.listIndexes()).thenReturn(listIndexes);
+        MongoClientManager clientManager = mock(MongoClientManager.class);
+        when(clientManager.getCollection("processes")).thenReturn(collection);
+        Instance<MongoClientManager> clientManagerInstance = mock(Instance.class);
+        when(clientManagerInstance.get()).thenReturn(clientManager);
+
+        indexAdvisor = new IndexAdvisor();
+        indexAdvisor.mongoClientManager = clientManagerInstance;
+        indexAdvisor.collectionScanThreshold = 2;
+        indexAdvisor.maxRecommendations = 10;
+        indexAdvisor.maxFields = 4;
+        indexAdvisor.autoCreate = false;
+        indexAdvisor.maxIndexesPerCollection = 1;
+    }
+
+    @Test
+    void testIndexKeysFollowEqualitySortRange() {
+        QueryShape shape = QueryShape.of("processes", List.of(greaterThan("start", 1), equalTo("state", 1), in("processId", List.of("a", "b"))),
+                List.of(orderBy("end", SortDirection.DESC)), attribute -> attribute);
+
+        assertEquals(List.of("processId", "state", "end", "start"), List.copyOf(shape.getIndexKeys(4).keySet()));
+        assertEquals(-1, shape.getIndexKeys(4).get("end"));
+        assertEquals(List.of("processId", "state"), List.copyOf(shape.getIndexKeys(2).keySet()));
+    }
+
+    @Test
+    void testCollectionScanIsFoundInNestedStages() {
+        Document indexScan = new Document("stage", "FETCH").append("inputStage", new Document("stage", "IXSCAN"));
+        Document collectionScan = new Document("stage", "OR").append("inputStages", asList(new Document("stage", "IXSCAN"), new Document("stage", "COLLSCAN")));
+
+        assertFalse(IndexAdvisor.isCollectionScan(new Document("winningPlan", indexScan)));
+        assertTrue(IndexAdvisor.isCollectionScan(new Document("winningPlan", collectionScan)));
+    }
+
+    @Test
+    void testRejectedCollectionScanIsIgnored() {
+        Document indexScan = new Document("stage", "FETCH").append("inputStage", new Document("stage", "IXSCAN"));
+        Document collectionScan = new Document("stage", "COLLSCAN");
+
+        assertFalse(IndexAdvisor.isWinningPlanCollectionScan(new Document("queryPlanner",
+                new Document("winningPlan", indexScan).append("rejectedPlans", List.of(collectionScan)))));
+        assertTrue(IndexAdvisor.isWinningPlanCollectionScan(new Document("queryPlanner",
+                new Document("winningPlan", collectionScan).append("rejectedPlans", List.of(indexScan)))));
+    }
+
+    @Test
+    void testCovers() {
+        Map<String, Integer> keys = Map.of("state", 1);
+
+        assertTrue(IndexAdvisor.covers(new Document("state", 1.0).append("start", -1), keys));
+        assertFalse(IndexAdvisor.covers(new Document("state", -1), keys));
+        assertFalse(IndexAdvisor.covers(new Document("start", 1).append("state", 1), keys));
+    }
+
+    @Test
+    void testRecommendationAfterThreshold() {
+        QueryShape shape = QueryShape.of("processes", List.of(equalTo("state", 1)), null, attribute -> attribute);
+
+        indexAdvisor.record(shape, true);
+        indexAdvisor.record(shape, false);
+        assertTrue(indexAdvisor.getRecommendations().isEmpty());
+
+        indexAdvisor.record(shape, true);
+        List<IndexRecommendation> recommendations = indexAdvisor.getRecommendations();
+        assertEquals(1, recommendations.size());
+        assertEquals(3, recommendations.get(0).getSamples());
+        assertEquals(2, recommendations.get(0).getCollectionScans());
+        assertEquals(Status.RECOMMENDED, recommendations.get(0).getStatus());
+        verify(collection, never()).createIndex(any(), any(IndexOptions.class));
+    }
+
+    @Test
+    void testAutoCreateWithinLimits() {
+        indexAdvisor.autoCreate = true;
+        QueryShape state = QueryShape.of("processes", List.of(equalTo("state", 1)), null, attribute -> attribute);
+        QueryShape processId = QueryShape.of("processes", List.of(equalTo("processId", "travels")), null, attribute -> attribute);
+
+        indexAdvisor.record(state, true);
+        indexAdvisor.record(state, true);
+        String indexName = indexAdvisor.getRecommendations().get(0).getIndexName();
+        assertTrue(indexName.startsWith(IndexAdvisor.INDEX_PREFIX));
+        assertEquals(Status.CREATED, indexAdvisor.getRecommendations().get(0).getStatus());
+        verify(collection).createIndex(any(), any(IndexOptions.class));
+
+        indexes.add(new Document(IndexManager.INDEX_NAME_FIELD, indexName).append("key", new Document("state", 1)));
+        indexAdvisor.record(processId, true);
+        indexAdvisor.record(processId, true);
+        IndexRecommendation rejected = indexAdvisor.getRecommendations().stream().filter(r -> r.getKeys().containsKey("processId")).findFirst().orElseThrow();
+        assertEquals(Status.REJECTED, rejected.getStatus());
+
+        assertEquals(Status.REJECTED, indexAdvisor.createIndex(rejected.getIndexName()).getStatus());
+        assertThrows(IllegalArgumentException.class, () -> indexAdvisor.createIndex("unknown"));
+    }
+
+    @Test
+    void testExistingIndexIsNotCreatedAgain() {
+        indexes.add(new Document(IndexManager.INDEX_NAME_FIELD, "state_start").append("key", new Document("state", 1).append("start", 1)));
+        QueryShape shape = QueryShape.of("processes", List.of(equalTo("state", 1)), null, attribute -> attribute);
+
+        indexAdvisor.record(shape, true);
+        indexAdvisor.record(shape, true);
+
+        assertEquals(Status.EXISTS, indexAdvisor.createIndex(indexAdvisor.getRecommendations().get(0).getIndexName()).getStatus());
+        verify(collection, never()).createIndex(any(), any(IndexOptions.class));
+    }
+}
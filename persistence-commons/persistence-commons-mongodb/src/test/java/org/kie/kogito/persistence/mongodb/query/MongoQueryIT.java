@@ -19,6 +19,8 @@
 package org.kie.kogito.persistence.mongodb.query;
 
 import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import org.bson.Document;
 import org.junit.jupiter.api.AfterEach;
@@ -81,4 +83,18 @@ class MongoQueryIT {
         assertEquals(1, results.size());
         assertEquals("5", results.get(0));
     }
+
+    @Test
+    void testStreamAndSearchAfter() {
+        for (int i = 1; i <= 5; i++) {
+            collection.insertOne(new Document(MONGO_ID, String.valueOf(i)).append(TEST_ATTRIBUTE, "value" + i));
+        }
+
+        mongoQuery.sort(List.of(orderBy(TEST_ATTRIBUTE, ASC)));
+        mongoQuery.searchAfter("value2");
+
+        try (Stream<String> results = mongoQuery.stream()) {
+            assertEquals(List.of("value3", "value4", "value5"), results.collect(Collectors.toList()));
+        }
+    }
 }
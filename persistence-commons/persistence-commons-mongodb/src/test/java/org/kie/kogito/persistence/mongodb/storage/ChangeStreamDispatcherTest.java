@@ -0,0 +1,137 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.kie.kogito.persistence.mongodb.storage;
+
+import java.util.Set;
+
+import org.bson.BsonDocument;
+import org.bson.BsonString;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.kie.kogito.persistence.mongodb.mock.MockMongoEntityMapper;
+import org.kie.kogito.persistence.mongodb.storage.ChangeStreamDispatcher.OverflowPolicy;
+import org.kie.kogito.persistence.mongodb.storage.StorageUtilsIT.TestListener;
+
+import com.mongodb.MongoNamespace;
+import com.mongodb.client.ChangeStreamIterable;
+import com.mongodb.client.MongoChangeStreamCursor;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import com.mongodb.client.model.changestream.OperationType;
+
+import io.smallrye.mutiny.subscription.Cancellable;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.kie.kogito.persistence.mongodb.model.ModelUtils.MONGO_ID;
+import static org.kie.kogito.persistence.mongodb.storage.StorageUtils.toKey;
+import static org.kie.kogito.persistence.mongodb.storage.StorageUtils.toModel;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ChangeStreamDispatcherTest {
+
+    MongoCollection<Document> collection;
+
+    MockMongoEntityMapper mapper = new MockMongoEntityMapper();
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setup() {
+        MongoChangeStreamCursor<ChangeStreamDocument<Document>> cursor = mock(MongoChangeStreamCursor.class);
+        when(cursor.getResumeToken()).thenReturn(new BsonDocument("_data", new BsonString("token")));
+        ChangeStreamIterable<Document> changeStream = mock(ChangeStreamIterable.class);
+        when(changeStream.cursor()).thenReturn(cursor);
+        collection = mock(MongoCollection.class);
+        when(collection.watch()).thenReturn(changeStream);
+        when(collection.getNamespace()).thenReturn(new MongoNamespace("kogito", "test"));
+    }
+
+    // the loop reading the change stream is not run, the changes are published by the test
+    private ChangeStreamDispatcher<Document> dispatcher(int bufferSize, OverflowPolicy overflowPolicy) {
+        return new ChangeStreamDispatcher<>(collection, null, "test", bufferSize, overflowPolicy, command -> {
+        });
+    }
+
+    @Test
+    void testChangesAreDispatchedByOperationType() throws Exception {
+        ChangeStreamDispatcher<Document> dispatcher = dispatcher(10, OverflowPolicy.DROP_EVENTS);
+        TestListener created = new TestListener(2);
+        dispatcher.watch(Set.of(MongoStorage.INSERT), toModel(mapper)).subscribe().with(created::add);
+        TestListener removed = new TestListener(1);
+        dispatcher.watch(Set.of(MongoStorage.DELETE), toKey()).subscribe().with(removed::add);
+
+        dispatcher.publish(change(OperationType.INSERT, "key1", "value1"));
+        dispatcher.publish(change(OperationType.INSERT, "key2", "value2"));
+        dispatcher.publish(change(OperationType.DELETE, "key1", null));
+
+        created.await();
+        removed.await();
+        assertEquals(Set.of("value1", "value2"), created.items.keySet());
+        assertEquals(Set.of("key1"), removed.items.keySet());
+        assertEquals(2, dispatcher.getSubscriptionCount());
+    }
+
+    @Test
+    void testSlowSubscriberIsDropped() {
+        ChangeStreamDispatcher<Document> dispatcher = dispatcher(2, OverflowPolicy.DROP_SUBSCRIBER);
+        // never requests any item
+        dispatcher.watch(Set.of(MongoStorage.INSERT), toModel(mapper)).subscribe().with(subscription -> {
+        }, item -> {
+        }, failure -> {
+        }, () -> {
+        });
+
+        assertEquals(1, dispatcher.getSubscriptionCount());
+        // more than the buffer of the subscriber and the items prefetched by emitOn
+        for (int i = 0; i < 1000; i++) {
+            dispatcher.publish(change(OperationType.INSERT, "key" + i, "value" + i));
+        }
+
+        assertEquals(0, dispatcher.getSubscriptionCount());
+    }
+
+    @Test
+    void testStreamWithoutSubscribersStartsAtCurrentPosition() {
+        ChangeStreamDispatcher<Document> dispatcher = dispatcher(10, OverflowPolicy.DROP_EVENTS);
+        Cancellable first = dispatcher.watch(Set.of(MongoStorage.INSERT), toModel(mapper)).subscribe().with(item -> {
+        });
+        dispatcher.watch(Set.of(MongoStorage.INSERT), toModel(mapper)).subscribe().with(item -> {
+        }).cancel();
+        verify(collection, times(1)).watch();
+
+        first.cancel();
+        assertEquals(0, dispatcher.getSubscriptionCount());
+        // a fresh subscriber does not receive the changes made since the last one left
+        dispatcher.watch(Set.of(MongoStorage.INSERT), toModel(mapper)).subscribe().with(item -> {
+        });
+        verify(collection, times(2)).watch();
+    }
+
+    @SuppressWarnings("unchecked")
+    private ChangeStreamDocument<Document> change(OperationType operationType, String key, String value) {
+        ChangeStreamDocument<Document> change = mock(ChangeStreamDocument.class);
+        when(change.getOperationType()).thenReturn(operationType);
+        when(change.getDocumentKey()).thenReturn(new BsonDocument(MONGO_ID, new BsonString(key)));
+        when(change.getFullDocument()).thenReturn(value == null ? null : mapper.mapToEntity(key, value));
+        return change;
+    }
+}
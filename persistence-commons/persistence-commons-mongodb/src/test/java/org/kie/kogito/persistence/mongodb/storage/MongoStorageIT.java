@@ -18,6 +18,9 @@
  */
 package org.kie.kogito.persistence.mongodb.storage;
 
+import java.util.Map;
+import java.util.Set;
+
 import org.bson.Document;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -105,4 +108,30 @@ class MongoStorageIT {
         storage.remove(testId);
         assertEquals(0, collection.countDocuments());
     }
+
+    @Test
+    void testPutAll() {
+        storage.putAll(Map.of("testPutAll_1", "testValue1", "testPutAll_2", "testValue2"));
+        assertEquals(2, collection.countDocuments());
+        assertEquals("testValue1", collection.find(new Document(MONGO_ID, "testPutAll_1")).first().get(TEST_ATTRIBUTE));
+        assertEquals("testValue2", collection.find(new Document(MONGO_ID, "testPutAll_2")).first().get(TEST_ATTRIBUTE));
+    }
+
+    @Test
+    void testGetAll() {
+        collection.insertOne(new Document(MONGO_ID, "testGetAll_1").append(TEST_ATTRIBUTE, "testValue1"));
+        collection.insertOne(new Document(MONGO_ID, "testGetAll_2").append(TEST_ATTRIBUTE, "testValue2"));
+        assertEquals(Map.of("testGetAll_1", "testValue1", "testGetAll_2", "testValue2"),
+                storage.getAll(Set.of("testGetAll_1", "testGetAll_2", "testGetAll_3")));
+    }
+
+    @Test
+    void testRemoveAll() {
+        collection.insertOne(new Document(MONGO_ID, "testRemoveAll_1").append(TEST_ATTRIBUTE, "testValue1"));
+        collection.insertOne(new Document(MONGO_ID, "testRemoveAll_2").append(TEST_ATTRIBUTE, "testValue2"));
+        collection.insertOne(new Document(MONGO_ID, "testRemoveAll_3").append(TEST_ATTRIBUTE, "testValue3"));
+        storage.removeAll(Set.of("testRemoveAll_1", "testRemoveAll_2"));
+        assertEquals(1, collection.countDocuments());
+        assertTrue(storage.containsKey("testRemoveAll_3"));
+    }
 }
@@ -0,0 +1,100 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.kie.kogito.persistence.postgresql;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.kie.kogito.persistence.api.query.AttributeFilter;
+import org.kie.kogito.persistence.api.query.SortDirection;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.kie.kogito.persistence.api.query.QueryFilterFactory.and;
+import static org.kie.kogito.persistence.api.query.QueryFilterFactory.between;
+import static org.kie.kogito.persistence.api.query.QueryFilterFactory.equalTo;
+import static org.kie.kogito.persistence.api.query.QueryFilterFactory.greaterThanEqual;
+import static org.kie.kogito.persistence.api.query.QueryFilterFactory.in;
+import static org.kie.kogito.persistence.api.query.QueryFilterFactory.like;
+import static org.kie.kogito.persistence.api.query.QueryFilterFactory.not;
+import static org.kie.kogito.persistence.api.query.QueryFilterFactory.or;
+import static org.kie.kogito.persistence.api.query.QueryFilterFactory.orderBy;
+
+class PostgresQueryTest {
+
+    @Test
+    void testValuesAreBound() {
+        List<Object> parameters = new ArrayList<>();
+        String sql = query(asList(equalTo("name", "pippo"), like("surname", "pl*"), greaterThanEqual("age", 22))).toSql(parameters);
+
+        assertThat(sql).doesNotContain("pippo", "pl", "22")
+                .isEqualTo("SELECT * FROM kogito_data_cache WHERE cache_name = ?1"
+                        + " AND (json_value->>'name') = ?2"
+                        + " AND (json_value->>'surname') LIKE ?3"
+                        + " AND ((json_value->>'age'))\\:\\:numeric >= ?4"
+                        + " ORDER BY nullif(json_value->'name', cast('null' as jsonb)) ASC");
+        assertThat(parameters).containsExactly("queries", "pippo", "pl%", 22);
+    }
+
+    @Test
+    void testSameShapeProducesSameSql() {
+        List<Object> parameters1 = new ArrayList<>();
+        List<Object> parameters2 = new ArrayList<>();
+
+        String sql1 = query(singletonList(or(asList(in("name", asList("a", "b")), not(between("age", 1, 10)),
+                and(singletonList(equalTo("flag", true))))))).toSql(parameters1);
+        String sql2 = query(singletonList(or(asList(in("name", asList("c", "d")), not(between("age", 20, 30)),
+                and(singletonList(equalTo("flag", false))))))).toSql(parameters2);
+
+        assertThat(sql1).isEqualTo(sql2);
+        assertThat(parameters1).containsExactly("queries", "a", "b", 1, 10, "true");
+        assertThat(parameters2).containsExactly("queries", "c", "d", 20, 30, "false");
+    }
+
+    @Test
+    void testAttributeQuotesAreEscaped() {
+        String sql = query(singletonList(equalTo("na'me", "value"))).toSql(new ArrayList<>());
+
+        assertThat(sql).contains("(json_value->>'na''me') = ?2");
+    }
+
+    @Test
+    void testSortCastDoesNotDependOnCursor() {
+        PostgresQuery<Object> query = query(singletonList(equalTo("age", 10)));
+        String firstPage = query.toSql(new ArrayList<>());
+        List<Object> parameters = new ArrayList<>();
+        query.searchAfter(10);
+        String nextPage = query.toSql(parameters);
+
+        assertThat(nextPage).startsWith(firstPage.substring(0, firstPage.indexOf(" ORDER BY")))
+                .contains(" AND (nullif(json_value->'name', cast('null' as jsonb)) > to_jsonb(cast(?3 as numeric))"
+                        + " OR nullif(json_value->'name', cast('null' as jsonb)) IS NULL)")
+                .endsWith(firstPage.substring(firstPage.indexOf(" ORDER BY")));
+        assertThat(parameters).containsExactly("queries", 10, 10);
+    }
+
+    private static PostgresQuery<Object> query(List<AttributeFilter<?>> filters) {
+        PostgresQuery<Object> query = new PostgresQuery<>("queries", null, null, Object.class);
+        query.filter(filters);
+        query.sort(singletonList(orderBy("name", SortDirection.ASC)));
+        return query;
+    }
+}
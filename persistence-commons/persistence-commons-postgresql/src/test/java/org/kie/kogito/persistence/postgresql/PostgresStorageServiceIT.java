@@ -19,7 +19,14 @@
 package org.kie.kogito.persistence.postgresql;
 
 import java.util.List;
-
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.kie.kogito.persistence.api.Storage;
@@ -34,6 +41,7 @@ import org.kie.kogito.testcontainers.quarkus.PostgreSqlQuarkusTestResource;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 
+import io.quarkus.narayana.jta.QuarkusTransaction;
 import io.quarkus.test.common.QuarkusTestResource;
 import io.quarkus.test.junit.QuarkusTest;
 
@@ -41,6 +49,7 @@ import jakarta.inject.Inject;
 import jakarta.transaction.Transactional;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
 import static org.kie.kogito.persistence.postgresql.ProcessInstanceModel.newModel;
 
 @QuarkusTest
@@ -240,6 +249,49 @@ class PostgresStorageServiceIT {
         assertThat(entity).isNull();
     }
 
+    @Test
+    @Transactional
+    void testSingleStatementPutAndContainsKey() {
+        Storage<String, ProcessInstanceModel> cache = storageService.getCache("pi", ProcessInstanceModel.class);
+        ProcessInstanceModel value = newModel();
+        Statistics statistics = repository.getEntityManager().getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+
+        statistics.clear();
+        cache.put(value.getId(), value);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+
+        statistics.clear();
+        cache.put(value.getId(), newModel(value.getId()));
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+
+        statistics.clear();
+        assertThat(cache.containsKey(value.getId())).isTrue();
+        assertThat(cache.containsKey("unknown")).isFalse();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    @Transactional
+    void testBatchOperations() {
+        String cacheName = "test";
+        Storage<String, String> cache = storageService.getCache(cacheName);
+        cache.put("key1", "value1");
+        assertThat(cache.get("key1")).isEqualTo("value1");
+
+        cache.putAll(Map.of("key1", "newValue1", "key2", "value2", "key3", "value3"));
+
+        assertThat(cache.get("key1")).isEqualTo("newValue1");
+        assertThat(repository.findById(new CacheId(cacheName, "key2")).getValue().get("value").asText()).isEqualTo("value2");
+        assertThat(cache.getAll(Set.of("key1", "key2", "key4"))).containsOnly(entry("key1", "newValue1"), entry("key2", "value2"));
+
+        cache.removeAll(Set.of("key1", "key2"));
+
+        assertThat(cache.containsKey("key1")).isFalse();
+        assertThat(cache.get("key2")).isNull();
+        assertThat(cache.entries()).containsOnlyKeys("key3");
+    }
+
     @Test
     @Transactional
     void testQuery_Equal() {
@@ -637,4 +689,72 @@ class PostgresStorageServiceIT {
         assertThat(results.get(1).getField3()).isEqualTo("A");
     }
 
+
+    @Test
+    @Transactional
+    void testQuery_Stream() {
+        Storage<String, StructuredType> cache = storageService.getCache("queries", StructuredType.class);
+        cache.put("key1", StructuredType.builder().withField1(1).withField3("A").build());
+        cache.put("key2", StructuredType.builder().withField1(2).withField3("B").build());
+        cache.put("key3", StructuredType.builder().withField1(3).withField3("C").build());
+
+        Query<StructuredType> query = cache.query();
+        query.filter(List.of(QueryFilterFactory.greaterThan("field1", 1)));
+        query.sort(List.of(QueryFilterFactory.orderBy("field1", SortDirection.DESC)));
+
+        try (Stream<StructuredType> results = query.stream()) {
+            assertThat(results.map(StructuredType::getField3)).containsExactly("C", "B");
+        }
+    }
+
+    @Test
+    void testQuery_StreamSeveralFetchBatches() {
+        Storage<String, StructuredType> cache = storageService.getCache("queries", StructuredType.class);
+        int size = PostgresQuery.STREAM_FETCH_SIZE * 2 + 1;
+        QuarkusTransaction.requiringNew().run(() -> cache.putAll(IntStream.range(0, size).boxed()
+                .collect(Collectors.toMap(i -> "key" + i, i -> StructuredType.builder().withField1(i).build()))));
+
+        Query<StructuredType> query = cache.query();
+        query.sort(List.of(QueryFilterFactory.orderBy("field1", SortDirection.ASC)));
+
+        // no active transaction, the query starts its own read transaction to use a cursor
+        try (Stream<StructuredType> results = query.stream()) {
+            assertThat(results.map(StructuredType::getField1)).containsExactlyElementsOf(IntStream.range(0, size).boxed().toList());
+        }
+    }
+
+    @Test
+    @Transactional
+    void testQuery_SearchAfter() {
+        Storage<String, StructuredType> cache = storageService.getCache("queries", StructuredType.class);
+        cache.put("key1", StructuredType.builder().withField1(1).withField3("A").build());
+        cache.put("key2", StructuredType.builder().withField1(1).withField3("B").build());
+        cache.put("key3", StructuredType.builder().withField1(2).withField3("C").build());
+
+        Query<StructuredType> query = cache.query();
+        query.sort(List.of(QueryFilterFactory.orderBy("field1", SortDirection.ASC), QueryFilterFactory.orderBy("field3", SortDirection.ASC)));
+        query.limit(2);
+        assertThat(query.execute()).extracting(StructuredType::getField3).containsExactly("A", "B");
+
+        query.searchAfter(1, "B");
+        assertThat(query.execute()).extracting(StructuredType::getField3).containsExactly("C");
+    }
+
+    @Test
+    @Transactional
+    void testQuery_SearchAfterMultiDigitNumbers() {
+        Storage<String, StructuredType> cache = storageService.getCache("queries", StructuredType.class);
+        cache.put("key1", StructuredType.builder().withField1(1).withField3("A").build());
+        cache.put("key2", StructuredType.builder().withField1(2).withField3("B").build());
+        cache.put("key3", StructuredType.builder().withField1(10).withField3("C").build());
+
+        Query<StructuredType> query = cache.query();
+        query.sort(List.of(QueryFilterFactory.orderBy("field1", SortDirection.ASC)));
+        query.limit(2);
+        assertThat(query.execute()).extracting(StructuredType::getField1).containsExactly(1, 2);
+
+        // the cursor is numeric, the next page keeps the numeric order of the first one
+        query.searchAfter(2);
+        assertThat(query.execute()).extracting(StructuredType::getField1).containsExactly(10);
+    }
 }
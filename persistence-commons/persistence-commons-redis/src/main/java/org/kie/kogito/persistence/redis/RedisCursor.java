@@ -0,0 +1,88 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.kie.kogito.persistence.redis;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import io.redisearch.AggregationResult;
+import io.redisearch.Client;
+import io.redisearch.aggregation.AggregationBuilder;
+
+/**
+ * Reads the rows of an aggregation through a RediSearch cursor, fetching them in batches as they are iterated.
+ */
+class RedisCursor implements Iterator<Map<String, Object>> {
+
+    static final int BATCH_SIZE = 500;
+    // idle time in milliseconds after which the server releases a cursor that was not read to the end
+    static final long MAX_IDLE = 300000;
+
+    private final Client redisClient;
+    private long cursorId;
+    private Iterator<Map<String, Object>> batch;
+
+    private RedisCursor(Client redisClient, AggregationResult result) {
+        this.redisClient = redisClient;
+        read(result);
+    }
+
+    /**
+     * Runs the aggregation with a cursor. The cursor is deleted when the stream is closed before reaching its end.
+     */
+    static Stream<Map<String, Object>> stream(Client redisClient, AggregationBuilder aggregation) {
+        RedisCursor cursor = new RedisCursor(redisClient, redisClient.aggregate(aggregation.cursor(BATCH_SIZE, MAX_IDLE)));
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(cursor, Spliterator.ORDERED), false)
+                .onClose(cursor::close);
+    }
+
+    private void read(AggregationResult result) {
+        cursorId = result.getCursorId();
+        batch = result.getResults().iterator();
+    }
+
+    @Override
+    public boolean hasNext() {
+        while (!batch.hasNext() && cursorId != 0) {
+            read(redisClient.cursorRead(cursorId, BATCH_SIZE));
+        }
+        return batch.hasNext();
+    }
+
+    @Override
+    public Map<String, Object> next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        return batch.next();
+    }
+
+    private void close() {
+        // a cursor read to the end is released by the server
+        if (cursorId != 0) {
+            redisClient.cursorDelete(cursorId);
+            cursorId = 0;
+        }
+    }
+}
@@ -19,8 +19,11 @@
 package org.kie.kogito.persistence.redis;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import org.kie.kogito.persistence.api.query.AttributeFilter;
 import org.kie.kogito.persistence.api.query.AttributeSort;
@@ -29,9 +32,14 @@ import org.kie.kogito.persistence.api.query.SortDirection;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.fasterxml.jackson.databind.ObjectReader;
+
 import io.redisearch.Client;
-import io.redisearch.SearchResult;
+import io.redisearch.aggregation.AggregationBuilder;
+import io.redisearch.aggregation.SortedField;
 
+import static org.kie.kogito.persistence.api.query.QueryFilterFactory.greaterThan;
+import static org.kie.kogito.persistence.api.query.QueryFilterFactory.lessThan;
 import static org.kie.kogito.persistence.redis.Constants.RAW_OBJECT_FIELD;
 
 public class RedisQuery<V> implements Query<V> {
@@ -41,17 +49,18 @@ public class RedisQuery<V> implements Query<V> {
     Integer limit;
     Integer offset;
     List<AttributeFilter<?>> filters;
-    AttributeSort sortBy;
+    List<AttributeSort> sortBy;
+    List<Object> searchAfter;
     String indexName;
 
-    private Class<V> type;
+    private ObjectReader reader;
 
     private Client redisClient;
 
     public RedisQuery(Client redisClient, String indexName, Class<V> type) {
         this.redisClient = redisClient;
         this.indexName = indexName;
-        this.type = type;
+        this.reader = JsonUtils.getReader(type);
     }
 
     @Override
@@ -74,49 +83,77 @@ public class RedisQuery<V> implements Query<V> {
 
     @Override
     public Query<V> sort(List<AttributeSort> sortBy) {
-        if (!sortBy.isEmpty()) {
-            if (sortBy.size() > 1) { // TODO: implement backend side sorting on multiple attributes https://issues.redhat.com/browse/KOGITO-4072
-                throw new UnsupportedOperationException("Multiple sorting attributes not implemented yet.");
-            }
-            this.sortBy = sortBy.get(0);
-        }
+        this.sortBy = sortBy;
         return this;
     }
 
+    /**
+     * Keyset pagination is supported when sorting on a single numeric attribute with unique values. Documents without
+     * the attribute are not matched by numeric ranges, so they are never returned with a search after value.
+     */
     @Override
-    public List<V> execute() {
-        io.redisearch.Query query = new io.redisearch.Query(RedisQueryFactory.buildQueryBody(indexName, filters));
+    public Query<V> searchAfter(Object... sortValues) {
+        this.searchAfter = sortValues == null ? null : Arrays.asList(sortValues);
+        return this;
+    }
 
-        setQueryLimitAndOffset(query);
+    @Override
+    public List<V> execute() {
+        try (Stream<V> results = stream()) {
+            return results.collect(Collectors.toList());
+        }
+    }
 
-        if (sortBy != null) {
-            query.setSortBy(sortBy.getAttribute(), SortDirection.ASC.equals(sortBy.getSort()));
+    /**
+     * Runs the query as an aggregation, sorted on the server by all the sort attributes, and reads the results
+     * through its cursor: the documents are fetched in batches as the stream is consumed.
+     */
+    @Override
+    public Stream<V> stream() {
+        String queryBody = RedisQueryFactory.buildAggregationQueryBody(indexName, generateFilters());
+        LOGGER.debug("Executing Redis aggregation: {}", queryBody);
+        AggregationBuilder aggregation = new AggregationBuilder(queryBody).load("@" + RAW_OBJECT_FIELD);
+        int start = offset == null ? 0 : offset;
+        if (sortBy != null && !sortBy.isEmpty()) {
+            SortedField[] fields = sortBy.stream()
+                    .map(s -> SortDirection.ASC.equals(s.getSort()) ? SortedField.asc("@" + s.getAttribute()) : SortedField.desc("@" + s.getAttribute()))
+                    .toArray(SortedField[]::new);
+            if (limit != null) {
+                // only the first elements up to the requested page need to be kept sorted
+                aggregation.sortBy(start + limit, fields);
+            } else {
+                aggregation.sortBy(fields);
+            }
+        }
+        // a limit without offset starts from the first element
+        if (limit != null) {
+            aggregation.limit(start, limit);
         }
 
-        RedisQueryFactory.addFilters(query, filters);
-        SearchResult search = redisClient.search(query);
-        LOGGER.debug(String.format("%d documets have been found for the query.", search.totalResults));
+        Stream<V> results = RedisCursor.stream(redisClient, aggregation).map(row -> toValue(row.get(RAW_OBJECT_FIELD)));
+        // an offset without limit cannot be expressed in an aggregation, the first elements are skipped while reading
+        return limit == null && start > 0 ? results.skip(start) : results;
+    }
 
-        return search.docs.stream().map(x -> {
-            try {
-                return JsonUtils.getMapper().readValue((String) x.get(RAW_OBJECT_FIELD), type);
-            } catch (IOException e) {
-                throw new RuntimeException("Could not deserialize a retrieved object.", e);
+    private List<AttributeFilter<?>> generateFilters() {
+        List<AttributeFilter<?>> queryFilters = filters == null ? new ArrayList<>() : new ArrayList<>(filters);
+        if (searchAfter != null) {
+            if (sortBy == null || sortBy.size() != 1 || searchAfter.size() != 1) {
+                throw new IllegalArgumentException("Keyset pagination requires a single sort attribute and its value");
             }
-        }).collect(Collectors.toList());
+            AttributeSort sort = sortBy.get(0);
+            queryFilters.add(SortDirection.DESC.equals(sort.getSort()) ? lessThan(sort.getAttribute(), searchAfter.get(0))
+                    : greaterThan(sort.getAttribute(), searchAfter.get(0)));
+        }
+        return queryFilters;
     }
 
-    private void setQueryLimitAndOffset(io.redisearch.Query query) {
-        if (limit != null && offset == null) {
-            LOGGER.warn("Limit was specified in Redis query but not the offset. Limit is ignored.");
-            return;
-        }
-        if (limit == null && offset != null) {
-            LOGGER.warn("Offset was specified in Redis query but not the limit. Offset is ignored.");
-            return;
-        }
-        if (limit != null && offset != null) {
-            query.limit(offset, limit);
+    private V toValue(Object rawObject) {
+        try {
+            // aggregation rows hold the raw bytes of the field
+            return rawObject instanceof byte[] ? reader.readValue((byte[]) rawObject) : reader.readValue((String) rawObject);
+        } catch (IOException e) {
+            throw new RuntimeException("Could not deserialize a retrieved object.", e);
         }
     }
 }
@@ -46,6 +46,38 @@ public class RedisQueryFactory {
         return String.join(" ", components);
     }
 
+    // Aggregations have no separate numeric filters, the ranges are added to the query body
+    static String buildAggregationQueryBody(String indexName, List<AttributeFilter<?>> filters) {
+        List<String> components = new ArrayList<>();
+        components.add(buildQueryBody(indexName, filters));
+        for (AttributeFilter attributeFilter : filters) {
+            switch (attributeFilter.getCondition()) {
+                case EQUAL:
+                case LIKE:
+                    break;
+                case GT:
+                    components.add(String.format("@%s:[(%s +inf]", attributeFilter.getAttribute(), convertNumeric(attributeFilter.getValue())));
+                    break;
+                case GTE:
+                    components.add(String.format("@%s:[%s +inf]", attributeFilter.getAttribute(), convertNumeric(attributeFilter.getValue())));
+                    break;
+                case LT:
+                    components.add(String.format("@%s:[-inf (%s]", attributeFilter.getAttribute(), convertNumeric(attributeFilter.getValue())));
+                    break;
+                case LTE:
+                    components.add(String.format("@%s:[-inf %s]", attributeFilter.getAttribute(), convertNumeric(attributeFilter.getValue())));
+                    break;
+                case BETWEEN:
+                    List<?> value = (List<?>) attributeFilter.getValue();
+                    components.add(String.format("@%s:[%s %s]", attributeFilter.getAttribute(), convertNumeric(value.get(0)), convertNumeric(value.get(1))));
+                    break;
+                default:
+                    throw new UnsupportedOperationException("Redis does not support query filter: " + attributeFilter.getCondition());
+            }
+        }
+        return String.join(" ", components);
+    }
+
     static void addFilters(io.redisearch.Query query, List<AttributeFilter<?>> filters) {
         for (AttributeFilter attributeFilter : filters) {
             switch (attributeFilter.getCondition()) {
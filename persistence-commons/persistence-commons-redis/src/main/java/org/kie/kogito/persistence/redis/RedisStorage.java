@@ -18,9 +18,15 @@
  */
 package org.kie.kogito.persistence.redis;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.AbstractMap.SimpleImmutableEntry;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
 
 import org.kie.kogito.persistence.api.Storage;
 import org.kie.kogito.persistence.api.query.Query;
@@ -29,28 +35,37 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectReader;
 
 import io.redisearch.Client;
 import io.redisearch.Document;
+import io.redisearch.aggregation.AggregationBuilder;
 import io.smallrye.mutiny.Multi;
 
+import static java.util.stream.Collectors.toMap;
 import static org.kie.kogito.persistence.redis.Constants.INDEX_NAME_FIELD;
 import static org.kie.kogito.persistence.redis.Constants.RAW_OBJECT_FIELD;
 
 public class RedisStorage<V> implements Storage<String, V> {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(RedisStorage.class);
+    // the document key, available to aggregations
+    private static final String KEY_FIELD = "__key";
+    private static final int CLEAR_BATCH_SIZE = 500;
 
     private final Client redisClient;
     private final RedisIndexManager redisIndexManager;
     private final String indexName;
     private final Class<V> type;
+    private final ObjectReader reader;
 
     public RedisStorage(Client redisClient, RedisIndexManager redisIndexManager, String indexName, Class<V> type) {
         this.redisClient = redisClient;
         this.redisIndexManager = redisIndexManager;
         this.indexName = indexName;
         this.type = type;
+        this.reader = JsonUtils.getReader(type);
     }
 
     @Override
@@ -76,9 +91,14 @@ public class RedisStorage<V> implements Storage<String, V> {
     @Override
     public V get(String key) {
         Document document = redisClient.getDocument(key);
+        return document == null ? null : toValue(document.get(RAW_OBJECT_FIELD));
+    }
+
+    private V toValue(Object rawObject) {
         try {
-            return document == null ? null : JsonUtils.getMapper().readValue((String) document.get(RAW_OBJECT_FIELD), type);
-        } catch (JsonProcessingException e) {
+            // aggregation rows hold the raw bytes of the field
+            return rawObject instanceof byte[] ? reader.readValue((byte[]) rawObject) : reader.readValue((String) rawObject);
+        } catch (IOException e) {
             LOGGER.warn("Could not deserialize the requested object.", e);
             throw new RuntimeException(e);
         }
@@ -86,28 +106,79 @@ public class RedisStorage<V> implements Storage<String, V> {
 
     @Override
     public V put(String key, V value) {
+        redisClient.addDocument(key, toFields(value, redisIndexManager.getSchema(indexName)));
+        return value;
+    }
+
+    private Map<String, Object> toFields(V value, List<String> indexedFields) {
         Map<String, Object> document = new HashMap<>();
-        List<String> indexedFields = redisIndexManager.getSchema(indexName);
-        if (!indexedFields.isEmpty()) { // Add into the payload only the indexed fields, if there are any
-            Map<String, Object> mappedValue = JsonUtils.getMapper().convertValue(value, Map.class);
-            for (String fieldName : indexedFields) {
-                if (mappedValue.get(fieldName) != null) { // If a field is indexed, its value can not be null: it has to be filtered out
+        document.put(INDEX_NAME_FIELD, indexName);
+        try {
+            if (indexedFields.isEmpty()) {
+                document.put(RAW_OBJECT_FIELD, JsonUtils.getMapper().writeValueAsString(value));
+                return document;
+            }
+            // The value is converted into a tree once, then the indexed fields are read from it and the raw object is written from it
+            JsonNode tree = JsonUtils.getMapper().valueToTree(value);
+            for (String fieldName : indexedFields) { // Add into the payload only the indexed fields
+                JsonNode field = tree.get(fieldName);
+                if (field != null && !field.isNull()) { // If a field is indexed, its value can not be null: it has to be filtered out
                     // Indexed values have to be escaped according to https://github.com/RediSearch/RediSearch/issues/1148
-                    document.put(fieldName, Sanitizer.sanitize(mappedValue.get(fieldName)));
+                    document.put(fieldName, Sanitizer.sanitize(toIndexedValue(field)));
                 }
             }
-        }
-
-        document.put(INDEX_NAME_FIELD, indexName);
-
-        try {
-            document.put(RAW_OBJECT_FIELD, JsonUtils.getMapper().writeValueAsString(value));
+            document.put(RAW_OBJECT_FIELD, JsonUtils.getMapper().writeValueAsString(tree));
         } catch (JsonProcessingException e) {
             LOGGER.warn("Could not serialize the object.", e);
             throw new RuntimeException(e);
         }
-        redisClient.addDocument(key, document);
-        return value;
+        return document;
+    }
+
+    private static Object toIndexedValue(JsonNode field) {
+        if (field.isTextual()) {
+            return field.textValue();
+        }
+        if (field.isNumber()) {
+            return field.numberValue();
+        }
+        if (field.isBoolean()) {
+            return field.booleanValue();
+        }
+        return field.toString();
+    }
+
+    @Override
+    public void putAll(Map<String, V> elements) {
+        if (elements.isEmpty()) {
+            return;
+        }
+        // The client sends the documents of a batch through a single pipeline
+        List<String> indexedFields = redisIndexManager.getSchema(indexName);
+        redisClient.addDocuments(elements.entrySet().stream()
+                .map(e -> new Document(e.getKey(), toFields(e.getValue(), indexedFields)))
+                .toArray(Document[]::new));
+    }
+
+    @Override
+    public Map<String, V> getAll(Set<String> keys) {
+        Map<String, V> result = new HashMap<>();
+        if (keys.isEmpty()) {
+            return result;
+        }
+        for (Document document : redisClient.getDocuments(keys.toArray(String[]::new))) {
+            if (document != null) {
+                result.put(document.getId(), toValue(document.get(RAW_OBJECT_FIELD)));
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public void removeAll(Set<String> keys) {
+        if (!keys.isEmpty()) {
+            redisClient.deleteDocuments(true, keys.toArray(String[]::new));
+        }
     }
 
     @Override
@@ -122,19 +193,61 @@ public class RedisStorage<V> implements Storage<String, V> {
         return redisClient.getDocument(key) != null;
     }
 
+    /**
+     * Loads all the entries of the index, prefer {@link #entryStream()} on large indexes.
+     */
     @Override
     public Map<String, V> entries() {
-        throw new UnsupportedOperationException("entrySet operation not supported for Redis.");
+        try (Stream<Map.Entry<String, V>> entries = entryStream()) {
+            return entries.collect(toMap(Map.Entry::getKey, Map.Entry::getValue, (a, b) -> b, LinkedHashMap::new));
+        }
     }
 
+    /**
+     * Reads the entries of the index through an aggregation cursor, in batches as the stream is consumed.
+     */
+    @Override
+    public Stream<Map.Entry<String, V>> entryStream() {
+        AggregationBuilder aggregation = new AggregationBuilder(indexQuery()).load("@" + KEY_FIELD, "@" + RAW_OBJECT_FIELD);
+        return RedisCursor.stream(redisClient, aggregation)
+                .map(row -> new SimpleImmutableEntry<>(toKey(row.get(KEY_FIELD)), toValue(row.get(RAW_OBJECT_FIELD))));
+    }
+
+    private static String toKey(Object key) {
+        return key instanceof byte[] ? new String((byte[]) key, StandardCharsets.UTF_8) : (String) key;
+    }
+
+    /**
+     * Deletes the documents of the index in batches, each batch of deletions is sent through a single pipeline.
+     */
     @Override
     public void clear() {
-        List<Document> documents = redisClient.search(new io.redisearch.Query(String.format("@%s:%s", INDEX_NAME_FIELD, indexName))).docs;
-        for (Document doc : documents) {
-            redisClient.deleteDocument(doc.getId());
+        io.redisearch.Query query = new io.redisearch.Query(indexQuery()).setNoContent().limit(0, CLEAR_BATCH_SIZE);
+        List<Document> documents = redisClient.search(query).docs;
+        while (!documents.isEmpty()) {
+            boolean[] deleted = redisClient.deleteDocuments(true, documents.stream().map(Document::getId).toArray(String[]::new));
+            if (!anyDeleted(deleted)) {
+                // nothing else can be deleted, do not search the same documents again
+                LOGGER.warn("Could not delete {} documents of index {}", documents.size(), indexName);
+                return;
+            }
+            documents = redisClient.search(query).docs;
         }
     }
 
+    private static boolean anyDeleted(boolean[] deleted) {
+        for (boolean d : deleted) {
+            if (d) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private String indexQuery() {
+        return String.format("@%s:%s", INDEX_NAME_FIELD, indexName);
+    }
+
     @Override
     public String getRootType() {
         return type.getSimpleName();
@@ -148,7 +148,13 @@ public class RedisClientMock implements io.redisearch.Client {
 
     @Override
     public boolean[] addDocuments(Document... documents) {
-        throw new UnsupportedOperationException("Mock does not support this operation.");
+        boolean[] result = new boolean[documents.length];
+        for (int i = 0; i < documents.length; i++) {
+            Map<String, Object> map = new HashMap<>();
+            documents[i].getProperties().forEach(e -> map.put(e.getKey(), e.getValue()));
+            result[i] = addDocument(documents[i].getId(), map);
+        }
+        return result;
     }
 
     @Override
@@ -193,7 +199,11 @@ public class RedisClientMock implements io.redisearch.Client {
 
     @Override
     public boolean[] deleteDocuments(boolean b, String... strings) {
-        throw new UnsupportedOperationException("Mock does not support this operation.");
+        boolean[] result = new boolean[strings.length];
+        for (int i = 0; i < strings.length; i++) {
+            result[i] = storage.remove(strings[i]) != null;
+        }
+        return result;
     }
 
     @Override
@@ -208,7 +218,11 @@ public class RedisClientMock implements io.redisearch.Client {
 
     @Override
     public List<Document> getDocuments(String... strings) {
-        throw new UnsupportedOperationException("Mock does not support this operation.");
+        List<Document> documents = new ArrayList<>();
+        for (String key : strings) {
+            documents.add(getDocument(key));
+        }
+        return documents;
     }
 
     @Override
@@ -18,28 +18,32 @@
  */
 package org.kie.kogito.persistence.redis;
 
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.kie.kogito.persistence.api.query.AttributeFilter;
 import org.kie.kogito.persistence.api.query.QueryFilterFactory;
 import org.kie.kogito.persistence.api.query.SortDirection;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 
-import io.redisearch.Document;
-import io.redisearch.Query;
-import io.redisearch.SearchResult;
+import io.redisearch.AggregationResult;
+import io.redisearch.aggregation.AggregationBuilder;
 import io.redisearch.client.Client;
 
 import static java.util.Arrays.asList;
 import static java.util.Collections.singletonList;
 import static org.kie.kogito.persistence.api.query.QueryFilterFactory.orderBy;
 import static org.kie.kogito.persistence.redis.Constants.RAW_OBJECT_FIELD;
+import static org.kie.kogito.persistence.redis.Person.AGE_PROPERTY;
 import static org.kie.kogito.persistence.redis.Person.NAME_PROPERTY;
 import static org.kie.kogito.persistence.redis.TestContants.TEST_INDEX_NAME;
 import static org.mockito.ArgumentMatchers.any;
@@ -48,26 +52,35 @@ import static org.mockito.Mockito.when;
 public class RedisQueryTest {
 
     @Test
-    public void multipleAttributeSortingIsNotSupported() {
-        RedisQuery<Person> redisQuery = new RedisQuery<>(new RedisClientMock(), TEST_INDEX_NAME, Person.class);
-        Assertions.assertThrows(UnsupportedOperationException.class, () -> redisQuery.sort(asList(orderBy("first", SortDirection.DESC), orderBy("second", SortDirection.ASC))));
+    public void multipleAttributeSortingIsDoneByTheServer() throws JsonProcessingException {
+        Client client = Mockito.mock(Client.class);
+        AggregationResult result = Mockito.mock(AggregationResult.class);
+        when(result.getCursorId()).thenReturn(0L);
+        when(result.getResults()).thenReturn(singletonList(rawObjectRow(new Person("pippo", 20))));
+        ArgumentCaptor<AggregationBuilder> aggregation = ArgumentCaptor.forClass(AggregationBuilder.class);
+        when(client.aggregate(aggregation.capture())).thenReturn(result);
+
+        RedisQuery<Person> redisQuery = new RedisQuery<>(client, TEST_INDEX_NAME, Person.class);
+        redisQuery.filter(new ArrayList<>());
+        redisQuery.sort(asList(orderBy(NAME_PROPERTY, SortDirection.DESC), orderBy(AGE_PROPERTY, SortDirection.ASC)));
+        redisQuery.limit(10);
+
+        Assertions.assertEquals(1, redisQuery.execute().size());
+        String args = String.join(" ", aggregation.getValue().getArgs());
+        Assertions.assertTrue(args.contains(String.format("SORTBY 4 @%s DESC @%s ASC MAX 10", NAME_PROPERTY, AGE_PROPERTY)), args);
+        Assertions.assertTrue(args.contains("LIMIT 0 10"), args);
+        Assertions.assertTrue(args.contains("WITHCURSOR"), args);
     }
 
     @Test
     public void executeTest() throws JsonProcessingException {
         Client client = Mockito.mock(Client.class);
 
-        Person person = new Person("pippo", 20);
-
-        // Add the raw object to the map
-        Map<String, Object> map = JsonUtils.getMapper().convertValue(person, Map.class);
-        map.put(RAW_OBJECT_FIELD, JsonUtils.getMapper().writeValueAsString(person));
-
         // Mock the response
-        Document document = new Document("pippo", map);
-        SearchResult searchResult = new SearchResult(singletonList(0L), false, false, false);
-        searchResult.docs.add(document);
-        when(client.search(any(Query.class))).thenReturn(searchResult);
+        AggregationResult aggregationResult = Mockito.mock(AggregationResult.class);
+        when(aggregationResult.getCursorId()).thenReturn(0L);
+        when(aggregationResult.getResults()).thenReturn(singletonList(rawObjectRow(new Person("pippo", 20))));
+        when(client.aggregate(any(AggregationBuilder.class))).thenReturn(aggregationResult);
 
         RedisQuery<Person> redisQuery = new RedisQuery<>(client, TEST_INDEX_NAME, Person.class);
 
@@ -82,4 +95,56 @@ public class RedisQueryTest {
         Assertions.assertEquals("pippo", result.get(0).getName());
         Assertions.assertEquals(20, result.get(0).getAge());
     }
+
+    @Test
+    public void streamReadsCursorBatches() throws JsonProcessingException {
+        Client client = Mockito.mock(Client.class);
+
+        AggregationResult first = Mockito.mock(AggregationResult.class);
+        when(first.getCursorId()).thenReturn(7L);
+        when(first.getResults()).thenReturn(singletonList(rawObjectRow(new Person("pippo", 20))));
+        AggregationResult last = Mockito.mock(AggregationResult.class);
+        when(last.getCursorId()).thenReturn(0L);
+        when(last.getResults()).thenReturn(singletonList(rawObjectRow(new Person("pluto", 30))));
+        when(client.aggregate(any(AggregationBuilder.class))).thenReturn(first);
+        when(client.cursorRead(7L, 500)).thenReturn(last);
+
+        RedisQuery<Person> redisQuery = new RedisQuery<>(client, TEST_INDEX_NAME, Person.class);
+        redisQuery.filter(singletonList(QueryFilterFactory.greaterThan(AGE_PROPERTY, 10)));
+
+        try (Stream<Person> stream = redisQuery.stream()) {
+            Assertions.assertEquals(asList("pippo", "pluto"), stream.map(Person::getName).collect(Collectors.toList()));
+        }
+        Mockito.verify(client, Mockito.never()).cursorDelete(Mockito.anyLong());
+    }
+
+    @Test
+    public void closingStreamReleasesCursor() throws JsonProcessingException {
+        Client client = Mockito.mock(Client.class);
+
+        AggregationResult first = Mockito.mock(AggregationResult.class);
+        when(first.getCursorId()).thenReturn(7L);
+        when(first.getResults()).thenReturn(singletonList(rawObjectRow(new Person("pippo", 20))));
+        when(client.aggregate(any(AggregationBuilder.class))).thenReturn(first);
+
+        RedisQuery<Person> redisQuery = new RedisQuery<>(client, TEST_INDEX_NAME, Person.class);
+        redisQuery.filter(new ArrayList<>());
+
+        try (Stream<Person> stream = redisQuery.stream()) {
+            Assertions.assertEquals("pippo", stream.findFirst().get().getName());
+        }
+        Mockito.verify(client).cursorDelete(7L);
+    }
+
+    @Test
+    public void aggregationQueryBodyContainsNumericRanges() {
+        String body = RedisQueryFactory.buildAggregationQueryBody(TEST_INDEX_NAME,
+                singletonList(QueryFilterFactory.greaterThan(AGE_PROPERTY, 20)));
+
+        Assertions.assertTrue(body.endsWith(String.format("@%s:[(20.0 +inf]", AGE_PROPERTY)));
+    }
+
+    private static Map<String, Object> rawObjectRow(Person person) throws JsonProcessingException {
+        return Map.of(RAW_OBJECT_FIELD, JsonUtils.getMapper().writeValueAsString(person).getBytes(StandardCharsets.UTF_8));
+    }
 }
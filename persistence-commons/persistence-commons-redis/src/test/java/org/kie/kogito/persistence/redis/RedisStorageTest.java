@@ -18,7 +18,10 @@
  */
 package org.kie.kogito.persistence.redis;
 
+import java.nio.charset.StandardCharsets;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
@@ -27,14 +30,23 @@ import org.kie.kogito.persistence.redis.index.RedisCreateIndexEvent;
 import org.kie.kogito.persistence.redis.index.RedisIndexManager;
 import org.mockito.Mockito;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+
+import io.redisearch.AggregationResult;
+import io.redisearch.Client;
+import io.redisearch.Document;
 import io.redisearch.Schema;
+import io.redisearch.SearchResult;
+import io.redisearch.aggregation.AggregationBuilder;
 
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.kie.kogito.persistence.redis.Constants.INDEX_NAME_FIELD;
 import static org.kie.kogito.persistence.redis.Constants.RAW_OBJECT_FIELD;
 import static org.kie.kogito.persistence.redis.Person.AGE_PROPERTY;
+import static org.kie.kogito.persistence.redis.Person.BIOGRAPHY_PROPERTY;
 import static org.kie.kogito.persistence.redis.Person.NAME_PROPERTY;
 import static org.kie.kogito.persistence.redis.TestContants.TEST_INDEX_NAME;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.when;
 
 public class RedisStorageTest {
@@ -76,8 +88,49 @@ public class RedisStorageTest {
     }
 
     @Test
-    public void entrySetOperationShouldThrowException() {
-        assertThrows(UnsupportedOperationException.class, redisStorage::entries);
+    public void entriesAreReadThroughCursor() throws JsonProcessingException {
+        Client client = Mockito.mock(Client.class);
+        AggregationResult first = Mockito.mock(AggregationResult.class);
+        when(first.getCursorId()).thenReturn(3L);
+        when(first.getResults()).thenReturn(List.of(row("key1", new Person("pippo", 22))));
+        AggregationResult last = Mockito.mock(AggregationResult.class);
+        when(last.getCursorId()).thenReturn(0L);
+        when(last.getResults()).thenReturn(List.of(row("key2", new Person("pluto", 33))));
+        when(client.aggregate(any(AggregationBuilder.class))).thenReturn(first);
+        when(client.cursorRead(3L, RedisCursor.BATCH_SIZE)).thenReturn(last);
+
+        Map<String, Person> entries = new RedisStorage<>(client, redisIndexManager, TEST_INDEX_NAME, Person.class).entries();
+
+        Assertions.assertEquals(List.of("key1", "key2"), List.copyOf(entries.keySet()));
+        Assertions.assertEquals("pippo", entries.get("key1").getName());
+        Assertions.assertEquals(33, entries.get("key2").getAge());
+    }
+
+    @Test
+    public void clearDeletesDocumentsInBatches() {
+        Client client = Mockito.mock(Client.class);
+        SearchResult firstPage = new SearchResult(List.of(0L), false, false, false);
+        firstPage.docs.add(new Document("key1"));
+        firstPage.docs.add(new Document("key2"));
+        SearchResult lastPage = new SearchResult(List.of(0L), false, false, false);
+        when(client.search(any(io.redisearch.Query.class))).thenReturn(firstPage, lastPage);
+        when(client.deleteDocuments(true, "key1", "key2")).thenReturn(new boolean[] { true, true });
+
+        new RedisStorage<>(client, redisIndexManager, TEST_INDEX_NAME, Person.class).clear();
+
+        Mockito.verify(client).deleteDocuments(true, "key1", "key2");
+        Mockito.verify(client, Mockito.times(2)).search(any(io.redisearch.Query.class));
+    }
+
+    @Test
+    public void putSerializesIndexedFieldsAndRawObject() throws JsonProcessingException {
+        redisStorage.put("myKey", new Person("pippo", 22, "a biography"));
+
+        Map<String, Object> document = redisClientMock.getStorage().get("myKey");
+        Assertions.assertEquals("pippo", document.get(NAME_PROPERTY));
+        Assertions.assertEquals(22, document.get(AGE_PROPERTY));
+        Assertions.assertFalse(document.containsKey(BIOGRAPHY_PROPERTY));
+        Assertions.assertEquals(JsonUtils.getMapper().writeValueAsString(new Person("pippo", 22, "a biography")), document.get(RAW_OBJECT_FIELD));
     }
 
     @Test
@@ -144,10 +197,34 @@ public class RedisStorageTest {
         Assertions.assertNotNull(redisStorage.get(key));
     }
 
+    @Test
+    public void batchOperationsTest() {
+        redisStorage.putAll(Map.of("key1", new Person("pippo", 22), "key2", new Person("pluto", 33), "key3", new Person("paperino", 44)));
+
+        Assertions.assertEquals(3, redisClientMock.getStorage().size());
+        Assertions.assertEquals(4, redisClientMock.getStorage().get("key1").size());
+
+        Map<String, Person> retrieved = redisStorage.getAll(Set.of("key1", "key2", "a_key_that_does_not_exist"));
+        Assertions.assertEquals(2, retrieved.size());
+        Assertions.assertEquals("pippo", retrieved.get("key1").getName());
+        Assertions.assertEquals(33, retrieved.get("key2").getAge());
+
+        redisStorage.removeAll(Set.of("key1", "key2"));
+
+        Assertions.assertNull(redisStorage.get("key1"));
+        Assertions.assertNull(redisStorage.get("key2"));
+        Assertions.assertNotNull(redisStorage.get("key3"));
+    }
+
     private void setPersonIndex(RedisIndexManager redisIndexManager) {
         RedisCreateIndexEvent redisCreateIndexEvent = new RedisCreateIndexEvent(TEST_INDEX_NAME);
         redisCreateIndexEvent.withField(new Schema.Field(NAME_PROPERTY, Schema.FieldType.FullText, false));
         redisCreateIndexEvent.withField(new Schema.Field(AGE_PROPERTY, Schema.FieldType.Numeric, false));
         redisIndexManager.createIndex(redisCreateIndexEvent);
     }
+
+    private static Map<String, Object> row(String key, Person person) throws JsonProcessingException {
+        return Map.of("__key", key.getBytes(StandardCharsets.UTF_8),
+                RAW_OBJECT_FIELD, JsonUtils.getMapper().writeValueAsString(person).getBytes(StandardCharsets.UTF_8));
+    }
 }
@@ -32,9 +32,13 @@ import org.kie.kogito.persistence.postgresql.reporting.model.PostgresPartitionFi
 import org.kie.kogito.persistence.postgresql.reporting.service.PostgresMappingServiceImpl;
 import org.kie.kogito.persistence.reporting.api.BaseMappingsApiV1;
 
+import jakarta.ws.rs.core.Response;
+
 public abstract class BasePostgresMappingsApiV1
         extends BaseMappingsApiV1<JsonType, PostgresField, PostgresPartitionField, PostgresJsonField, PostgresMapping, PostgresMappingDefinition, PostgresMappingDefinitions, PostgresContext> {
 
+    private PostgresMappingServiceImpl mappingService;
+
     protected BasePostgresMappingsApiV1() {
         //CDI proxies
     }
@@ -42,6 +46,21 @@ public abstract class BasePostgresMappingsApiV1
     protected BasePostgresMappingsApiV1(final PostgresMappingServiceImpl mappingService,
             final BasePostgresDatabaseManagerImpl databaseManager) {
         super(mappingService, databaseManager);
+        this.mappingService = mappingService;
+    }
+
+    /**
+     * Gets how far the target table of a Mapping Definition lags behind its source table.
+     *
+     * @param mappingId The Mapping Definition ID.
+     * @return The extraction lag.
+     */
+    protected Response getExtractionLag(final String mappingId) {
+        try {
+            return Response.ok(mappingService.getExtractionLag(mappingId)).build();
+        } catch (IllegalArgumentException ex) {
+            return Response.status(Response.Status.BAD_REQUEST.getStatusCode()).build();
+        }
     }
 
     @Override
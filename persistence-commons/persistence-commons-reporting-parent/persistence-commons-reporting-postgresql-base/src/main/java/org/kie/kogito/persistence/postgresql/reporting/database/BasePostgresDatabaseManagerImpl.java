@@ -20,8 +20,10 @@ package org.kie.kogito.persistence.postgresql.reporting.database;
 
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
+import org.eclipse.microprofile.config.inject.ConfigProperty;
 import org.kie.kogito.persistence.postgresql.reporting.database.sqlbuilders.PostgresApplyMappingSqlBuilder;
 import org.kie.kogito.persistence.postgresql.reporting.database.sqlbuilders.PostgresContext;
 import org.kie.kogito.persistence.postgresql.reporting.database.sqlbuilders.PostgresIndexesSqlBuilder;
@@ -29,6 +31,7 @@ import org.kie.kogito.persistence.postgresql.reporting.database.sqlbuilders.Post
 import org.kie.kogito.persistence.postgresql.reporting.database.sqlbuilders.PostgresTriggerDeleteSqlBuilder;
 import org.kie.kogito.persistence.postgresql.reporting.database.sqlbuilders.PostgresTriggerInsertSqlBuilder;
 import org.kie.kogito.persistence.postgresql.reporting.model.JsonType;
+import org.kie.kogito.persistence.postgresql.reporting.model.PostgresExtractionLag;
 import org.kie.kogito.persistence.postgresql.reporting.model.PostgresField;
 import org.kie.kogito.persistence.postgresql.reporting.model.PostgresJsonField;
 import org.kie.kogito.persistence.postgresql.reporting.model.PostgresMapping;
@@ -62,6 +65,15 @@ public abstract class BasePostgresDatabaseManagerImpl
 
     private static final String COLUMN_INFO = "SELECT column_name, udt_name FROM information_schema.columns WHERE table_name = '%s';";
 
+    private static final String TABLE_EXISTS = "SELECT to_regclass(?1) IS NOT NULL";
+
+    @ConfigProperty(name = "kogito.apps.persistence.reporting.extraction.mode", defaultValue = "SYNCHRONOUS")
+    protected ExtractionMode extractionMode = ExtractionMode.SYNCHRONOUS;
+
+    private PostgresTriggerInsertSqlBuilder triggerInsertSqlBuilder;
+
+    private final Map<String, String> extractSql = new ConcurrentHashMap<>();
+
     protected BasePostgresDatabaseManagerImpl() {
         //CDI proxy
     }
@@ -76,6 +88,7 @@ public abstract class BasePostgresDatabaseManagerImpl
                 triggerDeleteSqlBuilder,
                 triggerInsertSqlBuilder,
                 applyMappingSqlBuilder);
+        this.triggerInsertSqlBuilder = triggerInsertSqlBuilder;
     }
 
     @Override
@@ -105,7 +118,31 @@ public abstract class BasePostgresDatabaseManagerImpl
                 targetTableName,
                 mappings,
                 pathSegments,
-                sourceTableFieldTypes);
+                sourceTableFieldTypes,
+                extractionMode);
+    }
+
+    /**
+     * Gets the configured extraction mode, applied when the database artifacts of a mapping are created.
+     */
+    public ExtractionMode getExtractionMode() {
+        return extractionMode;
+    }
+
+    /**
+     * Gets the extraction mode the database artifacts of a mapping were created with, which differs from the configured
+     * one when it was changed afterwards. Only the artifacts created with {@link ExtractionMode#DEFERRED} have a queue table.
+     *
+     * @param mappingDefinition The mapping.
+     * @return The extraction mode of the mapping.
+     */
+    public ExtractionMode getExtractionMode(final PostgresMappingDefinition mappingDefinition) {
+        final String queueTableName = PostgresContext.getQueueTableName(validateTargetTableName(mappingDefinition.getTargetTableName()));
+        final Object exists = getEntityManager(mappingDefinition.getSourceTableName())
+                .createNativeQuery(TABLE_EXISTS)
+                .setParameter(1, queueTableName)
+                .getSingleResult();
+        return Boolean.TRUE.equals(exists) ? ExtractionMode.DEFERRED : ExtractionMode.SYNCHRONOUS;
     }
 
     @Override
@@ -126,9 +163,41 @@ public abstract class BasePostgresDatabaseManagerImpl
     @Override
     @Transactional
     public void destroyArtifacts(final PostgresMappingDefinition mappingDefinition) {
+        extractSql.remove(mappingDefinition.getMappingId());
         super.destroyArtifacts(mappingDefinition);
     }
 
+    /**
+     * Extracts the next batch of source rows enqueued by the triggers of a mapping with {@link ExtractionMode#DEFERRED}.
+     *
+     * @param mappingDefinition The mapping.
+     * @param batchSize The maximum number of source rows to extract.
+     * @return The number of source rows extracted.
+     */
+    @Transactional
+    public int extract(final PostgresMappingDefinition mappingDefinition, final int batchSize) {
+        final String sql = extractSql.computeIfAbsent(mappingDefinition.getMappingId(),
+                mappingId -> triggerInsertSqlBuilder.createExtractSql(createContext(mappingDefinition)));
+        final Number extracted = (Number) getEntityManager(mappingDefinition.getSourceTableName())
+                .createNativeQuery(sql)
+                .setParameter(1, batchSize)
+                .getSingleResult();
+        return extracted.intValue();
+    }
+
+    public PostgresExtractionLag getExtractionLag(final PostgresMappingDefinition mappingDefinition) {
+        if (getExtractionMode(mappingDefinition) != ExtractionMode.DEFERRED) {
+            return new PostgresExtractionLag(mappingDefinition.getMappingId(), 0, 0);
+        }
+        final String sql = triggerInsertSqlBuilder.createExtractionLagSql(createContext(mappingDefinition));
+        final Object[] row = (Object[]) getEntityManager(mappingDefinition.getSourceTableName())
+                .createNativeQuery(sql)
+                .getSingleResult();
+        return new PostgresExtractionLag(mappingDefinition.getMappingId(),
+                ((Number) row[0]).longValue(),
+                ((Number) row[1]).longValue());
+    }
+
     @Entity
     @SqlResultSetMapping(
             name = "ColumnInformationMapping",
@@ -20,7 +20,9 @@ package org.kie.kogito.persistence.postgresql.reporting.database.sqlbuilders;
 
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 
+import org.kie.kogito.persistence.postgresql.reporting.database.ExtractionMode;
 import org.kie.kogito.persistence.postgresql.reporting.model.JsonType;
 import org.kie.kogito.persistence.postgresql.reporting.model.PostgresField;
 import org.kie.kogito.persistence.postgresql.reporting.model.PostgresJsonField;
@@ -31,6 +33,10 @@ import org.kie.kogito.persistence.reporting.model.paths.PathSegment;
 
 public class PostgresContext extends BaseContext<JsonType, PostgresField, PostgresPartitionField, PostgresJsonField, PostgresMapping> {
 
+    private static final String QUEUE_TABLE_SUFFIX = "_queue";
+
+    private final ExtractionMode extractionMode;
+
     public PostgresContext(final String mappingId,
             final String sourceTableName,
             final String sourceTableJsonFieldName,
@@ -40,6 +46,28 @@ public class PostgresContext extends BaseContext<JsonType, PostgresField, Postgr
             final List<PostgresMapping> mappings,
             final List<PathSegment> mappingPaths,
             final Map<String, String> sourceTableFieldTypes) {
+        this(mappingId,
+                sourceTableName,
+                sourceTableJsonFieldName,
+                sourceTableIdentityFields,
+                sourceTablePartitionFields,
+                targetTableName,
+                mappings,
+                mappingPaths,
+                sourceTableFieldTypes,
+                ExtractionMode.SYNCHRONOUS);
+    }
+
+    public PostgresContext(final String mappingId,
+            final String sourceTableName,
+            final String sourceTableJsonFieldName,
+            final List<PostgresField> sourceTableIdentityFields,
+            final List<PostgresPartitionField> sourceTablePartitionFields,
+            final String targetTableName,
+            final List<PostgresMapping> mappings,
+            final List<PathSegment> mappingPaths,
+            final Map<String, String> sourceTableFieldTypes,
+            final ExtractionMode extractionMode) {
         super(mappingId,
                 sourceTableName,
                 sourceTableJsonFieldName,
@@ -49,5 +77,25 @@ public class PostgresContext extends BaseContext<JsonType, PostgresField, Postgr
                 mappings,
                 mappingPaths,
                 sourceTableFieldTypes);
+        this.extractionMode = Objects.requireNonNull(extractionMode);
+    }
+
+    public ExtractionMode getExtractionMode() {
+        return extractionMode;
+    }
+
+    public boolean isDeferred() {
+        return extractionMode == ExtractionMode.DEFERRED;
+    }
+
+    /**
+     * The table holding the identity of source rows pending extraction when {@link ExtractionMode#DEFERRED}.
+     */
+    public String getQueueTableName() {
+        return getQueueTableName(getTargetTableName());
+    }
+
+    public static String getQueueTableName(final String targetTableName) {
+        return targetTableName + QUEUE_TABLE_SUFFIX;
     }
 }
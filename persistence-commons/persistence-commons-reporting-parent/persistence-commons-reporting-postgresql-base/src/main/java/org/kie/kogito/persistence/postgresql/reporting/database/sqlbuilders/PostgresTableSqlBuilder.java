@@ -45,6 +45,15 @@ public class PostgresTableSqlBuilder implements TableSqlBuilder<JsonType, Postgr
                     "%s %n" +
                     ");%n";
 
+    private static final String CREATE_QUEUE_TABLE_TEMPLATE =
+            "CREATE TABLE %s ( %n" +
+                    "%s, %n" +
+                    "  version bigint NOT NULL DEFAULT 1, %n" +
+                    "  enqueued timestamp with time zone NOT NULL DEFAULT now(), %n" +
+                    "  PRIMARY KEY (%s) %n" +
+                    ");%n" +
+                    "CREATE INDEX idx_%s_enqueued ON %s (enqueued);%n";
+
     private static final String DROP_TABLE_TEMPLATE = "DROP TABLE IF EXISTS %s;%n";
 
     @Override
@@ -61,7 +70,8 @@ public class PostgresTableSqlBuilder implements TableSqlBuilder<JsonType, Postgr
                 .map(pf -> new PostgresField(pf.getFieldName()))
                 .collect(Collectors.toList()));
 
-        final String sql = String.format(CREATE_TABLE_TEMPLATE,
+        final StringBuilder sql = new StringBuilder();
+        sql.append(String.format(CREATE_TABLE_TEMPLATE,
                 targetTableName,
                 simpleMappings
                         .stream()
@@ -70,22 +80,47 @@ public class PostgresTableSqlBuilder implements TableSqlBuilder<JsonType, Postgr
                 getFieldMappings
                         .stream()
                         .map(PostgresTableSqlBuilder::buildTargetFieldSql)
-                        .collect(Collectors.joining(", " + String.format("%n"))));
+                        .collect(Collectors.joining(", " + String.format("%n")))));
+        if (context.isDeferred()) {
+            sql.append(createQueueTableSql(context));
+        }
         if (LOGGER.isInfoEnabled()) {
             LOGGER.info(String.format("Create TABLE SQL:%n%s", sql));
         }
-        return sql;
+        return sql.toString();
+    }
+
+    private static String createQueueTableSql(final PostgresContext context) {
+        final String queueTableName = context.getQueueTableName();
+        final Map<String, String> sourceTableFieldTypes = context.getSourceTableFieldTypes();
+        final List<PostgresField> identityFields = context.getSourceTableIdentityFields();
+
+        return String.format(CREATE_QUEUE_TABLE_TEMPLATE,
+                queueTableName,
+                identityFields
+                        .stream()
+                        .map(f -> buildTargetIdentityFieldSql(f.getFieldName(), sourceTableFieldTypes.get(f.getFieldName())))
+                        .collect(Collectors.joining(", " + String.format("%n"))),
+                identityFields
+                        .stream()
+                        .map(PostgresField::getFieldName)
+                        .collect(Collectors.joining(", ")),
+                queueTableName,
+                queueTableName);
     }
 
     @Override
     public String dropTableSql(final PostgresContext context) {
         final String targetTableName = context.getTargetTableName();
 
-        final String sql = String.format(DROP_TABLE_TEMPLATE, targetTableName);
+        final StringBuilder sql = new StringBuilder();
+        sql.append(String.format(DROP_TABLE_TEMPLATE, targetTableName));
+        //The queue is dropped regardless of the mode so that switching modes leaves nothing behind
+        sql.append(String.format(DROP_TABLE_TEMPLATE, context.getQueueTableName()));
         if (LOGGER.isInfoEnabled()) {
             LOGGER.info(String.format("Drop TABLE SQL:%n%s", sql));
         }
-        return sql;
+        return sql.toString();
     }
 
     private static String buildTargetIdentityFieldSql(final String fieldName,
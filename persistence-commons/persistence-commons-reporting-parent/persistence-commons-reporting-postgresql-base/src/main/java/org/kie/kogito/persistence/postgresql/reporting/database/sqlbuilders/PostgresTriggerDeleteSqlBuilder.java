@@ -54,6 +54,21 @@ public class PostgresTriggerDeleteSqlBuilder implements TriggerDeleteSqlBuilder<
                     "END; %n" +
                     "$$ LANGUAGE PLPGSQL; %n";
 
+    private static final String CREATE_DELETE_ENQUEUE_TRIGGER_FUNCTION_TEMPLATE =
+            "CREATE FUNCTION spDelete_%s() RETURNS trigger AS %n" +
+                    "$$ %n" +
+                    "BEGIN %n" +
+                    "DELETE FROM %s %n" +
+                    "  WHERE %n" +
+                    "%s; %n" +
+                    "INSERT INTO %s (%s) %n" +
+                    "  VALUES (%n" +
+                    "%s) %n" +
+                    "  ON CONFLICT (%s) DO UPDATE SET version = %s.version + 1; %n" +
+                    "RETURN OLD; %n" +
+                    "END; %n" +
+                    "$$ LANGUAGE PLPGSQL; %n";
+
     private static final String CREATE_DELETE_TRIGGER_TEMPLATE_FOR_DELETES =
             "CREATE TRIGGER trgDelete_%s AFTER DELETE ON %s %n" +
                     "FOR EACH ROW %n" +
@@ -88,16 +103,22 @@ public class PostgresTriggerDeleteSqlBuilder implements TriggerDeleteSqlBuilder<
                 .collect(Collectors.toList()));
 
         final StringBuilder sql = new StringBuilder();
-        sql.append(createDeleteTriggerFunctionSql(mappingId,
-                "DELETES",
-                targetTableName,
-                simpleMappings,
-                PseudoTable.OLD));
-        sql.append(createDeleteTriggerFunctionSql(mappingId,
-                "UPDATES",
-                targetTableName,
-                simpleMappings,
-                PseudoTable.NEW));
+        if (context.isDeferred()) {
+            //Deferred extraction replaces the rows of updated sources itself. A concurrent extraction may still insert
+            //the rows of a deleted source, queueing its identity again makes the next extraction purge them
+            sql.append(createDeleteEnqueueTriggerFunctionSql(context, simpleMappings));
+        } else {
+            sql.append(createDeleteTriggerFunctionSql(mappingId,
+                    "DELETES",
+                    targetTableName,
+                    simpleMappings,
+                    PseudoTable.OLD));
+            sql.append(createDeleteTriggerFunctionSql(mappingId,
+                    "UPDATES",
+                    targetTableName,
+                    simpleMappings,
+                    PseudoTable.NEW));
+        }
 
         if (LOGGER.isInfoEnabled()) {
             LOGGER.info(String.format("Create DELETE TRIGGER FUNCTION SQL:%n%s", sql));
@@ -121,6 +142,30 @@ public class PostgresTriggerDeleteSqlBuilder implements TriggerDeleteSqlBuilder<
                 type.name());
     }
 
+    private String createDeleteEnqueueTriggerFunctionSql(final PostgresContext context,
+            final List<PostgresField> simpleMappings) {
+        final List<PostgresField> identityFields = context.getSourceTableIdentityFields();
+        final String identityFieldNames = identityFields
+                .stream()
+                .map(PostgresField::getFieldName)
+                .collect(Collectors.joining(", "));
+        return String.format(CREATE_DELETE_ENQUEUE_TRIGGER_FUNCTION_TEMPLATE,
+                String.format("%s_%s", context.getMappingId(), "DELETES"),
+                context.getTargetTableName(),
+                simpleMappings
+                        .stream()
+                        .map(m -> buildTargetIdentityFieldSql(PseudoTable.OLD, m))
+                        .collect(Collectors.joining(" AND " + String.format("%n"))),
+                context.getQueueTableName(),
+                identityFieldNames,
+                identityFields
+                        .stream()
+                        .map(f -> String.format("  %s.%s", PseudoTable.OLD.name(), f.getFieldName()))
+                        .collect(Collectors.joining(", " + String.format("%n"))),
+                identityFieldNames,
+                context.getQueueTableName());
+    }
+
     @Override
     public String createDeleteTriggerSql(final PostgresContext context) {
         final String mappingId = context.getMappingId();
@@ -134,12 +179,14 @@ public class PostgresTriggerDeleteSqlBuilder implements TriggerDeleteSqlBuilder<
                 sourceTableName,
                 sourceTablePartitionFields,
                 PseudoTable.OLD));
-        sql.append(createDeleteTriggerSql(CREATE_DELETE_TRIGGER_TEMPLATE_FOR_UPDATES,
-                mappingId,
-                "UPDATES",
-                sourceTableName,
-                sourceTablePartitionFields,
-                PseudoTable.NEW));
+        if (!context.isDeferred()) {
+            sql.append(createDeleteTriggerSql(CREATE_DELETE_TRIGGER_TEMPLATE_FOR_UPDATES,
+                    mappingId,
+                    "UPDATES",
+                    sourceTableName,
+                    sourceTablePartitionFields,
+                    PseudoTable.NEW));
+        }
 
         if (LOGGER.isInfoEnabled()) {
             LOGGER.info(String.format("Create DELETE TRIGGER SQL:%n%s", sql));
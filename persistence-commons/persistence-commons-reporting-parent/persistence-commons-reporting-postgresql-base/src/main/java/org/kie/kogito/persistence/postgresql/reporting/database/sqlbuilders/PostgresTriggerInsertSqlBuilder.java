@@ -56,6 +56,18 @@ public class PostgresTriggerInsertSqlBuilder implements TriggerInsertSqlBuilder<
                     "END; %n" +
                     "$$ LANGUAGE PLPGSQL; %n";
 
+    private static final String CREATE_ENQUEUE_TRIGGER_FUNCTION_TEMPLATE =
+            "CREATE FUNCTION spInsert_%s() RETURNS trigger AS %n" +
+                    "$$ %n" +
+                    "BEGIN %n" +
+                    "INSERT INTO %s (%s) %n" +
+                    "  VALUES (%n" +
+                    "%s) %n" +
+                    "  ON CONFLICT (%s) DO UPDATE SET version = %s.version + 1; %n" +
+                    "RETURN NEW; %n" +
+                    "END; %n" +
+                    "$$ LANGUAGE PLPGSQL; %n";
+
     private static final String CREATE_INSERT_TRIGGER_TEMPLATE =
             "CREATE TRIGGER trgInsert_%s AFTER INSERT OR UPDATE ON %s %n" +
                     "FOR EACH ROW %n" +
@@ -71,6 +83,47 @@ public class PostgresTriggerInsertSqlBuilder implements TriggerInsertSqlBuilder<
 
     private static final String DROP_INSERT_TRIGGER_TEMPLATE = "DROP TRIGGER IF EXISTS trgInsert_%s ON %s; %n";
 
+    private static final String EXTRACT_TEMPLATE =
+            "WITH batch AS ( %n" +
+                    "  SELECT %s, version FROM %s %n" +
+                    "    ORDER BY enqueued %n" +
+                    "    LIMIT ?1 %n" +
+                    "    FOR UPDATE SKIP LOCKED %n" +
+                    "), purged AS ( %n" +
+                    "  DELETE FROM %s %s %n" +
+                    "    USING batch %n" +
+                    "    WHERE %n" +
+                    "%s %n" +
+                    "), extracted AS ( %n" +
+                    "  INSERT INTO %s %n" +
+                    "    SELECT %n" +
+                    "%s, %n" +
+                    "%s %n" +
+                    "    FROM %s %s %n" +
+                    "    JOIN batch ON %n" +
+                    "%s%s%s %n" +
+                    "), dequeued AS ( %n" +
+                    "  DELETE FROM %s %s %n" +
+                    "    USING batch %n" +
+                    "    WHERE %n" +
+                    "%s AND %n" +
+                    "      %s.version = batch.version %n" +
+                    ") %n" +
+                    "SELECT count(*) FROM batch;%n";
+
+    private static final String EXTRACTION_LAG_TEMPLATE =
+            "SELECT count(*), %n" +
+                    "  COALESCE(CAST(EXTRACT(EPOCH FROM now() - min(enqueued)) * 1000 AS bigint), 0) %n" +
+                    "  FROM %s;%n";
+
+    private static final String TRIGGER_ROW_ALIAS = "NEW";
+
+    private static final String EXTRACT_ROW_ALIAS = "src";
+
+    private static final String PURGE_ROW_ALIAS = "tgt";
+
+    private static final String DEQUEUE_ROW_ALIAS = "q";
+
     private static final String TRIGGER_PATH_SEGMENT_TEMPLATE = "'%s'";
 
     private static final String INSERT_TRIGGER_FUNCTION_FIELD_TEMPLATE =
@@ -86,55 +139,115 @@ public class PostgresTriggerInsertSqlBuilder implements TriggerInsertSqlBuilder<
 
     @Override
     public String createInsertTriggerFunctionSql(final PostgresContext context) {
+        final String sql = context.isDeferred() ? createEnqueueTriggerFunctionSql(context) : createExtractTriggerFunctionSql(context);
+        if (LOGGER.isInfoEnabled()) {
+            LOGGER.info(String.format("Create INSERT TRIGGER FUNCTION SQL:%n%s", sql));
+        }
+        return sql;
+    }
+
+    private static String createExtractTriggerFunctionSql(final PostgresContext context) {
         final StringBuilder fieldsSql = new StringBuilder();
         final String mappingId = context.getMappingId();
         final String sourceTableJsonFieldName = context.getSourceTableJsonFieldName();
         final String targetTableName = context.getTargetTableName();
         final List<PathSegment> mappingPaths = context.getMappingPaths();
-        final List<PostgresField> simpleMappings = new ArrayList<>();
-        simpleMappings.addAll(context.getSourceTableIdentityFields());
-        simpleMappings.addAll(context
-                .getSourceTablePartitionFields()
-                .stream()
-                .map(pf -> new PostgresField(pf.getFieldName()))
-                .collect(Collectors.toList()));
 
-        final List<PostgresTerminalPathSegment> fields = new ArrayList<>();
-        walkMappingPathSegmentsForTerminals(mappingPaths, fields::add);
-        if (!fields.isEmpty()) {
-            fieldsSql.append(fields.stream()
-                    .map(f -> buildTargetFieldMappingSql(f, sourceTableJsonFieldName))
-                    .collect(Collectors.joining(", " + String.format("%n"))));
-        }
+        fieldsSql.append(buildTargetFieldMappingsSql(mappingPaths, TRIGGER_ROW_ALIAS, sourceTableJsonFieldName));
 
-        final List<JoinPathSegment> from = new ArrayList<>();
-        for (PathSegment mappingPath : mappingPaths) {
-            walkMappingPathSegmentsForJoins(mappingPath, from::add);
-        }
-        if (from.isEmpty()) {
+        final List<String> joins = buildJoinsSql(mappingPaths, TRIGGER_ROW_ALIAS, sourceTableJsonFieldName);
+        if (joins.isEmpty()) {
             fieldsSql.append(";");
         } else {
             fieldsSql.append(String.format("%n  FROM %n%s;",
-                    from
-                            .stream()
-                            .map(f -> buildJoinSql(f, sourceTableJsonFieldName))
-                            .collect(Collectors.joining(", " + String.format("%n")))));
+                    String.join(", " + String.format("%n"), joins)));
         }
 
-        final StringBuilder sql = new StringBuilder();
-        sql.append(String.format(CREATE_INSERT_TRIGGER_FUNCTION_TEMPLATE,
+        return String.format(CREATE_INSERT_TRIGGER_FUNCTION_TEMPLATE,
                 mappingId,
                 targetTableName,
-                simpleMappings
-                        .stream()
-                        .map(PostgresTriggerInsertSqlBuilder::buildTargetIdentityFieldSql)
-                        .collect(Collectors.joining(", " + String.format("%n"))),
-                fieldsSql));
+                buildTargetIdentityFieldsSql(getSimpleMappings(context), TRIGGER_ROW_ALIAS),
+                fieldsSql);
+    }
 
+    private static String createEnqueueTriggerFunctionSql(final PostgresContext context) {
+        final List<PostgresField> identityFields = context.getSourceTableIdentityFields();
+
+        final String identityFieldNames = buildFieldNamesSql(identityFields);
+
+        return String.format(CREATE_ENQUEUE_TRIGGER_FUNCTION_TEMPLATE,
+                context.getMappingId(),
+                context.getQueueTableName(),
+                identityFieldNames,
+                buildTargetIdentityFieldsSql(identityFields, TRIGGER_ROW_ALIAS),
+                identityFieldNames,
+                context.getQueueTableName());
+    }
+
+    /**
+     * Builds the statement used by deferred extraction. It claims up to {@code ?1} identities
+     * from the queue, skipping those claimed by concurrent workers, removes their rows from the target table and
+     * re-extracts them from the source table in a single statement. The result is the number of identities claimed.
+     * <p>
+     * Only the queue entries still at the version that was claimed are removed. The enqueue trigger bumps the version of
+     * an identity already queued, locking its entry until the source transaction ends, so a change the extraction could
+     * not see is never dequeued with it. The delete trigger queues the identities of deleted sources the same way, their
+     * rows are purged from the target table and nothing is extracted for them.
+     *
+     * @param context The context of the mapping.
+     * @return The extraction statement.
+     */
+    public String createExtractSql(final PostgresContext context) {
+        final String sourceTableJsonFieldName = context.getSourceTableJsonFieldName();
+        final String sourceTableName = context.getSourceTableName();
+        final String targetTableName = context.getTargetTableName();
+        final String queueTableName = context.getQueueTableName();
+        final List<PathSegment> mappingPaths = context.getMappingPaths();
+        final List<PostgresField> identityFields = context.getSourceTableIdentityFields();
+        final List<PostgresPartitionField> partitionFields = context.getSourceTablePartitionFields();
+        final String identityFieldNames = buildFieldNamesSql(identityFields);
+
+        final List<String> joins = buildJoinsSql(mappingPaths, EXTRACT_ROW_ALIAS, sourceTableJsonFieldName);
+        final List<String> purgeConditions = new ArrayList<>();
+        purgeConditions.add(buildBatchJoinSql(identityFields, PURGE_ROW_ALIAS));
+        purgeConditions.addAll(buildPartitionFieldConditionsSql(partitionFields, PURGE_ROW_ALIAS));
+
+        final String sql = String.format(EXTRACT_TEMPLATE,
+                identityFieldNames,
+                queueTableName,
+                targetTableName,
+                PURGE_ROW_ALIAS,
+                String.join(" AND " + String.format("%n"), purgeConditions),
+                targetTableName,
+                buildTargetIdentityFieldsSql(getSimpleMappings(context), EXTRACT_ROW_ALIAS),
+                buildTargetFieldMappingsSql(mappingPaths, EXTRACT_ROW_ALIAS, sourceTableJsonFieldName),
+                sourceTableName,
+                EXTRACT_ROW_ALIAS,
+                buildBatchJoinSql(identityFields, EXTRACT_ROW_ALIAS),
+                joins.isEmpty() ? "" : String.format(", %n%s", String.join(", " + String.format("%n"), joins)),
+                partitionFields.isEmpty() ? ""
+                        : String.format("%n    WHERE %n%s",
+                                String.join(" AND " + String.format("%n"), buildPartitionFieldConditionsSql(partitionFields, EXTRACT_ROW_ALIAS))),
+                queueTableName,
+                DEQUEUE_ROW_ALIAS,
+                buildBatchJoinSql(identityFields, DEQUEUE_ROW_ALIAS),
+                DEQUEUE_ROW_ALIAS);
         if (LOGGER.isInfoEnabled()) {
-            LOGGER.info(String.format("Create INSERT TRIGGER FUNCTION SQL:%n%s", sql));
+            LOGGER.info(String.format("Create EXTRACT SQL:%n%s", sql));
         }
-        return sql.toString();
+        return sql;
+    }
+
+    /**
+     * Builds the query reporting how far the target table lags behind the source table with
+     * deferred extraction: the number of identities pending extraction and the age,
+     * in milliseconds, of the oldest of them.
+     *
+     * @param context The context of the mapping.
+     * @return The lag query.
+     */
+    public String createExtractionLagSql(final PostgresContext context) {
+        return String.format(EXTRACTION_LAG_TEMPLATE, context.getQueueTableName());
     }
 
     @Override
@@ -195,10 +308,45 @@ public class PostgresTriggerInsertSqlBuilder implements TriggerInsertSqlBuilder<
         path.getChildren().forEach(child -> walkMappingPathSegmentsForJoins(child, consumer));
     }
 
+    private static List<PostgresField> getSimpleMappings(final PostgresContext context) {
+        final List<PostgresField> simpleMappings = new ArrayList<>();
+        simpleMappings.addAll(context.getSourceTableIdentityFields());
+        simpleMappings.addAll(context
+                .getSourceTablePartitionFields()
+                .stream()
+                .map(pf -> new PostgresField(pf.getFieldName()))
+                .collect(Collectors.toList()));
+        return simpleMappings;
+    }
+
+    private static String buildTargetFieldMappingsSql(final List<PathSegment> mappingPaths,
+            final String rowAlias,
+            final String sourceTableJsonFieldName) {
+        final List<PostgresTerminalPathSegment> fields = new ArrayList<>();
+        walkMappingPathSegmentsForTerminals(mappingPaths, fields::add);
+        return fields.stream()
+                .map(f -> buildTargetFieldMappingSql(f, rowAlias, sourceTableJsonFieldName))
+                .collect(Collectors.joining(", " + String.format("%n")));
+    }
+
+    private static List<String> buildJoinsSql(final List<PathSegment> mappingPaths,
+            final String rowAlias,
+            final String sourceTableJsonFieldName) {
+        final List<JoinPathSegment> from = new ArrayList<>();
+        for (PathSegment mappingPath : mappingPaths) {
+            walkMappingPathSegmentsForJoins(mappingPath, from::add);
+        }
+        return from
+                .stream()
+                .map(f -> buildJoinSql(f, rowAlias, sourceTableJsonFieldName))
+                .collect(Collectors.toList());
+    }
+
     private static String buildTargetFieldMappingSql(final PostgresTerminalPathSegment terminalSegment,
+            final String rowAlias,
             final String sourceTableJsonFieldName) {
         final PostgresMapping targetField = terminalSegment.getMapping();
-        final String segmentPathToJoin = getSegmentPathToJoin(terminalSegment, sourceTableJsonFieldName);
+        final String segmentPathToJoin = getSegmentPathToJoin(terminalSegment, rowAlias, sourceTableJsonFieldName);
         return String.format(INSERT_TRIGGER_FUNCTION_FIELD_TEMPLATE,
                 segmentPathToJoin,
                 targetField.getTargetField().getFieldType().getPostgresType(),
@@ -206,8 +354,9 @@ public class PostgresTriggerInsertSqlBuilder implements TriggerInsertSqlBuilder<
     }
 
     private static String buildJoinSql(final JoinPathSegment join,
+            final String rowAlias,
             final String sourceTableJsonFieldName) {
-        final String parentGroupName = getParentGroupName(join, sourceTableJsonFieldName);
+        final String parentGroupName = getParentGroupName(join, rowAlias, sourceTableJsonFieldName);
         final String sanitizedSegment = join.getSegment().replace("[]", "");
         return String.format(INSERT_TRIGGER_FUNCTION_FROM_TEMPLATE,
                 parentGroupName,
@@ -220,8 +369,9 @@ public class PostgresTriggerInsertSqlBuilder implements TriggerInsertSqlBuilder<
     }
 
     private static String getParentGroupName(final PathSegment segment,
+            final String rowAlias,
             final String sourceTableJsonFieldName) {
-        String parentGroupName = String.format("NEW.%s", sourceTableJsonFieldName);
+        String parentGroupName = String.format("%s.%s", rowAlias, sourceTableJsonFieldName);
         PathSegment parent = segment.getParent();
         while (Objects.nonNull(parent)) {
             if (parent instanceof JoinPathSegment) {
@@ -235,9 +385,10 @@ public class PostgresTriggerInsertSqlBuilder implements TriggerInsertSqlBuilder<
     }
 
     private static String getSegmentPathToJoin(final PostgresTerminalPathSegment segment,
+            final String rowAlias,
             final String sourceTableJsonFieldName) {
         final List<String> segmentsToJoin = new ArrayList<>();
-        final String parentGroupName = getParentGroupName(segment, sourceTableJsonFieldName);
+        final String parentGroupName = getParentGroupName(segment, rowAlias, sourceTableJsonFieldName);
         PathSegment current = segment;
         while (Objects.nonNull(current)) {
             final String sanitizedSegment = current.getSegment().replace("[]", "");
@@ -261,9 +412,35 @@ public class PostgresTriggerInsertSqlBuilder implements TriggerInsertSqlBuilder<
         return String.join("->", segmentsToJoin);
     }
 
-    private static String buildTargetIdentityFieldSql(final PostgresField sourceIdentifyField) {
-        return String.format("  NEW.%s",
-                sourceIdentifyField.getFieldName());
+    private static String buildTargetIdentityFieldsSql(final List<PostgresField> sourceIdentityFields,
+            final String rowAlias) {
+        return sourceIdentityFields
+                .stream()
+                .map(f -> String.format("  %s.%s", rowAlias, f.getFieldName()))
+                .collect(Collectors.joining(", " + String.format("%n")));
+    }
+
+    private static String buildFieldNamesSql(final List<PostgresField> fields) {
+        return fields
+                .stream()
+                .map(PostgresField::getFieldName)
+                .collect(Collectors.joining(", "));
+    }
+
+    private static String buildBatchJoinSql(final List<PostgresField> sourceIdentityFields,
+            final String rowAlias) {
+        return sourceIdentityFields
+                .stream()
+                .map(f -> String.format("      %s.%s = batch.%s", rowAlias, f.getFieldName(), f.getFieldName()))
+                .collect(Collectors.joining(" AND " + String.format("%n")));
+    }
+
+    private static List<String> buildPartitionFieldConditionsSql(final List<PostgresPartitionField> sourcePartitionFields,
+            final String rowAlias) {
+        return sourcePartitionFields
+                .stream()
+                .map(pf -> String.format("      %s.%s = '%s'", rowAlias, pf.getFieldName(), pf.getFieldValue()))
+                .collect(Collectors.toList());
     }
 
     private static String buildTargetPartitionFieldsSql(final List<PostgresPartitionField> sourcePartitionFields) {
@@ -277,7 +454,8 @@ public class PostgresTriggerInsertSqlBuilder implements TriggerInsertSqlBuilder<
     }
 
     private static String buildTargetPartitionFieldSql(final PostgresPartitionField sourcePartitionField) {
-        return String.format("    NEW.%s = '%s' ",
+        return String.format("    %s.%s = '%s' ",
+                TRIGGER_ROW_ALIAS,
                 sourcePartitionField.getFieldName(),
                 sourcePartitionField.getFieldValue());
     }
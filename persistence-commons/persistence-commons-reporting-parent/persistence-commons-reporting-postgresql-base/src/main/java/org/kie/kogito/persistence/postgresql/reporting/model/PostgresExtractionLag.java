@@ -0,0 +1,60 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.kie.kogito.persistence.postgresql.reporting.model;
+
+import java.util.Objects;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * How far the target table of a mapping lags behind its source table with deferred extraction.
+ */
+public class PostgresExtractionLag {
+
+    @JsonProperty("mappingId")
+    private final String mappingId;
+
+    //Number of source rows changed but not yet extracted
+    @JsonProperty("pending")
+    private final long pending;
+
+    //Age in milliseconds of the oldest change not yet extracted
+    @JsonProperty("stalenessMillis")
+    private final long stalenessMillis;
+
+    public PostgresExtractionLag(final String mappingId,
+            final long pending,
+            final long stalenessMillis) {
+        this.mappingId = Objects.requireNonNull(mappingId);
+        this.pending = pending;
+        this.stalenessMillis = stalenessMillis;
+    }
+
+    public String getMappingId() {
+        return mappingId;
+    }
+
+    public long getPending() {
+        return pending;
+    }
+
+    public long getStalenessMillis() {
+        return stalenessMillis;
+    }
+}
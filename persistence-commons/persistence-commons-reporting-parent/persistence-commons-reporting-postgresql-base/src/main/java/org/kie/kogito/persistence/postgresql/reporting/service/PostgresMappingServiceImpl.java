@@ -22,31 +22,148 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 
+import org.eclipse.microprofile.config.inject.ConfigProperty;
 import org.kie.kogito.persistence.api.Storage;
 import org.kie.kogito.persistence.postgresql.PostgresStorageService;
+import org.kie.kogito.persistence.postgresql.reporting.database.BasePostgresDatabaseManagerImpl;
+import org.kie.kogito.persistence.postgresql.reporting.database.ExtractionMode;
 import org.kie.kogito.persistence.postgresql.reporting.model.JsonType;
+import org.kie.kogito.persistence.postgresql.reporting.model.PostgresExtractionLag;
 import org.kie.kogito.persistence.postgresql.reporting.model.PostgresField;
 import org.kie.kogito.persistence.postgresql.reporting.model.PostgresJsonField;
 import org.kie.kogito.persistence.postgresql.reporting.model.PostgresMapping;
 import org.kie.kogito.persistence.postgresql.reporting.model.PostgresMappingDefinition;
 import org.kie.kogito.persistence.postgresql.reporting.model.PostgresPartitionField;
 import org.kie.kogito.persistence.reporting.service.MappingService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
+import io.quarkus.runtime.StartupEvent;
+
+import jakarta.annotation.PreDestroy;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
 import jakarta.inject.Inject;
 import jakarta.transaction.Transactional;
 
 @ApplicationScoped
 public class PostgresMappingServiceImpl implements MappingService<JsonType, PostgresField, PostgresPartitionField, PostgresJsonField, PostgresMapping, PostgresMappingDefinition> {
 
+    private static final Logger LOGGER = LoggerFactory.getLogger(PostgresMappingServiceImpl.class);
+
     static final String CACHE_NAME = "MappingDefinitions";
 
     private final PostgresStorageService storageService;
 
-    @Inject
+    private final BasePostgresDatabaseManagerImpl databaseManager;
+
+    @ConfigProperty(name = "kogito.apps.persistence.reporting.extraction.batch-size", defaultValue = "500")
+    int batchSize = 500;
+
+    @ConfigProperty(name = "kogito.apps.persistence.reporting.extraction.interval-millis", defaultValue = "1000")
+    long intervalMillis = 1000;
+
+    private ScheduledExecutorService extractor;
+
     public PostgresMappingServiceImpl(final PostgresStorageService storageService) {
+        this(storageService, null);
+    }
+
+    @Inject
+    public PostgresMappingServiceImpl(final PostgresStorageService storageService,
+            final BasePostgresDatabaseManagerImpl databaseManager) {
         this.storageService = Objects.requireNonNull(storageService);
+        this.databaseManager = databaseManager;
+    }
+
+    void onStartup(final @Observes StartupEvent event) {
+        if (Objects.isNull(databaseManager) || !hasDeferredMappings()) {
+            return;
+        }
+        LOGGER.info("Reporting extraction is deferred, extracting every {} ms in batches of {} source rows", intervalMillis, batchSize);
+        extractor = Executors.newSingleThreadScheduledExecutor(r -> {
+            final Thread thread = new Thread(r, "kogito-reporting-extractor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        extractor.scheduleWithFixedDelay(this::extractAll, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void destroy() {
+        if (Objects.nonNull(extractor)) {
+            extractor.shutdownNow();
+        }
+    }
+
+    /**
+     * Checks whether the worker is needed: either new mappings are deferred or existing ones were created deferred
+     * before the configured mode changed. A mapping keeps the mode of its artifacts until they are recreated.
+     */
+    private boolean hasDeferredMappings() {
+        final ExtractionMode configured = databaseManager.getExtractionMode();
+        boolean deferred = configured == ExtractionMode.DEFERRED;
+        try {
+            for (PostgresMappingDefinition definition : getAllMappingDefinitions()) {
+                final ExtractionMode created = databaseManager.getExtractionMode(definition);
+                if (created != configured) {
+                    LOGGER.warn("Mapping Definition '{}' was created with {} extraction while {} is configured, recreate its artifacts to change it",
+                            definition.getMappingId(), created, configured);
+                }
+                deferred |= created == ExtractionMode.DEFERRED;
+            }
+        } catch (RuntimeException e) {
+            LOGGER.warn("Failed to list Mapping Definitions to check their extraction mode: {}", e.getMessage());
+        }
+        return deferred;
+    }
+
+    /**
+     * Drains the extraction queue of every deferred mapping, one transaction per batch. A failure is logged and the
+     * remaining source rows stay queued for the next run; an exception escaping would cancel the schedule.
+     */
+    void extractAll() {
+        try {
+            for (PostgresMappingDefinition definition : getAllMappingDefinitions()) {
+                extract(definition);
+            }
+        } catch (RuntimeException e) {
+            LOGGER.warn("Failed to list Mapping Definitions for extraction: {}", e.getMessage());
+        }
+    }
+
+    private void extract(final PostgresMappingDefinition definition) {
+        try {
+            if (databaseManager.getExtractionMode(definition) != ExtractionMode.DEFERRED) {
+                LOGGER.debug("Mapping Definition '{}' has no extraction queue, its values are extracted by its triggers", definition.getMappingId());
+                return;
+            }
+            int extracted;
+            do {
+                extracted = databaseManager.extract(definition, batchSize);
+            } while (extracted >= batchSize && !Thread.currentThread().isInterrupted());
+        } catch (RuntimeException e) {
+            LOGGER.warn("Failed to extract Mapping Definition '{}', it will be retried: {}", definition.getMappingId(), e.getMessage());
+        }
+    }
+
+    /**
+     * Gets how far the target table of a Mapping Definition lags behind its source table. Always zero unless
+     * the artifacts of the mapping were created with deferred extraction.
+     *
+     * @param mappingId The Mapping Definition ID.
+     * @return The number of source rows pending extraction and the age of the oldest of them.
+     */
+    public PostgresExtractionLag getExtractionLag(final String mappingId) {
+        final PostgresMappingDefinition definition = getMappingDefinitionById(mappingId);
+        if (Objects.isNull(databaseManager)) {
+            return new PostgresExtractionLag(mappingId, 0, 0);
+        }
+        return databaseManager.getExtractionLag(definition);
     }
 
     @Override
@@ -26,6 +26,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.kie.kogito.persistence.postgresql.reporting.database.BasePostgresDatabaseManagerImpl;
+import org.kie.kogito.persistence.postgresql.reporting.database.ExtractionMode;
 import org.kie.kogito.persistence.postgresql.reporting.model.JsonType;
 import org.kie.kogito.persistence.postgresql.reporting.model.PostgresField;
 import org.kie.kogito.persistence.postgresql.reporting.model.PostgresJsonField;
@@ -146,6 +147,20 @@ abstract class BaseSqlBuilderImplTest {
         assertDestroySql(sql);
     }
 
+    protected PostgresContext createDeferredContext() {
+        final PostgresContext context = manager.createContext(DEFINITION);
+        return new PostgresContext(context.getMappingId(),
+                context.getSourceTableName(),
+                context.getSourceTableJsonFieldName(),
+                context.getSourceTableIdentityFields(),
+                context.getSourceTablePartitionFields(),
+                context.getTargetTableName(),
+                context.getFieldMappings(),
+                context.getMappingPaths(),
+                context.getSourceTableFieldTypes(),
+                ExtractionMode.DEFERRED);
+    }
+
     protected void assertSequentialContent(final String actual,
             final String... expected) {
         if (Objects.isNull(expected)) {
@@ -18,9 +18,11 @@
  */
 package org.kie.kogito.persistence.postgresql.reporting.database.sqlbuilders;
 
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 
 @ExtendWith(MockitoExtension.class)
@@ -53,12 +55,30 @@ class PostgresTableSqlBuilderTest extends BaseSqlBuilderImplTest {
                 "field2 text",
                 "field3 text",
                 "field4 text");
+        assertFalse(sql.contains("targetTableName_queue"));
     }
 
     @Override
     protected void assertDestroySql(final String sql) {
         assertNotNull(sql);
         assertSequentialContent(sql,
-                "DROP TABLE IF EXISTS targetTableName");
+                "DROP TABLE IF EXISTS targetTableName",
+                "DROP TABLE IF EXISTS targetTableName_queue");
+    }
+
+    @Test
+    void testCreateTableSqlWhenDeferred() {
+        final String sql = getTableBuilder().createTableSql(createDeferredContext());
+
+        assertNotNull(sql);
+        assertSequentialContent(sql,
+                "CREATE TABLE targetTableName (",
+                "field4 text",
+                "CREATE TABLE targetTableName_queue (",
+                "id text",
+                "version bigint NOT NULL DEFAULT 1",
+                "enqueued timestamp with time zone NOT NULL DEFAULT now()",
+                "PRIMARY KEY (id, key)",
+                "CREATE INDEX idx_targetTableName_queue_enqueued ON targetTableName_queue (enqueued);");
     }
 }
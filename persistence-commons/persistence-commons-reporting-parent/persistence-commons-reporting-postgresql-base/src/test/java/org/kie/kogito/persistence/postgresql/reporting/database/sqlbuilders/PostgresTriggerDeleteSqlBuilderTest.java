@@ -22,6 +22,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 
 @ExtendWith(MockitoExtension.class)
@@ -84,6 +85,30 @@ class PostgresTriggerDeleteSqlBuilderTest extends BaseSqlBuilderImplTest {
                 "RETURN NEW;");
     }
 
+    @Test
+    void testCreateDeleteTriggerSqlWhenDeferred() {
+        final PostgresContext context = createDeferredContext();
+
+        final String triggerSql = getTriggerDeleteBuilder().createDeleteTriggerSql(context);
+        final String functionSql = getTriggerDeleteBuilder().createDeleteTriggerFunctionSql(context);
+
+        assertSequentialContent(triggerSql,
+                "CREATE TRIGGER trgDelete_mappingId_DELETES AFTER DELETE ON sourceTableName");
+        assertSequentialContent(functionSql,
+                "CREATE FUNCTION spDelete_mappingId_DELETES() RETURNS trigger AS",
+                "DELETE FROM targetTableName",
+                "WHERE",
+                "id = OLD.id",
+                "INSERT INTO targetTableName_queue (id, key)",
+                "VALUES (",
+                "OLD.id",
+                "OLD.key",
+                "ON CONFLICT (id, key) DO UPDATE SET version = targetTableName_queue.version + 1;",
+                "RETURN OLD;");
+        assertFalse(triggerSql.contains("UPDATES"));
+        assertFalse(functionSql.contains("UPDATES"));
+    }
+
     @Test
     void testDropDeleteTriggerFunctionSql() {
         final PostgresContext context = manager.createContext(DEFINITION);
@@ -22,6 +22,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 
 @ExtendWith(MockitoExtension.class)
@@ -85,6 +86,77 @@ class PostgresTriggerInsertSqlBuilderTest extends BaseSqlBuilderImplTest {
                 ") g0");
     }
 
+    @Test
+    void testCreateInsertTriggerFunctionSqlWhenDeferred() {
+        final String sql = getTriggerInsertBuilder().createInsertTriggerFunctionSql(createDeferredContext());
+
+        assertNotNull(sql);
+        assertSequentialContent(sql,
+                "CREATE FUNCTION spInsert_mappingId() RETURNS trigger A",
+                "INSERT INTO targetTableName_queue (id, key)",
+                "VALUES (",
+                "NEW.id",
+                "NEW.key",
+                "ON CONFLICT (id, key) DO UPDATE SET version = targetTableName_queue.version + 1;",
+                "RETURN NEW;");
+        assertFalse(sql.contains("jsonb_array_elements"));
+    }
+
+    @Test
+    void testCreateExtractSql() {
+        final String sql = getTriggerInsertBuilder().createExtractSql(createDeferredContext());
+
+        assertNotNull(sql);
+        assertSequentialContent(sql,
+                "WITH batch AS (",
+                "SELECT id, key, version FROM targetTableName_queue",
+                "ORDER BY enqueued",
+                "LIMIT ?1",
+                "FOR UPDATE SKIP LOCKED",
+                "), purged AS (",
+                "DELETE FROM targetTableName tgt",
+                "USING batch",
+                "tgt.id = batch.id AND",
+                "tgt.key = batch.key AND",
+                "tgt.partition = 'chunk' AND",
+                "tgt.partition2 = 'chunk2'",
+                "), extracted AS (",
+                "INSERT INTO targetTableName",
+                "SELECT",
+                "src.id",
+                "src.partition2",
+                "(src.sourceTableJsonFieldName->>'root')\\:\\:text as field1",
+                "(g0->>'child')\\:\\:text as field3",
+                "FROM sourceTableName src",
+                "JOIN batch ON",
+                "src.id = batch.id AND",
+                "src.key = batch.key",
+                "jsonb_array_elements(",
+                "case jsonb_typeof(src.sourceTableJsonFieldName->'collection')",
+                ") g0",
+                "WHERE",
+                "src.partition = 'chunk' AND",
+                "src.partition2 = 'chunk2'",
+                "), dequeued AS (",
+                "DELETE FROM targetTableName_queue q",
+                "USING batch",
+                "q.id = batch.id AND",
+                "q.key = batch.key AND",
+                "q.version = batch.version",
+                "SELECT count(*) FROM batch;");
+    }
+
+    @Test
+    void testCreateExtractionLagSql() {
+        final String sql = getTriggerInsertBuilder().createExtractionLagSql(createDeferredContext());
+
+        assertNotNull(sql);
+        assertSequentialContent(sql,
+                "SELECT count(*)",
+                "min(enqueued)",
+                "FROM targetTableName_queue;");
+    }
+
     @Test
     void testDropInsertTriggerFunctionSql() {
         final PostgresContext context = manager.createContext(DEFINITION);
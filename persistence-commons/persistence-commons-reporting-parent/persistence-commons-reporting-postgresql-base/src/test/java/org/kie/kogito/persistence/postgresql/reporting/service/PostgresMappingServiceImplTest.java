@@ -26,7 +26,10 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.kie.kogito.persistence.api.Storage;
 import org.kie.kogito.persistence.postgresql.PostgresStorageService;
+import org.kie.kogito.persistence.postgresql.reporting.database.BasePostgresDatabaseManagerImpl;
+import org.kie.kogito.persistence.postgresql.reporting.database.ExtractionMode;
 import org.kie.kogito.persistence.postgresql.reporting.model.JsonType;
+import org.kie.kogito.persistence.postgresql.reporting.model.PostgresExtractionLag;
 import org.kie.kogito.persistence.postgresql.reporting.model.PostgresField;
 import org.kie.kogito.persistence.postgresql.reporting.model.PostgresJsonField;
 import org.kie.kogito.persistence.postgresql.reporting.model.PostgresMapping;
@@ -35,10 +38,15 @@ import org.kie.kogito.persistence.postgresql.reporting.model.PostgresPartitionFi
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -51,6 +59,9 @@ class PostgresMappingServiceImplTest {
     @Mock
     private Storage<String, PostgresMappingDefinition> storage;
 
+    @Mock
+    private BasePostgresDatabaseManagerImpl databaseManager;
+
     private PostgresMappingServiceImpl service;
 
     @BeforeEach
@@ -167,4 +178,97 @@ class PostgresMappingServiceImplTest {
         assertThrows(IllegalArgumentException.class, () -> service.deleteMappingDefinitionById("mappingId"));
     }
 
+    @Test
+    void testExtractAllDrainsQueue() {
+        final PostgresMappingDefinition definition = new PostgresMappingDefinition("mappingId",
+                "sourceTableName",
+                "sourceTableJsonFieldName",
+                List.of(new PostgresField("key")),
+                List.of(new PostgresPartitionField("sourceTablePartitionFieldName", "sourceTablePartitionName")),
+                "targetTableName",
+                List.of(new PostgresMapping("sourceJsonPath",
+                        new PostgresJsonField("targetFieldName",
+                                JsonType.STRING))));
+        this.service = new PostgresMappingServiceImpl(storageService, databaseManager);
+        service.batchSize = 2;
+        when(storage.entries()).thenReturn(Map.of("mappingId", definition));
+        when(databaseManager.getExtractionMode(definition)).thenReturn(ExtractionMode.DEFERRED);
+        when(databaseManager.extract(definition, 2)).thenReturn(2, 2, 1);
+
+        service.extractAll();
+
+        verify(databaseManager, times(3)).extract(definition, 2);
+    }
+
+    @Test
+    void testExtractAllWhenExtractionFails() {
+        final PostgresMappingDefinition definition = new PostgresMappingDefinition("mappingId",
+                "sourceTableName",
+                "sourceTableJsonFieldName",
+                List.of(new PostgresField("key")),
+                List.of(new PostgresPartitionField("sourceTablePartitionFieldName", "sourceTablePartitionName")),
+                "targetTableName",
+                List.of(new PostgresMapping("sourceJsonPath",
+                        new PostgresJsonField("targetFieldName",
+                                JsonType.STRING))));
+        this.service = new PostgresMappingServiceImpl(storageService, databaseManager);
+        when(storage.entries()).thenReturn(Map.of("mappingId", definition));
+        when(databaseManager.getExtractionMode(definition)).thenReturn(ExtractionMode.DEFERRED);
+        when(databaseManager.extract(definition, service.batchSize)).thenThrow(new IllegalStateException("boom"));
+
+        assertDoesNotThrow(service::extractAll);
+
+        verify(databaseManager).extract(definition, service.batchSize);
+    }
+
+    @Test
+    void testExtractAllSkipsSynchronousMappings() {
+        final PostgresMappingDefinition definition = new PostgresMappingDefinition("mappingId",
+                "sourceTableName",
+                "sourceTableJsonFieldName",
+                List.of(new PostgresField("key")),
+                List.of(new PostgresPartitionField("sourceTablePartitionFieldName", "sourceTablePartitionName")),
+                "targetTableName",
+                List.of(new PostgresMapping("sourceJsonPath",
+                        new PostgresJsonField("targetFieldName",
+                                JsonType.STRING))));
+        this.service = new PostgresMappingServiceImpl(storageService, databaseManager);
+        when(storage.entries()).thenReturn(Map.of("mappingId", definition));
+        when(databaseManager.getExtractionMode(definition)).thenReturn(ExtractionMode.SYNCHRONOUS);
+
+        service.extractAll();
+
+        verify(databaseManager, never()).extract(any(), anyInt());
+    }
+
+    @Test
+    void testGetExtractionLag() {
+        final PostgresMappingDefinition definition = new PostgresMappingDefinition("mappingId",
+                "sourceTableName",
+                "sourceTableJsonFieldName",
+                List.of(new PostgresField("key")),
+                List.of(new PostgresPartitionField("sourceTablePartitionFieldName", "sourceTablePartitionName")),
+                "targetTableName",
+                List.of(new PostgresMapping("sourceJsonPath",
+                        new PostgresJsonField("targetFieldName",
+                                JsonType.STRING))));
+        this.service = new PostgresMappingServiceImpl(storageService, databaseManager);
+        when(storage.containsKey(anyString())).thenReturn(true);
+        when(storage.get(anyString())).thenReturn(definition);
+        when(databaseManager.getExtractionLag(definition)).thenReturn(new PostgresExtractionLag("mappingId", 3, 1500));
+
+        final PostgresExtractionLag lag = service.getExtractionLag("mappingId");
+
+        assertEquals("mappingId", lag.getMappingId());
+        assertEquals(3, lag.getPending());
+        assertEquals(1500, lag.getStalenessMillis());
+    }
+
+    @Test
+    void testGetExtractionLagWhenNotFound() {
+        when(storage.containsKey(anyString())).thenReturn(false);
+
+        assertThrows(IllegalArgumentException.class, () -> service.getExtractionLag("mappingId"));
+    }
+
 }
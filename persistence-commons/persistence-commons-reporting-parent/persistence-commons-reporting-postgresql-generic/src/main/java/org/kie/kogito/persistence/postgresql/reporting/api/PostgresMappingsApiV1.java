@@ -29,6 +29,7 @@ import org.eclipse.microprofile.openapi.annotations.responses.APIResponse;
 import org.eclipse.microprofile.openapi.annotations.responses.APIResponses;
 import org.jboss.resteasy.annotations.jaxrs.PathParam;
 import org.kie.kogito.persistence.postgresql.reporting.database.GenericPostgresDatabaseManagerImpl;
+import org.kie.kogito.persistence.postgresql.reporting.model.PostgresExtractionLag;
 import org.kie.kogito.persistence.postgresql.reporting.model.PostgresMappingDefinition;
 import org.kie.kogito.persistence.postgresql.reporting.model.PostgresMappingDefinitions;
 import org.kie.kogito.persistence.postgresql.reporting.service.PostgresMappingServiceImpl;
@@ -92,6 +93,25 @@ public class PostgresMappingsApiV1
         return super.getMappingDefinitionById(mappingId);
     }
 
+    @GET
+    @Path("/{mappingId}/lag")
+    @APIResponses(value = {
+            @APIResponse(description = "Gets the extraction lag of the Mapping Definition.", responseCode = "200",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON, schema = @Schema(type = SchemaType.OBJECT, implementation = PostgresExtractionLag.class))),
+            @APIResponse(description = "Bad Request", responseCode = "400", content = @Content(mediaType = MediaType.TEXT_PLAIN))
+    })
+    @Operation(summary = "Gets the extraction lag of the Mapping Definition.",
+            description = "Gets the number of source rows pending deferred extraction and the age of the oldest of them.")
+    @Produces(MediaType.APPLICATION_JSON)
+    @Override
+    public Response getExtractionLag(@Parameter(
+            name = "mappingId",
+            description = "The Mapping Definition ID.",
+            required = true,
+            schema = @Schema(implementation = String.class)) @PathParam("mappingId") final String mappingId) {
+        return super.getExtractionLag(mappingId);
+    }
+
     @POST
     @APIResponses(value = {
             @APIResponse(description = "Creates a new Mapping Definition.",
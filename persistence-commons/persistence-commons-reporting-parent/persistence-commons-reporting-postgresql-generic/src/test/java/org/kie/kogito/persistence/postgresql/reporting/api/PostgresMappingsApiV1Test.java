@@ -26,6 +26,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.kie.kogito.persistence.postgresql.reporting.database.GenericPostgresDatabaseManagerImpl;
 import org.kie.kogito.persistence.postgresql.reporting.model.JsonType;
+import org.kie.kogito.persistence.postgresql.reporting.model.PostgresExtractionLag;
 import org.kie.kogito.persistence.postgresql.reporting.model.PostgresField;
 import org.kie.kogito.persistence.postgresql.reporting.model.PostgresJsonField;
 import org.kie.kogito.persistence.postgresql.reporting.model.PostgresMapping;
@@ -193,4 +194,24 @@ class PostgresMappingsApiV1Test {
         verify(mappingService).deleteMappingDefinitionById("mappingId");
     }
 
+    @Test
+    void testGetExtractionLag() {
+        final PostgresExtractionLag lag = new PostgresExtractionLag("mappingId", 3, 1500);
+        when(mappingService.getExtractionLag("mappingId")).thenReturn(lag);
+
+        final Response response = service.getExtractionLag("mappingId");
+        assertNotNull(response);
+        assertEquals(200, response.getStatus());
+        assertEquals(lag, response.getEntity());
+    }
+
+    @Test
+    void testGetExtractionLagWhenNotFound() {
+        when(mappingService.getExtractionLag(anyString())).thenThrow(new IllegalArgumentException());
+
+        final Response response = service.getExtractionLag("mappingId");
+        assertNotNull(response);
+        assertEquals(400, response.getStatus());
+    }
+
 }